@@ -17,10 +17,8 @@
 */
 package it.geosolutions.jaiext.affine;
 
-import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Point2D;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.IndexColorModel;
@@ -49,10 +47,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
     private static final int KERNEL_LINE_DIM = 4;
 
-    private static final float OVERFLOW = 1.0F;
-
-    private static final float AVOID_OVERFLOW = 0.999999F;
-
     /** Nearest-Neighbor interpolator */
     protected InterpolationBicubic interpBN = null;
 
@@ -326,23 +320,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void byteLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final byte dstDataArrays[][] = dst.getByteDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -381,28 +364,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -451,29 +432,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -488,39 +452,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -610,29 +556,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -655,39 +584,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -771,29 +682,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -826,8 +720,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             long sum = 0;
             // final result initialization
             long result = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             byte[] bandDataArray;
             for (int y = dst_min_y; y < dst_max_y; y++) {
@@ -835,27 +727,25 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                double s_x = src_pt.getX();
-                double s_y = src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -936,29 +826,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -981,39 +854,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1128,29 +983,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1179,39 +1017,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1315,29 +1135,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1361,23 +1164,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void ushortLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -1416,28 +1208,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
                     
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -1486,29 +1276,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1523,39 +1296,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1646,29 +1401,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1691,39 +1429,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1808,29 +1528,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1861,8 +1564,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             long sum = 0;
             // final result initialization
             long result = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             short[] bandDataArray;
 
@@ -1871,27 +1572,25 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -1967,29 +1666,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2011,39 +1693,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2155,29 +1819,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2206,39 +1853,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2343,29 +1972,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2389,23 +2001,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void shortLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -2444,28 +2045,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -2514,29 +2113,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2551,39 +2133,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2674,29 +2238,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2719,39 +2266,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2836,29 +2365,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2889,8 +2401,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             long sum = 0;
             // final result initialization
             long result = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             short[] bandDataArray;
 
@@ -2899,28 +2409,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -2996,29 +2504,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3040,39 +2531,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3184,29 +2657,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3235,39 +2691,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3372,29 +2810,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3418,23 +2839,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void intLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final int dstDataArrays[][] = dst.getIntDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -3473,27 +2883,25 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -3536,29 +2944,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3573,39 +2964,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3689,29 +3062,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3734,39 +3090,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3844,29 +3182,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3897,8 +3218,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             long sum = 0;
             // final result initialization
             int result = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             int[] bandDataArray;
 
@@ -3907,27 +3226,25 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -3996,29 +3313,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4040,39 +3340,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4177,29 +3459,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4228,39 +3493,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4358,29 +3605,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4404,23 +3634,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void floatLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final float dstDataArrays[][] = dst.getFloatDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -4459,28 +3678,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -4519,29 +3736,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4556,39 +3756,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4666,29 +3848,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4711,39 +3876,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4816,29 +3963,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4867,8 +3997,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             // Row temporary sum initialization
             double tempSum = 0;
             double sum = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             float[] bandDataArray;
 
@@ -4877,28 +4005,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -4968,29 +4094,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -5012,39 +4121,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -5145,29 +4236,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -5196,39 +4270,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -5323,29 +4379,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -5369,23 +4408,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
     private void doubleLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        final float src_rect_x11 = src_rect_x1 + 1;
-        final float src_rect_y11 = src_rect_y1 + 1;
-        final float src_rect_x22 = src_rect_x2 - 2;
-        final float src_rect_y22 = src_rect_y2 - 2;
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final double dstDataArrays[][] = dst.getDoubleDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -5424,28 +4452,26 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                double s_x = src_pt.getX();
-                double s_y = src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
                     
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -5484,29 +4510,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     }
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -5521,39 +4530,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    double s_x = src_pt.getX();
-                    double s_y = src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -5631,29 +4622,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -5676,39 +4650,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    double s_x = src_pt.getX();
-                    double s_y = src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -5781,29 +4737,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -5832,8 +4771,6 @@ public class AffineBicubicOpImage extends AffineOpImage {
             // Row temporary sum initialization
             double tempSum = 0;
             double sum = 0;
-            // initial x value definition
-            final double dst_min_x_d = dst_min_x + HALF_PIXEL;
             // Band data array creation
             double[] bandDataArray;
 
@@ -5842,27 +4779,25 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x_d, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                double s_x = src_pt.getX();
-                double s_y = src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
-                    if ((s_ix >= src_rect_x11) && (s_ix < (src_rect_x22))
-                            && (s_iy >= (src_rect_y11)) && (s_iy < (src_rect_y22))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         
                         // X and Y offset initialization
                         final int offsetX = KERNEL_LINE_DIM * (int) (shift * fracx);
@@ -5932,29 +4867,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                        if (fracx == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracx = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                        if (fracy == OVERFLOW) {
-                            // Avoid overflow in the interpolation table
-                            fracy = AVOID_OVERFLOW;
-                        }
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -5976,39 +4894,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    double s_x = src_pt.getX();
-                    double s_y = src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -6109,29 +5009,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -6160,39 +5043,21 @@ public class AffineBicubicOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    double s_x = src_pt.getX();
-                    double s_y = src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 1, 2, 1, 2);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 1, 2, 1, 2);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -6287,29 +5152,12 @@ public class AffineBicubicOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                            if (fracx == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracx = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                            if (fracy == OVERFLOW) {
-                                // Avoid overflow in the interpolation table
-                                fracy = AVOID_OVERFLOW;
-                            }
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -22,10 +22,8 @@ import it.geosolutions.jaiext.iterators.RandomIterFactory;
 import it.geosolutions.jaiext.range.NoDataContainer;
 import it.geosolutions.jaiext.range.Range;
 
-import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Point2D;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.IndexColorModel;
@@ -261,18 +259,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void byteLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final byte dstDataArrays[][] = dst.getByteDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -311,28 +303,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
 
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
@@ -373,21 +363,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -403,39 +384,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -507,20 +470,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -543,39 +498,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -646,20 +583,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -683,23 +612,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -709,8 +637,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -752,21 +679,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -782,39 +700,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -893,20 +793,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -928,39 +820,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1042,20 +916,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1079,18 +945,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void ushortLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -1129,28 +989,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             int posx = (s_ix - srcRectX) * srcPixelStride;
@@ -1189,21 +1047,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1219,39 +1068,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1323,20 +1154,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1359,39 +1182,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1462,20 +1267,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1499,23 +1296,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -1525,8 +1321,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -1571,21 +1366,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1601,39 +1387,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1714,20 +1482,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1749,39 +1509,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -1863,20 +1605,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1900,18 +1634,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void shortLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -1950,28 +1678,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
 
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
@@ -2013,21 +1739,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2043,39 +1760,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2149,20 +1848,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2185,39 +1876,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2290,20 +1963,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2327,23 +1992,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -2353,8 +2017,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -2398,21 +2061,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2428,39 +2082,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2542,20 +2178,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2577,39 +2205,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2693,20 +2303,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2730,18 +2332,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void intLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final int dstDataArrays[][] = dst.getIntDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -2780,28 +2376,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             int posx = (s_ix - srcRectX) * srcPixelStride;
@@ -2842,21 +2436,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2872,39 +2457,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -2978,20 +2545,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3014,39 +2573,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3119,20 +2660,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3156,23 +2689,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -3182,8 +2714,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -3227,21 +2758,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3257,39 +2779,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3369,20 +2873,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3404,39 +2900,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3519,20 +2997,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3556,18 +3026,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void floatLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final float dstDataArrays[][] = dst.getFloatDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -3606,28 +3070,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             int posx = (s_ix - srcRectX) * srcPixelStride;
@@ -3656,21 +3118,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3686,39 +3139,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3780,20 +3215,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3816,39 +3243,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -3909,20 +3318,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3946,23 +3347,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                mapDestPoint(dst_pt, src_pt);
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -3972,8 +3372,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -4010,21 +3409,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4040,39 +3430,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4147,20 +3519,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4182,39 +3546,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4291,20 +3637,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4328,18 +3666,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
     private void doubleLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         double fracx = 0, fracy = 0;
 
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final double dstDataArrays[][] = dst.getDoubleDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -4378,28 +3710,26 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             int posx = (s_ix - srcRectX) * srcPixelStride;
@@ -4428,21 +3758,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4458,39 +3779,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4553,20 +3856,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4589,39 +3884,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4684,20 +3961,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4721,23 +3990,22 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                float s_x = (float) src_pt.getX();
-                float s_y = (float) src_pt.getY();
+                mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
 
-                s_x -= 0.5;
-                s_y -= 0.5;
+                long fx = fixedPt[0];
+                long fy = fixedPt[1];
 
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
+                // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
 
-                fracx = s_x - s_ix * 1.0d;
-                fracy = s_y - s_iy * 1.0d;
+                // Integral coordinates and fractional values of the source position
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFrac(fx);
+                fracy = fixedFrac(fy);
 
                 for (int x = dst_min_x; x < dst_max_x; x++) {
 
@@ -4747,8 +4015,7 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     final int posxhigh = posx + srcPixelStride;
                     final int posyhigh = posy + srcScanlineStride;
 
-                    if ((s_ix >= src_rect_x1) && (s_ix < (src_rect_x2 - 1))
-                            && (s_iy >= src_rect_y1) && (s_iy < (src_rect_y2 - 1))) {
+                    if (x >= clipMinX && x < clipMaxX) {
                         for (int k2 = 0; k2 < dst_num_bands; k2++) {
 
                             // The interpolated value is saved in the destination array
@@ -4785,21 +4052,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    s_ix = srcRectX + fixedFloor(fx);
+                    s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4815,39 +4073,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -4922,20 +4162,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4957,39 +4189,21 @@ public class AffineBilinearOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + HALF_PIXEL, y + HALF_PIXEL);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    float s_x = (float) src_pt.getX();
-                    float s_y = (float) src_pt.getY();
-
-                    s_x -= 0.5;
-                    s_y -= 0.5;
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix * 1.0d;
-                    fracy = s_y - s_iy * 1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 1, 0, 1);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
+                    mapDestPointFixed(dst_min_x, y, HALF_PIXEL, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 1, 0, 1);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
+                    fracx = fixedFrac(fx);
+                    fracy = fixedFrac(fy);
 
                     if (setDestinationNoData) {
                         for (int x = dst_min_x; x < clipMinX; x++) {
@@ -5066,20 +4280,12 @@ public class AffineBilinearOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (fracx < fracdx1) {
-                            s_ix += incx;
-                            fracx += fracdx;
-                        } else {
-                            s_ix += incx1;
-                            fracx -= fracdx1;
-                        }
-                        if (fracy < fracdy1) {
-                            s_iy += incy;
-                            fracy += fracdy;
-                        } else {
-                            s_iy += incy1;
-                            fracy -= fracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
+                        fracx = fixedFrac(fx);
+                        fracy = fixedFrac(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -244,6 +244,21 @@ public class AffineCRIF extends CRIFImpl {
                         (float) tr[0], (float) tr[3], (float) tr[4], (float) tr[5], useROIAccessor, nodata, backgroundValues);
             }
         }
+        //
+        // Check and see if the affine transform is only rotating the image by a
+        // multiple of 90 degrees and/or flipping it, with an integral translation.
+        // In which case each destination pixel is a copy of a source pixel and
+        // no interpolation is needed. Higher order interpolations give the same
+        // result only if the image borders are extended.
+        //
+        int[] pixelMatrix = AffineTransposeOpImage.getPixelMatrix(transform);
+        if (pixelMatrix != null && !isBinary
+                && (nearestInterp || ((bilinearInterp || bicubicInterp) && extender != null))
+                && (roi == null || (roi.getBounds().isEmpty() || roi.contains(sourceBounds)))
+                && (nodata == null)) {
+            return new AffineTransposeOpImage(source, layout, renderHints, pixelMatrix);
+        }
+
         // Have to do Affine
         if (nearestInterp && !isBinary) {
             return new AffineNearestOpImage(source, extender, renderHints, layout, transform,
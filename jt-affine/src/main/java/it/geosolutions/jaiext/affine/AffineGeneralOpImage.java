@@ -338,15 +338,15 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
         // SourceImage
         PlanarImage srcIMG = getSourceImage(0);
-        // Get the source and ROI data
+        // Get the source data
         if (extender == null) {
-            sources[0] = srcIMG.getData(srcRect);
+            sources[0] = loadData(srcIMG, srcRect);
             
         } else {
             if (srcIMG.getBounds().contains(srcRect)) {
-                sources[0] = srcIMG.getData(srcRect);
+                sources[0] = loadData(srcIMG, srcRect);
             } else {
-                sources[0] = extendedIMG.getData(srcRect);
+                sources[0] = loadData(extendedIMG, srcRect);
             }
         }
 
@@ -361,6 +361,24 @@ public class AffineGeneralOpImage extends AffineOpImage {
         return dest;
     }
 
+    /**
+     * Returns a copy of the image data inside the rectangle. When the rectangle spans several tiles, they are requested with a single
+     * getTiles() call, so that the TileScheduler computes them in parallel, and then copied.
+     */
+    private static Raster loadData(PlanarImage image, Rectangle rect) {
+        Point[] indices = image.getTileIndices(rect);
+        if (indices == null || indices.length < 2 || !image.getBounds().contains(rect)) {
+            return image.getData(rect);
+        }
+        Raster[] tiles = image.getTiles(indices);
+        WritableRaster data = Raster.createWritableRaster(image.getSampleModel()
+                .createCompatibleSampleModel(rect.width, rect.height), new Point(rect.x, rect.y));
+        for (Raster tile : tiles) {
+            data.setRect(tile);
+        }
+        return data;
+    }
+
     /** Method for evaluating the destination image tile with ROI */
     protected void computeRect(Raster[] sources, WritableRaster dest, Rectangle destRect) {
         // Retrieve format tags.
@@ -474,19 +492,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         byte[][] dstDataArrays = dst.getByteDataArrays();
@@ -527,6 +538,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -534,27 +550,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
             yfrac = (int) (fracy * shiftvalue);
@@ -572,10 +582,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -586,9 +592,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -670,38 +674,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -938,19 +916,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         short[][] dstDataArrays = dst.getShortDataArrays();
@@ -991,6 +962,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -998,27 +974,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
             yfrac = (int) (fracy * shiftvalue);
@@ -1036,10 +1006,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -1050,9 +1016,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -1132,38 +1096,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -1403,19 +1341,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         short[][] dstDataArrays = dst.getShortDataArrays();
@@ -1456,6 +1387,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -1463,27 +1399,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
             yfrac = (int) (fracy * shiftvalue);
@@ -1501,10 +1431,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -1515,9 +1441,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -1593,38 +1517,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -1654,19 +1552,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         int[][] dstDataArrays = dst.getIntDataArrays();
@@ -1707,6 +1598,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -1714,27 +1610,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
             yfrac = (int) (fracy * shiftvalue);
@@ -1752,10 +1642,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -1766,9 +1652,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -1844,38 +1728,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -2113,19 +1971,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         float[][] dstDataArrays = dst.getFloatDataArrays();
@@ -2166,6 +2017,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -2173,27 +2029,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
 
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
@@ -2212,10 +2062,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -2226,9 +2072,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -2290,38 +2134,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -2350,19 +2168,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
         int xfrac;
         int yfrac;
 
-        // Source region
-        float src_rect_x1 = src.getX();
-        float src_rect_y1 = src.getY();
-        float src_rect_x2 = src_rect_x1 + src.getWidth();
-        float src_rect_y2 = src_rect_y1 + src.getHeight();
-
         // destination image pixel offset
         int dstPixelOffset;
         int dstOffset = 0;
 
-        // Destination and source point stored as point2D object
-        Point2D dst_pt = new Point2D.Float();
-        Point2D src_pt = new Point2D.Float();
+        // Fixed-point source position of the first pixel of each line
+        long[] fixedPt = new long[3];
 
         // destination data arrays
         double[][] dstDataArrays = dst.getDoubleDataArrays();
@@ -2403,6 +2214,11 @@ public class AffineGeneralOpImage extends AffineOpImage {
         // Fractional array initialization
         Number[] fracValues = new Number[2];
 
+        // As per definition of bilinear or bicubic interpolation, the source positions are
+        // shifted by half a pixel
+        double srcOffset = (interpN == null || !(interp instanceof InterpolationNearest)) ? HALF_PIXEL
+                : 0;
+
         // Cycle on the destination image y bounds
         for (int y = dst_min_y; y < dst_max_y; y++) {
             // update of the destination pixel offset
@@ -2410,27 +2226,21 @@ public class AffineGeneralOpImage extends AffineOpImage {
 
             // Backward map the first point in the line
             // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-            dst_pt.setLocation((double) dst_min_x + 0.5, (double) y + 0.5);
-            // Backward mapping of the destination point position
-            mapDestPoint(dst_pt, src_pt);
-
-            // Get the mapped source coordinates
-            float s_x = (float) src_pt.getX();
-            float s_y = (float) src_pt.getY();
-
-            // As per definition of bilinear or bicubic interpolation
-            if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                s_x -= 0.5;
-                s_y -= 0.5;
-            }
-
-            // Floor to get the integral coordinate
-            int s_ix = (int) Math.floor(s_x);
-            int s_iy = (int) Math.floor(s_y);
-
-            // Calculation of the fractional values
-            float fracx = s_x - (float) s_ix;
-            float fracy = s_y - (float) s_iy;
+            mapDestPointFixed(dst_min_x, y, srcOffset, srcRectX, srcRectY, fixedPt);
+            long fx = fixedPt[0];
+            long fy = fixedPt[1];
+
+            // Only the pixels inside [clipMinX, clipMaxX) are mapped inside the source
+            int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(), src.getHeight(),
+                    dst_min_x, dst_max_x, interp_left, interp_right, interp_top, interp_bottom);
+            int clipMinX = clipRange[0];
+            int clipMaxX = clipRange[1];
+
+            // Integral coordinates and fractional values of the source position
+            int s_ix = srcRectX + fixedFloor(fx);
+            int s_iy = srcRectY + fixedFloor(fy);
+            float fracx = fixedFracFloat(fx);
+            float fracy = fixedFracFloat(fy);
 
             // Get the new frac values
             xfrac = (int) (fracx * shiftvalue);
@@ -2449,10 +2259,6 @@ public class AffineGeneralOpImage extends AffineOpImage {
             int posy = (s_iy - srcRectY) * srcScanlineStride;
             int posx = (s_ix - srcRectX) * srcPixelStride;
 
-            // Conversion if the fractional values to integer ones for Nearest-Neighbor interpolation
-            int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-            int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
             // If roiAccessor is present, the y position on the roi image is calculated
             if (roiAccessor != null) {
                 posyROI = (s_iy - srcRectY) * roiScanlineStride;
@@ -2463,9 +2269,7 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 //
                 // Check against the source rectangle
                 //
-                if ((s_ix >= src_rect_x1 + interp_left) && (s_ix < (src_rect_x2 - interp_right))
-                        && (s_iy >= src_rect_y1 + interp_top)
-                        && (s_iy < (src_rect_y2 - interp_bottom))) {
+                if (x >= clipMinX && x < clipMaxX) {
                     // Cycle on all the image bands
                     for (int k2 = 0; k2 < dst_num_bands; k2++) {
                         // initial value for the output sample
@@ -2527,38 +2331,12 @@ public class AffineGeneralOpImage extends AffineOpImage {
                 }
 
                 // walk
-                if (interpN == null || !(interp instanceof InterpolationNearest)) {
-                    if (fracx < fracdx1) {
-                        s_ix += incx;
-                        fracx += fracdx;
-                    } else {
-                        s_ix += incx1;
-                        fracx -= fracdx1;
-                    }
-                    if (fracy < fracdy1) {
-                        s_iy += incy;
-                        fracy += fracdy;
-                    } else {
-                        s_iy += incy1;
-                        fracy -= fracdy1;
-                    }
-                    // If interpolation Nearest is used, then the
-                } else {
-                    if (ifracx < ifracdx1) {
-                        s_ix += incx;
-                        ifracx += ifracdx;
-                    } else {
-                        s_ix += incx1;
-                        ifracx -= ifracdx1;
-                    }
-                    if (ifracy < ifracdy1) {
-                        s_iy += incy;
-                        ifracy += ifracdy;
-                    } else {
-                        s_iy += incy1;
-                        ifracy -= ifracdy1;
-                    }
-                }
+                fx += fixedDx;
+                fy += fixedDy;
+                s_ix = srcRectX + fixedFloor(fx);
+                s_iy = srcRectY + fixedFloor(fy);
+                fracx = fixedFracFloat(fx);
+                fracy = fixedFracFloat(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -17,10 +17,8 @@
 */
 package it.geosolutions.jaiext.affine;
 
-import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Point2D;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.IndexColorModel;
@@ -254,22 +252,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void byteLoop(int dataType, RasterAccessor src, Rectangle destRect, int srcRectX,
             int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final byte dstDataArrays[][] = dst.getByteDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -288,11 +276,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -313,43 +296,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -372,21 +331,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -410,38 +358,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -486,20 +415,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -522,43 +441,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -608,20 +503,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -645,43 +530,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -704,21 +565,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -742,43 +592,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -821,20 +647,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -856,43 +672,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -941,20 +733,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -978,23 +760,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void intLoop(int dataType, RasterAccessor src, Rectangle destRect,
             int srcRectX, int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final int dstDataArrays[][] = dst.getIntDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -1013,11 +784,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -1038,43 +804,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -1098,21 +840,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1136,38 +867,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -1212,20 +924,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
                         
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1248,43 +950,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -1334,20 +1012,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1371,43 +1039,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -1437,21 +1081,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1475,40 +1108,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    mapDestPoint(dst_pt, src_pt);
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -1557,20 +1169,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1592,43 +1194,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -1683,20 +1261,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1719,23 +1287,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void shortLoop(int dataType, RasterAccessor src, Rectangle destRect,
             int srcRectX, int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -1754,11 +1311,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -1779,43 +1331,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -1839,21 +1367,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -1877,38 +1394,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -1953,20 +1451,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
                         
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -1989,43 +1477,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -2075,20 +1539,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2112,43 +1566,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -2178,21 +1608,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2216,43 +1635,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -2301,20 +1696,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2336,43 +1721,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -2427,20 +1788,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2463,23 +1814,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void ushortLoop(int dataType, RasterAccessor src, Rectangle destRect,
             int srcRectX, int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final short dstDataArrays[][] = dst.getShortDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -2498,11 +1838,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -2523,43 +1858,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -2583,21 +1894,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2621,38 +1921,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -2697,20 +1978,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
                         
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2733,43 +2004,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -2819,20 +2066,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -2856,43 +2093,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -2922,21 +2135,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -2960,43 +2162,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3045,20 +2223,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3080,43 +2248,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3171,20 +2315,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3208,23 +2342,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void floatLoop(int dataType, RasterAccessor src, Rectangle destRect,
             int srcRectX, int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final float dstDataArrays[][] = dst.getFloatDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -3243,11 +2366,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -3268,43 +2386,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -3328,21 +2422,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3366,38 +2449,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3442,20 +2506,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
                         
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3478,43 +2532,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3564,20 +2594,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3601,43 +2621,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -3668,21 +2664,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -3706,43 +2691,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3792,20 +2753,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3827,43 +2778,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -3920,20 +2847,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -3956,23 +2873,12 @@ public class AffineNearestOpImage extends AffineOpImage {
     private void doubleLoop(int dataType, RasterAccessor src, Rectangle destRect,
             int srcRectX, int srcRectY, RasterAccessor dst, RasterAccessor roi, RandomIter roiIter) {
 
-
-        final float src_rect_x1 = src.getX();
-        final float src_rect_y1 = src.getY();
-        final float src_rect_x2 = src_rect_x1 + src.getWidth();
-        final float src_rect_y2 = src_rect_y1 + src.getHeight();
-
-        float s_x, s_y;
-
         int src_pos;
 
-        double fracx, fracy;
-
         int dstPixelOffset;
         int dstOffset = 0;
 
-        final Point2D dst_pt = new Point2D.Float();
-        final Point2D src_pt = new Point2D.Float();
+        final long[] fixedPt = new long[3];
 
         final double dstDataArrays[][] = dst.getDoubleDataArrays();
         final int dstBandOffsets[] = dst.getBandOffsets();
@@ -3991,11 +2897,6 @@ public class AffineNearestOpImage extends AffineOpImage {
         final int dst_max_x = destRect.x + destRect.width;
         final int dst_max_y = destRect.y + destRect.height;
 
-        final int incxStride = incx * srcPixelStride;
-        final int incx1Stride = incx1 * srcPixelStride;
-        final int incyStride = incy * srcScanlineStride;
-        final int incy1Stride = incy1 * srcScanlineStride;
-
         // ROI scanline stride
         final byte[] roiDataArray;
         final int roiDataLength;
@@ -4016,43 +2917,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX)
@@ -4076,21 +2953,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                                 + bandOffsets[k2]];
                     }
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4114,38 +2980,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
 
-                    mapDestPoint(dst_pt, src_pt);
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
 
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(src_rect_x1,
-                            src_rect_y1, src_rect_x2, src_rect_y2, s_ix, s_iy, ifracx,
-                            ifracy, dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -4190,20 +3037,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
                         
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4226,43 +3063,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -4312,20 +3125,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4349,43 +3152,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                 // Backward map the first point in the line
                 // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                mapDestPoint(dst_pt, src_pt);
-
-                // Get the mapped source coordinates
-                s_x = (float) src_pt.getX();
-                s_y = (float) src_pt.getY();
-
-                // Floor to get the integral coordinate
-                int s_ix = (int) Math.floor(s_x);
-                int s_iy = (int) Math.floor(s_y);
-
-                fracx = s_x - s_ix*1.0d;
-                fracy = s_y - s_iy*1.0d;
-
-                int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                // Compute clipMinX, clipMinY
-                javax.media.jai.util.Range clipRange = performScanlineClipping(
-                        src_rect_x1,
-                        src_rect_y1,
-                        // Last point in the source is
-                        // x2 = x1 + width - 1
-                        // y2 = y1 + height - 1
-                        src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy, dst_min_x,
-                        dst_max_x, 0, 0, 0, 0);
-                int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                // Advance s_ix, s_iy, ifracx, ifracy
-                Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                        ifracx, ifracy);
-                s_ix = startPts[0].x;
-                s_iy = startPts[0].y;
-                ifracx = startPts[1].x;
-                ifracy = startPts[1].y;
+                mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                // Compute clipMinX, clipMaxX
+                int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                        src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                int clipMinX = clipRange[0];
+                int clipMaxX = clipRange[1];
+
+                // Advance to the first pixel inside the source
+                long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                int s_ix = srcRectX + fixedFloor(fx);
+                int s_iy = srcRectY + fixedFloor(fy);
 
                 // Translate to/from SampleModel space & Raster space
                 int posy = (s_iy - srcRectY) * srcScanlineStride;
@@ -4416,21 +3195,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                     }
 
                     // walk
-                    if (ifracx < ifracdx1) {
-                        src_pos += incxStride;
-                        ifracx += ifracdx;
-                    } else {
-                        src_pos += incx1Stride;
-                        ifracx -= ifracdx1;
-                    }
-
-                    if (ifracy < ifracdy1) {
-                        src_pos += incyStride;
-                        ifracy += ifracdy;
-                    } else {
-                        src_pos += incy1Stride;
-                        ifracy -= ifracdy1;
-                    }
+                    fx += fixedDx;
+                    fy += fixedDy;
+                    src_pos = fixedFloor(fy) * srcScanlineStride + fixedFloor(fx)
+                            * srcPixelStride;
 
                     // Go to next pixel
                     dstPixelOffset += dstPixelStride;
@@ -4454,43 +3222,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -4541,20 +3285,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                         }
 
                      // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                     fx += fixedDx;
+                     fy += fixedDy;
+                     s_ix = srcRectX + fixedFloor(fx);
+                     s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -4576,43 +3310,19 @@ public class AffineNearestOpImage extends AffineOpImage {
 
                     // Backward map the first point in the line
                     // The energy is at the (pt_x + 0.5, pt_y + 0.5)
-                    dst_pt.setLocation(dst_min_x + 0.5d, y + 0.5d);
-
-                    mapDestPoint(dst_pt, src_pt);
-
-                    // Get the mapped source coordinates
-                    s_x = (float) src_pt.getX();
-                    s_y = (float) src_pt.getY();
-
-                    // Floor to get the integral coordinate
-                    int s_ix = (int) Math.floor(s_x);
-                    int s_iy = (int) Math.floor(s_y);
-
-                    fracx = s_x - s_ix*1.0d;
-                    fracy = s_y - s_iy*1.0d;
-
-                    int ifracx = (int) Math.floor(fracx * GEOM_FRAC_MAX);
-                    int ifracy = (int) Math.floor(fracy * GEOM_FRAC_MAX);
-
-                    // Compute clipMinX, clipMinY
-                    javax.media.jai.util.Range clipRange = performScanlineClipping(
-                            src_rect_x1,
-                            src_rect_y1,
-                            // Last point in the source is
-                            // x2 = x1 + width - 1
-                            // y2 = y1 + height - 1
-                            src_rect_x2 , src_rect_y2 , s_ix, s_iy, ifracx, ifracy,
-                            dst_min_x, dst_max_x, 0, 0, 0, 0);
-                    int clipMinX = ((Integer) clipRange.getMinValue()).intValue();
-                    int clipMaxX = ((Integer) clipRange.getMaxValue()).intValue();
-
-                    // Advance s_ix, s_iy, ifracx, ifracy
-                    Point[] startPts = advanceToStartOfScanline(dst_min_x, clipMinX, s_ix, s_iy,
-                            ifracx, ifracy);
-                    s_ix = startPts[0].x;
-                    s_iy = startPts[0].y;
-                    ifracx = startPts[1].x;
-                    ifracy = startPts[1].y;
+                    mapDestPointFixed(dst_min_x, y, 0, srcRectX, srcRectY, fixedPt);
+
+                    // Compute clipMinX, clipMaxX
+                    int[] clipRange = performFixedScanlineClipping(fixedPt, src.getWidth(),
+                            src.getHeight(), dst_min_x, dst_max_x, 0, 0, 0, 0);
+                    int clipMinX = clipRange[0];
+                    int clipMaxX = clipRange[1];
+
+                    // Advance to the first pixel inside the source
+                    long fx = fixedPt[0] + (clipMinX - dst_min_x) * fixedDx;
+                    long fy = fixedPt[1] + (clipMinX - dst_min_x) * fixedDy;
+                    int s_ix = srcRectX + fixedFloor(fx);
+                    int s_iy = srcRectY + fixedFloor(fy);
 
                     // Translate to/from SampleModel space & Raster space
                     src_pos = (s_iy - srcRectY) * srcScanlineStride + (s_ix - srcRectX) * srcPixelStride;
@@ -4669,20 +3379,10 @@ public class AffineNearestOpImage extends AffineOpImage {
                             }
                         }
                         // walk
-                        if (ifracx < ifracdx1) {
-                            s_ix += incx;
-                            ifracx += ifracdx;
-                        } else {
-                            s_ix += incx1;
-                            ifracx -= ifracdx1;
-                        }
-                        if (ifracy < ifracdy1) {
-                            s_iy += incy;
-                            ifracy += ifracdy;
-                        } else {
-                            s_iy += incy1;
-                            ifracy -= ifracdy1;
-                        }
+                        fx += fixedDx;
+                        fy += fixedDy;
+                        s_ix = srcRectX + fixedFloor(fx);
+                        s_iy = srcRectY + fixedFloor(fy);
 
                         // Go to next pixel
                         dstPixelOffset += dstPixelStride;
@@ -144,6 +144,39 @@ abstract class AffineOpImage extends GeometricOpImage {
 
     int ifracdx, ifracdx1, ifracdy, ifracdy1;
 
+    /** Number of fractional bits of the fixed-point source positions used for walking along a scanline. */
+    protected static final int FIXED_SHIFT = 32;
+
+    /** Fixed-point value of a single source pixel. */
+    protected static final long FIXED_ONE = 1L << FIXED_SHIFT;
+
+    /** Mask selecting the fractional part of a fixed-point source position. */
+    protected static final long FIXED_FRAC_MASK = FIXED_ONE - 1;
+
+    /** Scale converting the fractional part of a fixed-point source position to a double. */
+    private static final double FIXED_TO_DOUBLE = 1.0d / FIXED_ONE;
+
+    /** Scale converting the 24 most significant fractional bits of a fixed-point source position to a float. */
+    private static final float FIXED_TO_FLOAT = 1.0f / (1 << 24);
+
+    /**
+     * Bias added to the fixed-point source positions, about 1E-6 pixels. It covers the rounding of the increments over a scanline, so that
+     * positions falling exactly on a pixel edge are not moved to the previous pixel.
+     */
+    private static final long FIXED_EPSILON = 1L << 12;
+
+    /**
+     * Largest source distance, in pixels, of the first fixed-point position of a scanline. Scanlines starting farther are anchored to the pixel
+     * closest to the source, see {@link #mapDestPointFixed(int, int, double, int, int, long[])}.
+     */
+    private static final double FIXED_MAX_PIXELS = 1 << 29;
+
+    /** Anchor value marking a scanline which never gets close to the source */
+    private static final long OUTSIDE_SCANLINE = Long.MIN_VALUE;
+
+    /** Fixed-point source increments for a single step along a destination scanline. */
+    long fixedDx, fixedDy;
+
     /**
      * Padding values for interpolation
      */
@@ -471,6 +504,10 @@ abstract class AffineOpImage extends GeometricOpImage {
         incy1 = incy + 1; // along y
         ifracdy = (int) Math.round(fracdy * GEOM_FRAC_MAX);
         ifracdy1 = GEOM_FRAC_MAX - ifracdy;
+
+        // Fixed-point increments used in the incremental scanline walking
+        fixedDx = Math.round(m00 * FIXED_ONE);
+        fixedDy = Math.round(m10 * FIXED_ONE);
         
         // SG Retrieve the rendered source image and its ROI.
         Object property = source.getProperty("ROI");
@@ -849,4 +886,143 @@ abstract class AffineOpImage extends GeometricOpImage {
         return new Point[] { new Point(s_ix, s_iy), new Point(ifracx, ifracy) };
     }
 
+
+    // Fixed-point scanline walking
+
+    /**
+     * Computes the fixed-point source position of the destination pixel (dstX, dstY) and stores it inside <code>fixedPt</code>, which must have
+     * length 3. The position is relative to the source origin (srcX, srcY) and shifted by <code>offset</code>, which is 0 for nearest-neighbor
+     * interpolation and {@link #HALF_PIXEL} for bilinear and bicubic interpolation.
+     * 
+     * <p>
+     * The position is computed from the inverse transform in double precision. Computing it again for every scanline keeps the error of the
+     * incremental walking inside a single scanline.
+     * 
+     * <p>
+     * A scanline starting too far from the source to be represented in fixed-point is anchored to its pixel closest to the source: the
+     * position of that pixel is computed exactly and the first position is obtained by walking back from it, wrapping around the long range.
+     * The walk forward gives back the exact positions near the source, and the number of steps from the first pixel to the anchor is stored in
+     * <code>fixedPt[2]</code> for {@link #performFixedScanlineClipping(long[], int, int, int, int, int, int, int, int)}.
+     */
+    protected void mapDestPointFixed(int dstX, int dstY, double offset, int srcX, int srcY,
+            long[] fixedPt) {
+        double s_x = mapDestX(dstX, dstY) - offset - srcX;
+        double s_y = mapDestY(dstX, dstY) - offset - srcY;
+        long anchor = 0;
+        if (Math.abs(s_x) > FIXED_MAX_PIXELS || Math.abs(s_y) > FIXED_MAX_PIXELS) {
+            // Step closest to the source origin, limited to the int range of the scanline pixels
+            double dx = fixedDx / (double) FIXED_ONE;
+            double dy = fixedDy / (double) FIXED_ONE;
+            double norm = dx * dx + dy * dy;
+            double closest = norm > 0 ? -(s_x * dx + s_y * dy) / norm : 0;
+            anchor = (long) Math.min(Math.max(Math.rint(closest), 0), Integer.MAX_VALUE);
+            s_x = mapDestX(dstX + anchor, dstY) - offset - srcX;
+            s_y = mapDestY(dstX + anchor, dstY) - offset - srcY;
+            if (Math.abs(s_x) > FIXED_MAX_PIXELS || Math.abs(s_y) > FIXED_MAX_PIXELS) {
+                // The scanline never gets close to the source
+                fixedPt[0] = 0;
+                fixedPt[1] = 0;
+                fixedPt[2] = OUTSIDE_SCANLINE;
+                return;
+            }
+        }
+        fixedPt[0] = toFixed(s_x) + FIXED_EPSILON - anchor * fixedDx;
+        fixedPt[1] = toFixed(s_y) + FIXED_EPSILON - anchor * fixedDy;
+        fixedPt[2] = anchor;
+    }
+
+    /** Maps the X coordinate of the center of a destination pixel to the source */
+    private double mapDestX(double dstX, double dstY) {
+        // The energy is at the (pt_x + 0.5, pt_y + 0.5)
+        return i_transform.getScaleX() * (dstX + HALF_PIXEL) + i_transform.getShearX()
+                * (dstY + HALF_PIXEL) + i_transform.getTranslateX();
+    }
+
+    /** Maps the Y coordinate of the center of a destination pixel to the source */
+    private double mapDestY(double dstX, double dstY) {
+        return i_transform.getShearY() * (dstX + HALF_PIXEL) + i_transform.getScaleY()
+                * (dstY + HALF_PIXEL) + i_transform.getTranslateY();
+    }
+
+    /**
+     * Computes the range [clipMinX, clipMaxX) of a destination scanline whose pixels are mapped inside the source bounds. The scanline
+     * starts at dst_min_x with the fixed-point source position stored in <code>fixedPt</code> by
+     * {@link #mapDestPointFixed(int, int, double, int, int, long[])}, and each pixel adds (fixedDx, fixedDy). The source bounds go from 0 to
+     * srcWidth and srcHeight, reduced by the same padding factors of
+     * {@link #performScanlineClipping(float, float, float, float, int, int, int, int, int, int, int, int, int, int)}.
+     * 
+     * <p>
+     * Since the clipping uses the same fixed-point values as the walking, no bounds check is needed inside the range.
+     */
+    protected int[] performFixedScanlineClipping(long[] fixedPt, int srcWidth, int srcHeight,
+            int dst_min_x, int dst_max_x, int lpad, int rpad, int tpad, int bpad) {
+        long anchor = fixedPt[2];
+        if (anchor == OUTSIDE_SCANLINE) {
+            return new int[] { dst_min_x, dst_min_x };
+        }
+        // The steps are counted from the anchor, where the positions have not wrapped around
+        long length = dst_max_x - dst_min_x;
+        long[] steps = new long[] { -anchor, length - anchor };
+        clipFixedSteps(fixedPt[0] + anchor * fixedDx, fixedDx, lpad, srcWidth - rpad, steps);
+        clipFixedSteps(fixedPt[1] + anchor * fixedDy, fixedDy, tpad, srcHeight - bpad, steps);
+
+        long minStep = Math.min(steps[0] + anchor, length);
+        long maxStep = Math.max(minStep, steps[1] + anchor);
+        return new int[] { dst_min_x + (int) minStep, dst_min_x + (int) maxStep };
+    }
+
+    /**
+     * Restricts the steps range [steps[0], steps[1]) to the steps i for which floor((f + i * d) / FIXED_ONE) lies inside [min, max).
+     */
+    private static void clipFixedSteps(long f, long d, long min, long max, long[] steps) {
+        long lo = min << FIXED_SHIFT;
+        long hi = (max << FIXED_SHIFT) - 1;
+        long first;
+        long last;
+        if (lo > hi || (d == 0 && (f < lo || f > hi))) {
+            // No point inside the bounds
+            steps[1] = steps[0];
+            return;
+        } else if (d == 0) {
+            // All points have the same coordinate, inside the bounds
+            return;
+        } else if (d > 0) {
+            first = -floorFixedRatio(f - lo, d);
+            last = floorFixedRatio(hi - f, d);
+        } else {
+            // Moving backwards, switch roles of the edges
+            first = -floorFixedRatio(hi - f, -d);
+            last = floorFixedRatio(f - lo, -d);
+        }
+        steps[0] = Math.max(steps[0], first);
+        steps[1] = Math.min(steps[1], last + 1);
+    }
+
+    /** Computes floor(num/denom) for a positive denom, without the int conversion of {@link #floorRatio(long, long)}. */
+    private static long floorFixedRatio(long num, long denom) {
+        return num >= 0 ? num / denom : -((-num + denom - 1) / denom);
+    }
+
+    /** Converts a source position, in pixels, to fixed-point. The position must not be farther than {@link #FIXED_MAX_PIXELS}. */
+    private static long toFixed(double value) {
+        return (long) Math.floor(value * FIXED_ONE);
+    }
+
+    /** Returns the integral part of a fixed-point source position. */
+    protected static int fixedFloor(long fixed) {
+        return (int) (fixed >> FIXED_SHIFT);
+    }
+
+    /** Returns the fractional part of a fixed-point source position, inside [0, 1). */
+    protected static double fixedFrac(long fixed) {
+        return (fixed & FIXED_FRAC_MASK) * FIXED_TO_DOUBLE;
+    }
+
+    /**
+     * Returns the fractional part of a fixed-point source position as a float, inside [0, 1). The fraction is truncated to the float precision
+     * so that it is never rounded up to 1.
+     */
+    protected static float fixedFracFloat(long fixed) {
+        return ((fixed & FIXED_FRAC_MASK) >>> (FIXED_SHIFT - 24)) * FIXED_TO_FLOAT;
+    }
 }
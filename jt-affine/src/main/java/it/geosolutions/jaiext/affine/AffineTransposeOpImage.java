@@ -0,0 +1,413 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+ *    http://www.geo-solutions.it/
+ *    Copyright 2014 GeoSolutions
+
+
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+
+ * http://www.apache.org/licenses/LICENSE-2.0
+
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.geosolutions.jaiext.affine;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.util.Map;
+
+import javax.media.jai.ImageLayout;
+import javax.media.jai.OpImage;
+import javax.media.jai.PlanarImage;
+import javax.media.jai.RasterAccessor;
+import javax.media.jai.RasterFormatTag;
+
+/**
+ * An <code>OpImage</code> implementing the affine transformations which only rotate the image by a multiple of 90 degrees and/or flip it, with an
+ * integral translation. Each destination pixel is the copy of a single source pixel, so no interpolation is needed. The source tiles are read
+ * directly and copied in square blocks, so that both the source rows and the destination columns they are written to stay in cache.
+ * <p>
+ * No ROI or No Data checks are performed: this image is used only when the whole source is valid.
+ * 
+ * @see AffineCRIF
+ */
+public class AffineTransposeOpImage extends OpImage {
+
+    /** Side of the square blocks copied at once */
+    private static final int BLOCK_SIZE = 64;
+
+    /** Tolerance used when checking if the transform coefficients are integers */
+    private static final double TOLERANCE = 1E-6;
+
+    /** Integer matrix mapping the source pixel indexes to the destination ones */
+    private final int m00, m01, m02, m10, m11, m12;
+
+    /**
+     * Returns the matrix mapping the source pixel indexes to the destination pixel indexes if the transform is a rotation by a multiple of 90
+     * degrees and/or a flip with an integral translation, <code>null</code> otherwise. The matrix is returned as
+     * <code>{ m00, m01, m02, m10, m11, m12 }</code> with <code>dx = m00 * sx + m01 * sy + m02</code> and
+     * <code>dy = m10 * sx + m11 * sy + m12</code>.
+     */
+    static int[] getPixelMatrix(AffineTransform transform) {
+        double[] tr = new double[6];
+        transform.getMatrix(tr);
+        int[] m = new int[6];
+        for (int i = 0; i < 6; i++) {
+            m[i] = (int) Math.round(tr[i]);
+            if (Math.abs(tr[i] - m[i]) > TOLERANCE) {
+                return null;
+            }
+        }
+        // tr = { m00, m10, m01, m11, m02, m12 }
+        int a = m[0], b = m[1], c = m[2], d = m[3];
+        boolean axisAligned = Math.abs(a) == 1 && Math.abs(d) == 1 && b == 0 && c == 0;
+        boolean swapped = a == 0 && d == 0 && Math.abs(b) == 1 && Math.abs(c) == 1;
+        if (!axisAligned && !swapped) {
+            return null;
+        }
+        // The pixel centers are mapped on the pixel centers: x + 0.5 -> dx + 0.5
+        return new int[] { a, c, m[4] + (a + c - 1) / 2, b, d, m[5] + (b + d - 1) / 2 };
+    }
+
+    public AffineTransposeOpImage(RenderedImage source, ImageLayout layout, Map configuration,
+            int[] matrix) {
+        super(vectorize(source), layoutHelper(source, layout, matrix), configuration, false);
+        m00 = matrix[0];
+        m01 = matrix[1];
+        m02 = matrix[2];
+        m10 = matrix[3];
+        m11 = matrix[4];
+        m12 = matrix[5];
+    }
+
+    /** Sets the destination bounds to the transformed source bounds, the other layout settings are taken from the hint or from the source */
+    private static ImageLayout layoutHelper(RenderedImage source, ImageLayout layout, int[] m) {
+        ImageLayout il = layout == null ? new ImageLayout() : (ImageLayout) layout.clone();
+        Rectangle bounds = mapRect(new Rectangle(source.getMinX(), source.getMinY(),
+                source.getWidth(), source.getHeight()), m[0], m[1], m[2], m[3], m[4], m[5]);
+        il.setMinX(bounds.x);
+        il.setMinY(bounds.y);
+        il.setWidth(bounds.width);
+        il.setHeight(bounds.height);
+        return il;
+    }
+
+    /** Maps a rectangle of pixels with the input integer matrix */
+    private static Rectangle mapRect(Rectangle rect, int a, int c, int e, int b, int d, int f) {
+        int x0 = rect.x;
+        int y0 = rect.y;
+        int x1 = rect.x + rect.width - 1;
+        int y1 = rect.y + rect.height - 1;
+        int dx0 = a * x0 + c * y0 + e;
+        int dy0 = b * x0 + d * y0 + f;
+        int dx1 = a * x1 + c * y1 + e;
+        int dy1 = b * x1 + d * y1 + f;
+        return new Rectangle(Math.min(dx0, dx1), Math.min(dy0, dy1), Math.abs(dx1 - dx0) + 1,
+                Math.abs(dy1 - dy0) + 1);
+    }
+
+    public Rectangle mapSourceRect(Rectangle sourceRect, int sourceIndex) {
+        if (sourceRect == null) {
+            throw new IllegalArgumentException("Source rectangle must not be null");
+        }
+        if (sourceIndex != 0) {
+            throw new IllegalArgumentException("Only one source is present");
+        }
+        return mapRect(sourceRect, m00, m01, m02, m10, m11, m12);
+    }
+
+    public Rectangle mapDestRect(Rectangle destRect, int sourceIndex) {
+        if (destRect == null) {
+            throw new IllegalArgumentException("Destination rectangle must not be null");
+        }
+        if (sourceIndex != 0) {
+            throw new IllegalArgumentException("Only one source is present");
+        }
+        // The inverse of the matrix is its transpose
+        return mapRect(destRect, m00, m10, -(m00 * m02 + m10 * m12), m01, m11,
+                -(m01 * m02 + m11 * m12));
+    }
+
+    /**
+     * Copies the source tiles intersecting the backward mapped destination rectangle. The tiles are accessed directly, without copying them in a
+     * single contiguous raster.
+     */
+    protected void computeRect(PlanarImage[] sources, WritableRaster dest, Rectangle destRect) {
+        // Retrieve format tags.
+        RasterFormatTag[] formatTags = getFormatTags();
+
+        PlanarImage source = sources[0];
+        Rectangle srcRect = mapDestRect(destRect, 0).intersection(source.getBounds());
+
+        int minTileX = source.XToTileX(srcRect.x);
+        int maxTileX = source.XToTileX(srcRect.x + srcRect.width - 1);
+        int minTileY = source.YToTileY(srcRect.y);
+        int maxTileY = source.YToTileY(srcRect.y + srcRect.height - 1);
+
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                Raster tile = source.getTile(tileX, tileY);
+                Rectangle srcBlock = tile.getBounds().intersection(srcRect);
+                if (srcBlock.isEmpty()) {
+                    continue;
+                }
+                Rectangle dstBlock = mapSourceRect(srcBlock, 0);
+
+                RasterAccessor srcAccessor = new RasterAccessor(tile, srcBlock, formatTags[0],
+                        source.getColorModel());
+                RasterAccessor dstAccessor = new RasterAccessor(dest, dstBlock, formatTags[1],
+                        getColorModel());
+
+                // Position of the first source pixel inside the destination block
+                int x0 = m00 * srcBlock.x + m01 * srcBlock.y + m02 - dstBlock.x;
+                int y0 = m10 * srcBlock.x + m11 * srcBlock.y + m12 - dstBlock.y;
+
+                switch (dstAccessor.getDataType()) {
+                case DataBuffer.TYPE_BYTE:
+                    byteLoop(srcAccessor, dstAccessor, srcBlock.width, srcBlock.height, x0, y0);
+                    break;
+                case DataBuffer.TYPE_USHORT:
+                case DataBuffer.TYPE_SHORT:
+                    shortLoop(srcAccessor, dstAccessor, srcBlock.width, srcBlock.height, x0, y0);
+                    break;
+                case DataBuffer.TYPE_INT:
+                    intLoop(srcAccessor, dstAccessor, srcBlock.width, srcBlock.height, x0, y0);
+                    break;
+                case DataBuffer.TYPE_FLOAT:
+                    floatLoop(srcAccessor, dstAccessor, srcBlock.width, srcBlock.height, x0, y0);
+                    break;
+                case DataBuffer.TYPE_DOUBLE:
+                    doubleLoop(srcAccessor, dstAccessor, srcBlock.width, srcBlock.height, x0, y0);
+                    break;
+                }
+
+                // If the RasterAccessor object set up a temporary buffer for the
+                // op to write to, tell the RasterAccessor to write that data
+                // to the raster no that we're done with it.
+                if (dstAccessor.isDataCopy()) {
+                    dstAccessor.clampDataArrays();
+                    dstAccessor.copyDataToRaster();
+                }
+            }
+        }
+    }
+
+    private void byteLoop(RasterAccessor src, RasterAccessor dst, int width, int height,
+            int x0, int y0) {
+        // Source and destination layout
+        final int srcPixelStride = src.getPixelStride();
+        final int srcScanlineStride = src.getScanlineStride();
+        final int[] srcBandOffsets = src.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dnumBands = dst.getNumBands();
+
+        final byte[][] srcDataArrays = src.getByteDataArrays();
+        final byte[][] dstDataArrays = dst.getByteDataArrays();
+
+        // Destination offset steps for the next source pixel and the next source line
+        final int dstPixelStep = m00 * dstPixelStride + m10 * dstScanlineStride;
+        final int dstLineStep = m01 * dstPixelStride + m11 * dstScanlineStride;
+        final int dstOrigin = x0 * dstPixelStride + y0 * dstScanlineStride;
+
+        for (int k = 0; k < dnumBands; k++) {
+            final byte[] srcData = srcDataArrays[k];
+            final byte[] dstData = dstDataArrays[k];
+            final int srcBandOffset = srcBandOffsets[k];
+            final int dstBandOrigin = dstOrigin + dstBandOffsets[k];
+            for (int by = 0; by < height; by += BLOCK_SIZE) {
+                final int maxY = Math.min(by + BLOCK_SIZE, height);
+                for (int bx = 0; bx < width; bx += BLOCK_SIZE) {
+                    final int maxX = Math.min(bx + BLOCK_SIZE, width);
+                    for (int y = by; y < maxY; y++) {
+                        int srcPos = srcBandOffset + y * srcScanlineStride + bx * srcPixelStride;
+                        int dstPos = dstBandOrigin + y * dstLineStep + bx * dstPixelStep;
+                        for (int x = bx; x < maxX; x++) {
+                            dstData[dstPos] = srcData[srcPos];
+                            srcPos += srcPixelStride;
+                            dstPos += dstPixelStep;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void shortLoop(RasterAccessor src, RasterAccessor dst, int width, int height,
+            int x0, int y0) {
+        // Source and destination layout
+        final int srcPixelStride = src.getPixelStride();
+        final int srcScanlineStride = src.getScanlineStride();
+        final int[] srcBandOffsets = src.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dnumBands = dst.getNumBands();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Destination offset steps for the next source pixel and the next source line
+        final int dstPixelStep = m00 * dstPixelStride + m10 * dstScanlineStride;
+        final int dstLineStep = m01 * dstPixelStride + m11 * dstScanlineStride;
+        final int dstOrigin = x0 * dstPixelStride + y0 * dstScanlineStride;
+
+        for (int k = 0; k < dnumBands; k++) {
+            final short[] srcData = srcDataArrays[k];
+            final short[] dstData = dstDataArrays[k];
+            final int srcBandOffset = srcBandOffsets[k];
+            final int dstBandOrigin = dstOrigin + dstBandOffsets[k];
+            for (int by = 0; by < height; by += BLOCK_SIZE) {
+                final int maxY = Math.min(by + BLOCK_SIZE, height);
+                for (int bx = 0; bx < width; bx += BLOCK_SIZE) {
+                    final int maxX = Math.min(bx + BLOCK_SIZE, width);
+                    for (int y = by; y < maxY; y++) {
+                        int srcPos = srcBandOffset + y * srcScanlineStride + bx * srcPixelStride;
+                        int dstPos = dstBandOrigin + y * dstLineStep + bx * dstPixelStep;
+                        for (int x = bx; x < maxX; x++) {
+                            dstData[dstPos] = srcData[srcPos];
+                            srcPos += srcPixelStride;
+                            dstPos += dstPixelStep;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void intLoop(RasterAccessor src, RasterAccessor dst, int width, int height,
+            int x0, int y0) {
+        // Source and destination layout
+        final int srcPixelStride = src.getPixelStride();
+        final int srcScanlineStride = src.getScanlineStride();
+        final int[] srcBandOffsets = src.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dnumBands = dst.getNumBands();
+
+        final int[][] srcDataArrays = src.getIntDataArrays();
+        final int[][] dstDataArrays = dst.getIntDataArrays();
+
+        // Destination offset steps for the next source pixel and the next source line
+        final int dstPixelStep = m00 * dstPixelStride + m10 * dstScanlineStride;
+        final int dstLineStep = m01 * dstPixelStride + m11 * dstScanlineStride;
+        final int dstOrigin = x0 * dstPixelStride + y0 * dstScanlineStride;
+
+        for (int k = 0; k < dnumBands; k++) {
+            final int[] srcData = srcDataArrays[k];
+            final int[] dstData = dstDataArrays[k];
+            final int srcBandOffset = srcBandOffsets[k];
+            final int dstBandOrigin = dstOrigin + dstBandOffsets[k];
+            for (int by = 0; by < height; by += BLOCK_SIZE) {
+                final int maxY = Math.min(by + BLOCK_SIZE, height);
+                for (int bx = 0; bx < width; bx += BLOCK_SIZE) {
+                    final int maxX = Math.min(bx + BLOCK_SIZE, width);
+                    for (int y = by; y < maxY; y++) {
+                        int srcPos = srcBandOffset + y * srcScanlineStride + bx * srcPixelStride;
+                        int dstPos = dstBandOrigin + y * dstLineStep + bx * dstPixelStep;
+                        for (int x = bx; x < maxX; x++) {
+                            dstData[dstPos] = srcData[srcPos];
+                            srcPos += srcPixelStride;
+                            dstPos += dstPixelStep;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void floatLoop(RasterAccessor src, RasterAccessor dst, int width, int height,
+            int x0, int y0) {
+        // Source and destination layout
+        final int srcPixelStride = src.getPixelStride();
+        final int srcScanlineStride = src.getScanlineStride();
+        final int[] srcBandOffsets = src.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dnumBands = dst.getNumBands();
+
+        final float[][] srcDataArrays = src.getFloatDataArrays();
+        final float[][] dstDataArrays = dst.getFloatDataArrays();
+
+        // Destination offset steps for the next source pixel and the next source line
+        final int dstPixelStep = m00 * dstPixelStride + m10 * dstScanlineStride;
+        final int dstLineStep = m01 * dstPixelStride + m11 * dstScanlineStride;
+        final int dstOrigin = x0 * dstPixelStride + y0 * dstScanlineStride;
+
+        for (int k = 0; k < dnumBands; k++) {
+            final float[] srcData = srcDataArrays[k];
+            final float[] dstData = dstDataArrays[k];
+            final int srcBandOffset = srcBandOffsets[k];
+            final int dstBandOrigin = dstOrigin + dstBandOffsets[k];
+            for (int by = 0; by < height; by += BLOCK_SIZE) {
+                final int maxY = Math.min(by + BLOCK_SIZE, height);
+                for (int bx = 0; bx < width; bx += BLOCK_SIZE) {
+                    final int maxX = Math.min(bx + BLOCK_SIZE, width);
+                    for (int y = by; y < maxY; y++) {
+                        int srcPos = srcBandOffset + y * srcScanlineStride + bx * srcPixelStride;
+                        int dstPos = dstBandOrigin + y * dstLineStep + bx * dstPixelStep;
+                        for (int x = bx; x < maxX; x++) {
+                            dstData[dstPos] = srcData[srcPos];
+                            srcPos += srcPixelStride;
+                            dstPos += dstPixelStep;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void doubleLoop(RasterAccessor src, RasterAccessor dst, int width, int height,
+            int x0, int y0) {
+        // Source and destination layout
+        final int srcPixelStride = src.getPixelStride();
+        final int srcScanlineStride = src.getScanlineStride();
+        final int[] srcBandOffsets = src.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dnumBands = dst.getNumBands();
+
+        final double[][] srcDataArrays = src.getDoubleDataArrays();
+        final double[][] dstDataArrays = dst.getDoubleDataArrays();
+
+        // Destination offset steps for the next source pixel and the next source line
+        final int dstPixelStep = m00 * dstPixelStride + m10 * dstScanlineStride;
+        final int dstLineStep = m01 * dstPixelStride + m11 * dstScanlineStride;
+        final int dstOrigin = x0 * dstPixelStride + y0 * dstScanlineStride;
+
+        for (int k = 0; k < dnumBands; k++) {
+            final double[] srcData = srcDataArrays[k];
+            final double[] dstData = dstDataArrays[k];
+            final int srcBandOffset = srcBandOffsets[k];
+            final int dstBandOrigin = dstOrigin + dstBandOffsets[k];
+            for (int by = 0; by < height; by += BLOCK_SIZE) {
+                final int maxY = Math.min(by + BLOCK_SIZE, height);
+                for (int bx = 0; bx < width; bx += BLOCK_SIZE) {
+                    final int maxX = Math.min(bx + BLOCK_SIZE, width);
+                    for (int y = by; y < maxY; y++) {
+                        int srcPos = srcBandOffset + y * srcScanlineStride + bx * srcPixelStride;
+                        int dstPos = dstBandOrigin + y * dstLineStep + bx * dstPixelStep;
+                        for (int x = bx; x < maxX; x++) {
+                            dstData[dstPos] = srcData[srcPos];
+                            srcPos += srcPixelStride;
+                            dstPos += dstPixelStep;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
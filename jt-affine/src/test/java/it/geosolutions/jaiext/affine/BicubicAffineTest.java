@@ -108,5 +108,11 @@ public class BicubicAffineTest extends TestAffine{
         testGlobalAffine(useROIAccessor,isBinary,bicubic2DIsabled,noDataRangeUsed
                 ,roiPresent,setDestinationNoData, InterpolationType.BICUBIC_INTERP, TestSelection.BINARY_ROI_ACCESSOR_NO_DATA,ScaleType.REDUCTION);
     }
- 
+
+    @Test
+    public void testScanlineMapping() {
+        // The integral kernel tables are rounded to 8 bits
+        assertInterpolatedScanlineMapping(new javax.media.jai.InterpolationBicubic(
+                DEFAULT_SUBSAMPLE_BITS), 4, null);
+    }
 }
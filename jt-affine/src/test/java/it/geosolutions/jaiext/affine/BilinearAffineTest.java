@@ -115,4 +115,10 @@ public class BilinearAffineTest extends TestAffine{
                 ,roiPresent,setDestinationNoData, InterpolationType.BILINEAR_INTERP,TestSelection.BINARY_ROI_ACCESSOR_NO_DATA,ScaleType.REDUCTION);
         
     }
+
+    @Test
+    public void testScanlineMapping() {
+        assertInterpolatedScanlineMapping(new javax.media.jai.InterpolationBilinear(
+                DEFAULT_SUBSAMPLE_BITS), 1, null);
+    }
 }
@@ -99,6 +99,16 @@ public class NearestAffineTest extends TestAffine {
                 ,roiPresent,setDestinationNoData, InterpolationType.NEAREST_INTERP,TestSelection.ROI_ACCESSOR_NO_DATA,ScaleType.REDUCTION);
     }
 
+
+    @Test
+    public void testQuadrantTransforms() {
+        assertQuadrantTransforms(new javax.media.jai.InterpolationNearest(), null);
+    }
+
+    @Test
+    public void testScanlineMapping() {
+        assertScanlineMapping(new javax.media.jai.InterpolationNearest(), null);
+    }
     
     @Test
     @Ignore
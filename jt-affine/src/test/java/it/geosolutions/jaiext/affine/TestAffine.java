@@ -19,16 +19,22 @@ package it.geosolutions.jaiext.affine;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import it.geosolutions.jaiext.interpolators.InterpolationBicubic;
 import it.geosolutions.jaiext.interpolators.InterpolationBilinear;
 import it.geosolutions.jaiext.interpolators.InterpolationNearest;
 import it.geosolutions.jaiext.range.Range;
 import it.geosolutions.jaiext.range.RangeFactory;
 import it.geosolutions.jaiext.testclasses.TestBase;
+import it.geosolutions.jaiext.utilities.ImageUtilities;
 import it.geosolutions.rendered.viewer.RenderedImageBrowser;
 
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
@@ -41,6 +47,7 @@ import javax.media.jai.PlanarImage;
 import javax.media.jai.ROI;
 import javax.media.jai.ROIShape;
 import javax.media.jai.RenderedOp;
+import javax.media.jai.TiledImage;
 
 
 /**
@@ -571,4 +578,253 @@ public class TestAffine extends TestBase {
                 TransformationType.ALL, interpType, testSelect, scaleValue);
 
     }
+
+    /**
+     * Checks that the rotations by multiples of 90 degrees and the flips are executed as pixel copies, taking each destination pixel from the
+     * source pixel containing its center, for all the data types.
+     */
+    protected void assertQuadrantTransforms(Interpolation interpolation, RenderingHints hints) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        AffineTransform[] transforms = new AffineTransform[] {
+                AffineTransform.getQuadrantRotateInstance(1, 10, 20),
+                AffineTransform.getQuadrantRotateInstance(2),
+                AffineTransform.getQuadrantRotateInstance(3, 0, DEFAULT_HEIGHT - 1),
+                new AffineTransform(-1, 0, 0, 1, DEFAULT_WIDTH, 0),
+                new AffineTransform(1, 0, 0, -1, 5, DEFAULT_HEIGHT),
+                new AffineTransform(0, 1, 1, 0, 0, 0),
+                new AffineTransform(0, -1, -1, 0, 3, 7) };
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            Raster src = source.getData();
+            for (AffineTransform transform : transforms) {
+                RenderedOp transformed = AffineDescriptor.create(source, transform,
+                        interpolation, null, null, false, false, null, hints);
+                if (!ImageUtilities.isMediaLibAvailable()) {
+                    assertTrue(transformed.getRendering() instanceof AffineTransposeOpImage);
+                }
+                Rectangle expectedBounds = transform.createTransformedShape(
+                        new Rectangle(0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT)).getBounds();
+                assertEquals(expectedBounds, transformed.getBounds());
+
+                Raster dst = transformed.getData();
+                Point2D point = new Point2D.Double();
+                AffineTransform inverse;
+                try {
+                    inverse = transform.createInverse();
+                } catch (NoninvertibleTransformException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                for (int y = dst.getMinY(); y < dst.getMinY() + dst.getHeight(); y++) {
+                    for (int x = dst.getMinX(); x < dst.getMinX() + dst.getWidth(); x++) {
+                        inverse.transform(new Point2D.Double(x + 0.5, y + 0.5), point);
+                        int sx = (int) Math.floor(point.getX());
+                        int sy = (int) Math.floor(point.getY());
+                        for (int b = 0; b < dst.getNumBands(); b++) {
+                            assertEquals(src.getSampleDouble(sx, sy, b),
+                                    dst.getSampleDouble(x, y, b), 0d);
+                        }
+                    }
+                }
+                transformed.dispose();
+            }
+        }
+    }
+
+    protected void assertScanlineMapping(Interpolation interpolation, RenderingHints hints) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        AffineTransform[] transforms = new AffineTransform[] {
+                AffineTransform.getRotateInstance(0.3, 100, 50),
+                new AffineTransform(1.7, 0.4, -0.25, 0.9, 13.3, -7.1),
+                new AffineTransform(-0.6, 0, 0, 1.35, DEFAULT_WIDTH, 2.5) };
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            Raster src = source.getData();
+            for (AffineTransform transform : transforms) {
+                RenderedOp transformed = AffineDescriptor.create(source, transform,
+                        interpolation, null, null, false, false, null, hints);
+                Raster dst = transformed.getData();
+                Point2D point = new Point2D.Double();
+                AffineTransform inverse;
+                try {
+                    inverse = transform.createInverse();
+                } catch (NoninvertibleTransformException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                for (int y = dst.getMinY(); y < dst.getMinY() + dst.getHeight(); y++) {
+                    for (int x = dst.getMinX(); x < dst.getMinX() + dst.getWidth(); x++) {
+                        inverse.transform(new Point2D.Double(x + 0.5, y + 0.5), point);
+                        // Skip the pixels too close to a source pixel edge, where rounding
+                        // may legitimately select either neighbour
+                        double fx = point.getX() - Math.floor(point.getX());
+                        double fy = point.getY() - Math.floor(point.getY());
+                        if (fx < 1E-5 || fx > 1 - 1E-5 || fy < 1E-5 || fy > 1 - 1E-5) {
+                            continue;
+                        }
+                        int sx = (int) Math.floor(point.getX());
+                        int sy = (int) Math.floor(point.getY());
+                        if (sx < 0 || sy < 0 || sx >= DEFAULT_WIDTH || sy >= DEFAULT_HEIGHT) {
+                            continue;
+                        }
+                        for (int b = 0; b < dst.getNumBands(); b++) {
+                            assertEquals(src.getSampleDouble(sx, sy, b),
+                                    dst.getSampleDouble(x, y, b), 0d);
+                        }
+                    }
+                }
+                transformed.dispose();
+            }
+        }
+    }
+
+    /**
+     * Checks the interpolated destination pixels against a double precision interpolation of the source pixels around the inverse mapped
+     * destination pixel centers, for all the data types, without ROI and No Data and with a ROI or a No Data Range excluding no source pixel.
+     * Only the pixels whose kernel is fully inside the source are checked. Bicubic interpolation is evaluated at the subsample position used by
+     * the kernel tables, skipping the positions too close to a subsample edge. The tolerance applies to the integral data types, the floating
+     * point ones are checked against 1E-3.
+     */
+    protected void assertInterpolatedScanlineMapping(Interpolation interpolation, double tolerance,
+            RenderingHints hints) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        int width = 64;
+        int height = 48;
+        // The last transform maps only the destination diagonal inside the source, most of the
+        // scanlines start billions of pixels away from it
+        AffineTransform farStart;
+        try {
+            farStart = new AffineTransform(1 / 4.1, -1E7, 0, 1E7, 0, 20.3).createInverse();
+        } catch (NoninvertibleTransformException e) {
+            throw new IllegalArgumentException(e);
+        }
+        AffineTransform[] transforms = new AffineTransform[] {
+                AffineTransform.getRotateInstance(0.5, width / 2, height / 2),
+                AffineTransform.getRotateInstance(-2.2, width / 2, height / 2),
+                new AffineTransform(1.7, 0.4, -0.25, 0.9, 13.3, -7.1), farStart };
+        ROI roi = new ROIShape(new Rectangle(0, 0, width, height));
+        for (int dataType : dataTypes) {
+            TiledImage source = new TiledImage(new ComponentSampleModel(dataType, width, height, 1,
+                    width, new int[] { 0 }), 32, 32);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    source.setSample(x, y, 0, (x * 37 + y * 61 + (x * y) % 17) % 200 + 20);
+                }
+            }
+            Raster src = source.getData();
+            Range noData = createRange(dataType, 5);
+            for (AffineTransform transform : transforms) {
+                RenderedOp[] transformed = new RenderedOp[] {
+                        AffineDescriptor.create(source, transform, interpolation, null, null,
+                                false, false, null, hints),
+                        AffineDescriptor.create(source, transform, interpolation, null, roi,
+                                false, false, null, hints),
+                        AffineDescriptor.create(source, transform, interpolation, null, roi,
+                                true, false, null, hints),
+                        AffineDescriptor.create(source, transform, interpolation, null, null,
+                                false, false, noData, hints) };
+                for (RenderedOp op : transformed) {
+                    assertTrue(assertInterpolated(src, op.getData(), transform, interpolation,
+                            tolerance) > 0);
+                    op.dispose();
+                }
+            }
+        }
+    }
+
+    private int assertInterpolated(Raster src, Raster dst, AffineTransform transform,
+            Interpolation interpolation, double tolerance) {
+        AffineTransform inverse;
+        try {
+            inverse = transform.createInverse();
+        } catch (NoninvertibleTransformException e) {
+            throw new IllegalArgumentException(e);
+        }
+        int lpad = interpolation.getLeftPadding();
+        int tpad = interpolation.getTopPadding();
+        double maxX = src.getMinX() + src.getWidth() - interpolation.getRightPadding() - 1E-4;
+        double maxY = src.getMinY() + src.getHeight() - interpolation.getBottomPadding() - 1E-4;
+        int subsamples = 1 << interpolation.getSubsampleBitsH();
+        boolean integral = dst.getTransferType() != DataBuffer.TYPE_FLOAT
+                && dst.getTransferType() != DataBuffer.TYPE_DOUBLE;
+        Point2D point = new Point2D.Double();
+        int checked = 0;
+        for (int y = dst.getMinY(); y < dst.getMinY() + dst.getHeight(); y++) {
+            for (int x = dst.getMinX(); x < dst.getMinX() + dst.getWidth(); x++) {
+                inverse.transform(new Point2D.Double(x + 0.5, y + 0.5), point);
+                double px = point.getX() - 0.5;
+                double py = point.getY() - 0.5;
+                if (px < src.getMinX() + lpad + 1E-4 || py < src.getMinY() + tpad + 1E-4
+                        || px >= maxX || py >= maxY) {
+                    continue;
+                }
+                int sx = (int) Math.floor(px);
+                int sy = (int) Math.floor(py);
+                double fx = px - sx;
+                double fy = py - sy;
+                double expected;
+                if (lpad == 0) {
+                    expected = (1 - fx) * (1 - fy) * src.getSampleDouble(sx, sy, 0) + fx
+                            * (1 - fy) * src.getSampleDouble(sx + 1, sy, 0) + (1 - fx) * fy
+                            * src.getSampleDouble(sx, sy + 1, 0) + fx * fy
+                            * src.getSampleDouble(sx + 1, sy + 1, 0);
+                } else {
+                    double ix = fx * subsamples;
+                    double iy = fy * subsamples;
+                    if (ix - Math.floor(ix) < 1E-2 || ix - Math.floor(ix) > 1 - 1E-2
+                            || iy - Math.floor(iy) < 1E-2 || iy - Math.floor(iy) > 1 - 1E-2) {
+                        continue;
+                    }
+                    fx = Math.floor(ix) / subsamples;
+                    fy = Math.floor(iy) / subsamples;
+                    expected = 0;
+                    for (int j = -1; j <= 2; j++) {
+                        double row = 0;
+                        for (int i = -1; i <= 2; i++) {
+                            row += keys(i - fx) * src.getSampleDouble(sx + i, sy + j, 0);
+                        }
+                        expected += keys(j - fy) * row;
+                    }
+                }
+                assertEquals(expected, dst.getSampleDouble(x, y, 0), integral ? tolerance : 1E-3);
+                checked++;
+            }
+        }
+        return checked;
+    }
+
+    /** Bicubic kernel with a = -0.5, as used by {@link javax.media.jai.InterpolationBicubic} */
+    private static double keys(double t) {
+        t = Math.abs(t);
+        if (t <= 1) {
+            return (1.5 * t - 2.5) * t * t + 1;
+        } else if (t < 2) {
+            return ((-0.5 * t + 2.5) * t - 4) * t + 2;
+        }
+        return 0;
+    }
+
+    private static Range createRange(int dataType, int value) {
+        switch (dataType) {
+        case DataBuffer.TYPE_BYTE:
+            return RangeFactory.create((byte) value, true, (byte) value, true);
+        case DataBuffer.TYPE_USHORT:
+        case DataBuffer.TYPE_SHORT:
+            return RangeFactory.create((short) value, true, (short) value, true);
+        case DataBuffer.TYPE_INT:
+            return RangeFactory.create(value, true, value, true);
+        case DataBuffer.TYPE_FLOAT:
+            return RangeFactory.create((float) value, true, (float) value, true, true);
+        case DataBuffer.TYPE_DOUBLE:
+            return RangeFactory.create((double) value, true, (double) value, true, true);
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
 }
@@ -23,11 +23,8 @@ import java.awt.image.DataBuffer;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.lang.ref.WeakReference;
-import java.math.BigInteger;
 
 import javax.media.jai.CachedTile;
-import javax.media.jai.PlanarImage;
-import javax.media.jai.remote.SerializableRenderedImage;
 
 /**
  * This class is used by ConcurrentTileCache to create an object that includes all the information associated with a tile, and is put into the cache.
@@ -35,11 +32,13 @@ import javax.media.jai.remote.SerializableRenderedImage;
 public final class CachedTileImpl implements CachedTile {
     
     /*
-     * The shallow size of this object, the weak reference, the typical big integer keys
+     * The shallow size of this object, the weak reference, the tile key and the image key
      */
-    private static final long CACHED_TILE_OVERHEAD = 64 + 32 + 96 + 96;
+    private static final long CACHED_TILE_OVERHEAD = 64 + 32 + 32 + 16;
 
-    final Raster tile; // the tile
+    final Raster tile; // the tile, null if the tile is compressed
+
+    final CompressedTile compressedTile; // the compressed tile, if any
 
     final WeakReference owner; // the RenderedImage of this tile
 
@@ -59,6 +58,10 @@ public final class CachedTileImpl implements CachedTile {
 
     private Actions action; // every action done by the tile cache
 
+    TileCachePartition partition; // the cache partition of this tile, if the partitions are enabled
+
+    boolean incompressible; // true if the tile compression has been already tried without success
+
     /**
      * Constructor that takes a tile cache metric
      * 
@@ -69,6 +72,7 @@ public final class CachedTileImpl implements CachedTile {
 
         this.owner = new WeakReference(owner);
         this.tile = tile;
+        this.compressedTile = null;
         this.tileX = tileX;
         this.tileY = tileY;
 
@@ -84,6 +88,24 @@ public final class CachedTileImpl implements CachedTile {
 
     }
 
+    /**
+     * Constructor creating the compressed version of a cached tile
+     */
+    CachedTileImpl(CachedTileImpl source, CompressedTile compressedTile) {
+        this.owner = source.owner;
+        this.tile = null;
+        this.compressedTile = compressedTile;
+        this.tileX = source.tileX;
+        this.tileY = source.tileY;
+        this.tileCacheMetric = source.tileCacheMetric;
+        this.key = source.key;
+        this.imageKey = source.imageKey;
+        this.tileSize = compressedTile.getSize() + CACHED_TILE_OVERHEAD;
+        this.timeStamp = source.timeStamp;
+        this.action = source.action;
+        this.partition = source.partition;
+    }
+
     /**
      * Returns the key associated to the tile.
      * @return
@@ -104,52 +126,29 @@ public final class CachedTileImpl implements CachedTile {
      * Returns the hash table "key" as a <code>Object</code> for this tile.
      */
     public static Object hashKey(RenderedImage owner, int tileX, int tileY) {
-        long idx = tileY * (long) owner.getNumXTiles() + tileX;
-
-        BigInteger imageID = null;
-        if (owner instanceof PlanarImage)
-            imageID = (BigInteger) ((PlanarImage) owner).getImageID();
-        else if (owner instanceof SerializableRenderedImage)
-            imageID = (BigInteger) ((SerializableRenderedImage) owner).getImageID();
-
-        if (imageID != null) {
-            byte[] buf = imageID.toByteArray();
-            int length = buf.length;
-            byte[] buf1 = new byte[length + 8];
-            System.arraycopy(buf, 0, buf1, 0, length);
-            for (int i = 7, j = 0; i >= 0; i--, j += 8)
-                buf1[length++] = (byte) (idx >> j);
-            return new BigInteger(buf1);
-        }
-
-        idx = idx & 0x00000000ffffffffL;
-        return Long.valueOf((((long) owner.hashCode() << 32) | idx));
+        return new CachedTileKey(owner, tileX, tileY);
     }
 
     /**
      * Returns the hash table "key" as a <code>Object</code> for this image.
      */
     public static Object hashKey(RenderedImage owner) {
-
-        BigInteger imageID = null;
-        if (owner instanceof PlanarImage)
-            imageID = (BigInteger) ((PlanarImage) owner).getImageID();
-        else if (owner instanceof SerializableRenderedImage)
-            imageID = (BigInteger) ((SerializableRenderedImage) owner).getImageID();
-
-        if (imageID != null) {
-            byte[] buf = imageID.toByteArray();
-            return new BigInteger(buf);
-        }
-
-        return owner.hashCode();
+        return Long.valueOf(CachedTileKey.imageOrdinal(owner));
     }
 
-    /** Returns the value of the cached tile. */
+    /** Returns the value of the cached tile. If the tile is compressed, a new uncompressed copy is returned. */
     public Raster getTile() {
+        if (tile == null) {
+            return compressedTile.decompress();
+        }
         return tile;
     }
 
+    /** Returns true if the tile is kept compressed */
+    boolean isCompressed() {
+        return tile == null;
+    }
+
     /** Returns the owner of the cached tile. */
     public RenderedImage getOwner() {
         return (RenderedImage) owner.get();
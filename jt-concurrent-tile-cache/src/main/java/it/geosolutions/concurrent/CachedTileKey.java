@@ -0,0 +1,171 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.image.RenderedImage;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.media.jai.PlanarImage;
+import javax.media.jai.remote.SerializableRenderedImage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Immutable key used by the concurrent tile caches for hashing a tile. The key is made of two primitive values: an ordinal associated to the tile
+ * owner and the tile indexes packed inside a single long. No byte array is allocated when creating the key and both hashing and comparison only
+ * work on primitive values.
+ * <p>
+ * The image ordinal is derived from the image ID for {@link PlanarImage} and {@link SerializableRenderedImage} instances, so that two images
+ * reporting equal IDs share the same ordinal, and from the image {@link Object#hashCode()} for any other {@link RenderedImage}.
+ */
+public final class CachedTileKey implements Comparable<CachedTileKey> {
+
+    /** Flag used for separating the ordinals derived from the image hashCode from the ones generated for the image IDs */
+    private static final long HASHCODE_ORDINAL_FLAG = 1L << 62;
+
+    /** Counter used for generating a new ordinal for each image ID */
+    private static final AtomicLong ORDINAL_COUNTER = new AtomicLong();
+
+    /**
+     * Ordinals associated to each image ID instance. Keys are weakly referenced and compared by identity, so the lookup is cheap and the entry
+     * disappears together with the image.
+     */
+    private static final Cache<Object, Ordinal> ORDINALS = CacheBuilder.newBuilder().weakKeys()
+            .build();
+
+    /** Interner used for finding the canonical instance of an image ID when it is not present in the ordinals cache */
+    private static final Interner<Object> IMAGE_IDS = Interners.newWeakInterner();
+
+    /**
+     * Ordinal associated to an image ID. The entries of the IDs which are not the canonical instance keep the canonical ID strongly reachable,
+     * so that it is not collected, and a new ordinal generated for an equal ID, while an image using one of those IDs is still alive.
+     */
+    private static final class Ordinal {
+
+        private final long value;
+
+        private final Object canonicalID;
+
+        private Ordinal(long value, Object canonicalID) {
+            this.value = value;
+            this.canonicalID = canonicalID;
+        }
+    }
+
+    /** Ordinal associated to the tile owner */
+    private final long imageOrdinal;
+
+    /** Tile X and Y indexes packed inside a single long */
+    private final long tileIndex;
+
+    public CachedTileKey(long imageOrdinal, int tileX, int tileY) {
+        this.imageOrdinal = imageOrdinal;
+        this.tileIndex = ((long) tileY << 32) | (tileX & 0xffffffffL);
+    }
+
+    public CachedTileKey(RenderedImage owner, int tileX, int tileY) {
+        this(imageOrdinal(owner), tileX, tileY);
+    }
+
+    /**
+     * Returns the ordinal associated to the input image. Images having equal IDs share the same ordinal.
+     */
+    public static long imageOrdinal(RenderedImage owner) {
+        Object imageID = null;
+        if (owner instanceof PlanarImage)
+            imageID = ((PlanarImage) owner).getImageID();
+        else if (owner instanceof SerializableRenderedImage)
+            imageID = ((SerializableRenderedImage) owner).getImageID();
+
+        if (imageID == null) {
+            return HASHCODE_ORDINAL_FLAG | (owner.hashCode() & 0xffffffffL);
+        }
+        // Fast path, the same ID instance has already been seen
+        Ordinal ordinal = ORDINALS.getIfPresent(imageID);
+        if (ordinal != null) {
+            return ordinal.value;
+        }
+        // Slow path, search for an ordinal associated to an equal ID. The canonical ID entry does not reference
+        // its own key, otherwise it would never be collected
+        Object canonicalID = IMAGE_IDS.intern(imageID);
+        ordinal = ORDINALS.getIfPresent(canonicalID);
+        if (ordinal == null) {
+            Ordinal newOrdinal = new Ordinal(ORDINAL_COUNTER.incrementAndGet(), null);
+            ordinal = ORDINALS.asMap().putIfAbsent(canonicalID, newOrdinal);
+            if (ordinal == null) {
+                ordinal = newOrdinal;
+            }
+        }
+        if (canonicalID != imageID) {
+            ORDINALS.asMap().putIfAbsent(imageID, new Ordinal(ordinal.value, canonicalID));
+        }
+        return ordinal.value;
+    }
+
+    /** Returns the ordinal of the tile owner */
+    public long getImageOrdinal() {
+        return imageOrdinal;
+    }
+
+    /** Returns the tile X index */
+    public int getTileX() {
+        return (int) tileIndex;
+    }
+
+    /** Returns the tile Y index */
+    public int getTileY() {
+        return (int) (tileIndex >>> 32);
+    }
+
+    @Override
+    public int hashCode() {
+        long h = imageOrdinal * 0x9E3779B97F4A7C15L + tileIndex;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CachedTileKey)) {
+            return false;
+        }
+        CachedTileKey other = (CachedTileKey) obj;
+        return imageOrdinal == other.imageOrdinal && tileIndex == other.tileIndex;
+    }
+
+    public int compareTo(CachedTileKey other) {
+        if (imageOrdinal != other.imageOrdinal) {
+            return imageOrdinal < other.imageOrdinal ? -1 : 1;
+        }
+        if (tileIndex != other.tileIndex) {
+            return tileIndex < other.tileIndex ? -1 : 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedTileKey[image=" + imageOrdinal + ", tileX=" + getTileX() + ", tileY="
+                + getTileY() + "]";
+    }
+}
@@ -0,0 +1,267 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed copy of a tile. A tile whose banks are made of a single value (e.g. a nodata tile) is stored as one value for each bank, the other
+ * tiles are compressed with the fast Deflate (LZ77) level.
+ */
+final class CompressedTile {
+
+    /** Memory used by the layout and by this object, in addition to the compressed data */
+    private static final long COMPRESSED_TILE_OVERHEAD = 160;
+
+    /** The tile structure */
+    private final TileLayout layout;
+
+    /** The compressed banks, <code>null</code> if the tile is constant */
+    private final byte[] data;
+
+    /** The value of each bank as raw bits, if the tile is constant */
+    private final long[] constants;
+
+    /** Size of the uncompressed banks in bytes */
+    private final long rawSize;
+
+    private CompressedTile(TileLayout layout, byte[] data, long[] constants, long rawSize) {
+        this.layout = layout;
+        this.data = data;
+        this.constants = constants;
+        this.rawSize = rawSize;
+    }
+
+    /**
+     * Compresses the tile. Returns <code>null</code> if the tile type is not supported or if the compressed size is greater than the uncompressed
+     * size multiplied by the maximum ratio.
+     */
+    static CompressedTile compress(Raster tile, float maxRatio) {
+        DataBuffer db = tile.getDataBuffer();
+        if (!TileLayout.isSupported(db)) {
+            return null;
+        }
+        TileLayout layout = new TileLayout(tile);
+        int elementSize = DataBuffer.getDataTypeSize(layout.dataType) / 8;
+        long rawSize = 0;
+        for (int b = 0; b < layout.bankLengths.length; b++) {
+            rawSize += (long) layout.bankLengths[b] * elementSize;
+        }
+        long[] constants = getConstants(db, layout.bankLengths);
+        if (constants != null) {
+            return new CompressedTile(layout, null, constants, rawSize);
+        }
+        long maxSize = (long) (rawSize * maxRatio);
+        if (maxSize <= 0 || rawSize > Integer.MAX_VALUE) {
+            return null;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            // One more byte is needed for detecting that the maximum size has been exceeded
+            byte[] buffer = new byte[(int) maxSize + 1];
+            int length = 0;
+            for (int b = 0; b < layout.bankLengths.length && length < buffer.length; b++) {
+                deflater.setInput(toBytes(db, b, layout.bankLengths[b]));
+                while (!deflater.needsInput() && length < buffer.length) {
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (!deflater.finished() || length > maxSize) {
+                return null;
+            }
+            byte[] data = new byte[length];
+            System.arraycopy(buffer, 0, data, 0, length);
+            return new CompressedTile(layout, data, null, rawSize);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Creates a new raster containing the tile */
+    WritableRaster decompress() {
+        DataBuffer db = layout.createDataBuffer();
+        int[] bankLengths = layout.bankLengths;
+        if (constants != null) {
+            for (int b = 0; b < bankLengths.length; b++) {
+                fill(db, b, constants[b]);
+            }
+        } else {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data);
+                int elementSize = DataBuffer.getDataTypeSize(layout.dataType) / 8;
+                for (int b = 0; b < bankLengths.length; b++) {
+                    byte[] bytes = layout.dataType == DataBuffer.TYPE_BYTE ? ((DataBufferByte) db)
+                            .getData(b) : new byte[bankLengths[b] * elementSize];
+                    int length = 0;
+                    while (length < bytes.length) {
+                        int read = inflater.inflate(bytes, length, bytes.length - length);
+                        if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                            throw new IllegalStateException("Truncated compressed tile");
+                        }
+                        length += read;
+                    }
+                    if (layout.dataType != DataBuffer.TYPE_BYTE) {
+                        fromBytes(bytes, db, b);
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupted compressed tile", e);
+            } finally {
+                inflater.end();
+            }
+        }
+        return layout.createRaster(db);
+    }
+
+    /** Returns the memory used by the compressed tile */
+    long getSize() {
+        return (data != null ? data.length : constants.length * 8L) + COMPRESSED_TILE_OVERHEAD;
+    }
+
+    /** Returns the size of the uncompressed samples */
+    long getRawSize() {
+        return rawSize;
+    }
+
+    /** Returns the raw bits of the value of each bank, or <code>null</code> if a bank is not constant */
+    private static long[] getConstants(DataBuffer db, int[] bankLengths) {
+        long[] constants = new long[bankLengths.length];
+        for (int b = 0; b < bankLengths.length; b++) {
+            int length = bankLengths[b];
+            if (length == 0) {
+                return null;
+            }
+            switch (db.getDataType()) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] byteData = ((DataBufferByte) db).getData(b);
+                for (int i = 1; i < length; i++) {
+                    if (byteData[i] != byteData[0]) {
+                        return null;
+                    }
+                }
+                constants[b] = byteData[0];
+                break;
+            case DataBuffer.TYPE_USHORT:
+            case DataBuffer.TYPE_SHORT:
+                short[] shortData = db.getDataType() == DataBuffer.TYPE_SHORT ? ((DataBufferShort) db)
+                        .getData(b) : ((DataBufferUShort) db).getData(b);
+                for (int i = 1; i < length; i++) {
+                    if (shortData[i] != shortData[0]) {
+                        return null;
+                    }
+                }
+                constants[b] = shortData[0];
+                break;
+            case DataBuffer.TYPE_INT:
+                int[] intData = ((DataBufferInt) db).getData(b);
+                for (int i = 1; i < length; i++) {
+                    if (intData[i] != intData[0]) {
+                        return null;
+                    }
+                }
+                constants[b] = intData[0];
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                // Raw bits are compared, so that NaN values are handled
+                float[] floatData = ((DataBufferFloat) db).getData(b);
+                int floatBits = Float.floatToRawIntBits(floatData[0]);
+                for (int i = 1; i < length; i++) {
+                    if (Float.floatToRawIntBits(floatData[i]) != floatBits) {
+                        return null;
+                    }
+                }
+                constants[b] = floatBits;
+                break;
+            case DataBuffer.TYPE_DOUBLE:
+                double[] doubleData = ((DataBufferDouble) db).getData(b);
+                long doubleBits = Double.doubleToRawLongBits(doubleData[0]);
+                for (int i = 1; i < length; i++) {
+                    if (Double.doubleToRawLongBits(doubleData[i]) != doubleBits) {
+                        return null;
+                    }
+                }
+                constants[b] = doubleBits;
+                break;
+            default:
+                return null;
+            }
+        }
+        return constants;
+    }
+
+    /** Fills the bank with the value defined by the raw bits */
+    private static void fill(DataBuffer db, int bank, long bits) {
+        switch (db.getDataType()) {
+        case DataBuffer.TYPE_BYTE:
+            Arrays.fill(((DataBufferByte) db).getData(bank), (byte) bits);
+            break;
+        case DataBuffer.TYPE_USHORT:
+            Arrays.fill(((DataBufferUShort) db).getData(bank), (short) bits);
+            break;
+        case DataBuffer.TYPE_SHORT:
+            Arrays.fill(((DataBufferShort) db).getData(bank), (short) bits);
+            break;
+        case DataBuffer.TYPE_INT:
+            Arrays.fill(((DataBufferInt) db).getData(bank), (int) bits);
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            Arrays.fill(((DataBufferFloat) db).getData(bank), Float.intBitsToFloat((int) bits));
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            Arrays.fill(((DataBufferDouble) db).getData(bank), Double.longBitsToDouble(bits));
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    /** Returns the bank content as bytes */
+    private static byte[] toBytes(DataBuffer db, int bank, int length) {
+        if (db.getDataType() == DataBuffer.TYPE_BYTE) {
+            return ((DataBufferByte) db).getData(bank);
+        }
+        int elementSize = DataBuffer.getDataTypeSize(db.getDataType()) / 8;
+        ByteBuffer buffer = ByteBuffer.allocate(length * elementSize).order(ByteOrder.nativeOrder());
+        TileLayout.copyBank(db, bank, buffer, true);
+        return buffer.array();
+    }
+
+    /** Copies the bytes inside the bank */
+    private static void fromBytes(byte[] bytes, DataBuffer db, int bank) {
+        TileLayout.copyBank(db, bank, ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()), false);
+    }
+}
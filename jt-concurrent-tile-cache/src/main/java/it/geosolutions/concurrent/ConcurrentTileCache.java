@@ -17,13 +17,29 @@
 */
 package it.geosolutions.concurrent;
 
+import it.geosolutions.jaiext.iterators.TileCacheProbe;
+
 import java.awt.Point;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Observable;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.media.jai.TileCache;
 
@@ -35,7 +51,8 @@ import com.google.common.cache.RemovalNotification;
 import com.google.common.cache.Weigher;
 import com.sun.media.jai.util.CacheDiagnostics;
 
-public class ConcurrentTileCache extends Observable implements TileCache, CacheDiagnostics {
+public class ConcurrentTileCache extends Observable implements TileCache, CacheDiagnostics,
+        TileCacheProbe {
 
     /** The default memory threshold of the cache. */
     public static final float DEFAULT_MEMORY_THRESHOLD = 0.75F;
@@ -49,6 +66,28 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
     /** The default concurrency settings */
     public static final int DEFAULT_CONCURRENCY_LEVEL = 4;
 
+    /** Maximum ratio between the compressed and the uncompressed size for keeping a tile compressed */
+    private static final float MAX_COMPRESSION_RATIO = 0.75F;
+
+    /** Minimum period of the idle tiles compression in milliseconds */
+    private static final long MIN_COMPRESSION_PERIOD = 100;
+
+    /**
+     * Logger to use for reporting the informations about the TileCache operations.
+     */
+    private final static Logger LOGGER = Logger.getLogger(ConcurrentTileCache.class.toString());
+
+    /** Executor compressing the idle tiles of all the caches */
+    private static final ScheduledExecutorService COMPRESSION_EXECUTOR = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ConcurrentTileCache-compression");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+
     /**
      * The tile cache. A Guava Cache is used to cache the tiles. The "key" is a <code>Object</code>. The "value" is a CachedTileImpl.
      */
@@ -66,6 +105,51 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
     /** diagnosticEnabled enable/disable */
     private volatile boolean diagnosticEnabled = DEFAULT_DIAGNOSTIC;
 
+    /** The optional off-heap tier receiving the tiles evicted from the cache. It is <code>null</code> if disabled */
+    private volatile OffHeapTileStore offHeapStore;
+
+    /**
+     * The optional second level store, backed by a memory mapped file, receiving the tiles evicted from the cache (or from the off-heap tier if
+     * enabled). It is <code>null</code> if disabled
+     */
+    private volatile MappedFileTileStore diskStore;
+
+    /** The optional eviction policy. If <code>null</code>, the Guava cache eviction is used */
+    private volatile TileCacheEvictionPolicy evictionPolicy;
+
+    /** The optional comparator defining the order used by {@link #memoryControl()} for removing the tiles */
+    private volatile Comparator tileComparator;
+
+    /** The memory currently used by the cached tiles */
+    private final AtomicLong currentMemory = new AtomicLong();
+
+    /** Lock used for avoiding concurrent memory control passes */
+    private final ReentrantLock memoryControlLock = new ReentrantLock();
+
+    /** The tile computations in progress */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /** Time in milliseconds after which an idle tile is compressed, 0 if the compression is disabled */
+    private volatile long compressionDelay;
+
+    /** The scheduled compression of the idle tiles */
+    private ScheduledFuture<?> compressionTask;
+
+    /** Compression statistics */
+    private final AtomicLong compressionCount = new AtomicLong();
+
+    private final AtomicLong compressedSize = new AtomicLong();
+
+    private final AtomicLong uncompressedSize = new AtomicLong();
+
+    private final AtomicLong decompressionCount = new AtomicLong();
+
+    private final AtomicLong decompressionTime = new AtomicLong();
+
+    /** Delivers the tile events to the listeners */
+    private final TileEventDispatcher events = new TileEventDispatcher(
+            TileEventDispatcher.DEFAULT_CAPACITY);
+
     /**
      * The listener is used for receiving notification about the removal of a tile for size constraints
      */
@@ -75,16 +159,12 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
             // it in
             // the remove() method
 
-            if (diagnosticEnabled) {
-                synchronized (this) {
-                    if (n.wasEvicted() && n.getCause() == RemovalCause.SIZE) {
-                        CachedTileImpl cti = n.getValue();
-                        cti.setAction(Actions.REMOVAL_FROM_EVICTION);
-                        setChanged();
-                        notifyObservers(cti);
-                    }
-                }
-
+            CachedTileImpl cti = n.getValue();
+            if (cti != null) {
+                currentMemory.addAndGet(-cti.getTileSize());
+            }
+            if (n.wasEvicted() && n.getCause() == RemovalCause.SIZE) {
+                onEviction(n.getKey(), n.getValue());
             }
         }
     };
@@ -110,12 +190,26 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
     /** Private cache creation method */
     private Cache<Object, CachedTileImpl> buildCache() {
         CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
-        builder.maximumWeight((long) (memoryCacheCapacity * memoryCacheThreshold))
-                .concurrencyLevel(concurrencyLevel).weigher(new Weigher<Object, CachedTileImpl>() {
-                    public int weigh(Object o, CachedTileImpl cti) {
-                        return (int) cti.getTileSize();
-                    }
-                });
+        long maximumWeight = (long) (memoryCacheCapacity * memoryCacheThreshold);
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            // The eviction policy decides which tiles must be removed
+            policy.clear();
+            policy.setMaximumWeight(maximumWeight);
+            builder.concurrencyLevel(concurrencyLevel);
+        } else if (tileComparator != null) {
+            // The memory control decides which tiles must be removed
+            builder.concurrencyLevel(concurrencyLevel);
+        } else {
+            builder.maximumWeight(maximumWeight).concurrencyLevel(concurrencyLevel)
+                    .weigher(new Weigher<Object, CachedTileImpl>() {
+                        public int weigh(Object o, CachedTileImpl cti) {
+                            return (int) cti.getTileSize();
+                        }
+                    });
+        }
+        // Setting of the listener
+        builder.removalListener(listener);
 
         return builder.build();
 
@@ -162,9 +256,16 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
         // create a new tile
         CachedTileImpl cti_new = new CachedTileImpl(owner, tileX, tileY, data, tileCacheMetric);
 
+        // the off-heap copy, if any, is now stale
+        removeFromStores(key);
+
         // if the tile is already cached
+        currentMemory.addAndGet(cti_new.getTileSize());
         if (diagnosticEnabled) {
             cti = (CachedTileImpl) cacheObject.asMap().put(key, cti_new);
+            events.publish(cti != null ? Actions.SUBSTITUTION_FROM_ADD : Actions.ADDITION, cti_new);
+            applyEvictionPolicy(key, cti_new);
+            checkMemory();
             synchronized (this) {
                 if (cti != null) {
                     cti.updateTileTimeStamp();
@@ -180,7 +281,10 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
             }
         } else {
             // new tile insertion
-            cacheObject.put(key, cti_new);
+            cti = cacheObject.asMap().put(key, cti_new);
+            events.publish(cti != null ? Actions.SUBSTITUTION_FROM_ADD : Actions.ADDITION, cti_new);
+            applyEvictionPolicy(key, cti_new);
+            checkMemory();
 
         }
     }
@@ -188,6 +292,8 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
     /** Removes the selected tile from the cache */
     public void remove(RenderedImage owner, int tileX, int tileY) {
         Object key = CachedTileImpl.hashKey(owner, tileX, tileY);
+        // remove the off-heap copy, if any
+        removeFromStores(key);
         // check if the tile is still in cache
         CachedTileImpl cti = (CachedTileImpl) cacheObject.getIfPresent(key);
         // if so the tile is deleted (even if another thread write on it)
@@ -208,9 +314,14 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
 
                 }
             } else {
-                cacheObject.invalidate(key);
+                cti = cacheObject.asMap().remove(key);
             }
+            events.publish(Actions.MANUAL_REMOVAL, cti);
 
+            TileCacheEvictionPolicy policy = evictionPolicy;
+            if (policy != null) {
+                policy.onRemove(key);
+            }
         }
 
     }
@@ -224,8 +335,19 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
         // check if the tile is present
         CachedTileImpl cti = (CachedTileImpl) cacheObject.getIfPresent(key);
         if (cti == null) {
-            return null;
+            // check if the tile has been moved to the off-heap tier or to the disk
+            tileData = getFromStores(key);
+            if (tileData != null) {
+                // the tile is moved back to the cache
+                add(owner, tileX, tileY, tileData);
+            }
+            return tileData;
+        }
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            policy.onAccess(key);
         }
+        events.publish(Actions.UPDATING_TILE_FROM_GETTILE, cti);
         if (diagnosticEnabled) {
             synchronized (this) {
 
@@ -235,12 +357,54 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
                 setChanged();
                 notifyObservers(cti);
             }
+        } else if (tileComparator != null || compressionDelay > 0) {
+            // Update last-access time for the memory control and the compression
+            cti.updateTileTimeStamp();
+        }
+        if (cti.isCompressed()) {
+            return decompress(owner, tileX, tileY, cti);
         }
         // return the selected tile
         tileData = cti.getTile();
         return tileData;
     }
 
+    /**
+     * Checks whether the selected tile is in the cache, the off-heap tier or the disk store. No hit or miss is recorded and the tile access order
+     * is not updated.
+     */
+    public boolean containsTile(RenderedImage owner, int tileX, int tileY) {
+        Object key = CachedTileImpl.hashKey(owner, tileX, tileY);
+        if (cacheObject.asMap().containsKey(key)) {
+            return true;
+        }
+        OffHeapTileStore store = offHeapStore;
+        if (store != null && store.containsTile(key)) {
+            return true;
+        }
+        store = diskStore;
+        return store != null && store.containsTile(key);
+    }
+
+    /**
+     * Retrieves the selected tile from the cache or, if missing, computes it and adds it to the cache. If another thread is already computing the
+     * same tile, this method waits for its result instead of computing the tile again.
+     */
+    public Raster computeTileIfAbsent(RenderedImage owner, int tileX, int tileY,
+            TileComputation computation) {
+        return computeTileIfAbsent(owner, tileX, tileY, computation, null);
+    }
+
+    /**
+     * Retrieves the selected tile from the cache or, if missing, computes it and adds it to the cache with the provided tile cache metric. If
+     * another thread is already computing the same tile, this method waits for its result instead of computing the tile again.
+     */
+    public Raster computeTileIfAbsent(RenderedImage owner, int tileX, int tileY,
+            TileComputation computation, Object tileCacheMetric) {
+        return singleFlight.computeTileIfAbsent(this, owner, tileX, tileY, computation,
+                tileCacheMetric);
+    }
+
     /**
      * Retrieves an array of all tiles in the cache which are owned by the image. May be <code>null</code> if there were no tiles in the cache. The
      * array contains no null entries.
@@ -368,30 +532,66 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
             while (keys.hasNext()) {
                 Object key = keys.next();
                 CachedTileImpl cti = (CachedTileImpl) cacheObject.asMap().remove(key);
+                if (cti == null) {
+                    continue;
+                }
 
                 // diagnosticEnabled
 
                 cti.setAction(Actions.REMOVAL_FROM_FLUSH);
                 setChanged();
                 notifyObservers(cti);
+                events.publish(Actions.REMOVAL_FROM_FLUSH, cti);
 
             }
         } else {
+            if (events.isActive()) {
+                for (CachedTileImpl cti : cacheObject.asMap().values()) {
+                    events.publish(Actions.REMOVAL_FROM_FLUSH, cti);
+                }
+            }
             cacheObject.invalidateAll();
         }
         // cache.invalidateAll();
         cacheObject = buildCache();
+        currentMemory.set(0);
+
+        // Removal of the off-heap and disk tiles
+        if (offHeapStore != null) {
+            offHeapStore.clear();
+        }
+        if (diskStore != null) {
+            diskStore.clear();
+        }
 
     }
 
     /**
-     * Not Supported
-     * 
-     * @throws UnsupportedOperationException
+     * Removes tiles from the cache until the memory used is not greater than the memory threshold multiplied by the memory capacity. Tiles are
+     * removed in the order defined by the tile comparator; if no comparator is set the least recently used tiles are removed first (the tile time stamp
+     * is updated on each access only when the diagnostics are enabled or a comparator is set). If another memory control pass is running, this method returns immediately.
      */
     public void memoryControl() {
-        throw new UnsupportedOperationException("Memory Control not supported");
-
+        if (!memoryControlLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = (long) (memoryCacheCapacity * memoryCacheThreshold);
+            Cache<Object, CachedTileImpl> cache = cacheObject;
+            List<CachedTileImpl> tiles = MemoryControl.selectTiles(cache.asMap().values(),
+                    tileComparator, 0, target);
+            TileCacheEvictionPolicy policy = evictionPolicy;
+            for (CachedTileImpl cti : tiles) {
+                if (cache.asMap().remove(cti.key, cti)) {
+                    if (policy != null) {
+                        policy.onRemove(cti.key);
+                    }
+                    onEviction(cti.key, cti);
+                }
+            }
+        } finally {
+            memoryControlLock.unlock();
+        }
     }
 
     /**
@@ -446,6 +646,58 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
         return memoryCacheThreshold;
     }
 
+    /**
+     * Sets the memory capacity of the off-heap tier receiving the tiles evicted from the cache. A capacity equal to 0 disables the off-heap tier.
+     * The cache is flushed and rebuilt.
+     */
+    public synchronized void setOffHeapCapacity(long offHeapCapacity) {
+        if (offHeapCapacity < 0) {
+            throw new IllegalArgumentException("Memory capacity too small");
+        } else {
+            if (offHeapStore != null) {
+                offHeapStore.clear();
+            }
+            if (offHeapCapacity > 0) {
+                offHeapStore = new OffHeapTileStore(offHeapCapacity,
+                        OffHeapTileStore.DEFAULT_BLOCK_SIZE, concurrencyLevel);
+                // tiles evicted from the off-heap tier are moved to the disk
+                offHeapStore.setOverflowStore(diskStore);
+            } else {
+                offHeapStore = null;
+            }
+            flush();
+
+        }
+
+    }
+
+    /** Retrieve the off-heap tier memory capacity, 0 if the off-heap tier is disabled */
+    public long getOffHeapCapacity() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getCapacity() : 0;
+    }
+
+    /**
+     * Sets the second level store receiving the tiles evicted from the cache, or from the off-heap tier if enabled. A <code>null</code> value
+     * disables the second level store. The cache is flushed and rebuilt. The store is not closed when replaced, this is left to the caller.
+     */
+    public synchronized void setDiskStore(MappedFileTileStore diskStore) {
+        if (this.diskStore != null) {
+            this.diskStore.clear();
+        }
+        this.diskStore = diskStore;
+        if (offHeapStore != null) {
+            offHeapStore.setOverflowStore(diskStore);
+        }
+        flush();
+
+    }
+
+    /** Retrieve the second level store, <code>null</code> if disabled */
+    public MappedFileTileStore getDiskStore() {
+        return diskStore;
+    }
+
     /** Sets the cache ConcurrencyLevel and then flush and rebuild the cache */
     public synchronized void setConcurrencyLevel(int concurrency) {
         if (concurrency < 1) {
@@ -464,22 +716,35 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
     }
 
     /**
-     * Not Supported
-     * 
-     * @throws UnsupportedOperationException
+     * Sets the policy used for choosing the tiles to evict and then flush and rebuild the cache. A <code>null</code> value restores the Guava cache
+     * weighted eviction.
      */
-    public void setTileComparator(Comparator comparator) {
-        throw new UnsupportedOperationException("Comparator not supported");
+    public synchronized void setEvictionPolicy(TileCacheEvictionPolicy policy) {
+        evictionPolicy = policy;
+        flush();
 
     }
 
+    /** Retrieve the cache eviction policy, <code>null</code> if the Guava cache eviction is used */
+    public TileCacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
     /**
-     * Not Supported
-     * 
-     * @throws UnsupportedOperationException
+     * Sets the comparator defining the order used by {@link #memoryControl()} for removing the tiles and then flush and rebuild the cache. The
+     * comparator receives {@link javax.media.jai.CachedTile} instances and the tiles coming first are removed first. When a comparator is set and no
+     * eviction policy is defined, the Guava cache eviction is disabled and a memory control pass is done each time the memory used exceeds the
+     * memory capacity. A <code>null</code> value restores the default eviction.
      */
+    public synchronized void setTileComparator(Comparator comparator) {
+        tileComparator = comparator;
+        flush();
+
+    }
+
+    /** Retrieve the comparator used by the memory control, <code>null</code> if not set */
     public Comparator getTileComparator() {
-        throw new UnsupportedOperationException("Comparator not supported");
+        return tileComparator;
     }
 
     /** Disables diagnosticEnabled for the observers */
@@ -530,6 +795,319 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
         return cacheObject.size();
     }
 
+    /** Retrieves the number of tiles computed by {@link #computeTileIfAbsent(RenderedImage, int, int, TileComputation)} */
+    public long getTileComputationCount() {
+        return singleFlight.getComputationCount();
+    }
+
+    /** Retrieves the number of duplicate tile computations avoided by waiting for the computation of another thread */
+    public long getAvoidedComputationCount() {
+        return singleFlight.getAvoidedComputationCount();
+    }
+
+    /** Retrieves the number of tiles found in the off-heap tier */
+    public long getOffHeapHitCount() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getHitCount() : 0;
+    }
+
+    /** Retrieves the number of tiles not found in the off-heap tier */
+    public long getOffHeapMissCount() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getMissCount() : 0;
+    }
+
+    /** Retrieves the number of tiles evicted from the off-heap tier */
+    public long getOffHeapEvictionCount() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getEvictionCount() : 0;
+    }
+
+    /** Retrieves the current off-heap memory used by the tiles */
+    public long getOffHeapMemoryUsed() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getMemoryUsed() : 0;
+    }
+
+    /** Retrieves the number of tiles in the off-heap tier */
+    public long getOffHeapTileCount() {
+        OffHeapTileStore store = offHeapStore;
+        return store != null ? store.getTileCount() : 0;
+    }
+
+    /** Retrieves the number of tiles found in the second level store */
+    public long getDiskHitCount() {
+        OffHeapTileStore store = diskStore;
+        return store != null ? store.getHitCount() : 0;
+    }
+
+    /** Retrieves the number of tiles not found in the second level store */
+    public long getDiskMissCount() {
+        OffHeapTileStore store = diskStore;
+        return store != null ? store.getMissCount() : 0;
+    }
+
+    /** Retrieves the number of tiles in the second level store */
+    public long getDiskTileCount() {
+        OffHeapTileStore store = diskStore;
+        return store != null ? store.getTileCount() : 0;
+    }
+
+    /** Retrieves the space used by the tiles in the second level store */
+    public long getDiskMemoryUsed() {
+        OffHeapTileStore store = diskStore;
+        return store != null ? store.getMemoryUsed() : 0;
+    }
+
+    /**
+     * Saves the most recently used tiles to a snapshot file, which can be loaded by {@link #loadSnapshot(File, TileSnapshotResolver, int)} for
+     * warming up the cache of another JVM. The tile access time is updated only if diagnostics, memory control or compression are enabled,
+     * otherwise the most recently added tiles are saved first.
+     * 
+     * @param file the snapshot file, overwritten if already present
+     * @param maxBytes the maximum size of the saved tiles
+     * @param resolver provides the stable identity of the images; tiles of images without identity are not saved
+     * @return the number of saved tiles
+     */
+    public int saveSnapshot(File file, long maxBytes, TileSnapshotResolver resolver)
+            throws IOException {
+        if (resolver == null) {
+            throw new IllegalArgumentException("Snapshot resolver cannot be null");
+        }
+        return TileCacheSnapshot.save(cacheObject.asMap().values(), file, maxBytes, resolver);
+    }
+
+    /**
+     * Loads the tiles of a snapshot file saved by {@link #saveSnapshot(File, long, TileSnapshotResolver)}. The file is read sequentially while
+     * the tiles are decoded and added to the cache by the provided number of threads. Tiles whose image is not resolved, or whose structure does
+     * not match the one of the image, are skipped.
+     * 
+     * @return the number of loaded tiles
+     */
+    public int loadSnapshot(File file, TileSnapshotResolver resolver, int threads)
+            throws IOException {
+        if (resolver == null) {
+            throw new IllegalArgumentException("Snapshot resolver cannot be null");
+        }
+        return TileCacheSnapshot.load(this, file, resolver, threads);
+    }
+
+    /**
+     * Adds a listener receiving the tile events of this cache. Events are delivered in batches by a background thread, independently of the
+     * diagnostics.
+     */
+    public void addTileCacheListener(TileCacheListener listener) {
+        events.addListener(listener);
+    }
+
+    /** Removes the listener, the events not delivered yet are discarded if no other listener is registered */
+    public void removeTileCacheListener(TileCacheListener listener) {
+        events.removeListener(listener);
+    }
+
+    /** Retrieves the number of tile events delivered to the listeners */
+    public long getDeliveredEventCount() {
+        return events.getDeliveredCount();
+    }
+
+    /** Retrieves the number of tile events dropped because the listeners were not able to keep up with the cache */
+    public long getDroppedEventCount() {
+        return events.getDroppedCount();
+    }
+
+    /**
+     * Sets the time in milliseconds after which an idle tile is compressed. Constant tiles are kept as a single value for each band, the other
+     * tiles are compressed with a fast Deflate level and kept compressed only if their size is reduced enough. Compressed tiles are
+     * decompressed by {@link #getTile(RenderedImage, int, int)}. A value of 0 disables the compression.
+     * <p>
+     * The compressed size is taken into account by the Guava cache eviction and by the memory control, not by the eviction policy.
+     */
+    public synchronized void setCompressionDelay(long compressionDelay) {
+        if (compressionDelay < 0) {
+            throw new IllegalArgumentException("Compression delay cannot be negative");
+        }
+        this.compressionDelay = compressionDelay;
+        if (compressionTask != null) {
+            compressionTask.cancel(false);
+            compressionTask = null;
+        }
+        if (compressionDelay > 0) {
+            long period = Math.max(compressionDelay / 2, MIN_COMPRESSION_PERIOD);
+            CompressionTask task = new CompressionTask(this);
+            compressionTask = COMPRESSION_EXECUTOR.scheduleWithFixedDelay(task, period, period,
+                    TimeUnit.MILLISECONDS);
+            task.future = compressionTask;
+        }
+    }
+
+    /** Retrieves the time after which an idle tile is compressed, 0 if the compression is disabled */
+    public long getCompressionDelay() {
+        return compressionDelay;
+    }
+
+    /**
+     * Compresses the tiles not accessed for more than the compression delay. This method is periodically called when the compression is enabled.
+     */
+    public void compressIdleTiles() {
+        long delay = compressionDelay;
+        if (delay <= 0) {
+            return;
+        }
+        long limit = System.currentTimeMillis() - delay;
+        ConcurrentMap<Object, CachedTileImpl> tiles = cacheObject.asMap();
+        for (CachedTileImpl cti : tiles.values()) {
+            if (cti.isCompressed() || cti.incompressible || cti.getTileTimeStamp() > limit) {
+                continue;
+            }
+            CompressedTile compressedTile = CompressedTile.compress(cti.tile,
+                    MAX_COMPRESSION_RATIO);
+            if (compressedTile == null) {
+                cti.incompressible = true;
+                continue;
+            }
+            CachedTileImpl compressed = new CachedTileImpl(cti, compressedTile);
+            // The old tile size is removed by the listener
+            currentMemory.addAndGet(compressed.getTileSize());
+            if (tiles.replace(cti.key, cti, compressed)) {
+                compressionCount.incrementAndGet();
+                compressedSize.addAndGet(compressedTile.getSize());
+                uncompressedSize.addAndGet(compressedTile.getRawSize());
+            } else {
+                currentMemory.addAndGet(-compressed.getTileSize());
+            }
+        }
+    }
+
+    /** Retrieves the number of compressed tiles */
+    public long getCompressionCount() {
+        return compressionCount.get();
+    }
+
+    /**
+     * Retrieves the ratio between the compressed and the uncompressed size of all the compressed tiles, 0 if no tile has been compressed
+     */
+    public double getCompressionRatio() {
+        long uncompressed = uncompressedSize.get();
+        return uncompressed > 0 ? (double) compressedSize.get() / uncompressed : 0;
+    }
+
+    /** Retrieves the number of tiles decompressed by {@link #getTile(RenderedImage, int, int)} */
+    public long getDecompressionCount() {
+        return decompressionCount.get();
+    }
+
+    /** Retrieves the average time needed for decompressing a tile, in nanoseconds */
+    public long getAverageDecompressionTime() {
+        long count = decompressionCount.get();
+        return count > 0 ? decompressionTime.get() / count : 0;
+    }
+
+    /**
+     * Handles a tile evicted from the cache: the tile is moved to the off-heap tier or to the disk and the observers are notified.
+     * 
+     * @param key
+     * @param cti
+     */
+    private void onEviction(Object key, CachedTileImpl cti) {
+        if (cti == null) {
+            return;
+        }
+        OffHeapTileStore store = offHeapStore != null ? offHeapStore : diskStore;
+        // No need to keep tiles whose owner is not available anymore
+        if (store != null && cti.getOwner() != null) {
+            store.put(key, cti.getTile());
+        }
+        events.publish(Actions.REMOVAL_FROM_EVICTION, cti);
+        if (diagnosticEnabled) {
+            synchronized (this) {
+                cti.setAction(Actions.REMOVAL_FROM_EVICTION);
+                setChanged();
+                notifyObservers(cti);
+            }
+        }
+    }
+
+    /**
+     * Decompresses the tile and replaces the compressed tile inside the cache.
+     */
+    private Raster decompress(RenderedImage owner, int tileX, int tileY, CachedTileImpl cti) {
+        long start = System.nanoTime();
+        Raster tile = cti.getTile();
+        decompressionTime.addAndGet(System.nanoTime() - start);
+        decompressionCount.incrementAndGet();
+
+        CachedTileImpl decompressed = new CachedTileImpl(owner, tileX, tileY, tile,
+                cti.getTileCacheMetric());
+        // The compressed tile size is removed by the listener
+        currentMemory.addAndGet(decompressed.getTileSize());
+        if (!cacheObject.asMap().replace(cti.key, cti, decompressed)) {
+            currentMemory.addAndGet(-decompressed.getTileSize());
+        }
+        return tile;
+    }
+
+    /**
+     * Starts a memory control pass if the tile comparator drives the eviction and the memory capacity has been exceeded.
+     */
+    private void checkMemory() {
+        if (tileComparator != null && evictionPolicy == null
+                && currentMemory.get() > memoryCacheCapacity) {
+            memoryControl();
+        }
+    }
+
+    /**
+     * Removes from the cache the tiles chosen by the eviction policy, if any, after the addition of a new tile.
+     * 
+     * @param key
+     * @param cti
+     */
+    private void applyEvictionPolicy(Object key, CachedTileImpl cti) {
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy == null) {
+            return;
+        }
+        List<Object> victims = policy.onAdd(key, cti.getTileSize());
+        for (Object victim : victims) {
+            onEviction(victim, cacheObject.asMap().remove(victim));
+        }
+    }
+
+    /**
+     * Removes the tile associated to the key from the off-heap tier and from the second level store
+     * 
+     * @param key
+     */
+    private void removeFromStores(Object key) {
+        OffHeapTileStore store = offHeapStore;
+        if (store != null) {
+            store.remove(key);
+        }
+        store = diskStore;
+        if (store != null) {
+            store.remove(key);
+        }
+    }
+
+    /**
+     * Searches the tile associated to the key inside the off-heap tier and then inside the second level store
+     * 
+     * @param key
+     * @return
+     */
+    private Raster getFromStores(Object key) {
+        Raster tileData = null;
+        OffHeapTileStore store = offHeapStore;
+        if (store != null) {
+            tileData = store.getTile(key);
+        }
+        store = diskStore;
+        if (tileData == null && store != null) {
+            tileData = store.getTile(key);
+        }
+        return tileData;
+    }
+
     /**
      * Not Supported
      * 
@@ -539,4 +1117,36 @@ public class ConcurrentTileCache extends Observable implements TileCache, CacheD
         throw new UnsupportedOperationException("Operation not supported");
     }
 
+    /**
+     * Periodic compression of the idle tiles. The cache is weakly referenced, so that the task is cancelled when the cache is garbage collected.
+     */
+    private static final class CompressionTask implements Runnable {
+
+        private final WeakReference<ConcurrentTileCache> cache;
+
+        volatile ScheduledFuture<?> future;
+
+        CompressionTask(ConcurrentTileCache cache) {
+            this.cache = new WeakReference<ConcurrentTileCache>(cache);
+        }
+
+        public void run() {
+            ConcurrentTileCache tileCache = cache.get();
+            if (tileCache == null) {
+                ScheduledFuture<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return;
+            }
+            try {
+                tileCache.compressIdleTiles();
+            } catch (RuntimeException e) {
+                // The task must keep running
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Tile compression failed", e);
+                }
+            }
+        }
+    }
 }
@@ -18,19 +18,25 @@
 package it.geosolutions.concurrent;
 
 import it.geosolutions.concurrent.ConcurrentTileCache.Actions;
+import it.geosolutions.jaiext.iterators.TileCacheProbe;
 
 import java.awt.Point;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Observable;
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,7 +60,8 @@ import com.sun.media.jai.util.CacheDiagnostics;
  * @author Nicola Lagomarsini GeoSolutions S.A.S.
  * 
  */
-public class ConcurrentTileCacheMultiMap extends Observable implements TileCache, CacheDiagnostics {
+public class ConcurrentTileCacheMultiMap extends Observable implements TileCache, CacheDiagnostics,
+        TileCacheProbe {
 
     /** The default memory threshold of the cache. */
     public static final float DEFAULT_MEMORY_THRESHOLD = 0.75F;
@@ -68,6 +75,9 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
     /** The default concurrency settings */
     public static final int DEFAULT_CONCURRENCY_LEVEL = 4;
 
+    /** The name of the partition containing the tiles not assigned to other partitions */
+    public static final String DEFAULT_PARTITION = "default";
+
     /**
      * The tile cache. A Guava Cache is used to cache the tiles. The "key" is a <code>Object</code>. The "value" is a CachedTileImpl.
      */
@@ -90,6 +100,39 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
     /** diagnosticEnabled enable/disable */
     private volatile boolean diagnosticEnabled = DEFAULT_DIAGNOSTIC;
 
+    /** The optional eviction policy. If <code>null</code>, the Guava cache eviction is used */
+    private volatile TileCacheEvictionPolicy evictionPolicy;
+
+    /** The optional comparator defining the order used by {@link #memoryControl()} for removing the tiles */
+    private volatile Comparator tileComparator;
+
+    /** The memory currently used by the cached tiles */
+    private final AtomicLong currentMemory = new AtomicLong();
+
+    /** Lock used for avoiding concurrent memory control passes */
+    private final ReentrantLock memoryControlLock = new ReentrantLock();
+
+    /** The tile computations in progress */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /** The partitions defined by the user */
+    private final ConcurrentMap<String, TileCachePartition> partitions = new ConcurrentHashMap<String, TileCachePartition>();
+
+    /** The partition containing the tiles not assigned to other partitions */
+    private final TileCachePartition defaultPartition = new TileCachePartition(
+            DEFAULT_PARTITION, 0);
+
+    /** The partitions assigned to the images */
+    private final Cache<RenderedImage, TileCachePartition> imagePartitions = CacheBuilder
+            .newBuilder().weakKeys().build();
+
+    /** Indicates if the partition capacities drive the eviction */
+    private volatile boolean partitioned;
+
+    /** Delivers the tile events to the listeners */
+    private final TileEventDispatcher events = new TileEventDispatcher(
+            TileEventDispatcher.DEFAULT_CAPACITY);
+
     /**
      * Logger to use for reporting the informations about the TileCache operations.
      */
@@ -146,6 +189,9 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
         CachedTileImpl cti;
         // create a new tile
         CachedTileImpl cti_new = new CachedTileImpl(owner, tileX, tileY, data, tileCacheMetric);
+        if (partitioned) {
+            cti_new.partition = getPartition(owner, tileCacheMetric);
+        }
 
         if (diagnosticEnabled) {
             // if the tile is already cached
@@ -164,14 +210,28 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
                 notifyObservers(cti_new);
                 updateMultiMap(cti_new.key, imageKey);
             }
+            if (cti == null) {
+                currentMemory.addAndGet(getTileSize(cti_new));
+                events.publish(Actions.ADDITION, cti_new);
+                applyEvictionPolicy(cti_new);
+                checkMemory();
+                applyPartitionCapacities(cti_new);
+            }
         } else {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Added new Tile Image key " + imageKey);
             }
             // new tile insertion
-            cacheObject.asMap().putIfAbsent(cti_new.key, cti_new);
+            boolean added = cacheObject.asMap().putIfAbsent(cti_new.key, cti_new) == null;
             // Atomically adds a new Map if needed and then adds a new tile inside the MultiMap.
             updateMultiMap(cti_new.key, imageKey);
+            if (added) {
+                currentMemory.addAndGet(getTileSize(cti_new));
+                events.publish(Actions.ADDITION, cti_new);
+                applyEvictionPolicy(cti_new);
+                checkMemory();
+                applyPartitionCapacities(cti_new);
+            }
         }
     }
 
@@ -192,7 +252,37 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
         // Calculation of the tile key
         Object key = CachedTileImpl.hashKey(owner, tileX, tileY);
         // Get operation
-        return getTileFromKey(key);
+        Raster tile = getTileFromKey(key);
+        if (tile == null && partitioned) {
+            getPartition(owner, null).onMiss();
+        }
+        return tile;
+    }
+
+    /**
+     * Checks whether the selected tile is in the cache. No hit or miss is recorded and the tile access order is not updated.
+     */
+    public boolean containsTile(RenderedImage owner, int tileX, int tileY) {
+        return cacheObject.asMap().containsKey(CachedTileImpl.hashKey(owner, tileX, tileY));
+    }
+
+    /**
+     * Retrieves the selected tile from the cache or, if missing, computes it and adds it to the cache. If another thread is already computing the
+     * same tile, this method waits for its result instead of computing the tile again.
+     */
+    public Raster computeTileIfAbsent(RenderedImage owner, int tileX, int tileY,
+            TileComputation computation) {
+        return computeTileIfAbsent(owner, tileX, tileY, computation, null);
+    }
+
+    /**
+     * Retrieves the selected tile from the cache or, if missing, computes it and adds it to the cache with the provided tile cache metric. If
+     * another thread is already computing the same tile, this method waits for its result instead of computing the tile again.
+     */
+    public Raster computeTileIfAbsent(RenderedImage owner, int tileX, int tileY,
+            TileComputation computation, Object tileCacheMetric) {
+        return singleFlight.computeTileIfAbsent(this, owner, tileX, tileY, computation,
+                tileCacheMetric);
     }
 
     /**
@@ -269,7 +359,19 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
                 if (LOGGER.isLoggable(Level.FINE)) {
                     LOGGER.fine("Removing image Tiles Image key " + imageKey);
                 }
-                cacheObject.invalidateAll(keys);
+                if (events.isActive()) {
+                    for (Object key : keys) {
+                        events.publish(Actions.MANUAL_REMOVAL, cacheObject.asMap().remove(key));
+                    }
+                } else {
+                    cacheObject.invalidateAll(keys);
+                }
+                TileCacheEvictionPolicy policy = evictionPolicy;
+                if (policy != null) {
+                    for (Object key : keys) {
+                        policy.onRemove(key);
+                    }
+                }
             }
         }
     }
@@ -333,14 +435,23 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
                 while (keys.hasNext()) {
                     Object key = keys.next();
                     CachedTileImpl cti = (CachedTileImpl) cacheObject.asMap().remove(key);
+                    if (cti == null) {
+                        continue;
+                    }
 
                     // diagnosticEnabled
 
                     cti.setAction(Actions.REMOVAL_FROM_FLUSH);
                     setChanged();
                     notifyObservers(cti);
+                    events.publish(Actions.REMOVAL_FROM_FLUSH, cti);
                 }
             } else {
+                if (events.isActive()) {
+                    for (CachedTileImpl cti : cacheObject.asMap().values()) {
+                        events.publish(Actions.REMOVAL_FROM_FLUSH, cti);
+                    }
+                }
                 // Invalidation of all the keys of the cache
                 cacheObject.invalidateAll();
             }
@@ -351,18 +462,47 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
 
             // Cache creation
             cacheObject = buildCache();
+            currentMemory.set(0);
+            defaultPartition.clear();
+            for (TileCachePartition partition : partitions.values()) {
+                partition.clear();
+            }
             // multimap creation
             multimap = new ConcurrentHashMap<Object, Set<Object>>();
         }
     }
 
     /**
-     * Not Supported
-     * 
-     * @throws UnsupportedOperationException
+     * Removes tiles from the cache until the memory used is not greater than the memory threshold multiplied by the memory capacity. Tiles are
+     * removed in the order defined by the tile comparator; if no comparator is set the least recently used tiles are removed first (the tile time stamp
+     * is updated on each access only when the diagnostics are enabled or a comparator is set). If another memory control pass is running, this
+     * method returns immediately.
      */
     public void memoryControl() {
-        throw new UnsupportedOperationException("Memory Control not supported");
+        if (!memoryControlLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = (long) (memoryCacheCapacity * memoryCacheThreshold);
+            Cache<Object, CachedTileImpl> cache = cacheObject;
+            List<CachedTileImpl> tiles = MemoryControl.selectTiles(cache.asMap().values(),
+                    tileComparator, TILE_TRACKING_OVERHEAD, target);
+            if (LOGGER.isLoggable(Level.FINE) && !tiles.isEmpty()) {
+                LOGGER.fine("Removing " + tiles.size() + " tiles for memory control");
+            }
+            TileCacheEvictionPolicy policy = evictionPolicy;
+            for (CachedTileImpl cti : tiles) {
+                // The multimap is updated by the removal listener
+                if (cache.asMap().remove(cti.key, cti)) {
+                    events.publish(Actions.REMOVAL_FROM_EVICTION, cti);
+                    if (policy != null) {
+                        policy.onRemove(cti.key);
+                    }
+                }
+            }
+        } finally {
+            memoryControlLock.unlock();
+        }
     }
 
     /**
@@ -440,22 +580,128 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
     }
 
     /**
-     * Not Supported
-     * 
-     * @throws UnsupportedOperationException
+     * Sets the policy used for choosing the tiles to evict and then flush and rebuild the cache. A <code>null</code> value restores the Guava cache
+     * weighted eviction.
+     */
+    public void setEvictionPolicy(TileCacheEvictionPolicy policy) {
+        synchronized (cacheObject) {
+            evictionPolicy = policy;
+            // The flush is done in order to rebuild the cache with the new settings
+            flush();
+        }
+    }
+
+    /** Retrieve the cache eviction policy, <code>null</code> if the Guava cache eviction is used */
+    public TileCacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Sets the comparator defining the order used by {@link #memoryControl()} for removing the tiles and then flush and rebuild the cache. The
+     * comparator receives {@link javax.media.jai.CachedTile} instances and the tiles coming first are removed first. When a comparator is set and no
+     * eviction policy is defined, the Guava cache eviction is disabled and a memory control pass is done each time the memory used exceeds the
+     * memory capacity. A <code>null</code> value restores the default eviction.
      */
     public void setTileComparator(Comparator comparator) {
-        throw new UnsupportedOperationException("Comparator not supported");
+        synchronized (cacheObject) {
+            tileComparator = comparator;
+            // The flush is done in order to rebuild the cache with the new settings
+            flush();
+        }
+    }
 
+    /** Retrieve the comparator used by the memory control, <code>null</code> if not set */
+    public Comparator getTileComparator() {
+        return tileComparator;
     }
 
     /**
-     * Not Supported
+     * Adds a listener receiving the tile events of this cache. Events are delivered in batches by a background thread, independently of the
+     * diagnostics.
+     */
+    public void addTileCacheListener(TileCacheListener listener) {
+        events.addListener(listener);
+    }
+
+    /** Removes the listener, the events not delivered yet are discarded if no other listener is registered */
+    public void removeTileCacheListener(TileCacheListener listener) {
+        events.removeListener(listener);
+    }
+
+    /** Retrieves the number of tile events delivered to the listeners */
+    public long getDeliveredEventCount() {
+        return events.getDeliveredCount();
+    }
+
+    /** Retrieves the number of tile events dropped because the listeners were not able to keep up with the cache */
+    public long getDroppedEventCount() {
+        return events.getDroppedCount();
+    }
+
+    /**
+     * Creates a new partition with the provided capacity. The partition capacities drive the eviction only if neither an eviction policy nor a
+     * tile comparator is set; in this case the Guava cache eviction is disabled, so the cache is flushed when the first partition is created.
      * 
-     * @throws UnsupportedOperationException
+     * @param name the partition name, must be unique
+     * @param capacity the memory reserved to the partition tiles
+     * @return the new partition
      */
-    public Comparator getTileComparator() {
-        throw new UnsupportedOperationException("Comparator not supported");
+    public TileCachePartition createPartition(String name, long capacity) {
+        synchronized (cacheObject) {
+            if (DEFAULT_PARTITION.equals(name) || partitions.containsKey(name)) {
+                throw new IllegalArgumentException("Partition " + name + " already exists");
+            }
+            TileCachePartition partition = new TileCachePartition(name, capacity);
+            boolean first = partitions.isEmpty();
+            partitions.put(name, partition);
+            if (first) {
+                // The flush is done in order to rebuild the cache with the new settings
+                flush();
+            }
+            return partition;
+        }
+    }
+
+    /**
+     * Removes the partition and flush the cache. The images assigned to the partition are moved to the default partition.
+     */
+    public void removePartition(String name) {
+        synchronized (cacheObject) {
+            TileCachePartition partition = partitions.remove(name);
+            if (partition != null) {
+                imagePartitions.asMap().values().removeAll(Collections.singleton(partition));
+                // The flush is done in order to rebuild the cache with the new settings
+                flush();
+            }
+        }
+    }
+
+    /** Retrieve the partition with the provided name, <code>null</code> if not defined */
+    public TileCachePartition getPartition(String name) {
+        if (DEFAULT_PARTITION.equals(name)) {
+            return defaultPartition;
+        }
+        return partitions.get(name);
+    }
+
+    /** Retrieve the partitions defined by the user, not including the default partition */
+    public Collection<TileCachePartition> getPartitions() {
+        return Collections.unmodifiableCollection(partitions.values());
+    }
+
+    /**
+     * Assigns all the image tiles added from now on to the partition, unless another partition is passed as tile cache metric. The image tiles
+     * missing from the cache are counted by the partition. A <code>null</code> partition moves the image to the default partition.
+     */
+    public void setPartition(RenderedImage owner, TileCachePartition partition) {
+        if (partition == null || partition == defaultPartition) {
+            imagePartitions.invalidate(owner);
+        } else if (partitions.get(partition.getName()) != partition) {
+            throw new IllegalArgumentException("Partition " + partition.getName()
+                    + " does not belong to this cache");
+        } else {
+            imagePartitions.put(owner, partition);
+        }
     }
 
     /** Disables diagnosticEnabled for the observers */
@@ -509,6 +755,16 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
         return cacheObject.size();
     }
 
+    /** Retrieves the number of tiles computed by {@link #computeTileIfAbsent(RenderedImage, int, int, TileComputation)} */
+    public long getTileComputationCount() {
+        return singleFlight.getComputationCount();
+    }
+
+    /** Retrieves the number of duplicate tile computations avoided by waiting for the computation of another thread */
+    public long getAvoidedComputationCount() {
+        return singleFlight.getAvoidedComputationCount();
+    }
+
     /**
      * Not Supported
      * 
@@ -527,10 +783,19 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
     private RemovalListener<Object, CachedTileImpl> createListener(final boolean diagnostic) {
         return new RemovalListener<Object, CachedTileImpl>() {
             public void onRemoval(RemovalNotification<Object, CachedTileImpl> n) {
+                if (n.getValue() != null) {
+                    currentMemory.addAndGet(-getTileSize(n.getValue()));
+                    if (n.getValue().partition != null) {
+                        n.getValue().partition.onRemove(n.getKey());
+                    }
+                }
                 // if a tile is manually removed, the diagnosticEnabled already consider
                 // it in
                 // the remove() method
 
+                if (n.getCause() == RemovalCause.SIZE) {
+                    events.publish(Actions.REMOVAL_FROM_EVICTION, n.getValue());
+                }
                 if (diagnostic) {
                     synchronized (cacheObject) {
                         CachedTileImpl cti = n.getValue();
@@ -595,12 +860,29 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
     /** Private cache creation method */
     private Cache<Object, CachedTileImpl> buildCache() {
         CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
-        builder.maximumWeight((long) (memoryCacheCapacity * memoryCacheThreshold))
-                .concurrencyLevel(concurrencyLevel).weigher(new Weigher<Object, CachedTileImpl>() {
-                    public int weigh(Object o, CachedTileImpl cti) {
-                        return (int) getTileSize(cti);
-                    }
-                });
+        long maximumWeight = (long) (memoryCacheCapacity * memoryCacheThreshold);
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        partitioned = false;
+        if (policy != null) {
+            // The eviction policy decides which tiles must be removed
+            policy.clear();
+            policy.setMaximumWeight(maximumWeight);
+            builder.concurrencyLevel(concurrencyLevel);
+        } else if (tileComparator != null) {
+            // The memory control decides which tiles must be removed
+            builder.concurrencyLevel(concurrencyLevel);
+        } else if (!partitions.isEmpty()) {
+            // The partition capacities decide which tiles must be removed
+            partitioned = true;
+            builder.concurrencyLevel(concurrencyLevel);
+        } else {
+            builder.maximumWeight(maximumWeight).concurrencyLevel(concurrencyLevel)
+                    .weigher(new Weigher<Object, CachedTileImpl>() {
+                        public int weigh(Object o, CachedTileImpl cti) {
+                            return (int) getTileSize(cti);
+                        }
+                    });
+        }
         // Setting of the listener
         builder.removalListener(createListener(diagnosticEnabled));
         // Enable statistics only when the diagnostic flag is set to true;
@@ -643,6 +925,108 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
         tileKeys.add(key);
     }
 
+    /**
+     * Returns the partition of a tile, which is the tile cache metric if it is a partition of this cache, or the partition assigned to the image.
+     */
+    private TileCachePartition getPartition(RenderedImage owner, Object tileCacheMetric) {
+        if (tileCacheMetric instanceof TileCachePartition) {
+            TileCachePartition partition = (TileCachePartition) tileCacheMetric;
+            if (partitions.get(partition.getName()) == partition) {
+                return partition;
+            }
+        }
+        TileCachePartition partition = imagePartitions.getIfPresent(owner);
+        return partition != null ? partition : defaultPartition;
+    }
+
+    /**
+     * Records the added tile in its partition and, if the cache memory is exceeded, evicts the least recently used tiles of the partitions using
+     * more memory than their capacity. If no partition exceeds its capacity, the tiles of the partition using more memory are evicted.
+     */
+    private void applyPartitionCapacities(CachedTileImpl cti) {
+        TileCachePartition tilePartition = cti.partition;
+        if (tilePartition == null) {
+            return;
+        }
+        tilePartition.onAdd(cti.key, getTileSize(cti));
+        long maximumWeight = (long) (memoryCacheCapacity * memoryCacheThreshold);
+        while (currentMemory.get() > maximumWeight) {
+            // The default partition uses the memory not reserved to the other partitions
+            long reserved = 0;
+            for (TileCachePartition partition : partitions.values()) {
+                reserved += partition.getCapacity();
+            }
+            defaultPartition.setCapacity(Math.max(0, maximumWeight - reserved));
+
+            TileCachePartition victimPartition = selectVictimPartition(defaultPartition, null);
+            for (TileCachePartition partition : partitions.values()) {
+                victimPartition = selectVictimPartition(partition, victimPartition);
+            }
+            Object key = victimPartition.selectVictim();
+            if (key == null) {
+                break;
+            }
+            CachedTileImpl evicted = cacheObject.asMap().remove(key);
+            if (evicted != null) {
+                // The partition is updated by the removal listener
+                victimPartition.onEviction();
+                events.publish(Actions.REMOVAL_FROM_EVICTION, evicted);
+            } else {
+                // The tile has been already removed
+                victimPartition.onRemove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the partition whose tiles must be evicted first, which is the one exceeding its capacity the most or, if no partition exceeds its
+     * capacity, the one using more memory.
+     */
+    private static TileCachePartition selectVictimPartition(TileCachePartition partition,
+            TileCachePartition selected) {
+        if (selected == null) {
+            return partition;
+        }
+        long excess = partition.getMemoryUsed() - partition.getCapacity();
+        long selectedExcess = selected.getMemoryUsed() - selected.getCapacity();
+        if (excess > 0 || selectedExcess > 0) {
+            return excess > selectedExcess ? partition : selected;
+        }
+        return partition.getMemoryUsed() > selected.getMemoryUsed() ? partition : selected;
+    }
+
+    /**
+     * Starts a memory control pass if the tile comparator drives the eviction and the memory capacity has been exceeded.
+     */
+    private void checkMemory() {
+        if (tileComparator != null && evictionPolicy == null
+                && currentMemory.get() > memoryCacheCapacity) {
+            memoryControl();
+        }
+    }
+
+    /**
+     * Removes from the cache the tiles chosen by the eviction policy, if any, after the addition of a new tile. The multimap is updated by the
+     * removal listener.
+     * 
+     * @param cti
+     */
+    private void applyEvictionPolicy(CachedTileImpl cti) {
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy == null) {
+            return;
+        }
+        List<Object> victims = policy.onAdd(cti.key, getTileSize(cti));
+        if (!victims.isEmpty()) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Removing " + victims.size() + " tiles chosen by the eviction policy");
+            }
+            for (Object key : victims) {
+                events.publish(Actions.REMOVAL_FROM_EVICTION, cacheObject.asMap().remove(key));
+            }
+        }
+    }
+
     /**
      * Removes the tile associated to the key.
      * 
@@ -673,7 +1057,12 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
                     LOGGER.fine("Removed Tile Image key " + cti.getImageKey());
                 }
                 // Discard the tile from the cache
-                cacheObject.invalidate(key);
+                cti = cacheObject.asMap().remove(key);
+            }
+            events.publish(Actions.MANUAL_REMOVAL, cti);
+            TileCacheEvictionPolicy policy = evictionPolicy;
+            if (policy != null) {
+                policy.onRemove(key);
             }
         }
     }
@@ -695,6 +1084,14 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
             }
             return null;
         }
+        TileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            policy.onAccess(key);
+        }
+        if (cti.partition != null) {
+            cti.partition.onHit(key);
+        }
+        events.publish(Actions.UPDATING_TILE_FROM_GETTILE, cti);
         if (diagnosticEnabled) {
             synchronized (cacheObject) {
 
@@ -704,6 +1101,9 @@ public class ConcurrentTileCacheMultiMap extends Observable implements TileCache
                 setChanged();
                 notifyObservers(cti);
             }
+        } else if (tileComparator != null) {
+            // Update last-access time for the memory control
+            cti.updateTileTimeStamp();
         }
         if (LOGGER.isLoggable(Level.FINE)) {
             LOGGER.fine("Get the selected tile Image key " + cti.getImageKey());
@@ -0,0 +1,136 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+/**
+ * Count-Min sketch estimating the access frequency of the cached tiles. Each key is mapped on four 4-bit counters (so the maximum frequency is 15)
+ * and its frequency is the minimum of them. When the number of recorded accesses reaches ten times the number of counters, all the counters are
+ * halved, so that old accesses are progressively forgotten.
+ * <p>
+ * This class is not thread safe, callers must provide their own synchronization.
+ */
+final class FrequencySketch {
+
+    /** Seeds used for selecting a different counter for each of the four rows */
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+            0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    /** Mask used for halving all the counters of a long in one step */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Minimum number of longs in the table */
+    private static final int MIN_TABLE_SIZE = 64;
+
+    /** Counters, sixteen for each long */
+    private long[] table;
+
+    /** Mask used for selecting a table index */
+    private int tableMask;
+
+    /** Number of increments before halving the counters */
+    private int sampleSize;
+
+    /** Increments done since the last halving */
+    private int size;
+
+    FrequencySketch(int expectedEntries) {
+        ensureCapacity(expectedEntries);
+    }
+
+    /**
+     * Resizes the table if it is too small for the expected number of entries. The frequencies are lost when the table is resized.
+     */
+    void ensureCapacity(int expectedEntries) {
+        int length = MIN_TABLE_SIZE;
+        int wanted = Math.max(expectedEntries, MIN_TABLE_SIZE);
+        while (length < wanted && length < (1 << 30)) {
+            length <<= 1;
+        }
+        if (table != null && table.length >= length) {
+            return;
+        }
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = 10 * length;
+        size = 0;
+    }
+
+    /** Returns the estimated frequency of the key, between 0 and 15 */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            int count = (int) ((table[index] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /** Increments the frequency of the key, halving all the counters if the sample size has been reached */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /** Removes all the recorded frequencies */
+    void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0L;
+        }
+        size = 0;
+    }
+
+    /** Halves all the counters */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    /** Offset of the counter inside the selected long: each row uses a different group of four counters */
+    private static int counterOffset(int hash, int row) {
+        return (((hash >>> (row << 3)) & 3) + (row << 2)) << 2;
+    }
+
+    private static int spread(int h) {
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+}
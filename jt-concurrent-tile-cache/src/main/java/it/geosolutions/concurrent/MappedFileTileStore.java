@@ -0,0 +1,178 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link OffHeapTileStore} implementation whose slabs are regions of a memory mapped local file. It can be used as second level store for the tiles
+ * evicted from a tile cache, allowing to keep far more tiles than the available memory, since the operating system pages the slabs in and out of
+ * the file as needed.
+ * <p>
+ * The index of the stored tiles is kept on the heap only, so the file content is meaningless after a restart or a crash. For this reason the file
+ * is always truncated when the store is created. An exclusive lock is taken on the file, so that two stores (even in different processes) cannot
+ * share it. Mapped regions released by {@link #clear()} are kept and reused for new slabs, so that the file never grows beyond the store capacity.
+ */
+public class MappedFileTileStore extends OffHeapTileStore {
+
+    /** The default block size (64 KB) */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Logger to use for reporting the informations about the store operations.
+     */
+    private final static Logger LOGGER = Logger.getLogger(MappedFileTileStore.class.toString());
+
+    /** The file containing the slabs */
+    private final File file;
+
+    /** The file used for mapping the slabs */
+    private final RandomAccessFile raf;
+
+    /** The channel used for mapping the slabs */
+    private final FileChannel channel;
+
+    /** Exclusive lock on the file */
+    private final FileLock lock;
+
+    /** Position of the next slab inside the file */
+    private long nextSlabPosition;
+
+    /** Mapped regions released by the store, grouped by size */
+    private final Map<Integer, LinkedList<ByteBuffer>> releasedSlabs = new HashMap<Integer, LinkedList<ByteBuffer>>();
+
+    /** Whether the store has been closed */
+    private boolean closed;
+
+    public MappedFileTileStore(File file, long capacity) throws IOException {
+        this(file, capacity, DEFAULT_BLOCK_SIZE, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public MappedFileTileStore(File file, long capacity, int blockSize, int concurrencyLevel)
+            throws IOException {
+        super(capacity, blockSize, concurrencyLevel);
+        this.file = file;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+        FileLock fileLock = null;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // The file is already locked by this JVM
+        } finally {
+            if (fileLock == null) {
+                raf.close();
+            }
+        }
+        if (fileLock == null) {
+            throw new IOException("File " + file + " is already used by another store");
+        }
+        this.lock = fileLock;
+        // Reset of the content left by a previous run
+        channel.truncate(0);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Created tile store on file " + file);
+        }
+    }
+
+    /** Returns the file containing the stored tiles */
+    public File getFile() {
+        return file;
+    }
+
+    /** Returns the current size of the file */
+    public synchronized long getFileSize() {
+        return nextSlabPosition;
+    }
+
+    /**
+     * Closes the store, releasing the file lock. The file is deleted.
+     */
+    public void close() throws IOException {
+        clear();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releasedSlabs.clear();
+            try {
+                if (lock.isValid()) {
+                    lock.release();
+                }
+            } finally {
+                raf.close();
+                if (!file.delete() && LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Unable to delete file " + file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a released region of the same size if available, otherwise maps a new region at the end of the file. Regions are never unmapped
+     * while the store is open, so the file size is bounded by the store capacity.
+     */
+    @Override
+    protected synchronized ByteBuffer allocateSlab(int size) {
+        if (closed) {
+            throw new IllegalStateException("The store on file " + file + " has been closed");
+        }
+        LinkedList<ByteBuffer> released = releasedSlabs.get(size);
+        if (released != null && !released.isEmpty()) {
+            ByteBuffer slab = released.removeFirst();
+            slab.clear();
+            return slab;
+        }
+        try {
+            ByteBuffer slab = channel.map(FileChannel.MapMode.READ_WRITE, nextSlabPosition, size);
+            nextSlabPosition += size;
+            return slab;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to map a new region of file " + file, e);
+        }
+    }
+
+    /**
+     * Keeps the released region for a later reuse
+     */
+    @Override
+    protected synchronized void releaseSlab(ByteBuffer slab) {
+        if (closed) {
+            return;
+        }
+        int size = slab.capacity();
+        LinkedList<ByteBuffer> released = releasedSlabs.get(size);
+        if (released == null) {
+            released = new LinkedList<ByteBuffer>();
+            releasedSlabs.put(size, released);
+        }
+        released.add(slab);
+    }
+}
@@ -0,0 +1,71 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Utility class used by the concurrent tile caches for selecting the tiles to remove during a memory control pass.
+ */
+final class MemoryControl {
+
+    /** Comparator used when no tile comparator is set: the oldest tiles come first */
+    static final Comparator<CachedTileImpl> LRU_COMPARATOR = new Comparator<CachedTileImpl>() {
+        public int compare(CachedTileImpl o1, CachedTileImpl o2) {
+            long t1 = o1.getTileTimeStamp();
+            long t2 = o2.getTileTimeStamp();
+            return t1 < t2 ? -1 : (t1 == t2 ? 0 : 1);
+        }
+    };
+
+    private MemoryControl() {
+    }
+
+    /**
+     * Returns the tiles to remove in order to bring the memory used down to the target. Tiles are sorted with the input comparator (or
+     * {@link #LRU_COMPARATOR} if <code>null</code>) and the first ones are selected.
+     *
+     * @param tiles the cached tiles
+     * @param comparator the comparator defining the removal order, may be <code>null</code>
+     * @param overhead the memory used by each tile in addition to {@link CachedTileImpl#getTileSize()}
+     * @param target the memory to keep
+     * @return the tiles to remove, in removal order
+     */
+    @SuppressWarnings("unchecked")
+    static List<CachedTileImpl> selectTiles(Collection<CachedTileImpl> tiles,
+            Comparator comparator, long overhead, long target) {
+        List<CachedTileImpl> sorted = new ArrayList<CachedTileImpl>(tiles);
+        long used = 0;
+        for (CachedTileImpl cti : sorted) {
+            used += cti.getTileSize() + overhead;
+        }
+        if (used <= target) {
+            return Collections.emptyList();
+        }
+        Collections.sort(sorted, comparator != null ? comparator : LRU_COMPARATOR);
+        int count = 0;
+        while (used > target && count < sorted.size()) {
+            used -= sorted.get(count++).getTileSize() + overhead;
+        }
+        return sorted.subList(0, count);
+    }
+}
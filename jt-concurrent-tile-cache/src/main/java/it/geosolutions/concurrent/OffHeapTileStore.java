@@ -0,0 +1,510 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tile store which keeps the tile data outside the Java heap. The store is divided in segments, each one with its own lock, its own LRU ordering and
+ * its own set of {@link ByteBuffer#allocateDirect(int)} slabs. Each slab is divided in fixed size blocks and each tile occupies as many blocks as
+ * needed for storing its {@link DataBuffer} banks. Only the tile layout (the {@link SampleModel}, the raster position and the list of used blocks) is
+ * kept on the heap.
+ * <p>
+ * When a new tile does not fit inside its segment, the least recently used tiles of the segment are evicted until enough blocks are available.
+ * Evicted tiles may be moved to an overflow store (see {@link #setOverflowStore(OffHeapTileStore)}). Slabs are allocated lazily, so that the
+ * off-heap memory grows only when needed.
+ */
+public class OffHeapTileStore {
+
+    /** The default block size (16 KB) */
+    public static final int DEFAULT_BLOCK_SIZE = 16 * 1024;
+
+    /** The default concurrency level of the store */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 4;
+
+    /** Maximum size of a single slab (32 MB) */
+    private static final int MAX_SLAB_SIZE = 32 * 1024 * 1024;
+
+    /** Alignment of each bank inside the blocks, so that no sample crosses the block boundaries */
+    private static final int BANK_ALIGNMENT = 8;
+
+    /** The memory capacity of the store */
+    private final long capacity;
+
+    /** The size of each block */
+    private final int blockSize;
+
+    /** The store segments */
+    private final Segment[] segments;
+
+    /** Number of tiles found in the store */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** Number of tiles not found in the store */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /** Number of tiles evicted from the store */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /** Store receiving the evicted tiles, may be <code>null</code> */
+    private volatile OffHeapTileStore overflowStore;
+
+    public OffHeapTileStore(long capacity) {
+        this(capacity, DEFAULT_BLOCK_SIZE, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public OffHeapTileStore(long capacity, int blockSize, int concurrencyLevel) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Memory capacity too small");
+        }
+        if (blockSize < BANK_ALIGNMENT || blockSize % BANK_ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Block size must be a positive multiple of "
+                    + BANK_ALIGNMENT);
+        }
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("ConcurrencyLevel must be at least 1");
+        }
+        this.capacity = capacity;
+        this.blockSize = blockSize;
+        this.segments = new Segment[concurrencyLevel];
+        long segmentCapacity = capacity / concurrencyLevel;
+        long blocks = segmentCapacity / blockSize;
+        if (blocks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Memory capacity too big for the block size");
+        }
+        for (int i = 0; i < concurrencyLevel; i++) {
+            segments[i] = new Segment((int) blocks);
+        }
+    }
+
+    /**
+     * Stores a copy of the tile data. Returns <code>false</code> if the tile cannot be stored, because it is bigger than a segment or because its
+     * {@link DataBuffer} type is not supported.
+     */
+    public boolean put(Object key, Raster tile) {
+        DataBuffer db = tile.getDataBuffer();
+        if (!TileLayout.isSupported(db)) {
+            return false;
+        }
+        return segmentFor(key).put(key, tile);
+    }
+
+    /**
+     * Returns a new {@link WritableRaster} containing a copy of the stored tile, or <code>null</code> if the tile is not present.
+     */
+    public WritableRaster getTile(Object key) {
+        WritableRaster tile = segmentFor(key).get(key);
+        if (tile == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return tile;
+    }
+
+    /** Checks whether the tile is stored. No hit or miss is recorded and the tile access order is not updated. */
+    public boolean containsTile(Object key) {
+        return segmentFor(key).contains(key);
+    }
+
+    /** Removes the selected tile from the store. Returns <code>true</code> if the tile was present. */
+    public boolean remove(Object key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /** Removes all the tiles and releases the slabs */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Sets the store receiving the tiles evicted from this store. A <code>null</code> value means that evicted tiles are discarded.
+     */
+    public void setOverflowStore(OffHeapTileStore overflowStore) {
+        if (overflowStore == this) {
+            throw new IllegalArgumentException("A store cannot overflow into itself");
+        }
+        this.overflowStore = overflowStore;
+    }
+
+    /** Retrieves the store receiving the tiles evicted from this store */
+    public OffHeapTileStore getOverflowStore() {
+        return overflowStore;
+    }
+
+    /** Retrieves the memory capacity of the store */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /** Retrieves the memory used by the stored tiles, as a multiple of the block size */
+    public long getMemoryUsed() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += segment.getUsedBlocks();
+        }
+        return used * blockSize;
+    }
+
+    /** Retrieves the number of tiles in the store */
+    public long getTileCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.getTileCount();
+        }
+        return count;
+    }
+
+    /** Retrieves the number of tiles found in the store */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** Retrieves the number of tiles not found in the store */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** Retrieves the number of tiles evicted from the store */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /** Resets the hit, miss and eviction counters */
+    public void resetCounts() {
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+    }
+
+    /**
+     * Allocates a new slab. Subclasses may override this method in order to provide a different kind of {@link ByteBuffer}.
+     *
+     * @param size the slab size in bytes
+     */
+    protected ByteBuffer allocateSlab(int size) {
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * Releases a slab which is not used anymore by the store. The default implementation does nothing, leaving the slab to the garbage collector.
+     * Subclasses may override this method in order to reuse the slab.
+     */
+    protected void releaseSlab(ByteBuffer slab) {
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return segments[(h & 0x7fffffff) % segments.length];
+    }
+
+    private static int align(long bytes) {
+        return (int) ((bytes + BANK_ALIGNMENT - 1) / BANK_ALIGNMENT * BANK_ALIGNMENT);
+    }
+
+    /**
+     * Layout of a stored tile, with the blocks containing its samples.
+     */
+    private static final class StoredTile extends TileLayout {
+
+        final Object key;
+
+        int[] blocks;
+
+        StoredTile(Object key, Raster tile) {
+            super(tile);
+            this.key = key;
+        }
+
+        /** Number of bytes needed for storing all the banks */
+        long byteLength() {
+            int elementSize = DataBuffer.getDataTypeSize(dataType) / 8;
+            long length = 0;
+            for (int b = 0; b < bankLengths.length; b++) {
+                length += align((long) bankLengths[b] * elementSize);
+            }
+            return length;
+        }
+    }
+
+    /**
+     * A portion of the store with its own lock. Each segment keeps its tiles in LRU order and manages its own blocks.
+     */
+    private final class Segment {
+
+        /** Total number of blocks of the segment */
+        private final int numBlocks;
+
+        /** Number of blocks inside each slab */
+        private final int blocksPerSlab;
+
+        /** Allocated slabs */
+        private ByteBuffer[] slabs;
+
+        /** Stack of the released blocks */
+        private int[] freeBlocks;
+
+        /** Number of elements of the free blocks stack */
+        private int freeCount;
+
+        /** Index of the first block never allocated */
+        private int nextBlock;
+
+        /** Stored tiles in access order */
+        private final LinkedHashMap<Object, StoredTile> tiles = new LinkedHashMap<Object, StoredTile>(
+                16, 0.75f, true);
+
+        Segment(int numBlocks) {
+            this.numBlocks = numBlocks;
+            this.blocksPerSlab = Math.max(1, MAX_SLAB_SIZE / blockSize);
+            clear();
+        }
+
+        synchronized boolean put(Object key, Raster tile) {
+            StoredTile layout = new StoredTile(key, tile);
+            long blocksNeeded = (layout.byteLength() + blockSize - 1) / blockSize;
+            if (blocksNeeded > numBlocks) {
+                return false;
+            }
+            // Release the old copy of the same tile
+            StoredTile old = tiles.remove(key);
+            if (old != null) {
+                release(old);
+            }
+            // Evict the least recently used tiles until there is enough space
+            OffHeapTileStore overflow = overflowStore;
+            Iterator<Map.Entry<Object, StoredTile>> it = tiles.entrySet().iterator();
+            while (availableBlocks() < blocksNeeded && it.hasNext()) {
+                StoredTile eldest = it.next().getValue();
+                WritableRaster evicted = overflow != null ? read(eldest) : null;
+                it.remove();
+                release(eldest);
+                evictionCount.incrementAndGet();
+                if (evicted != null) {
+                    overflow.put(eldest.key, evicted);
+                }
+            }
+            int[] blocks = new int[(int) blocksNeeded];
+            int acquired = 0;
+            try {
+                for (; acquired < blocks.length; acquired++) {
+                    blocks[acquired] = acquire();
+                }
+            } finally {
+                if (acquired < blocks.length) {
+                    // Slab allocation failed, the acquired blocks are given back
+                    for (int i = 0; i < acquired; i++) {
+                        freeBlocks[freeCount++] = blocks[i];
+                    }
+                }
+            }
+            layout.blocks = blocks;
+            write(layout, tile.getDataBuffer());
+            tiles.put(key, layout);
+            return true;
+        }
+
+        synchronized WritableRaster get(Object key) {
+            StoredTile layout = tiles.get(key);
+            if (layout == null) {
+                return null;
+            }
+            return read(layout);
+        }
+
+        synchronized boolean contains(Object key) {
+            return tiles.containsKey(key);
+        }
+
+        synchronized boolean remove(Object key) {
+            StoredTile layout = tiles.remove(key);
+            if (layout != null) {
+                release(layout);
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void clear() {
+            tiles.clear();
+            if (slabs != null) {
+                for (int i = 0; i < slabs.length; i++) {
+                    if (slabs[i] != null) {
+                        releaseSlab(slabs[i]);
+                    }
+                }
+            }
+            slabs = new ByteBuffer[(numBlocks + blocksPerSlab - 1) / blocksPerSlab];
+            freeBlocks = new int[numBlocks];
+            freeCount = 0;
+            nextBlock = 0;
+        }
+
+        synchronized long getUsedBlocks() {
+            return nextBlock - freeCount;
+        }
+
+        synchronized long getTileCount() {
+            return tiles.size();
+        }
+
+        private int availableBlocks() {
+            return freeCount + numBlocks - nextBlock;
+        }
+
+        private int acquire() {
+            if (freeCount > 0) {
+                return freeBlocks[--freeCount];
+            }
+            int block = nextBlock;
+            int slab = block / blocksPerSlab;
+            if (slabs[slab] == null) {
+                int slabBlocks = Math.min(blocksPerSlab, numBlocks - slab * blocksPerSlab);
+                slabs[slab] = allocateSlab(slabBlocks * blockSize).order(ByteOrder.nativeOrder());
+            }
+            nextBlock++;
+            return block;
+        }
+
+        private void release(StoredTile layout) {
+            int[] blocks = layout.blocks;
+            for (int i = 0; i < blocks.length; i++) {
+                freeBlocks[freeCount++] = blocks[i];
+            }
+        }
+
+        /** Returns a view of the selected block, starting at the given offset */
+        private ByteBuffer block(int block, int offset, int length) {
+            ByteBuffer slab = slabs[block / blocksPerSlab];
+            int start = (block % blocksPerSlab) * blockSize + offset;
+            ByteBuffer view = slab.duplicate();
+            view.limit(start + length).position(start);
+            return view.slice().order(ByteOrder.nativeOrder());
+        }
+
+        private void write(StoredTile layout, DataBuffer db) {
+            copy(layout, db, true);
+        }
+
+        /** Creates a new raster containing the stored tile */
+        private WritableRaster read(StoredTile layout) {
+            DataBuffer db = layout.createDataBuffer();
+            copy(layout, db, false);
+            return layout.createRaster(db);
+        }
+
+        /**
+         * Copies the banks from the DataBuffer to the blocks if <code>write</code> is true, from the blocks to the DataBuffer otherwise.
+         */
+        private void copy(StoredTile layout, DataBuffer db, boolean write) {
+            int elementSize = DataBuffer.getDataTypeSize(layout.dataType) / 8;
+            int[] blocks = layout.blocks;
+            // Position inside the blocks, in bytes
+            long position = 0;
+            for (int b = 0; b < layout.bankLengths.length; b++) {
+                int length = layout.bankLengths[b];
+                int done = 0;
+                while (done < length) {
+                    int blockIndex = (int) (position / blockSize);
+                    int blockOffset = (int) (position % blockSize);
+                    int count = Math.min(length - done, (blockSize - blockOffset) / elementSize);
+                    ByteBuffer view = block(blocks[blockIndex], blockOffset, count * elementSize);
+                    copyElements(view, db, b, done, count, write);
+                    done += count;
+                    position += (long) count * elementSize;
+                }
+                position = align(position);
+            }
+        }
+
+        private void copyElements(ByteBuffer view, DataBuffer db, int bank, int offset, int count,
+                boolean write) {
+            switch (db.getDataType()) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] byteData = ((DataBufferByte) db).getData(bank);
+                if (write) {
+                    view.put(byteData, offset, count);
+                } else {
+                    view.get(byteData, offset, count);
+                }
+                break;
+            case DataBuffer.TYPE_USHORT:
+                short[] ushortData = ((DataBufferUShort) db).getData(bank);
+                if (write) {
+                    view.asShortBuffer().put(ushortData, offset, count);
+                } else {
+                    view.asShortBuffer().get(ushortData, offset, count);
+                }
+                break;
+            case DataBuffer.TYPE_SHORT:
+                short[] shortData = ((DataBufferShort) db).getData(bank);
+                if (write) {
+                    view.asShortBuffer().put(shortData, offset, count);
+                } else {
+                    view.asShortBuffer().get(shortData, offset, count);
+                }
+                break;
+            case DataBuffer.TYPE_INT:
+                int[] intData = ((DataBufferInt) db).getData(bank);
+                if (write) {
+                    view.asIntBuffer().put(intData, offset, count);
+                } else {
+                    view.asIntBuffer().get(intData, offset, count);
+                }
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                float[] floatData = ((DataBufferFloat) db).getData(bank);
+                if (write) {
+                    view.asFloatBuffer().put(floatData, offset, count);
+                } else {
+                    view.asFloatBuffer().get(floatData, offset, count);
+                }
+                break;
+            case DataBuffer.TYPE_DOUBLE:
+                double[] doubleData = ((DataBufferDouble) db).getData(bank);
+                if (write) {
+                    view.asDoubleBuffer().put(doubleData, offset, count);
+                } else {
+                    view.asDoubleBuffer().get(doubleData, offset, count);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Wrong data type");
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import it.geosolutions.jaiext.iterators.TileCacheProbe;
+
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.media.jai.TileCache;
+
+/**
+ * Helper class used by the concurrent tile caches for computing the missing tiles. The computations in progress are tracked by tile key, so
+ * that a thread requesting a tile which is already being computed waits for the pending result instead of computing it again.
+ */
+final class SingleFlight {
+
+    /** The computations in progress */
+    private final ConcurrentMap<Object, FutureTask<Raster>> pending = new ConcurrentHashMap<Object, FutureTask<Raster>>();
+
+    /** Number of tile computations executed */
+    private final AtomicLong computationCount = new AtomicLong();
+
+    /** Number of requests served by the computation of another thread */
+    private final AtomicLong avoidedCount = new AtomicLong();
+
+    /**
+     * Returns the tile from the cache or, if missing, computes it and adds it to the cache. Only one thread at a time computes a given tile.
+     * Only the first lookup is recorded by the cache statistics, the check done before computing the tile goes through
+     * {@link TileCacheProbe#containsTile(RenderedImage, int, int)}.
+     */
+    <C extends TileCache & TileCacheProbe> Raster computeTileIfAbsent(final C cache, final RenderedImage owner,
+            final int tileX, final int tileY, final TileComputation computation,
+            final Object tileCacheMetric) {
+        if (computation == null) {
+            throw new IllegalArgumentException("Tile computation cannot be null");
+        }
+        Raster tile = cache.getTile(owner, tileX, tileY);
+        if (tile != null) {
+            return tile;
+        }
+        Object key = CachedTileImpl.hashKey(owner, tileX, tileY);
+        FutureTask<Raster> task = new FutureTask<Raster>(new Callable<Raster>() {
+            public Raster call() {
+                // The tile may have been added after the first check by a computation now completed,
+                // the probe does not count a second miss
+                Raster tile = cache.containsTile(owner, tileX, tileY) ? cache.getTile(owner, tileX,
+                        tileY) : null;
+                if (tile == null) {
+                    computationCount.incrementAndGet();
+                    tile = computation.computeTile(owner, tileX, tileY);
+                    // The tile is cached before the pending computation is removed
+                    cache.add(owner, tileX, tileY, tile, tileCacheMetric);
+                }
+                return tile;
+            }
+        });
+        FutureTask<Raster> running = pending.putIfAbsent(key, task);
+        if (running != null) {
+            // Another thread is computing the tile
+            avoidedCount.incrementAndGet();
+            return getResult(running);
+        }
+        try {
+            task.run();
+        } finally {
+            pending.remove(key, task);
+        }
+        return getResult(task);
+    }
+
+    /** Retrieves the number of tile computations executed */
+    long getComputationCount() {
+        return computationCount.get();
+    }
+
+    /** Retrieves the number of duplicate tile computations avoided */
+    long getAvoidedComputationCount() {
+        return avoidedCount.get();
+    }
+
+    /** Waits for the result of the computation, propagating its failure to the caller */
+    private static Raster getResult(FutureTask<Raster> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // The computation is shared, so the wait is not interrupted
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
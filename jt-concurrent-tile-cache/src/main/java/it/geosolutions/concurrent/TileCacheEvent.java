@@ -0,0 +1,84 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import it.geosolutions.concurrent.ConcurrentTileCache.Actions;
+
+/**
+ * Event produced by a concurrent tile cache and delivered to the {@link TileCacheListener}s. The event does not reference the tile nor its
+ * image: the image is identified by its key, as returned by {@link CachedTileImpl#hashKey(java.awt.image.RenderedImage)}.
+ */
+public final class TileCacheEvent {
+
+    private final Actions action;
+
+    private final Object imageKey;
+
+    private final int tileX;
+
+    private final int tileY;
+
+    private final long tileSize;
+
+    private final long timeStamp;
+
+    TileCacheEvent(Actions action, CachedTileImpl cti) {
+        this.action = action;
+        this.imageKey = cti.getImageKey();
+        this.tileX = cti.tileX;
+        this.tileY = cti.tileY;
+        this.tileSize = cti.getTileSize();
+        this.timeStamp = System.currentTimeMillis();
+    }
+
+    /** Returns the action done by the cache */
+    public Actions getAction() {
+        return action;
+    }
+
+    /** Returns the key of the tile image */
+    public Object getImageKey() {
+        return imageKey;
+    }
+
+    /** Returns the tile X index */
+    public int getTileX() {
+        return tileX;
+    }
+
+    /** Returns the tile Y index */
+    public int getTileY() {
+        return tileY;
+    }
+
+    /** Returns the memory used by the tile */
+    public long getTileSize() {
+        return tileSize;
+    }
+
+    /** Returns the time of the event */
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    @Override
+    public String toString() {
+        return "TileCacheEvent[" + action + ", image=" + imageKey + ", tile=" + tileX + ","
+                + tileY + "]";
+    }
+}
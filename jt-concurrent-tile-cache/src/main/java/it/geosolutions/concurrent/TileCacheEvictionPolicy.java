@@ -0,0 +1,61 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.util.List;
+
+/**
+ * Policy deciding which tiles must be evicted from a concurrent tile cache when its memory capacity is exceeded. When a policy is set on
+ * {@link ConcurrentTileCache} or {@link ConcurrentTileCacheMultiMap}, the internal Guava cache is not bounded anymore and the cache relies on the
+ * policy for choosing the tiles to evict. A policy instance must be used by a single cache.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface TileCacheEvictionPolicy {
+
+    /**
+     * Sets the maximum weight of the tiles tracked by the policy. This method is called by the cache each time it is rebuilt, after
+     * {@link #clear()}.
+     */
+    void setMaximumWeight(long maximumWeight);
+
+    /**
+     * Records an access to a cached tile.
+     */
+    void onAccess(Object key);
+
+    /**
+     * Records a tile added to the cache and returns the keys of the tiles to evict in order to respect the maximum weight. The returned list may
+     * contain the added key itself, if the policy rejects the new tile.
+     *
+     * @param key the key of the added tile
+     * @param weight the weight of the added tile
+     * @return the keys of the tiles to evict, never <code>null</code>
+     */
+    List<Object> onAdd(Object key, long weight);
+
+    /**
+     * Records the removal of a tile which has not been requested by the policy (manual removal of a tile or of all the image tiles).
+     */
+    void onRemove(Object key);
+
+    /**
+     * Removes all the tracked tiles.
+     */
+    void clear();
+}
@@ -0,0 +1,37 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.util.List;
+
+/**
+ * Listener receiving the tile events of {@link ConcurrentTileCache} and {@link ConcurrentTileCacheMultiMap}. Unlike the diagnostic observers,
+ * listeners are not notified by the thread accessing the cache: the events are queued inside a bounded buffer and delivered in batches by a
+ * background thread. If the buffer is full, new events are dropped.
+ * <p>
+ * Listeners are notified by a single thread, so they do not need to be thread safe, but they should return quickly.
+ */
+public interface TileCacheListener {
+
+    /**
+     * Receives a batch of tile events, in the order they have been produced.
+     * 
+     * @param events the events, the list must not be kept after the method returns
+     */
+    void tilesChanged(List<TileCacheEvent> events);
+}
@@ -0,0 +1,197 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A named partition of a {@link ConcurrentTileCacheMultiMap}, used for isolating the tiles of a group of images from the others. A tile belongs
+ * to a partition if the partition is passed as tile cache metric to the cache <code>add()</code> methods, or if its image has been assigned to
+ * the partition with {@link ConcurrentTileCacheMultiMap#setPartition(java.awt.image.RenderedImage, TileCachePartition)}. The other tiles belong
+ * to the cache default partition.
+ * <p>
+ * The partition capacity is the memory reserved to the partition tiles. A partition may borrow the memory not used by the others, but when the
+ * cache is full the tiles of the partitions exceeding their capacity the most are evicted first, in least recently used order.
+ */
+public class TileCachePartition {
+
+    /** The partition name */
+    private final String name;
+
+    /** The memory reserved to the partition */
+    private volatile long capacity;
+
+    /** Lock protecting the tile keys */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The keys of the partition tiles with their size, in access order */
+    private final LinkedHashMap<Object, Long> tiles = new LinkedHashMap<Object, Long>(16, 0.75f,
+            true);
+
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    TileCachePartition(String name, long capacity) {
+        if (name == null) {
+            throw new IllegalArgumentException("Partition name cannot be null");
+        }
+        this.name = name;
+        setCapacity(capacity);
+    }
+
+    /** Returns the partition name */
+    public String getName() {
+        return name;
+    }
+
+    /** Returns the memory reserved to the partition */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /** Sets the memory reserved to the partition. The new capacity is used starting from the next eviction */
+    public void setCapacity(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Partition capacity too small");
+        }
+        this.capacity = capacity;
+    }
+
+    /** Retrieves the memory used by the partition tiles */
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    /** Retrieves the number of partition tiles in the cache */
+    public int getTileCount() {
+        lock.lock();
+        try {
+            return tiles.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Retrieves the number of partition tiles found in the cache */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** Retrieves the number of partition tiles not found in the cache */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** Retrieves the number of partition tiles evicted for making room to other tiles */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /** Resets the hit, miss and eviction counts */
+    public void resetCounts() {
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TileCachePartition[" + name + ", capacity=" + capacity + ", used="
+                + memoryUsed.get() + "]";
+    }
+
+    /** Records a tile added to the partition */
+    void onAdd(Object key, long size) {
+        lock.lock();
+        try {
+            Long previous = tiles.put(key, Long.valueOf(size));
+            memoryUsed.addAndGet(previous != null ? size - previous.longValue() : size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records a tile found in the cache */
+    void onHit(Object key) {
+        hitCount.incrementAndGet();
+        // Lossy recording of the access order, readers do not wait for the lock
+        if (lock.tryLock()) {
+            try {
+                tiles.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Records a tile not found in the cache */
+    void onMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /** Records a tile removed from the cache */
+    void onRemove(Object key) {
+        lock.lock();
+        try {
+            Long size = tiles.remove(key);
+            if (size != null) {
+                memoryUsed.addAndGet(-size.longValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the key of the least recently used tile, <code>null</code> if the partition is empty */
+    Object selectVictim() {
+        lock.lock();
+        try {
+            Iterator<Object> it = tiles.keySet().iterator();
+            if (it.hasNext()) {
+                return it.next();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records a partition tile evicted by the cache */
+    void onEviction() {
+        evictionCount.incrementAndGet();
+    }
+
+    /** Removes all the partition tiles */
+    void clear() {
+        lock.lock();
+        try {
+            tiles.clear();
+            memoryUsed.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
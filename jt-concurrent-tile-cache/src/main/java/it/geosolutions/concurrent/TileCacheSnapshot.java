@@ -0,0 +1,251 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.Point;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Utility class saving the tiles of a cache to a snapshot file and loading them back. The file contains a header followed by a record for each
+ * tile; each record starts with its length, so that the records can be read sequentially by a single thread while they are decoded in parallel.
+ * <p>
+ * Only the tile samples are saved: the tile rasters are rebuilt from the image {@link java.awt.image.SampleModel} when loading, so only the tiles
+ * with the same sample model of their image are saved.
+ */
+final class TileCacheSnapshot {
+
+    /** Magic number at the beginning of each snapshot file */
+    private static final int MAGIC = 0x4A544353;
+
+    private static final int VERSION = 1;
+
+    /** Maximum number of records read and not decoded yet, for each loading thread */
+    private static final int RECORDS_PER_THREAD = 4;
+
+    /** Orders the tiles from the most recently used */
+    private static final Comparator<CachedTileImpl> MRU_COMPARATOR = Collections
+            .reverseOrder(MemoryControl.LRU_COMPARATOR);
+
+    private TileCacheSnapshot() {
+    }
+
+    /**
+     * Saves the most recently used tiles to the file, until the maximum size is reached.
+     * 
+     * @return the number of saved tiles
+     */
+    static int save(Collection<CachedTileImpl> tiles, File file, long maxBytes,
+            TileSnapshotResolver resolver) throws IOException {
+        List<CachedTileImpl> sorted = new ArrayList<CachedTileImpl>(tiles);
+        Collections.sort(sorted, MRU_COMPARATOR);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+        int count = 0;
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            long written = 0;
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(buffer);
+            for (CachedTileImpl cti : sorted) {
+                RenderedImage owner = cti.getOwner();
+                if (owner == null) {
+                    continue;
+                }
+                Raster tile = cti.getTile();
+                String identity = resolver.getIdentity(owner);
+                if (identity == null || !TileLayout.isSupported(tile.getDataBuffer())
+                        || !tile.getSampleModel().equals(owner.getSampleModel())
+                        || tile.getMinX() != tile.getSampleModelTranslateX()
+                        || tile.getMinY() != tile.getSampleModelTranslateY()) {
+                    continue;
+                }
+                buffer.reset();
+                writeRecord(record, identity, cti.tileX, cti.tileY, tile.getDataBuffer());
+                if (written + buffer.size() > maxBytes) {
+                    break;
+                }
+                out.writeInt(buffer.size());
+                buffer.writeTo(out);
+                written += buffer.size();
+                count++;
+            }
+        } finally {
+            out.close();
+        }
+        return count;
+    }
+
+    /**
+     * Loads the tiles of the file inside the cache, using the provided number of threads for decoding them.
+     * 
+     * @return the number of loaded tiles
+     */
+    static int load(final ConcurrentTileCache cache, File file,
+            final TileSnapshotResolver resolver, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1");
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(
+                file)));
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Semaphore pending = new Semaphore(threads * RECORDS_PER_THREAD);
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a tile cache snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported tile cache snapshot version " + version);
+            }
+            while (failure.get() == null) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0) {
+                    throw new IOException("Corrupted tile cache snapshot: " + file);
+                }
+                final byte[] record = new byte[length];
+                in.readFully(record);
+                pending.acquireUninterruptibly();
+                executor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            if (readRecord(cache, resolver, record)) {
+                                count.incrementAndGet();
+                            }
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            pending.release();
+                        }
+                    }
+                });
+            }
+        } finally {
+            in.close();
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Throwable t = failure.get();
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        } else if (t != null) {
+            throw new IOException("Unable to load the tile cache snapshot: " + t.getMessage(), t);
+        }
+        return count.get();
+    }
+
+    private static void writeRecord(DataOutputStream out, String identity, int tileX, int tileY,
+            DataBuffer db) throws IOException {
+        out.writeUTF(identity);
+        out.writeInt(tileX);
+        out.writeInt(tileY);
+        out.writeInt(db.getDataType());
+        out.writeInt(db.getNumBanks());
+        for (int b = 0; b < db.getNumBanks(); b++) {
+            int length = TileLayout.bankLength(db, b);
+            out.writeInt(length);
+            byte[] bytes = new byte[length * (DataBuffer.getDataTypeSize(db.getDataType()) / 8)];
+            TileLayout.copyBank(db, b, ByteBuffer.wrap(bytes), true);
+            out.write(bytes);
+        }
+        out.flush();
+    }
+
+    /**
+     * Decodes the record and adds the tile to the cache. Returns false if the tile has been skipped because its image is not available or its
+     * structure has changed.
+     */
+    private static boolean readRecord(ConcurrentTileCache cache,
+            TileSnapshotResolver resolver, byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        String identity = in.readUTF();
+        RenderedImage image = resolver.getImage(identity);
+        if (image == null) {
+            return false;
+        }
+        int tileX = in.readInt();
+        int tileY = in.readInt();
+        int dataType = in.readInt();
+        int numBanks = in.readInt();
+        if (tileX < image.getMinTileX() || tileX >= image.getMinTileX() + image.getNumXTiles()
+                || tileY < image.getMinTileY()
+                || tileY >= image.getMinTileY() + image.getNumYTiles()) {
+            return false;
+        }
+        Point location = new Point(image.getTileGridXOffset() + tileX * image.getTileWidth(),
+                image.getTileGridYOffset() + tileY * image.getTileHeight());
+        WritableRaster tile = Raster.createWritableRaster(image.getSampleModel(), location);
+        DataBuffer db = tile.getDataBuffer();
+        if (db.getDataType() != dataType || db.getNumBanks() != numBanks) {
+            return false;
+        }
+        // The samples are read directly from the record
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.position(record.length - in.available());
+        for (int b = 0; b < numBanks; b++) {
+            int length = buffer.getInt();
+            if (length != TileLayout.bankLength(db, b)) {
+                return false;
+            }
+            int bytes = length * (DataBuffer.getDataTypeSize(dataType) / 8);
+            ByteBuffer bank = buffer.slice();
+            bank.limit(bytes);
+            TileLayout.copyBank(db, b, bank, false);
+            buffer.position(buffer.position() + bytes);
+        }
+        cache.add(image, tileX, tileY, tile);
+        return true;
+    }
+}
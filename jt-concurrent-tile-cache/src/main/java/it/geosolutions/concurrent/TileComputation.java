@@ -0,0 +1,39 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+
+/**
+ * Computation of a tile missing from a concurrent tile cache, used by the <code>computeTileIfAbsent()</code> methods of
+ * {@link ConcurrentTileCache} and {@link ConcurrentTileCacheMultiMap}. When several threads request the same missing tile, the computation is
+ * executed by a single thread and the result is shared with the others.
+ */
+public interface TileComputation {
+
+    /**
+     * Computes the requested tile.
+     * 
+     * @param owner the image owning the tile
+     * @param tileX the tile X index
+     * @param tileY the tile Y index
+     * @return the computed tile, may be <code>null</code> if the computation failed
+     */
+    Raster computeTile(RenderedImage owner, int tileX, int tileY);
+}
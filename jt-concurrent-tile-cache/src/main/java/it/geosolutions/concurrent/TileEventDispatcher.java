@@ -0,0 +1,235 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import it.geosolutions.concurrent.ConcurrentTileCache.Actions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers the tile events of a cache to its {@link TileCacheListener}s. Events are published in a bounded lock-free ring buffer, where each
+ * slot has a sequence number telling whether it can be written or read, and delivered in batches by a background thread shared by all the
+ * caches. When the buffer is full, the events are dropped instead of blocking the threads accessing the cache.
+ */
+final class TileEventDispatcher {
+
+    /** The default number of events kept in the buffer */
+    static final int DEFAULT_CAPACITY = 8192;
+
+    /** Maximum number of events delivered in a single batch */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /** Period between two deliveries in milliseconds */
+    private static final long DELIVERY_PERIOD = 10;
+
+    private final static Logger LOGGER = Logger.getLogger(TileEventDispatcher.class.toString());
+
+    /** Executor delivering the events of all the caches */
+    private static final ScheduledExecutorService DELIVERY_EXECUTOR = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "TileCache-events");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private final CopyOnWriteArrayList<TileCacheListener> listeners = new CopyOnWriteArrayList<TileCacheListener>();
+
+    /** The buffer slots */
+    private final AtomicReferenceArray<TileCacheEvent> events;
+
+    /**
+     * The sequence of each slot: a slot can be written at position p when its sequence is p, and read when its sequence is p + 1
+     */
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    /** Next position to write */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next position to read, guarded by the delivery lock */
+    private long head;
+
+    /** Lock ensuring that the events are delivered by a single thread at a time */
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** The scheduled delivery, if any listener is registered */
+    private ScheduledFuture<?> deliveryTask;
+
+    TileEventDispatcher(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Event buffer capacity too small");
+        }
+        // The capacity is rounded to the next power of 2
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        events = new AtomicReferenceArray<TileCacheEvent>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /** Returns true if at least a listener is registered */
+    boolean isActive() {
+        return !listeners.isEmpty();
+    }
+
+    /** Queues a new event if at least a listener is registered */
+    void publish(Actions action, CachedTileImpl cti) {
+        if (cti == null || listeners.isEmpty()) {
+            return;
+        }
+        TileCacheEvent event = new TileCacheEvent(action, cti);
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events.set(index, event);
+                    sequences.set(index, position + 1);
+                    return;
+                }
+            } else if (sequence < position) {
+                // The buffer is full
+                droppedCount.incrementAndGet();
+                return;
+            }
+            // Another thread has taken the slot, retry with the new tail
+        }
+    }
+
+    synchronized void addListener(TileCacheListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.addIfAbsent(listener);
+        if (deliveryTask == null) {
+            DeliveryTask task = new DeliveryTask(this);
+            deliveryTask = DELIVERY_EXECUTOR.scheduleWithFixedDelay(task, DELIVERY_PERIOD,
+                    DELIVERY_PERIOD, TimeUnit.MILLISECONDS);
+            task.future = deliveryTask;
+        }
+    }
+
+    synchronized void removeListener(TileCacheListener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && deliveryTask != null) {
+            deliveryTask.cancel(false);
+            deliveryTask = null;
+            // The queued events are discarded
+            deliver();
+        }
+    }
+
+    /** Retrieves the number of events delivered to the listeners */
+    long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /** Retrieves the number of events dropped because the buffer was full */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** Delivers all the queued events */
+    void deliver() {
+        deliveryLock.lock();
+        try {
+            List<TileCacheEvent> batch = new ArrayList<TileCacheEvent>();
+            while (true) {
+                batch.clear();
+                while (batch.size() < MAX_BATCH_SIZE) {
+                    int index = (int) head & mask;
+                    if (sequences.get(index) != head + 1) {
+                        // No more events
+                        break;
+                    }
+                    batch.add(events.get(index));
+                    events.set(index, null);
+                    sequences.set(index, head + mask + 1);
+                    head++;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                for (TileCacheListener listener : listeners) {
+                    try {
+                        listener.tilesChanged(batch);
+                    } catch (RuntimeException e) {
+                        if (LOGGER.isLoggable(Level.WARNING)) {
+                            LOGGER.log(Level.WARNING, "Tile cache listener failed", e);
+                        }
+                    }
+                }
+                if (!listeners.isEmpty()) {
+                    deliveredCount.addAndGet(batch.size());
+                }
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    /**
+     * Periodic delivery of the events. The dispatcher is weakly referenced, so that the task is cancelled when the cache is garbage collected.
+     */
+    private static final class DeliveryTask implements Runnable {
+
+        private final WeakReference<TileEventDispatcher> dispatcher;
+
+        volatile ScheduledFuture<?> future;
+
+        DeliveryTask(TileEventDispatcher dispatcher) {
+            this.dispatcher = new WeakReference<TileEventDispatcher>(dispatcher);
+        }
+
+        public void run() {
+            TileEventDispatcher d = dispatcher.get();
+            if (d == null) {
+                ScheduledFuture<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return;
+            }
+            d.deliver();
+        }
+    }
+}
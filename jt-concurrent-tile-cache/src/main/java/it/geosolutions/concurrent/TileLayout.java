@@ -0,0 +1,213 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.Point;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of a tile kept outside of a {@link Raster}. It contains everything needed for rebuilding the tile {@link Raster}, apart from the samples.
+ */
+class TileLayout {
+
+    final SampleModel sampleModel;
+
+    final int dataType;
+
+    final int size;
+
+    final int[] offsets;
+
+    final int[] bankLengths;
+
+    final int minX;
+
+    final int minY;
+
+    final int width;
+
+    final int height;
+
+    final int sampleModelTranslateX;
+
+    final int sampleModelTranslateY;
+
+    TileLayout(Raster tile) {
+        DataBuffer db = tile.getDataBuffer();
+        this.sampleModel = tile.getSampleModel();
+        this.dataType = db.getDataType();
+        this.size = db.getSize();
+        this.offsets = db.getOffsets();
+        this.bankLengths = new int[db.getNumBanks()];
+        for (int b = 0; b < bankLengths.length; b++) {
+            bankLengths[b] = bankLength(db, b);
+        }
+        this.minX = tile.getMinX();
+        this.minY = tile.getMinY();
+        this.width = tile.getWidth();
+        this.height = tile.getHeight();
+        this.sampleModelTranslateX = tile.getSampleModelTranslateX();
+        this.sampleModelTranslateY = tile.getSampleModelTranslateY();
+    }
+
+    /** Creates an empty {@link DataBuffer} with the stored structure */
+    DataBuffer createDataBuffer() {
+        int numBanks = bankLengths.length;
+        switch (dataType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[][] byteData = new byte[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                byteData[b] = new byte[bankLengths[b]];
+            }
+            return new DataBufferByte(byteData, size, offsets);
+        case DataBuffer.TYPE_USHORT:
+            short[][] ushortData = new short[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                ushortData[b] = new short[bankLengths[b]];
+            }
+            return new DataBufferUShort(ushortData, size, offsets);
+        case DataBuffer.TYPE_SHORT:
+            short[][] shortData = new short[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                shortData[b] = new short[bankLengths[b]];
+            }
+            return new DataBufferShort(shortData, size, offsets);
+        case DataBuffer.TYPE_INT:
+            int[][] intData = new int[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                intData[b] = new int[bankLengths[b]];
+            }
+            return new DataBufferInt(intData, size, offsets);
+        case DataBuffer.TYPE_FLOAT:
+            float[][] floatData = new float[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                floatData[b] = new float[bankLengths[b]];
+            }
+            return new DataBufferFloat(floatData, size, offsets);
+        case DataBuffer.TYPE_DOUBLE:
+            double[][] doubleData = new double[numBanks][];
+            for (int b = 0; b < numBanks; b++) {
+                doubleData[b] = new double[bankLengths[b]];
+            }
+            return new DataBufferDouble(doubleData, size, offsets);
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    /** Creates a new {@link WritableRaster} with the same position of the stored one around the input {@link DataBuffer} */
+    WritableRaster createRaster(DataBuffer db) {
+        WritableRaster parent = Raster.createWritableRaster(sampleModel, db, new Point(
+                sampleModelTranslateX, sampleModelTranslateY));
+        if (parent.getMinX() == minX && parent.getMinY() == minY
+                && parent.getWidth() == width && parent.getHeight() == height) {
+            return parent;
+        }
+        return parent.createWritableChild(minX, minY, width, height, minX, minY, null);
+    }
+
+    /** Returns true if the {@link DataBuffer} type is supported */
+    static boolean isSupported(DataBuffer db) {
+        return db instanceof DataBufferByte || db instanceof DataBufferUShort
+                || db instanceof DataBufferShort || db instanceof DataBufferInt
+                || db instanceof DataBufferFloat || db instanceof DataBufferDouble;
+    }
+
+    /** Returns the length of the array associated to the selected bank */
+    static int bankLength(DataBuffer db, int bank) {
+        switch (db.getDataType()) {
+        case DataBuffer.TYPE_BYTE:
+            return ((DataBufferByte) db).getData(bank).length;
+        case DataBuffer.TYPE_USHORT:
+            return ((DataBufferUShort) db).getData(bank).length;
+        case DataBuffer.TYPE_SHORT:
+            return ((DataBufferShort) db).getData(bank).length;
+        case DataBuffer.TYPE_INT:
+            return ((DataBufferInt) db).getData(bank).length;
+        case DataBuffer.TYPE_FLOAT:
+            return ((DataBufferFloat) db).getData(bank).length;
+        case DataBuffer.TYPE_DOUBLE:
+            return ((DataBufferDouble) db).getData(bank).length;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    /**
+     * Copies the whole bank from the {@link DataBuffer} to the {@link ByteBuffer} if <code>write</code> is true, from the {@link ByteBuffer} to the
+     * {@link DataBuffer} otherwise. The samples are copied starting from the buffer position, using the buffer byte order.
+     */
+    static void copyBank(DataBuffer db, int bank, ByteBuffer buffer, boolean write) {
+        switch (db.getDataType()) {
+        case DataBuffer.TYPE_BYTE:
+            if (write) {
+                buffer.put(((DataBufferByte) db).getData(bank));
+            } else {
+                buffer.get(((DataBufferByte) db).getData(bank));
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+            if (write) {
+                buffer.asShortBuffer().put(((DataBufferUShort) db).getData(bank));
+            } else {
+                buffer.asShortBuffer().get(((DataBufferUShort) db).getData(bank));
+            }
+            break;
+        case DataBuffer.TYPE_SHORT:
+            if (write) {
+                buffer.asShortBuffer().put(((DataBufferShort) db).getData(bank));
+            } else {
+                buffer.asShortBuffer().get(((DataBufferShort) db).getData(bank));
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            if (write) {
+                buffer.asIntBuffer().put(((DataBufferInt) db).getData(bank));
+            } else {
+                buffer.asIntBuffer().get(((DataBufferInt) db).getData(bank));
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            if (write) {
+                buffer.asFloatBuffer().put(((DataBufferFloat) db).getData(bank));
+            } else {
+                buffer.asFloatBuffer().get(((DataBufferFloat) db).getData(bank));
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            if (write) {
+                buffer.asDoubleBuffer().put(((DataBufferDouble) db).getData(bank));
+            } else {
+                buffer.asDoubleBuffer().get(((DataBufferDouble) db).getData(bank));
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.awt.image.RenderedImage;
+
+/**
+ * Maps the images to stable identities, used for saving the tiles of a {@link ConcurrentTileCache} to a snapshot file and loading them again in
+ * another JVM. The identity must be the same for images producing the same tiles (e.g. built from the same source and operations), since the
+ * image IDs are not stable across JVMs.
+ */
+public interface TileSnapshotResolver {
+
+    /**
+     * Returns the stable identity of the image.
+     * 
+     * @return the identity, or <code>null</code> if the image tiles must not be saved
+     */
+    String getIdentity(RenderedImage image);
+
+    /**
+     * Returns the image associated to the identity.
+     * 
+     * @return the image, or <code>null</code> if the tiles of the identity must be skipped
+     */
+    RenderedImage getImage(String identity);
+}
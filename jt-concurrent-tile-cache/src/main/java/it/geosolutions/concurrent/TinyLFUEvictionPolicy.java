@@ -0,0 +1,318 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link TileCacheEvictionPolicy} implementing the W-TinyLFU algorithm. The tiles are divided in three LRU regions:
+ * <ul>
+ * <li>a small admission window, receiving all the new tiles;</li>
+ * <li>a probation region, receiving the tiles coming from the window;</li>
+ * <li>a protected region, receiving the probation tiles accessed again.</li>
+ * </ul>
+ * When a tile leaves the window and the main regions (probation and protected) are full, its access frequency is compared with the one of the
+ * least recently used tiles of the main regions: the candidate is admitted only if it is more frequently used than the tiles it would replace.
+ * Frequencies are estimated with a {@link FrequencySketch}, so that they are kept even for tiles not in the cache anymore. This prevents a long
+ * sequential scan of tiles accessed only once from flushing the frequently used tiles.
+ * <p>
+ * Accesses are recorded only if the policy lock is free, so that readers never wait on each other: under heavy contention some accesses are
+ * lost, which only slightly reduces the precision of the policy.
+ */
+public class TinyLFUEvictionPolicy implements TileCacheEvictionPolicy {
+
+    /** The default percentage of the maximum weight used by the admission window */
+    public static final float DEFAULT_WINDOW_RATIO = 0.01F;
+
+    /** The default percentage of the main regions weight used by the protected region */
+    public static final float DEFAULT_PROTECTED_RATIO = 0.8F;
+
+    /** Expected tile weight, used for sizing the frequency sketch */
+    private static final long EXPECTED_TILE_WEIGHT = 64 * 1024;
+
+    /** Lock protecting all the regions */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Percentage of the maximum weight used by the admission window */
+    private final float windowRatio;
+
+    /** Percentage of the main regions weight used by the protected region */
+    private final float protectedRatio;
+
+    /** Estimated access frequencies */
+    private final FrequencySketch sketch = new FrequencySketch(0);
+
+    /** The three regions in access order */
+    private final LinkedHashMap<Object, Node> window = new LinkedHashMap<Object, Node>(16, 0.75f,
+            true);
+
+    private final LinkedHashMap<Object, Node> probation = new LinkedHashMap<Object, Node>(16,
+            0.75f, true);
+
+    private final LinkedHashMap<Object, Node> protectedRegion = new LinkedHashMap<Object, Node>(
+            16, 0.75f, true);
+
+    /** Maximum weight of each region */
+    private long maximumWeight;
+
+    private long windowMaximum;
+
+    private long protectedMaximum;
+
+    /** Current weight of each region */
+    private long windowWeight;
+
+    private long probationWeight;
+
+    private long protectedWeight;
+
+    public TinyLFUEvictionPolicy() {
+        this(DEFAULT_WINDOW_RATIO, DEFAULT_PROTECTED_RATIO);
+    }
+
+    public TinyLFUEvictionPolicy(float windowRatio, float protectedRatio) {
+        if (windowRatio < 0.0F || windowRatio > 1.0F) {
+            throw new IllegalArgumentException("Window ratio should be between 0 and 1");
+        }
+        if (protectedRatio < 0.0F || protectedRatio > 1.0F) {
+            throw new IllegalArgumentException("Protected ratio should be between 0 and 1");
+        }
+        this.windowRatio = windowRatio;
+        this.protectedRatio = protectedRatio;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight too small");
+        }
+        lock.lock();
+        try {
+            this.maximumWeight = maximumWeight;
+            this.windowMaximum = (long) (maximumWeight * windowRatio);
+            this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * protectedRatio);
+            sketch.ensureCapacity((int) Math.min(Integer.MAX_VALUE, maximumWeight
+                    / EXPECTED_TILE_WEIGHT));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onAccess(Object key) {
+        // Lossy recording, readers do not wait for the lock
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key);
+            // The LinkedHashMap get() moves the node to the most recently used position
+            Node node = window.get(key);
+            if (node == null) {
+                node = probation.remove(key);
+                if (node != null) {
+                    // Promotion to the protected region
+                    probationWeight -= node.weight;
+                    protectedRegion.put(key, node);
+                    protectedWeight += node.weight;
+                    demoteProtected();
+                } else {
+                    protectedRegion.get(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Object> onAdd(Object key, long weight) {
+        List<Object> evicted = null;
+        lock.lock();
+        try {
+            sketch.increment(key);
+            // The tile may be already tracked if it has been replaced
+            Node node = removeNode(key);
+            if (weight > maximumWeight) {
+                return Collections.singletonList(key);
+            }
+            if (node == null) {
+                node = new Node(key, weight);
+            } else {
+                node.weight = weight;
+            }
+            window.put(key, node);
+            windowWeight += weight;
+
+            // Candidates leaving the window
+            Iterator<Node> it = window.values().iterator();
+            while (windowWeight > windowMaximum && it.hasNext()) {
+                Node candidate = it.next();
+                it.remove();
+                windowWeight -= candidate.weight;
+                evicted = admit(candidate, evicted);
+            }
+            // The total weight must never exceed the maximum, even if the main regions are empty
+            it = window.values().iterator();
+            while (windowWeight + probationWeight + protectedWeight > maximumWeight
+                    && it.hasNext()) {
+                Node victim = it.next();
+                it.remove();
+                windowWeight -= victim.weight;
+                evicted = add(evicted, victim.key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (evicted == null) {
+            return Collections.emptyList();
+        }
+        return evicted;
+    }
+
+    public void onRemove(Object key) {
+        lock.lock();
+        try {
+            removeNode(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            window.clear();
+            probation.clear();
+            protectedRegion.clear();
+            windowWeight = 0;
+            probationWeight = 0;
+            protectedWeight = 0;
+            sketch.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the current weight of all the tracked tiles */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the candidate coming from the window to the probation region if there is enough space or if it is more frequently used than the tiles
+     * it would replace. Otherwise the candidate itself is evicted.
+     */
+    private List<Object> admit(Node candidate, List<Object> evicted) {
+        long mainMaximum = maximumWeight - windowMaximum;
+        long needed = probationWeight + protectedWeight + candidate.weight - mainMaximum;
+        if (needed > 0) {
+            // Check if the candidate is worth more than the victims it would replace
+            int candidateFrequency = sketch.frequency(candidate.key);
+            long found = 0;
+            List<Node> victims = new ArrayList<Node>();
+            Iterator<Node> it = probation.values().iterator();
+            while (found < needed && it.hasNext()) {
+                Node victim = it.next();
+                if (sketch.frequency(victim.key) >= candidateFrequency) {
+                    return add(evicted, candidate.key);
+                }
+                victims.add(victim);
+                found += victim.weight;
+            }
+            it = protectedRegion.values().iterator();
+            while (found < needed && it.hasNext()) {
+                Node victim = it.next();
+                if (sketch.frequency(victim.key) >= candidateFrequency) {
+                    return add(evicted, candidate.key);
+                }
+                victims.add(victim);
+                found += victim.weight;
+            }
+            if (found < needed) {
+                return add(evicted, candidate.key);
+            }
+            for (Node victim : victims) {
+                removeNode(victim.key);
+                evicted = add(evicted, victim.key);
+            }
+        }
+        probation.put(candidate.key, candidate);
+        probationWeight += candidate.weight;
+        return evicted;
+    }
+
+    /** Moves the least recently used protected tiles to the probation region */
+    private void demoteProtected() {
+        Iterator<Node> it = protectedRegion.values().iterator();
+        while (protectedWeight > protectedMaximum && it.hasNext()) {
+            Node node = it.next();
+            it.remove();
+            protectedWeight -= node.weight;
+            probation.put(node.key, node);
+            probationWeight += node.weight;
+        }
+    }
+
+    /** Removes the node associated to the key from its region */
+    private Node removeNode(Object key) {
+        Node node = window.remove(key);
+        if (node != null) {
+            windowWeight -= node.weight;
+            return node;
+        }
+        node = probation.remove(key);
+        if (node != null) {
+            probationWeight -= node.weight;
+            return node;
+        }
+        node = protectedRegion.remove(key);
+        if (node != null) {
+            protectedWeight -= node.weight;
+        }
+        return node;
+    }
+
+    private static List<Object> add(List<Object> list, Object key) {
+        if (list == null) {
+            list = new ArrayList<Object>();
+        }
+        list.add(key);
+        return list;
+    }
+
+    /** A tracked tile */
+    private static final class Node {
+
+        final Object key;
+
+        long weight;
+
+        Node(Object key, long weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
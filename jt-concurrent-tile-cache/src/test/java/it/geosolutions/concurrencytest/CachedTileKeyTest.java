@@ -0,0 +1,136 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import it.geosolutions.concurrent.CachedTileImpl;
+import it.geosolutions.concurrent.CachedTileKey;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class is used for checking that the {@link CachedTileKey} objects behave correctly.
+ */
+public class CachedTileKeyTest {
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                64, 64, 1);
+        return new TiledImage(0, 0, 256, 256, 0, 0, sm, null);
+    }
+
+    private static TiledImage createImage(final Object imageID) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                64, 64, 1);
+        return new TiledImage(0, 0, 256, 256, 0, 0, sm, null) {
+            @Override
+            public Object getImageID() {
+                return imageID;
+            }
+        };
+    }
+
+    @Test
+    public void testKeyEquality() {
+        TiledImage image = createImage();
+        // Same image and same indexes must give equal keys
+        Object key1 = CachedTileImpl.hashKey(image, 1, 2);
+        Object key2 = CachedTileImpl.hashKey(image, 1, 2);
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+        assertEquals(0, ((CachedTileKey) key1).compareTo((CachedTileKey) key2));
+
+        // Swapped indexes must give different keys
+        assertFalse(key1.equals(CachedTileImpl.hashKey(image, 2, 1)));
+
+        // Negative indexes must be preserved
+        CachedTileKey negative = (CachedTileKey) CachedTileImpl.hashKey(image, -3, -5);
+        assertEquals(-3, negative.getTileX());
+        assertEquals(-5, negative.getTileY());
+
+        // Different images must give different keys
+        TiledImage other = createImage();
+        assertFalse(key1.equals(CachedTileImpl.hashKey(other, 1, 2)));
+        assertFalse(CachedTileImpl.hashKey(image).equals(CachedTileImpl.hashKey(other)));
+    }
+
+    @Test
+    public void testEqualImageIDs() throws Exception {
+        String name = "image-" + System.nanoTime();
+        // The first image registers the canonical ID, the second one an equal ID
+        TiledImage first = createImage(new String(name));
+        TiledImage second = createImage(new String(name));
+        long ordinal = CachedTileKey.imageOrdinal(first);
+        assertEquals(ordinal, CachedTileKey.imageOrdinal(second));
+
+        // The ordinal must survive the image which registered the canonical ID
+        first = null;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        TiledImage third = createImage(new String(name));
+        assertEquals(ordinal, CachedTileKey.imageOrdinal(third));
+        assertEquals(ordinal, CachedTileKey.imageOrdinal(second));
+        assertEquals(CachedTileImpl.hashKey(second, 1, 1), CachedTileImpl.hashKey(third, 1, 1));
+    }
+
+    @Test
+    public void testHashCodeFallback() {
+        // A RenderedImage which is neither a PlanarImage nor a SerializableRenderedImage
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
+        Object key1 = CachedTileImpl.hashKey(image, 0, 0);
+        Object key2 = CachedTileImpl.hashKey(image, 0, 0);
+        assertEquals(key1, key2);
+        assertEquals(CachedTileImpl.hashKey(image), CachedTileImpl.hashKey(image));
+    }
+
+    @Test
+    public void testCaches() {
+        TiledImage image = createImage();
+        Raster tile = image.getTile(1, 1);
+
+        ConcurrentTileCache cache = new ConcurrentTileCache();
+        cache.add(image, 1, 1, tile);
+        assertNotNull(cache.getTile(image, 1, 1));
+        cache.remove(image, 1, 1);
+        assertTrue(cache.getTile(image, 1, 1) == null);
+
+        ConcurrentTileCacheMultiMap multiMap = new ConcurrentTileCacheMultiMap();
+        multiMap.add(image, 1, 1, tile);
+        multiMap.add(image, 2, 1, image.getTile(2, 1));
+        assertNotNull(multiMap.getTile(image, 1, 1));
+        Raster[] tiles = multiMap.getTiles(image);
+        assertEquals(2, tiles.length);
+        multiMap.removeTiles(image);
+        assertTrue(multiMap.getTiles(image) == null);
+    }
+}
@@ -0,0 +1,81 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that the idle tiles are compressed by {@link ConcurrentTileCache} and that the compressed tiles are correctly restored.
+ */
+public class CompressionTest {
+
+    private static final int TILE_SIZE = 64;
+
+    @Test
+    public void testCompression() throws InterruptedException {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT,
+                TILE_SIZE, TILE_SIZE, 3);
+        TiledImage image = new TiledImage(0, 0, 2 * TILE_SIZE, TILE_SIZE, 0, 0, sm, null);
+        // The first tile is constant, the second one contains a gradient
+        for (int x = TILE_SIZE; x < 2 * TILE_SIZE; x++) {
+            for (int y = 0; y < TILE_SIZE; y++) {
+                for (int b = 0; b < 3; b++) {
+                    image.setSample(x, y, b, (x + y) / 4 + b);
+                }
+            }
+        }
+
+        ConcurrentTileCache cache = new ConcurrentTileCache();
+        cache.setCompressionDelay(50);
+        try {
+            cache.add(image, 0, 0, image.getTile(0, 0));
+            cache.add(image, 1, 0, image.getTile(1, 0));
+            long memoryUsed = cache.getCacheMemoryUsed();
+
+            Thread.sleep(100);
+            cache.compressIdleTiles();
+            assertEquals(2, cache.getCompressionCount());
+            assertTrue(cache.getCompressionRatio() < 0.5);
+            assertTrue(cache.getCacheMemoryUsed() < memoryUsed / 2);
+
+            for (int i = 0; i < 2; i++) {
+                Raster tile = cache.getTile(image, i, 0);
+                Raster expected = image.getTile(i, 0);
+                assertEquals(expected.getBounds(), tile.getBounds());
+                assertArrayEquals(expected.getPixels(expected.getMinX(), 0, TILE_SIZE,
+                        TILE_SIZE, (int[]) null), tile.getPixels(tile.getMinX(), 0, TILE_SIZE,
+                        TILE_SIZE, (int[]) null));
+            }
+            assertEquals(2, cache.getDecompressionCount());
+        } finally {
+            cache.setCompressionDelay(0);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+import it.geosolutions.concurrent.TileCacheEvictionPolicy;
+import it.geosolutions.concurrent.TinyLFUEvictionPolicy;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TileCache;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class compares the hit rate of the default Guava eviction with the one of the {@link TinyLFUEvictionPolicy}, by replaying the same
+ * tile access trace on both caches. The trace is made of frequent accesses to a small set of "map rendering" tiles, periodically interrupted by a
+ * sequential scan of a bigger image. A different trace can be replayed by setting the JAI.Ext.TileTrace property to a file containing a line for
+ * each access, with the image index, the tile X and the tile Y separated by spaces.
+ */
+public class EvictionPolicyTest {
+
+    private final static Logger LOGGER = Logger.getLogger(EvictionPolicyTest.class.toString());
+
+    private static final String TRACE_FILE = System.getProperty("JAI.Ext.TileTrace");
+
+    private static final int TILE_SIZE = 64;
+
+    /** Number of tiles on each side of the images */
+    private static final int IMAGE_TILES = 64;
+
+    /** Number of accesses of the synthetic trace */
+    private static final int TRACE_LENGTH = 200000;
+
+    /** Number of tiles which can be contained by the cache */
+    private static final int CACHED_TILES = 300;
+
+    @Test
+    public void testHitRate() throws IOException {
+        TiledImage[] images = new TiledImage[] { createImage(), createImage() };
+        int[][] trace = TRACE_FILE != null ? readTrace(new File(TRACE_FILE)) : createTrace();
+        long capacity = CACHED_TILES * (TILE_SIZE * TILE_SIZE + 144L);
+
+        ConcurrentTileCache lruCache = new ConcurrentTileCache(capacity, false, 1f, 1);
+        double lruHitRate = replay(lruCache, images, trace);
+
+        ConcurrentTileCache tinyLFUCache = new ConcurrentTileCache(capacity, false, 1f, 1);
+        tinyLFUCache.setEvictionPolicy(new TinyLFUEvictionPolicy());
+        double tinyLFUHitRate = replay(tinyLFUCache, images, trace);
+
+        ConcurrentTileCacheMultiMap multiMapCache = new ConcurrentTileCacheMultiMap(capacity,
+                false, 1f, 1);
+        multiMapCache.setEvictionPolicy(new TinyLFUEvictionPolicy());
+        double multiMapHitRate = replay(multiMapCache, images, trace);
+
+        LOGGER.info("Hit rate on " + trace.length + " accesses: LRU " + lruHitRate
+                + ", TinyLFU " + tinyLFUHitRate + ", TinyLFU MultiMap " + multiMapHitRate);
+        if (TRACE_FILE == null) {
+            // The scans must not flush the frequently used tiles
+            assertTrue(tinyLFUHitRate > lruHitRate);
+            assertTrue(multiMapHitRate > lruHitRate);
+        }
+        // The capacity must be respected
+        assertTrue(tinyLFUCache.getCacheMemoryUsed() <= capacity);
+        assertTrue(multiMapCache.getCacheMemoryUsed() <= capacity);
+    }
+
+    @Test
+    public void testRemoval() {
+        TiledImage image = createImage();
+        TileCacheEvictionPolicy policy = new TinyLFUEvictionPolicy();
+        ConcurrentTileCacheMultiMap cache = new ConcurrentTileCacheMultiMap(
+                10 * (TILE_SIZE * TILE_SIZE + 200L), false, 1f, 1);
+        cache.setEvictionPolicy(policy);
+        for (int i = 0; i < 5; i++) {
+            cache.add(image, i, 0, image.getTile(i, 0));
+        }
+        assertNotNull(cache.getTile(image, 0, 0));
+        cache.remove(image, 0, 0);
+        assertEquals(4, cache.getCacheTileCount());
+        cache.removeTiles(image);
+        assertEquals(0, cache.getCacheTileCount());
+        assertEquals(0, ((TinyLFUEvictionPolicy) policy).getWeight());
+    }
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        return new TiledImage(0, 0, IMAGE_TILES * TILE_SIZE, IMAGE_TILES * TILE_SIZE, 0, 0, sm,
+                null);
+    }
+
+    /**
+     * Creates a trace where three quarters of the time a skewed set of 1024 tiles of the first image is accessed, while the remaining accesses
+     * are a sequential scan of the second image.
+     */
+    private static int[][] createTrace() {
+        Random random = new Random(42);
+        int[][] trace = new int[TRACE_LENGTH][];
+        int scanPosition = 0;
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            if ((i / 5000) % 4 == 3) {
+                int position = scanPosition++ % (IMAGE_TILES * IMAGE_TILES);
+                trace[i] = new int[] { 1, position % IMAGE_TILES, position / IMAGE_TILES };
+            } else {
+                int position = (int) (Math.pow(random.nextDouble(), 3) * 1024);
+                trace[i] = new int[] { 0, position % 32, position / 32 };
+            }
+        }
+        return trace;
+    }
+
+    private static int[][] readTrace(File file) throws IOException {
+        List<int[]> trace = new ArrayList<int[]>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.trim().split("\\s+");
+                if (values.length == 3) {
+                    trace.add(new int[] { Integer.parseInt(values[0]) % 2,
+                            Integer.parseInt(values[1]) % IMAGE_TILES,
+                            Integer.parseInt(values[2]) % IMAGE_TILES });
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return trace.toArray(new int[trace.size()][]);
+    }
+
+    /** Replays the trace on the cache, adding the missing tiles, and returns the hit rate */
+    private static double replay(TileCache cache, TiledImage[] images, int[][] trace) {
+        long hits = 0;
+        for (int[] access : trace) {
+            TiledImage image = images[access[0]];
+            Raster tile = cache.getTile(image, access[1], access[2]);
+            if (tile != null) {
+                hits++;
+            } else {
+                cache.add(image, access[1], access[2], image.getTile(access[1], access[2]));
+            }
+        }
+        return (double) hits / trace.length;
+    }
+}
@@ -0,0 +1,129 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.MappedFileTileStore;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class is used for checking if the {@link MappedFileTileStore} behaves correctly when used as second level store of the
+ * {@link ConcurrentTileCache}.
+ */
+public class MappedFileTileStoreTest {
+
+    private static final int TILE_SIZE = 64;
+
+    @Test
+    public void testResetAndLock() throws IOException {
+        File file = File.createTempFile("tiles", ".bin");
+        // Content left by a previous run
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[1024]);
+        } finally {
+            out.close();
+        }
+        MappedFileTileStore store = new MappedFileTileStore(file, 1024 * 1024, 4096, 2);
+        try {
+            // The file has been reset
+            assertEquals(0, file.length());
+            // The file cannot be shared
+            try {
+                new MappedFileTileStore(file, 1024 * 1024);
+                fail("The file should be locked");
+            } catch (IOException e) {
+                // expected
+            }
+        } finally {
+            store.close();
+        }
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testSecondLevelStore() throws IOException {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        TiledImage image = new TiledImage(0, 0, 4 * TILE_SIZE, 4 * TILE_SIZE, 0, 0, sm, null);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setSample(x, y, 0, (x * 7 + y * 13) & 0xff);
+            }
+        }
+
+        File file = File.createTempFile("tiles", ".bin");
+        MappedFileTileStore store = new MappedFileTileStore(file, 1024 * 1024, 4096, 2);
+        try {
+            // The heap cache can contain only a few tiles
+            ConcurrentTileCache cache = new ConcurrentTileCache(4 * TILE_SIZE * TILE_SIZE, false,
+                    1f, 1);
+            cache.setDiskStore(store);
+            for (int ty = 0; ty < 4; ty++) {
+                for (int tx = 0; tx < 4; tx++) {
+                    cache.add(image, tx, ty, image.getTile(tx, ty));
+                }
+            }
+            assertTrue(cache.getDiskTileCount() > 0);
+
+            // All the tiles must be available, either from the heap or from the disk
+            for (int ty = 0; ty < 4; ty++) {
+                for (int tx = 0; tx < 4; tx++) {
+                    Raster tile = cache.getTile(image, tx, ty);
+                    assertNotNull(tile);
+                    for (int y = tile.getMinY(); y < tile.getMinY() + TILE_SIZE; y++) {
+                        for (int x = tile.getMinX(); x < tile.getMinX() + TILE_SIZE; x++) {
+                            assertEquals((x * 7 + y * 13) & 0xff, tile.getSample(x, y, 0));
+                        }
+                    }
+                }
+            }
+            assertTrue(cache.getDiskHitCount() > 0);
+
+            // The mapped regions are reused after a flush
+            long fileSize = store.getFileSize();
+            assertTrue(fileSize <= store.getCapacity());
+            cache.flush();
+            assertEquals(0, cache.getDiskTileCount());
+            for (int ty = 0; ty < 4; ty++) {
+                for (int tx = 0; tx < 4; tx++) {
+                    cache.add(image, tx, ty, image.getTile(tx, ty));
+                }
+            }
+            assertEquals(fileSize, store.getFileSize());
+        } finally {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.util.Comparator;
+
+import javax.media.jai.CachedTile;
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TileCache;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that the concurrent tile caches remove the tiles in the order defined by the tile comparator when the memory capacity
+ * is exceeded.
+ */
+public class MemoryControlTest {
+
+    private static final int TILE_SIZE = 64;
+
+    /** Removes first the tiles with the greatest X coordinate */
+    private static final Comparator<CachedTile> COMPARATOR = new Comparator<CachedTile>() {
+        public int compare(CachedTile o1, CachedTile o2) {
+            return o2.getTile().getMinX() - o1.getTile().getMinX();
+        }
+    };
+
+    @Test
+    public void testConcurrentTileCache() {
+        checkComparator(new ConcurrentTileCache(10 * (TILE_SIZE * TILE_SIZE + 200L), false, 0.5f,
+                1));
+    }
+
+    @Test
+    public void testConcurrentTileCacheMultiMap() {
+        checkComparator(new ConcurrentTileCacheMultiMap(10 * (TILE_SIZE * TILE_SIZE + 200L),
+                false, 0.5f, 1));
+    }
+
+    private void checkComparator(TileCache cache) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        TiledImage image = new TiledImage(0, 0, 16 * TILE_SIZE, TILE_SIZE, 0, 0, sm, null);
+        cache.setTileComparator(COMPARATOR);
+        assertSame(COMPARATOR, cache.getTileComparator());
+
+        for (int i = 0; i < 16; i++) {
+            cache.add(image, i, 0, image.getTile(i, 0));
+        }
+        // Adding the 11th tile exceeds the capacity: the memory control keeps the first 5 tiles,
+        // then the last 5 tiles are added
+        for (int i = 0; i < 16; i++) {
+            if (i < 5 || i > 10) {
+                assertNotNull(cache.getTile(image, i, 0));
+            } else {
+                assertNull(cache.getTile(image, i, 0));
+            }
+        }
+
+        // A manual memory control pass removes the tiles exceeding the threshold
+        cache.setMemoryThreshold(0.3f);
+        for (int i = 0; i < 5; i++) {
+            cache.add(image, i, 0, image.getTile(i, 0));
+        }
+        cache.memoryControl();
+        for (int i = 0; i < 5; i++) {
+            if (i < 3) {
+                assertNotNull(cache.getTile(image, i, 0));
+            } else {
+                assertNull(cache.getTile(image, i, 0));
+            }
+        }
+
+        cache.setTileComparator(null);
+        assertNull(cache.getTileComparator());
+    }
+}
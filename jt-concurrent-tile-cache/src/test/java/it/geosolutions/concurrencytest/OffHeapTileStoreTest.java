@@ -0,0 +1,146 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.OffHeapTileStore;
+
+import java.awt.Point;
+import java.awt.image.BandedSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class is used for checking if the {@link OffHeapTileStore} and its usage inside the {@link ConcurrentTileCache} behave correctly.
+ */
+public class OffHeapTileStoreTest {
+
+    private static final int TILE_SIZE = 64;
+
+    @Test
+    public void testStoreAndRestore() {
+        OffHeapTileStore store = new OffHeapTileStore(1024 * 1024, 1024, 2);
+        // Multi banked float raster, stored as a child of a bigger raster
+        SampleModel sm = new BandedSampleModel(DataBuffer.TYPE_FLOAT, 50, 40, 3);
+        WritableRaster parent = Raster.createWritableRaster(sm, new Point(100, 200));
+        for (int b = 0; b < 3; b++) {
+            for (int y = 200; y < 240; y++) {
+                for (int x = 100; x < 150; x++) {
+                    parent.setSample(x, y, b, x * 0.5f + y * b);
+                }
+            }
+        }
+        WritableRaster child = parent.createWritableChild(110, 210, 20, 10, 110, 210, null);
+        assertTrue(store.put("tile", child));
+
+        Raster restored = store.getTile("tile");
+        assertNotNull(restored);
+        assertEquals(child.getBounds(), restored.getBounds());
+        for (int b = 0; b < 3; b++) {
+            for (int y = 210; y < 220; y++) {
+                for (int x = 110; x < 130; x++) {
+                    assertEquals(child.getSampleFloat(x, y, b), restored.getSampleFloat(x, y, b),
+                            0f);
+                }
+            }
+        }
+        assertEquals(1, store.getHitCount());
+
+        // Removal
+        assertTrue(store.remove("tile"));
+        assertTrue(store.getTile("tile") == null);
+        assertEquals(1, store.getMissCount());
+    }
+
+    @Test
+    public void testEviction() {
+        long capacity = 256 * 1024;
+        OffHeapTileStore store = new OffHeapTileStore(capacity, 1024, 1);
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_INT,
+                TILE_SIZE, TILE_SIZE, 1);
+        WritableRaster tile = Raster.createWritableRaster(sm, null);
+        // Each tile takes 16 KB, so only 16 tiles can be stored
+        for (int i = 0; i < 32; i++) {
+            assertTrue(store.put(Integer.valueOf(i), tile));
+        }
+        assertEquals(16, store.getTileCount());
+        assertEquals(16, store.getEvictionCount());
+        assertTrue(store.getMemoryUsed() <= capacity);
+        // The oldest tiles have been evicted
+        assertTrue(store.getTile(Integer.valueOf(0)) == null);
+        assertNotNull(store.getTile(Integer.valueOf(31)));
+    }
+
+    @Test
+    public void testCacheTier() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        TiledImage image = new TiledImage(0, 0, 4 * TILE_SIZE, 4 * TILE_SIZE, 0, 0, sm, null);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setSample(x, y, 0, (x * 7 + y * 13) & 0xff);
+            }
+        }
+
+        // The heap cache can contain only a few tiles
+        ConcurrentTileCache cache = new ConcurrentTileCache(4 * TILE_SIZE * TILE_SIZE, false, 1f,
+                1);
+        cache.setOffHeapCapacity(1024 * 1024);
+        for (int ty = 0; ty < 4; ty++) {
+            for (int tx = 0; tx < 4; tx++) {
+                cache.add(image, tx, ty, image.getTile(tx, ty));
+            }
+        }
+        assertTrue(cache.getCacheTileCount() < 16);
+        assertTrue(cache.getOffHeapTileCount() > 0);
+
+        // All the tiles must be available, either from the heap or from the off-heap tier
+        for (int ty = 0; ty < 4; ty++) {
+            for (int tx = 0; tx < 4; tx++) {
+                Raster tile = cache.getTile(image, tx, ty);
+                assertNotNull(tile);
+                assertEquals(image.getTile(tx, ty).getBounds(), tile.getBounds());
+                for (int y = tile.getMinY(); y < tile.getMinY() + TILE_SIZE; y++) {
+                    for (int x = tile.getMinX(); x < tile.getMinX() + TILE_SIZE; x++) {
+                        assertEquals((x * 7 + y * 13) & 0xff, tile.getSample(x, y, 0));
+                    }
+                }
+            }
+        }
+        assertTrue(cache.getOffHeapHitCount() > 0);
+
+        // Removed tiles must not be served by the off-heap tier
+        cache.removeTiles(image);
+        assertTrue(cache.getTile(image, 0, 0) == null);
+        assertEquals(0, cache.getOffHeapTileCount());
+
+        // Disabling the tier
+        cache.setOffHeapCapacity(0);
+        assertEquals(0, cache.getOffHeapCapacity());
+    }
+}
@@ -0,0 +1,95 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+import it.geosolutions.concurrent.TileCachePartition;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that the partitions of {@link ConcurrentTileCacheMultiMap} isolate the tiles of the images assigned to them.
+ */
+public class PartitionTest {
+
+    private static final int TILE_SIZE = 64;
+
+    /** Approximate memory used by each cached tile */
+    private static final long TILE_MEMORY = TILE_SIZE * TILE_SIZE + 200L;
+
+    @Test
+    public void testIsolation() {
+        TiledImage small = createImage(16, 1);
+        TiledImage mosaic = createImage(64, 4);
+        ConcurrentTileCacheMultiMap cache = new ConcurrentTileCacheMultiMap(20 * TILE_MEMORY,
+                false, 1f, 1);
+        TileCachePartition smallPartition = cache.createPartition("small", 10 * TILE_MEMORY);
+        TileCachePartition mosaicPartition = cache.createPartition("mosaic", 5 * TILE_MEMORY);
+        assertSame(smallPartition, cache.getPartition("small"));
+        assertEquals(2, cache.getPartitions().size());
+
+        // The small image is assigned to its partition, the mosaic tiles use the tile cache metric
+        cache.setPartition(small, smallPartition);
+        for (int i = 0; i < 8; i++) {
+            cache.add(small, i, 0, small.getTile(i, 0));
+        }
+        for (int i = 0; i < 64; i++) {
+            for (int j = 0; j < 4; j++) {
+                cache.add(mosaic, i, j, mosaic.getTile(i, j), mosaicPartition);
+            }
+        }
+
+        // The mosaic scan must not evict the small image tiles
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(cache.getTile(small, i, 0));
+        }
+        assertEquals(8, smallPartition.getHitCount());
+        assertEquals(8, smallPartition.getTileCount());
+        // The mosaic borrows the memory not used by the other partitions
+        assertTrue(mosaicPartition.getMemoryUsed() > mosaicPartition.getCapacity());
+        assertTrue(mosaicPartition.getEvictionCount() > 0);
+        assertTrue(cache.getCacheMemoryUsed() <= 20 * TILE_MEMORY);
+
+        cache.getTile(small, 12, 0);
+        assertEquals(1, smallPartition.getMissCount());
+
+        cache.removeTiles(mosaic);
+        assertEquals(0, mosaicPartition.getMemoryUsed());
+        assertEquals(8, cache.getCacheTileCount());
+
+        cache.removePartition("small");
+        assertEquals(1, cache.getPartitions().size());
+        assertEquals(0, cache.getCacheTileCount());
+    }
+
+    private static TiledImage createImage(int tilesX, int tilesY) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        return new TiledImage(0, 0, tilesX * TILE_SIZE, tilesY * TILE_SIZE, 0, 0, sm, null);
+    }
+}
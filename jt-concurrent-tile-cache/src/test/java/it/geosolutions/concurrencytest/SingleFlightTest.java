@@ -0,0 +1,169 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+import it.geosolutions.concurrent.TileCachePartition;
+import it.geosolutions.concurrent.TileComputation;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that a tile requested at the same time by many threads is computed only once by the concurrent tile caches.
+ */
+public class SingleFlightTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    public void testConcurrentTileCache() throws Exception {
+        final ConcurrentTileCache cache = new ConcurrentTileCache();
+        Callable<Raster> request = new Callable<Raster>() {
+            public Raster call() {
+                return cache.computeTileIfAbsent(image, 1, 1, computation);
+            }
+        };
+        checkRequests(request);
+        assertEquals(1, cache.getTileComputationCount());
+        assertEquals(THREADS - 1, cache.getAvoidedComputationCount());
+        assertEquals(1, cache.getCacheTileCount());
+    }
+
+    @Test
+    public void testConcurrentTileCacheMultiMap() throws Exception {
+        final ConcurrentTileCacheMultiMap cache = new ConcurrentTileCacheMultiMap();
+        Callable<Raster> request = new Callable<Raster>() {
+            public Raster call() {
+                return cache.computeTileIfAbsent(image, 1, 1, computation);
+            }
+        };
+        checkRequests(request);
+        assertEquals(1, cache.getTileComputationCount());
+        assertEquals(THREADS - 1, cache.getAvoidedComputationCount());
+        assertEquals(1, cache.getCacheTileCount());
+    }
+
+    @Test
+    public void testStatistics() {
+        // A computed tile is counted as a single miss
+        ConcurrentTileCache cache = new ConcurrentTileCache();
+        cache.setOffHeapCapacity(1024 * 1024);
+        assertNotNull(cache.computeTileIfAbsent(image, 2, 2, computation));
+        assertEquals(1, cache.getOffHeapMissCount());
+        assertNotNull(cache.computeTileIfAbsent(image, 2, 2, computation));
+        assertEquals(1, cache.getOffHeapMissCount());
+        assertEquals(0, cache.getOffHeapHitCount());
+
+        ConcurrentTileCacheMultiMap multiMap = new ConcurrentTileCacheMultiMap();
+        TileCachePartition partition = multiMap.createPartition("partition", 1024 * 1024);
+        multiMap.setPartition(image, partition);
+        assertNotNull(multiMap.computeTileIfAbsent(image, 2, 2, computation));
+        assertEquals(1, partition.getMissCount());
+        assertNotNull(multiMap.computeTileIfAbsent(image, 2, 2, computation));
+        assertEquals(1, partition.getMissCount());
+        assertEquals(1, partition.getHitCount());
+    }
+
+    @Test
+    public void testFailure() {
+        ConcurrentTileCache cache = new ConcurrentTileCache();
+        try {
+            cache.computeTileIfAbsent(image, 0, 0, new TileComputation() {
+                public Raster computeTile(RenderedImage owner, int tileX, int tileY) {
+                    throw new IllegalStateException("Tile computation failed");
+                }
+            });
+            fail("The computation failure should be propagated");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        // A failed computation is not cached
+        assertEquals(0, cache.getCacheTileCount());
+        assertNotNull(cache.computeTileIfAbsent(image, 0, 0, computation));
+    }
+
+    private final TiledImage image = createImage();
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    /** Slow computation, so that all the threads request the tile while it is computed */
+    private final TileComputation computation = new TileComputation() {
+        public Raster computeTile(RenderedImage owner, int tileX, int tileY) {
+            computations.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return image.getTile(tileX, tileY);
+        }
+    };
+
+    private void checkRequests(final Callable<Raster> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<Raster>> results = new ArrayList<Future<Raster>>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<Raster>() {
+                    public Raster call() throws Exception {
+                        start.await();
+                        return request.call();
+                    }
+                }));
+            }
+            start.countDown();
+            Raster tile = results.get(0).get();
+            assertNotNull(tile);
+            for (Future<Raster> result : results) {
+                // All the threads share the same tile
+                assertSame(tile, result.get());
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                64, 64, 1);
+        return new TiledImage(0, 0, 256, 256, 0, 0, sm, null);
+    }
+}
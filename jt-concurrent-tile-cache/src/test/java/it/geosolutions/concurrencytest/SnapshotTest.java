@@ -0,0 +1,105 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.TileSnapshotResolver;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.File;
+import java.io.IOException;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that the tiles saved in a snapshot by {@link ConcurrentTileCache} are loaded back inside another cache.
+ */
+public class SnapshotTest {
+
+    private static final int TILE_SIZE = 64;
+
+    @Test
+    public void testSnapshot() throws IOException {
+        final TiledImage image = createImage();
+        ConcurrentTileCache cache = new ConcurrentTileCache();
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                cache.add(image, x, y, image.getTile(x, y));
+            }
+        }
+
+        File file = File.createTempFile("snapshot", ".bin");
+        try {
+            // A new image with the same content, as it would be created by another JVM
+            final TiledImage copy = createImage();
+            TileSnapshotResolver resolver = new TileSnapshotResolver() {
+                public String getIdentity(RenderedImage owner) {
+                    return owner == image || owner == copy ? "image" : null;
+                }
+
+                public RenderedImage getImage(String identity) {
+                    return "image".equals(identity) ? copy : null;
+                }
+            };
+            assertEquals(16, cache.saveSnapshot(file, Long.MAX_VALUE, resolver));
+
+            ConcurrentTileCache newCache = new ConcurrentTileCache();
+            assertEquals(16, newCache.loadSnapshot(file, resolver, 4));
+            for (int x = 0; x < 4; x++) {
+                for (int y = 0; y < 4; y++) {
+                    Raster tile = newCache.getTile(copy, x, y);
+                    assertNotNull(tile);
+                    Raster expected = image.getTile(x, y);
+                    assertEquals(expected.getBounds(), tile.getBounds());
+                    assertArrayEquals(expected.getPixels(expected.getMinX(), expected.getMinY(),
+                            TILE_SIZE, TILE_SIZE, (int[]) null), tile.getPixels(tile.getMinX(),
+                            tile.getMinY(), TILE_SIZE, TILE_SIZE, (int[]) null));
+                }
+            }
+
+            // The size limit is respected
+            int saved = cache.saveSnapshot(file, 4 * TILE_SIZE * TILE_SIZE * 3 * 2 + 400, resolver);
+            assertEquals(4, saved);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT,
+                TILE_SIZE, TILE_SIZE, 3);
+        TiledImage image = new TiledImage(0, 0, 4 * TILE_SIZE, 4 * TILE_SIZE, 0, 0, sm, null);
+        for (int x = 0; x < 4 * TILE_SIZE; x++) {
+            for (int y = 0; y < 4 * TILE_SIZE; y++) {
+                for (int b = 0; b < 3; b++) {
+                    image.setSample(x, y, b, (x * 31 + y * 17 + b) % 65536);
+                }
+            }
+        }
+        return image;
+    }
+}
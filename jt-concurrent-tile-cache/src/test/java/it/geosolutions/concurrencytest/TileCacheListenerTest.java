@@ -0,0 +1,131 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.concurrencytest;
+
+import static org.junit.Assert.assertEquals;
+import it.geosolutions.concurrent.ConcurrentTileCache;
+import it.geosolutions.concurrent.ConcurrentTileCache.Actions;
+import it.geosolutions.concurrent.ConcurrentTileCacheMultiMap;
+import it.geosolutions.concurrent.TileCacheEvent;
+import it.geosolutions.concurrent.TileCacheListener;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.media.jai.RasterFactory;
+import javax.media.jai.TileCache;
+import javax.media.jai.TiledImage;
+
+import org.junit.Test;
+
+/**
+ * This test class checks that the tile events of the concurrent tile caches are delivered to the {@link TileCacheListener}s.
+ */
+public class TileCacheListenerTest {
+
+    private static final int TILE_SIZE = 64;
+
+    private static final long TIMEOUT = 5000;
+
+    @Test
+    public void testConcurrentTileCache() throws InterruptedException {
+        ConcurrentTileCache cache = new ConcurrentTileCache(10 * (TILE_SIZE * TILE_SIZE + 200L),
+                false, 1f, 1);
+        EventCounter counter = new EventCounter();
+        cache.addTileCacheListener(counter);
+        long tiles = fill(cache);
+        // Each tile is added and removed once, the last 10 are read once
+        waitForEvents(counter, 50 + 10 + 50);
+        cache.removeTileCacheListener(counter);
+        checkEvents(counter, tiles);
+    }
+
+    @Test
+    public void testConcurrentTileCacheMultiMap() throws InterruptedException {
+        ConcurrentTileCacheMultiMap cache = new ConcurrentTileCacheMultiMap(
+                10 * (TILE_SIZE * TILE_SIZE + 200L), false, 1f, 1);
+        EventCounter counter = new EventCounter();
+        cache.addTileCacheListener(counter);
+        long tiles = fill(cache);
+        // Each tile is added and removed once, the last 10 are read once
+        waitForEvents(counter, 50 + 10 + 50);
+        cache.removeTileCacheListener(counter);
+        checkEvents(counter, tiles);
+    }
+
+    /** Adds 50 tiles, reads the last 10, removes one of them and flushes the cache. Returns the tiles in the cache before the flush */
+    private static long fill(TileCache cache) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE,
+                TILE_SIZE, TILE_SIZE, 1);
+        TiledImage image = new TiledImage(0, 0, 50 * TILE_SIZE, TILE_SIZE, 0, 0, sm, null);
+        for (int i = 0; i < 50; i++) {
+            cache.add(image, i, 0, image.getTile(i, 0));
+        }
+        for (int i = 40; i < 50; i++) {
+            cache.getTile(image, i, 0);
+        }
+        cache.remove(image, 49, 0);
+        long tiles = cache instanceof ConcurrentTileCache ? ((ConcurrentTileCache) cache)
+                .getCacheTileCount() : ((ConcurrentTileCacheMultiMap) cache).getCacheTileCount();
+        cache.flush();
+        return tiles;
+    }
+
+    private static void checkEvents(EventCounter counter, long tiles) {
+        assertEquals(50, counter.getCount(Actions.ADDITION));
+        assertEquals(10, counter.getCount(Actions.UPDATING_TILE_FROM_GETTILE));
+        assertEquals(1, counter.getCount(Actions.MANUAL_REMOVAL));
+        assertEquals(tiles, counter.getCount(Actions.REMOVAL_FROM_FLUSH));
+        assertEquals(50 - tiles - 1, counter.getCount(Actions.REMOVAL_FROM_EVICTION));
+    }
+
+    private static void waitForEvents(EventCounter counter, long expected)
+            throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (counter.getTotal() < expected && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+    }
+
+    /** Listener counting the events for each action */
+    private static class EventCounter implements TileCacheListener {
+
+        private final Map<Actions, Integer> counts = new EnumMap<Actions, Integer>(Actions.class);
+
+        private int total;
+
+        public synchronized void tilesChanged(List<TileCacheEvent> events) {
+            for (TileCacheEvent event : events) {
+                counts.put(event.getAction(), getCount(event.getAction()) + 1);
+                total++;
+            }
+        }
+
+        synchronized int getCount(Actions action) {
+            Integer count = counts.get(action);
+            return count != null ? count : 0;
+        }
+
+        synchronized int getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import javax.media.jai.iterator.RandomIter;
+
+/**
+ * {@link RandomIter} extension allowing to read a whole rectangle of samples of a band with a single call, instead of a call for each sample. The
+ * rectangle may cross tile boundaries. Typical usages are the read of a source row segment (height equal to 1) or of the k x k neighbourhood of a
+ * pixel used by an interpolation or a filter kernel.
+ * <p>
+ * Samples are stored in the array in row-major order, so the sample at (x + i, y + j) is stored at index j * width + i. If the input array is
+ * <code>null</code> a new one is allocated. The same conversions of {@link RandomIter#getSample(int, int, int)},
+ * {@link RandomIter#getSampleFloat(int, int, int)} and {@link RandomIter#getSampleDouble(int, int, int)} are applied, while samples read into byte
+ * or short arrays are cast from their integer value. An {@link ArrayIndexOutOfBoundsException} is thrown if the rectangle is not contained in
+ * the iterator bounds.
+ * <p>
+ * All the iterators returned by {@link RandomIterFactory#create} implement this interface.
+ */
+public interface BulkRandomIter extends RandomIter {
+
+    /**
+     * Reads the samples of the band b inside the rectangle (x, y, width, height) into a byte array.
+     */
+    byte[] getSamples(int x, int y, int width, int height, int b, byte[] bArray);
+
+    /**
+     * Reads the samples of the band b inside the rectangle (x, y, width, height) into a short array.
+     */
+    short[] getSamples(int x, int y, int width, int height, int b, short[] sArray);
+
+    /**
+     * Reads the samples of the band b inside the rectangle (x, y, width, height) into an int array.
+     */
+    int[] getSamples(int x, int y, int width, int height, int b, int[] iArray);
+
+    /**
+     * Reads the samples of the band b inside the rectangle (x, y, width, height) into a float array.
+     */
+    float[] getSamples(int x, int y, int width, int height, int b, float[] fArray);
+
+    /**
+     * Reads the samples of the band b inside the rectangle (x, y, width, height) into a double array.
+     */
+    double[] getSamples(int x, int y, int width, int height, int b, double[] dArray);
+}
@@ -0,0 +1,557 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.Rectangle;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+
+import javax.media.jai.PlanarImage;
+
+/**
+ * Helper class implementing the {@link BulkRandomIter} methods for the iterators of this package. The requested rectangle is split in the
+ * intersections with the image tiles and each row of an intersection is copied with a single call. When the tile {@link SampleModel} is a
+ * {@link ComponentSampleModel} (which includes the PixelInterleavedSampleModel and the BandedSampleModel), the samples are copied directly from the
+ * bank array, with {@link System#arraycopy} when the pixel stride is 1 and the array type matches the data type. Other sample models are read row
+ * by row through {@link SampleModel#getSamples}.
+ * <p>
+ * If a {@link TileLRU} is provided, the current tile is kept between two calls and the tiles are requested through it, so that they are shared
+ * with the single sample reads of the iterator.
+ */
+final class BulkSampleReader {
+
+    private final RenderedImage im;
+
+    private final Rectangle bounds;
+
+    private final int numBands;
+
+    private final int tileWidth;
+
+    private final int tileHeight;
+
+    private final int tileGridXOffset;
+
+    private final int tileGridYOffset;
+
+    /** Tiles of the iterator, <code>null</code> if the current tile must not be kept between two calls */
+    private final TileLRU tiles;
+
+    private int tileX;
+
+    private int tileY;
+
+    /** Current tile, <code>null</code> if not set */
+    private Raster tile;
+
+    private int sampleModelTranslateX;
+
+    private int sampleModelTranslateY;
+
+    /** Layout of the current tile, bankIndices is <code>null</code> if the tile has not a {@link ComponentSampleModel} */
+    private int[] bankIndices;
+
+    private int[] bandOffsets;
+
+    private int pixelStride;
+
+    private int scanlineStride;
+
+    /** Bank array of the current band, <code>null</code> if the band must be read through the SampleModel */
+    private Object bankData;
+
+    private int bankDataType;
+
+    private int bankOffset;
+
+    private int bankBand = -1;
+
+    /** Temporary arrays used for the SampleModel reads */
+    private int[] iBuffer;
+
+    private float[] fBuffer;
+
+    private double[] dBuffer;
+
+    BulkSampleReader(RenderedImage im, Rectangle bounds, TileLRU tiles) {
+        this.im = im;
+        this.bounds = bounds;
+        this.numBands = im.getSampleModel().getNumBands();
+        this.tileWidth = im.getTileWidth();
+        this.tileHeight = im.getTileHeight();
+        this.tileGridXOffset = im.getTileGridXOffset();
+        this.tileGridYOffset = im.getTileGridYOffset();
+        this.tiles = tiles;
+    }
+
+    byte[] getSamples(int x, int y, int width, int height, int b, byte[] bArray) {
+        if (bArray == null) {
+            bArray = new byte[width * height];
+        }
+        read(x, y, width, height, b, bArray, DataBuffer.TYPE_BYTE);
+        return bArray;
+    }
+
+    short[] getSamples(int x, int y, int width, int height, int b, short[] sArray) {
+        if (sArray == null) {
+            sArray = new short[width * height];
+        }
+        read(x, y, width, height, b, sArray, DataBuffer.TYPE_SHORT);
+        return sArray;
+    }
+
+    int[] getSamples(int x, int y, int width, int height, int b, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[width * height];
+        }
+        read(x, y, width, height, b, iArray, DataBuffer.TYPE_INT);
+        return iArray;
+    }
+
+    float[] getSamples(int x, int y, int width, int height, int b, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[width * height];
+        }
+        read(x, y, width, height, b, fArray, DataBuffer.TYPE_FLOAT);
+        return fArray;
+    }
+
+    double[] getSamples(int x, int y, int width, int height, int b, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[width * height];
+        }
+        read(x, y, width, height, b, dArray, DataBuffer.TYPE_DOUBLE);
+        return dArray;
+    }
+
+    void done() {
+        releaseTile();
+        if (tiles != null) {
+            tiles.clear();
+        }
+        iBuffer = null;
+        fBuffer = null;
+        dBuffer = null;
+    }
+
+    private void read(int x, int y, int width, int height, int b, Object dst, int dstType) {
+        if (width < 0 || height < 0 || b < 0 || b >= numBands || x < bounds.x || y < bounds.y
+                || x + width > bounds.x + bounds.width || y + height > bounds.y + bounds.height) {
+            throw new ArrayIndexOutOfBoundsException("Coordinate out of bounds!");
+        }
+        if (width == 0 || height == 0) {
+            return;
+        }
+        int maxX = x + width - 1;
+        int maxY = y + height - 1;
+        int minTileX = PlanarImage.XToTileX(x, tileGridXOffset, tileWidth);
+        int maxTileX = PlanarImage.XToTileX(maxX, tileGridXOffset, tileWidth);
+        int minTileY = PlanarImage.YToTileY(y, tileGridYOffset, tileHeight);
+        int maxTileY = PlanarImage.YToTileY(maxY, tileGridYOffset, tileHeight);
+        try {
+            for (int ty = minTileY; ty <= maxTileY; ty++) {
+                int tileMinY = PlanarImage.tileYToY(ty, tileGridYOffset, tileHeight);
+                int startY = Math.max(y, tileMinY);
+                int endY = Math.min(maxY, tileMinY + tileHeight - 1);
+                for (int tx = minTileX; tx <= maxTileX; tx++) {
+                    int tileMinX = PlanarImage.tileXToX(tx, tileGridXOffset, tileWidth);
+                    int startX = Math.max(x, tileMinX);
+                    int length = Math.min(maxX, tileMinX + tileWidth - 1) - startX + 1;
+                    makeCurrent(tx, ty, b);
+                    int dstOffset = (startY - y) * width + startX - x;
+                    for (int row = startY; row <= endY; row++, dstOffset += width) {
+                        readRow(startX, row, length, b, dst, dstType, dstOffset);
+                    }
+                }
+            }
+        } finally {
+            if (tiles == null) {
+                releaseTile();
+            }
+        }
+    }
+
+    /**
+     * Sets the current tile and the bank array of the band b.
+     */
+    private void makeCurrent(int tx, int ty, int b) {
+        if (tile == null || tx != tileX || ty != tileY) {
+            tileX = tx;
+            tileY = ty;
+            tile = tiles != null ? tiles.getTile(tx, ty) : im.getTile(tx, ty);
+            sampleModelTranslateX = tile.getSampleModelTranslateX();
+            sampleModelTranslateY = tile.getSampleModelTranslateY();
+            SampleModel sm = tile.getSampleModel();
+            if (sm instanceof ComponentSampleModel) {
+                ComponentSampleModel csm = (ComponentSampleModel) sm;
+                bankIndices = csm.getBankIndices();
+                bandOffsets = csm.getBandOffsets();
+                pixelStride = csm.getPixelStride();
+                scanlineStride = csm.getScanlineStride();
+            } else {
+                bankIndices = null;
+            }
+            bankData = null;
+            bankBand = -1;
+        }
+        if (bankBand != b) {
+            bankBand = b;
+            bankData = null;
+            if (bankIndices != null) {
+                DataBuffer db = tile.getDataBuffer();
+                int bank = bankIndices[b];
+                bankData = getBankData(db, bank);
+                bankDataType = db.getDataType();
+                bankOffset = db.getOffsets()[bank] + bandOffsets[b];
+            }
+        }
+    }
+
+    private void releaseTile() {
+        tile = null;
+        bankData = null;
+        bankBand = -1;
+    }
+
+    /**
+     * Copies length samples of the row y, starting from x, into the destination array.
+     */
+    private void readRow(int x, int y, int length, int b, Object dst, int dstType, int dstOffset) {
+        int xLocal = x - sampleModelTranslateX;
+        int yLocal = y - sampleModelTranslateY;
+        if (bankData != null) {
+            copy(bankData, bankDataType, bankOffset + yLocal * scanlineStride + xLocal
+                    * pixelStride, pixelStride, length, dst, dstType, dstOffset);
+            return;
+        }
+        SampleModel sm = tile.getSampleModel();
+        DataBuffer db = tile.getDataBuffer();
+        switch (dstType) {
+        case DataBuffer.TYPE_FLOAT:
+            if (fBuffer == null || fBuffer.length < length) {
+                fBuffer = new float[length];
+            }
+            sm.getSamples(xLocal, yLocal, length, 1, b, fBuffer, db);
+            System.arraycopy(fBuffer, 0, dst, dstOffset, length);
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            if (dBuffer == null || dBuffer.length < length) {
+                dBuffer = new double[length];
+            }
+            sm.getSamples(xLocal, yLocal, length, 1, b, dBuffer, db);
+            System.arraycopy(dBuffer, 0, dst, dstOffset, length);
+            break;
+        default:
+            if (iBuffer == null || iBuffer.length < length) {
+                iBuffer = new int[length];
+            }
+            sm.getSamples(xLocal, yLocal, length, 1, b, iBuffer, db);
+            copy(iBuffer, DataBuffer.TYPE_INT, 0, 1, length, dst, dstType, dstOffset);
+        }
+    }
+
+    /**
+     * Returns the array of the bank, or <code>null</code> if the {@link DataBuffer} class is not a standard one.
+     */
+    private static Object getBankData(DataBuffer db, int bank) {
+        if (db instanceof DataBufferByte) {
+            return ((DataBufferByte) db).getData(bank);
+        } else if (db instanceof DataBufferUShort) {
+            return ((DataBufferUShort) db).getData(bank);
+        } else if (db instanceof DataBufferShort) {
+            return ((DataBufferShort) db).getData(bank);
+        } else if (db instanceof DataBufferInt) {
+            return ((DataBufferInt) db).getData(bank);
+        } else if (db instanceof DataBufferFloat) {
+            return ((DataBufferFloat) db).getData(bank);
+        } else if (db instanceof DataBufferDouble) {
+            return ((DataBufferDouble) db).getData(bank);
+        }
+        return null;
+    }
+
+    /**
+     * Copies length samples, separated by stride elements, from the source array of the given data type into the destination array.
+     */
+    static void copy(Object src, int srcType, int srcOffset, int stride, int length, Object dst,
+            int dstType, int dstOffset) {
+        switch (dstType) {
+        case DataBuffer.TYPE_BYTE:
+            copyToByte(src, srcType, srcOffset, stride, length, (byte[]) dst, dstOffset);
+            break;
+        case DataBuffer.TYPE_SHORT:
+            copyToShort(src, srcType, srcOffset, stride, length, (short[]) dst, dstOffset);
+            break;
+        case DataBuffer.TYPE_INT:
+            copyToInt(src, srcType, srcOffset, stride, length, (int[]) dst, dstOffset);
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            copyToFloat(src, srcType, srcOffset, stride, length, (float[]) dst, dstOffset);
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            copyToDouble(src, srcType, srcOffset, stride, length, (double[]) dst, dstOffset);
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    private static void copyToByte(Object src, int srcType, int s, int stride, int length,
+            byte[] dst, int d) {
+        int end = d + length;
+        switch (srcType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[] bData = (byte[]) src;
+            if (stride == 1) {
+                System.arraycopy(bData, s, dst, d, length);
+            } else {
+                for (; d < end; d++, s += stride) {
+                    dst[d] = bData[s];
+                }
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+        case DataBuffer.TYPE_SHORT:
+            short[] sData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (byte) sData[s];
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            int[] iData = (int[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (byte) iData[s];
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            float[] fData = (float[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (byte) (int) fData[s];
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            double[] dData = (double[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (byte) (int) dData[s];
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    private static void copyToShort(Object src, int srcType, int s, int stride, int length,
+            short[] dst, int d) {
+        int end = d + length;
+        switch (srcType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[] bData = (byte[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (short) (bData[s] & 0xFF);
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+        case DataBuffer.TYPE_SHORT:
+            short[] sData = (short[]) src;
+            if (stride == 1) {
+                System.arraycopy(sData, s, dst, d, length);
+            } else {
+                for (; d < end; d++, s += stride) {
+                    dst[d] = sData[s];
+                }
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            int[] iData = (int[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (short) iData[s];
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            float[] fData = (float[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (short) (int) fData[s];
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            double[] dData = (double[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (short) (int) dData[s];
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    private static void copyToInt(Object src, int srcType, int s, int stride, int length,
+            int[] dst, int d) {
+        int end = d + length;
+        switch (srcType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[] bData = (byte[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = bData[s] & 0xFF;
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+            short[] usData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = usData[s] & 0xFFFF;
+            }
+            break;
+        case DataBuffer.TYPE_SHORT:
+            short[] sData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = sData[s];
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            int[] iData = (int[]) src;
+            if (stride == 1) {
+                System.arraycopy(iData, s, dst, d, length);
+            } else {
+                for (; d < end; d++, s += stride) {
+                    dst[d] = iData[s];
+                }
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            float[] fData = (float[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (int) fData[s];
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            double[] dData = (double[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (int) dData[s];
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    private static void copyToFloat(Object src, int srcType, int s, int stride, int length,
+            float[] dst, int d) {
+        int end = d + length;
+        switch (srcType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[] bData = (byte[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = bData[s] & 0xFF;
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+            short[] usData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = usData[s] & 0xFFFF;
+            }
+            break;
+        case DataBuffer.TYPE_SHORT:
+            short[] sData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = sData[s];
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            int[] iData = (int[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = iData[s];
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            float[] fData = (float[]) src;
+            if (stride == 1) {
+                System.arraycopy(fData, s, dst, d, length);
+            } else {
+                for (; d < end; d++, s += stride) {
+                    dst[d] = fData[s];
+                }
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            double[] dData = (double[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = (float) dData[s];
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    private static void copyToDouble(Object src, int srcType, int s, int stride, int length,
+            double[] dst, int d) {
+        int end = d + length;
+        switch (srcType) {
+        case DataBuffer.TYPE_BYTE:
+            byte[] bData = (byte[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = bData[s] & 0xFF;
+            }
+            break;
+        case DataBuffer.TYPE_USHORT:
+            short[] usData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = usData[s] & 0xFFFF;
+            }
+            break;
+        case DataBuffer.TYPE_SHORT:
+            short[] sData = (short[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = sData[s];
+            }
+            break;
+        case DataBuffer.TYPE_INT:
+            int[] iData = (int[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = iData[s];
+            }
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            float[] fData = (float[]) src;
+            for (; d < end; d++, s += stride) {
+                dst[d] = fData[s];
+            }
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            double[] dData = (double[]) src;
+            if (stride == 1) {
+                System.arraycopy(dData, s, dst, d, length);
+            } else {
+                for (; d < end; d++, s += stride) {
+                    dst[d] = dData[s];
+                }
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+/**
+ * {@link BulkRandomIter} keeping the most recently used tiles of the source image, so that accesses alternating between a few tiles (as done by
+ * Warp or by a rotating Affine) do not request the same tiles again and again to the image. It is returned by
+ * {@link RandomIterFactory#create(java.awt.image.RenderedImage, java.awt.Rectangle, boolean, boolean, int)} when cached tiles and tile position
+ * pre-calculation are both requested.
+ */
+public interface CachedTilesRandomIter extends BulkRandomIter {
+
+    /**
+     * Returns the maximum number of tiles kept by the iterator.
+     */
+    int getTileCacheSize();
+
+    /**
+     * Returns the number of times the iterator has moved from the current tile to another one.
+     */
+    long getTileSwitchCount();
+
+    /**
+     * Returns the number of tile switches served by the tiles kept by the iterator, without requesting the tile to the image.
+     */
+    long getSavedTileSwitchCount();
+}
@@ -28,7 +28,6 @@ import javax.media.jai.iterator.WritableRandomIter;
 
 import com.sun.media.jai.iterator.WrapperRI;
 import com.sun.media.jai.iterator.WrapperWRI;
-import com.sun.media.jai.iterator.WritableRandomIterFallback;
 
 /**
  * A factory class to instantiate instances of the RandomIter and WritableRandomIter interfaces on sources of type Raster, RenderedImage, and
@@ -42,7 +41,8 @@ public class RandomIterFactory {
     /**
      * Constructs and returns an instance of RandomIter suitable for iterating over the given bounding rectangle within the given RenderedImage
      * source. If the bounds parameter is null, the entire image will be used. If cachedTiles is set to true, the current tile used by the iterator
-     * is cached. If arrayCalculation is set to true an initial array containing the tile position for every pixel is calculated.
+     * is cached. If arrayCalculation is set to true an initial array containing the tile position for every pixel is calculated. The returned
+     * iterator implements {@link BulkRandomIter}.
      * 
      * @param im a read-only RenderedImage source.
      * @param bounds the bounding Rectangle for the iterator, or null.
@@ -52,31 +52,47 @@ public class RandomIterFactory {
      */
     public static RandomIter create(RenderedImage im, Rectangle bounds, boolean cachedTiles,
             boolean arrayCalculation) {
+        return create(im, bounds, cachedTiles, arrayCalculation, 1);
+    }
+
+    /**
+     * Constructs and returns an instance of RandomIter suitable for iterating over the given bounding rectangle within the given RenderedImage
+     * source. If the bounds parameter is null, the entire image will be used. If cachedTiles is set to true, the last tileCacheSize tiles used by
+     * the iterator are cached. If arrayCalculation is set to true an initial array containing the tile position for every pixel is calculated.
+     * When both cachedTiles and arrayCalculation are true the returned iterator implements {@link CachedTilesRandomIter}, otherwise the
+     * tileCacheSize parameter is ignored.
+     * 
+     * @param im a read-only RenderedImage source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @param cachedTiles flag indicating if tiles must be cached during iteration.
+     * @param arrayCalculation flag indicating if tile positions must be pre-calculated.
+     * @param tileCacheSize the maximum number of tiles cached by the iterator.
+     * @return a RandomIter allowing read-only access to the source.
+     */
+    public static RandomIter create(RenderedImage im, Rectangle bounds, boolean cachedTiles,
+            boolean arrayCalculation, int tileCacheSize) {
+        if (tileCacheSize < 1) {
+            throw new IllegalArgumentException("Tile cache size should be at least 1");
+        }
         if (bounds == null) {
             bounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(), im.getHeight());
         }
         if (arrayCalculation) {
-            if (im.getMinTileX() >= Byte.MIN_VALUE
-                    && (im.getMinTileX() + im.getNumXTiles() - 1) <= Byte.MAX_VALUE
-                    && im.getMinTileY() >= Byte.MIN_VALUE
-                    && (im.getMinTileY() + im.getNumYTiles() - 1) <= Byte.MAX_VALUE) {
+            if (hasTileIndexesIn(im, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
                 if (cachedTiles) {
-                    return new RandomIterFallbackByte(im, bounds);
+                    return new RandomIterFallbackByte(im, bounds, tileCacheSize);
                 } else {
                     return new RandomIterFallbackByteNoCache(im, bounds);
                 }
-            } else if (im.getMinTileX() >= Short.MIN_VALUE
-                    && (im.getMinTileX() + im.getNumXTiles() - 1) <= Short.MAX_VALUE
-                    && im.getMinTileY() >= Short.MIN_VALUE
-                    && (im.getMinTileY() + im.getNumYTiles() - 1) <= Short.MAX_VALUE) {
+            } else if (hasTileIndexesIn(im, Short.MIN_VALUE, Short.MAX_VALUE)) {
                 if (cachedTiles) {
-                    return new RandomIterFallbackShort(im, bounds);
+                    return new RandomIterFallbackShort(im, bounds, tileCacheSize);
                 } else {
                     return new RandomIterFallbackShortNoCache(im, bounds);
                 }
             } else {
                 if (cachedTiles) {
-                    return new RandomIterFallbackInt(im, bounds);
+                    return new RandomIterFallbackInt(im, bounds, tileCacheSize);
                 } else {
                     return new RandomIterFallbackIntNoCache(im, bounds);
                 }
@@ -105,20 +121,64 @@ public class RandomIterFactory {
         return create(im, bounds, cachedTiles, arrayCalculation);
     }
 
+    /**
+     * Constructs and returns an instance of RandomIter suitable for iterating over the given bounding rectangle within the given Raster source. If
+     * the bounds parameter is null, the entire Raster will be used. The other parameters have the same meaning of
+     * {@link #create(RenderedImage, Rectangle, boolean, boolean, int)}.
+     * 
+     * @param ras a read-only Raster source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @param cachedTiles flag indicating if tiles must be cached during iteration.
+     * @param arrayCalculation flag indicating if tile positions must be pre-calculated.
+     * @param tileCacheSize the maximum number of tiles cached by the iterator.
+     * @return a RandomIter allowing read-only access to the source.
+     */
+    public static RandomIter create(Raster ras, Rectangle bounds, boolean cachedTiles,
+            boolean arrayCalculation, int tileCacheSize) {
+        RenderedImage im = new WrapperRI(ras);
+
+        return create(im, bounds, cachedTiles, arrayCalculation, tileCacheSize);
+    }
+
     /**
      * Constructs and returns an instance of WritableRandomIter suitable for iterating over the given bounding rectangle within the given
-     * WritableRenderedImage source. If the bounds parameter is null, the entire image will be used.
+     * WritableRenderedImage source. If the bounds parameter is null, the entire image will be used. The current tile used by the iterator is
+     * cached and checked out for writing until the iterator moves to another tile or {@link WritableRandomIter#done()} is called.
      * 
      * @param im a WritableRenderedImage source.
      * @param bounds the bounding Rectangle for the iterator, or null.
      * @return a WritableRandomIter allowing read/write access to the source.
      */
     public static WritableRandomIter createWritable(WritableRenderedImage im, Rectangle bounds) {
+        return createWritable(im, bounds, 1);
+    }
+
+    /**
+     * Constructs and returns an instance of WritableRandomIter suitable for iterating over the given bounding rectangle within the given
+     * WritableRenderedImage source. If the bounds parameter is null, the entire image will be used. The last tileCacheSize tiles used by the
+     * iterator are cached and checked out for writing until they are removed from the cache or {@link WritableRandomIter#done()} is called. The
+     * returned iterator implements {@link CachedTilesRandomIter}.
+     * 
+     * @param im a WritableRenderedImage source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @param tileCacheSize the maximum number of tiles cached by the iterator.
+     * @return a WritableRandomIter allowing read/write access to the source.
+     */
+    public static WritableRandomIter createWritable(WritableRenderedImage im, Rectangle bounds,
+            int tileCacheSize) {
+        if (tileCacheSize < 1) {
+            throw new IllegalArgumentException("Tile cache size should be at least 1");
+        }
         if (bounds == null) {
             bounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(), im.getHeight());
         }
-
-        return new WritableRandomIterFallback(im, bounds);
+        if (hasTileIndexesIn(im, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+            return new WritableRandomIterFallbackByte(im, bounds, tileCacheSize);
+        } else if (hasTileIndexesIn(im, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return new WritableRandomIterFallbackShort(im, bounds, tileCacheSize);
+        } else {
+            return new WritableRandomIterFallbackInt(im, bounds, tileCacheSize);
+        }
     }
 
     /**
@@ -135,6 +195,28 @@ public class RandomIterFactory {
         return createWritable(im, bounds);
     }
 
+    /**
+     * Constructs and returns an instance of WritableRandomIter suitable for iterating over the given bounding rectangle within the given
+     * WritableRaster source. If the bounds parameter is null, the entire Raster will be used.
+     * 
+     * @param ras a WritableRaster source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @param tileCacheSize the maximum number of tiles cached by the iterator.
+     * @return a WritableRandomIter allowing read/write access to the source.
+     */
+    public static WritableRandomIter createWritable(WritableRaster ras, Rectangle bounds,
+            int tileCacheSize) {
+        WritableRenderedImage im = new WrapperWRI(ras);
+
+        return createWritable(im, bounds, tileCacheSize);
+    }
+
+    /** Checks if all the tile indexes of the image are between min and max */
+    private static boolean hasTileIndexesIn(RenderedImage im, int min, int max) {
+        return im.getMinTileX() >= min && (im.getMinTileX() + im.getNumXTiles() - 1) <= max
+                && im.getMinTileY() >= min && (im.getMinTileY() + im.getNumYTiles() - 1) <= max;
+    }
+
     /** Prevent this class from ever being instantiated. */
     private RandomIterFactory() {
     }
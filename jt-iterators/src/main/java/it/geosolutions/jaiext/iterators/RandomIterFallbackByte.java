@@ -24,7 +24,6 @@ import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 
 import javax.media.jai.PlanarImage;
-import javax.media.jai.iterator.RandomIter;
 
 /**
  * Slight modified version of JAI {@link RandomIterFallbackNoCacheNoArray} that uses byte vectors to handle indexes rather than int vector. This way we use 4x4
@@ -32,7 +31,7 @@ import javax.media.jai.iterator.RandomIter;
  * 
  * @author Simone Giannecchini, GeoSolutions SAS
  */
-public class RandomIterFallbackByte implements RandomIter {
+public class RandomIterFallbackByte implements CachedTilesRandomIter {
 
     protected RenderedImage im;
 
@@ -58,12 +57,36 @@ public class RandomIterFallbackByte implements RandomIter {
 
     protected byte[] yTiles;
 
+    /** Most recently used tiles */
+    private final TileLRU tiles;
+
+    /** Reader used for the bulk reads */
+    private final BulkSampleReader bulkReader;
+
     public RandomIterFallbackByte(RenderedImage im, Rectangle bounds) {
+        this(im, bounds, 1);
+    }
+
+    /**
+     * Creates a new iterator keeping the last tileCacheSize tiles used.
+     */
+    public RandomIterFallbackByte(RenderedImage im, Rectangle bounds, int tileCacheSize) {
+        this(im, bounds, new TileLRU(im, tileCacheSize), null);
+    }
+
+    /**
+     * Creates a new iterator using the input tiles for the single sample accesses and the bulkTiles for the bulk reads (if <code>null</code> the
+     * same tiles are used).
+     */
+    RandomIterFallbackByte(RenderedImage im, Rectangle bounds, TileLRU tiles, TileLRU bulkTiles) {
         this.im = im;
+        this.tiles = tiles;
 
         Rectangle imBounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(),
                 im.getHeight());
         this.boundsRect = imBounds.intersection(bounds);
+        this.bulkReader = new BulkSampleReader(im, boundsRect,
+                bulkTiles != null ? bulkTiles : tiles);
         this.sampleModel = im.getSampleModel();
 
         int x = boundsRect.x;
@@ -113,7 +136,7 @@ public class RandomIterFallbackByte implements RandomIter {
      * @param xLocal the X coordinate in the local coordinate system.
      * @param yLocal the Y coordinate in the local coordinate system.
      */
-    private void makeCurrent(int xLocal, int yLocal) {
+    protected void makeCurrent(int xLocal, int yLocal) {
         int xIDNew = xTiles[xLocal];
         int yIDNew = yTiles[yLocal];
 
@@ -121,7 +144,7 @@ public class RandomIterFallbackByte implements RandomIter {
             xID = xIDNew;
             yID = yIDNew;
 
-            Raster tile = im.getTile(xID, yID);
+            Raster tile = tiles.getTile(xID, yID);
 
             this.dataBuffer = tile.getDataBuffer();
             this.sampleModelTranslateX = tile.getSampleModelTranslateX();
@@ -171,9 +194,43 @@ public class RandomIterFallbackByte implements RandomIter {
                 dataBuffer);
     }
 
+    public byte[] getSamples(int x, int y, int width, int height, int b, byte[] bArray) {
+        return bulkReader.getSamples(x, y, width, height, b, bArray);
+    }
+
+    public short[] getSamples(int x, int y, int width, int height, int b, short[] sArray) {
+        return bulkReader.getSamples(x, y, width, height, b, sArray);
+    }
+
+    public int[] getSamples(int x, int y, int width, int height, int b, int[] iArray) {
+        return bulkReader.getSamples(x, y, width, height, b, iArray);
+    }
+
+    public float[] getSamples(int x, int y, int width, int height, int b, float[] fArray) {
+        return bulkReader.getSamples(x, y, width, height, b, fArray);
+    }
+
+    public double[] getSamples(int x, int y, int width, int height, int b, double[] dArray) {
+        return bulkReader.getSamples(x, y, width, height, b, dArray);
+    }
+
+    public int getTileCacheSize() {
+        return tiles.getSize();
+    }
+
+    public long getTileSwitchCount() {
+        return tiles.getSwitchCount();
+    }
+
+    public long getSavedTileSwitchCount() {
+        return tiles.getSavedSwitchCount();
+    }
+
     public void done() {
         xTiles = null;
         yTiles = null;
         dataBuffer = null;
+        bulkReader.done();
+        tiles.clear();
     }
 }
@@ -23,13 +23,12 @@ import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 
 import javax.media.jai.PlanarImage;
-import javax.media.jai.iterator.RandomIter;
 
 /**
  * Modified version of JAI {@link RandomIterFallbackByte} that stores the tile positions in a int array. The current tile is not cached but it is
  * calculated every time.
  */
-public class RandomIterFallbackIntNoCache implements RandomIter {
+public class RandomIterFallbackIntNoCache implements BulkRandomIter {
 
     protected RenderedImage im;
 
@@ -45,12 +44,16 @@ public class RandomIterFallbackIntNoCache implements RandomIter {
 
     private int[] yTiles;
 
+    /** Reader used for the bulk reads */
+    private final BulkSampleReader bulkReader;
+
     public RandomIterFallbackIntNoCache(RenderedImage im, Rectangle bounds) {
         this.im = im;
 
         Rectangle imBounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(),
                 im.getHeight());
         this.boundsRect = imBounds.intersection(bounds);
+        this.bulkReader = new BulkSampleReader(im, boundsRect, null);
         this.sampleModel = im.getSampleModel();
 
         this.boundsX = boundsRect.x;
@@ -179,8 +182,29 @@ public class RandomIterFallbackIntNoCache implements RandomIter {
                 tile.getDataBuffer());
     }
 
+    public byte[] getSamples(int x, int y, int width, int height, int b, byte[] bArray) {
+        return bulkReader.getSamples(x, y, width, height, b, bArray);
+    }
+
+    public short[] getSamples(int x, int y, int width, int height, int b, short[] sArray) {
+        return bulkReader.getSamples(x, y, width, height, b, sArray);
+    }
+
+    public int[] getSamples(int x, int y, int width, int height, int b, int[] iArray) {
+        return bulkReader.getSamples(x, y, width, height, b, iArray);
+    }
+
+    public float[] getSamples(int x, int y, int width, int height, int b, float[] fArray) {
+        return bulkReader.getSamples(x, y, width, height, b, fArray);
+    }
+
+    public double[] getSamples(int x, int y, int width, int height, int b, double[] dArray) {
+        return bulkReader.getSamples(x, y, width, height, b, dArray);
+    }
+
     public void done() {
         xTiles = null;
         yTiles = null;
+        bulkReader.done();
     }
 }
@@ -0,0 +1,35 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.image.RenderedImage;
+
+import javax.media.jai.TileCache;
+
+/**
+ * Optional interface of the {@link TileCache} implementations which can check whether a tile is cached without looking it up. Unlike
+ * {@link TileCache#getTile(RenderedImage, int, int)}, the check does not record a hit or a miss and does not count as an access to the tile
+ * for the cache eviction. {@link TilePrefetcher} uses it for skipping the tiles which are already cached.
+ */
+public interface TileCacheProbe {
+
+    /**
+     * Returns <code>true</code> if the selected tile is in the cache. The cache statistics and the tile access order are not modified.
+     */
+    boolean containsTile(RenderedImage owner, int tileX, int tileY);
+}
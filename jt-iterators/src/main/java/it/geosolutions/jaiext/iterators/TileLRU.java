@@ -0,0 +1,122 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+
+/**
+ * Small cache of the most recently used tiles of an image, used by the iterators of this package. The number of tiles is expected to be small
+ * (usually from 1 to 8) so the tiles are kept in arrays in most recently used order and searched linearly. This class is not thread safe, like the
+ * iterators using it. Subclasses may change how the tiles are requested to the image and released.
+ */
+class TileLRU {
+
+    protected final RenderedImage im;
+
+    private final int size;
+
+    private final int[] tileXs;
+
+    private final int[] tileYs;
+
+    private final Raster[] tiles;
+
+    /** Number of tiles currently kept */
+    private int count;
+
+    private long switchCount;
+
+    private long savedSwitchCount;
+
+    TileLRU(RenderedImage im, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Tile cache size should be at least 1");
+        }
+        this.im = im;
+        this.size = size;
+        this.tileXs = new int[size];
+        this.tileYs = new int[size];
+        this.tiles = new Raster[size];
+    }
+
+    /**
+     * Returns the requested tile, taking it from the kept tiles if possible. The returned tile becomes the most recently used one.
+     */
+    Raster getTile(int tileX, int tileY) {
+        switchCount++;
+        for (int i = 0; i < count; i++) {
+            if (tileXs[i] == tileX && tileYs[i] == tileY) {
+                savedSwitchCount++;
+                Raster tile = tiles[i];
+                moveToFront(i, tileX, tileY, tile);
+                return tile;
+            }
+        }
+        Raster tile = loadTile(tileX, tileY);
+        if (count < size) {
+            count++;
+        } else {
+            releaseTile(tileXs[count - 1], tileYs[count - 1]);
+        }
+        moveToFront(count - 1, tileX, tileY, tile);
+        return tile;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getSwitchCount() {
+        return switchCount;
+    }
+
+    long getSavedSwitchCount() {
+        return savedSwitchCount;
+    }
+
+    /** Releases all the kept tiles */
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            releaseTile(tileXs[i], tileYs[i]);
+            tiles[i] = null;
+        }
+        count = 0;
+    }
+
+    /** Requests a tile to the image */
+    Raster loadTile(int tileX, int tileY) {
+        return im.getTile(tileX, tileY);
+    }
+
+    /** Called when a tile is not kept anymore */
+    void releaseTile(int tileX, int tileY) {
+    }
+
+    /** Shifts the tiles before the index i by one position and stores the input tile in the first position */
+    private void moveToFront(int i, int tileX, int tileY, Raster tile) {
+        if (i > 0) {
+            System.arraycopy(tileXs, 0, tileXs, 1, i);
+            System.arraycopy(tileYs, 0, tileYs, 1, i);
+            System.arraycopy(tiles, 0, tiles, 1, i);
+        }
+        tileXs[0] = tileX;
+        tileYs[0] = tileY;
+        tiles[0] = tile;
+    }
+}
@@ -0,0 +1,115 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.RenderedImage;
+
+import javax.media.jai.JAI;
+import javax.media.jai.OpImage;
+import javax.media.jai.PlanarImage;
+import javax.media.jai.RenderedOp;
+import javax.media.jai.TileCache;
+
+/**
+ * Utility class used by the operations reading their sources through a {@link javax.media.jai.iterator.RandomIter} for prefetching the source
+ * tiles needed by a destination tile. The operation maps the destination tile bounds back to the source and calls
+ * {@link #prefetch(RenderedImage, Rectangle)} before starting the inner loop: the source tiles intersecting the mapped region are queued on the
+ * JAI {@link javax.media.jai.TileScheduler} with {@link PlanarImage#prefetchTiles(Point[])}, so that they are computed in parallel by the prefetch
+ * threads instead of one at a time by the iterator. If the tile cache implements {@link TileCacheProbe}, the tiles already cached are skipped;
+ * other caches are not probed, since a lookup would be counted as a cache access.
+ * <p>
+ * Prefetching is done only if the default TileScheduler has a prefetch parallelism greater than 0 and the source image is an {@link OpImage}
+ * (directly or as rendering of a {@link RenderedOp}) with a tile cache, since otherwise the prefetched tiles would be computed again when
+ * requested. It can be disabled by setting the {@link #PREFETCH_KEY} system property to false or by calling {@link #setEnabled(boolean)}.
+ */
+public final class TilePrefetcher {
+
+    /** System property used for disabling the prefetch */
+    public static final String PREFETCH_KEY = "jaiext.prefetch";
+
+    /** Minimum number of missing tiles for which prefetching is worth, a single tile is computed by the iterator itself */
+    private static final int MIN_PREFETCHED_TILES = 2;
+
+    private static volatile boolean enabled = Boolean.valueOf(System.getProperty(PREFETCH_KEY,
+            "true"));
+
+    private TilePrefetcher() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TilePrefetcher.enabled = enabled;
+    }
+
+    /**
+     * Queues for prefetching the tiles of the image intersecting the input region and, if the tile cache is a {@link TileCacheProbe}, not
+     * already cached.
+     * 
+     * @param image the source image
+     * @param region the source region which is going to be read, in the image coordinates
+     * @return the number of tiles queued
+     */
+    public static int prefetch(RenderedImage image, Rectangle region) {
+        if (!enabled || image == null || region == null || region.isEmpty()
+                || JAI.getDefaultInstance().getTileScheduler().getPrefetchParallelism() <= 0) {
+            return 0;
+        }
+        PlanarImage target = null;
+        if (image instanceof RenderedOp) {
+            target = ((RenderedOp) image).getRendering();
+        } else if (image instanceof PlanarImage) {
+            target = (PlanarImage) image;
+        }
+        if (!(target instanceof OpImage)) {
+            return 0;
+        }
+        TileCache cache = ((OpImage) target).getTileCache();
+        if (cache == null) {
+            return 0;
+        }
+        Point[] indices = target.getTileIndices(region.intersection(target.getBounds()));
+        if (indices == null) {
+            return 0;
+        }
+        // Only the missing tiles are prefetched, when the cache can tell them apart without a lookup
+        int missing = 0;
+        if (cache instanceof TileCacheProbe) {
+            TileCacheProbe probe = (TileCacheProbe) cache;
+            for (int i = 0; i < indices.length; i++) {
+                Point index = indices[i];
+                if (!probe.containsTile(target, index.x, index.y)) {
+                    indices[missing++] = index;
+                }
+            }
+        } else {
+            missing = indices.length;
+        }
+        if (missing < MIN_PREFETCHED_TILES) {
+            return 0;
+        }
+        Point[] prefetched = new Point[missing];
+        System.arraycopy(indices, 0, prefetched, 0, missing);
+        target.prefetchTiles(prefetched);
+        return missing;
+    }
+}
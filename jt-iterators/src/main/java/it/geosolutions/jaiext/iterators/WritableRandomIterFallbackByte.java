@@ -0,0 +1,86 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.Rectangle;
+import java.awt.image.WritableRenderedImage;
+
+import javax.media.jai.iterator.WritableRandomIter;
+
+/**
+ * Writable version of {@link RandomIterFallbackByte}. The tiles are checked out for writing when first accessed and kept until they are
+ * removed from the last tileCacheSize tiles used or until {@link #done()} is called.
+ */
+public class WritableRandomIterFallbackByte extends RandomIterFallbackByte implements
+        WritableRandomIter {
+
+    public WritableRandomIterFallbackByte(WritableRenderedImage im, Rectangle bounds) {
+        this(im, bounds, 1);
+    }
+
+    /**
+     * Creates a new iterator keeping the last tileCacheSize tiles used checked out for writing.
+     */
+    public WritableRandomIterFallbackByte(WritableRenderedImage im, Rectangle bounds,
+            int tileCacheSize) {
+        // Bulk reads use their own read only tiles, so that they never release the tile currently written
+        super(im, bounds, new WritableTileLRU(im, tileCacheSize), new TileLRU(im, tileCacheSize));
+    }
+
+    public void setSample(int x, int y, int b, int s) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setSample(x - sampleModelTranslateX, y - sampleModelTranslateY, b, s,
+                dataBuffer);
+    }
+
+    public void setSample(int x, int y, int b, float s) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setSample(x - sampleModelTranslateX, y - sampleModelTranslateY, b, s,
+                dataBuffer);
+    }
+
+    public void setSample(int x, int y, int b, double s) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setSample(x - sampleModelTranslateX, y - sampleModelTranslateY, b, s,
+                dataBuffer);
+    }
+
+    public void setPixel(int x, int y, int[] iArray) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, iArray,
+                dataBuffer);
+    }
+
+    public void setPixel(int x, int y, float[] fArray) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, fArray,
+                dataBuffer);
+    }
+
+    public void setPixel(int x, int y, double[] dArray) {
+        makeCurrent(x - boundsX, y - boundsY);
+
+        sampleModel.setPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, dArray,
+                dataBuffer);
+    }
+}
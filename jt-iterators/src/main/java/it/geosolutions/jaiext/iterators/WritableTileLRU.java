@@ -0,0 +1,43 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.iterators;
+
+import java.awt.image.Raster;
+import java.awt.image.WritableRenderedImage;
+
+/**
+ * {@link TileLRU} keeping the tiles of a {@link WritableRenderedImage} checked out for writing. Each tile is obtained with
+ * {@link WritableRenderedImage#getWritableTile(int, int)} and released with {@link WritableRenderedImage#releaseWritableTile(int, int)} when it
+ * is removed from the kept tiles or when the iterator is done.
+ */
+final class WritableTileLRU extends TileLRU {
+
+    WritableTileLRU(WritableRenderedImage im, int size) {
+        super(im, size);
+    }
+
+    @Override
+    Raster loadTile(int tileX, int tileY) {
+        return ((WritableRenderedImage) im).getWritableTile(tileX, tileY);
+    }
+
+    @Override
+    void releaseTile(int tileX, int tileY) {
+        ((WritableRenderedImage) im).releaseWritableTile(tileX, tileY);
+    }
+}
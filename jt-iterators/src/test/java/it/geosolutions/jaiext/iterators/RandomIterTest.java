@@ -18,14 +18,32 @@
 package it.geosolutions.jaiext.iterators;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
-
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.media.jai.JAI;
+import javax.media.jai.RenderedOp;
+import javax.media.jai.TileScheduler;
 import javax.media.jai.TiledImage;
 import javax.media.jai.iterator.RandomIter;
+import javax.media.jai.iterator.WritableRandomIter;
+import javax.media.jai.operator.AddConstDescriptor;
+
+import com.sun.media.jai.util.SunTileCache;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -335,6 +353,107 @@ public class RandomIterTest {
         }
     }
 
+    // This tests checks the bulk reads of all the RandomIter types on images with different tile layouts.
+    @Test
+    public void testBulkRead() {
+        RenderedImage interleaved = new TiledImage(
+                new PixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 254, 254, 3, 3 * 254,
+                        new int[] { 2, 1, 0 }), 64, 64);
+        ((TiledImage) interleaved).set(testImageByte);
+        RenderedImage[] images = new RenderedImage[] { testImageByte, testImageShort,
+                testImageIntIMGFloat, testImageByteIMGDouble, interleaved };
+        for (RenderedImage img : images) {
+            testBulkRead(img, true, true);
+            testBulkRead(img, false, true);
+            testBulkRead(img, false, false);
+        }
+    }
+
+    // This tests checks that the tiles kept by the iterators avoid new tile requests when the accesses alternate between a few tiles.
+    @Test
+    public void testTileCache() {
+        CachedTilesRandomIter iter = (CachedTilesRandomIter) RandomIterFactory.create(
+                testImageByte, null, true, true, 4);
+        RandomIter singleTileIter = RandomIterFactory.create(testImageByte, null, true, true);
+        assertEquals(4, iter.getTileCacheSize());
+        // Accesses around the corner of 4 tiles, as done by a rotation
+        for (int i = 0; i < 100; i++) {
+            int x = 63 + (i & 1);
+            int y = 63 + ((i >> 1) & 1);
+            assertEquals(singleTileIter.getSample(x, y, 0), iter.getSample(x, y, 0));
+        }
+        assertEquals(100, iter.getTileSwitchCount());
+        // Only the first access to each tile requests it to the image
+        assertEquals(96, iter.getSavedTileSwitchCount());
+        iter.done();
+        singleTileIter.done();
+    }
+
+    // This tests checks the writable iterators and the release of the tiles checked out for writing.
+    @Test
+    public void testWritableIter() {
+        TiledImage image = (TiledImage) createTestImage(DataBuffer.TYPE_INT, 254, 254, 64, 64);
+        WritableRandomIter iter = RandomIterFactory.createWritable(image, null, 4);
+        assertTrue(iter instanceof WritableRandomIterFallbackByte);
+        // Writes around the corner of 4 tiles and on the whole image
+        for (int i = 0; i < 1000; i++) {
+            int x = i % 4 == 0 ? (i * 7) % 254 : 63 + (i & 1);
+            int y = i % 4 == 0 ? (i * 13) % 254 : 63 + ((i >> 1) & 1);
+            iter.setSample(x, y, 0, i);
+            assertEquals(i, iter.getSample(x, y, 0));
+            assertEquals(i, image.getSample(x, y, 0));
+        }
+        assertTrue(((CachedTilesRandomIter) iter).getSavedTileSwitchCount() > 0);
+        assertTrue(image.hasTileWriters());
+        iter.done();
+        assertFalse(image.hasTileWriters());
+    }
+
+    // This tests checks that only the source tiles not yet cached are prefetched, when the tile cache can tell them apart without a lookup.
+    @Test
+    public void testPrefetch() {
+        TileScheduler scheduler = JAI.getDefaultInstance().getTileScheduler();
+        int parallelism = scheduler.getPrefetchParallelism();
+        scheduler.setPrefetchParallelism(2);
+        try {
+            RenderingHints hints = new RenderingHints(JAI.KEY_TILE_CACHE, new ProbingTileCache());
+            RenderedOp op = AddConstDescriptor.create(testImageByte, new double[] { 1 }, hints);
+            Rectangle region = new Rectangle(0, 0, 128, 128);
+            // In memory images are never prefetched
+            assertEquals(0, TilePrefetcher.prefetch(testImageByte, region));
+
+            TilePrefetcher.setEnabled(false);
+            assertEquals(0, TilePrefetcher.prefetch(op, region));
+            TilePrefetcher.setEnabled(true);
+
+            // Once computed, the tiles are not prefetched again
+            op.getTile(0, 0);
+            int prefetched = TilePrefetcher.prefetch(op, region);
+            assertTrue(prefetched <= 3);
+            op.getTiles();
+            assertEquals(0, TilePrefetcher.prefetch(op, region));
+            op.dispose();
+
+            // The presence of the tiles is checked without looking them up
+            ProbingTileCache cache = new ProbingTileCache();
+            op = AddConstDescriptor.create(testImageByte, new double[] { 2 },
+                    new RenderingHints(JAI.KEY_TILE_CACHE, cache));
+            op.getTiles();
+            int lookups = cache.lookups.get();
+            assertEquals(0, TilePrefetcher.prefetch(op, region));
+            assertEquals(lookups, cache.lookups.get());
+            op.dispose();
+
+            // Caches which cannot be probed are not filtered
+            op = AddConstDescriptor.create(testImageByte, new double[] { 3 }, null);
+            op.getTiles();
+            assertEquals(4, TilePrefetcher.prefetch(op, region));
+            op.dispose();
+        } finally {
+            scheduler.setPrefetchParallelism(parallelism);
+        }
+    }
+
     /** Simple method for image creation */
     public static RenderedImage createTestImage(int dataType, int width, int height, int tileW,
             int tileH) {
@@ -434,6 +553,37 @@ public class RandomIterTest {
         }
     }
 
+    /** Method for testing the bulk reads of the selected RandomIter against the single sample reads */
+    public void testBulkRead(RenderedImage img, boolean cachedTiles, boolean arrayCalculation) {
+        BulkRandomIter iter = (BulkRandomIter) RandomIterFactory.create(img, null, cachedTiles,
+                arrayCalculation);
+        // A row crossing many tiles and a 3x3 neighbourhood crossing a tile corner
+        int[][] rects = new int[][] { { 1, 5, 250, 1 }, { 63, 63, 3, 3 } };
+        for (int[] rect : rects) {
+            int x = rect[0];
+            int y = rect[1];
+            int width = rect[2];
+            int height = rect[3];
+            byte[] bArray = iter.getSamples(x, y, width, height, 0, (byte[]) null);
+            short[] sArray = iter.getSamples(x, y, width, height, 0, (short[]) null);
+            int[] iArray = iter.getSamples(x, y, width, height, 0, new int[width * height]);
+            float[] fArray = iter.getSamples(x, y, width, height, 0, (float[]) null);
+            double[] dArray = iter.getSamples(x, y, width, height, 0, (double[]) null);
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    int index = j * width + i;
+                    int expected = iter.getSample(x + i, y + j, 0);
+                    assertEquals((byte) expected, bArray[index]);
+                    assertEquals((short) expected, sArray[index]);
+                    assertEquals(expected, iArray[index]);
+                    assertEquals(iter.getSampleFloat(x + i, y + j, 0), fArray[index], 0);
+                    assertEquals(iter.getSampleDouble(x + i, y + j, 0), dArray[index], 0);
+                }
+            }
+        }
+        iter.done();
+    }
+
     /** Method for testing the one of the 3 types of RandomIter on the selected image */
     public void testIteratorSpeed(RenderedImage img, boolean cachedTiles, boolean arrayCalculation, boolean subsequentIterator) {
         // RandomIter used
@@ -522,4 +672,27 @@ public class RandomIterTest {
         iter.done();
     }
 
+    /** Tile cache tracking the tiles added, so that their presence can be checked without a lookup */
+    private static class ProbingTileCache extends SunTileCache implements TileCacheProbe {
+
+        private final Set<Point> tiles = Collections.synchronizedSet(new HashSet<Point>());
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public void add(RenderedImage owner, int tileX, int tileY, Raster data, Object tileCacheMetric) {
+            super.add(owner, tileX, tileY, data, tileCacheMetric);
+            tiles.add(new Point(tileX, tileY));
+        }
+
+        @Override
+        public Raster getTile(RenderedImage owner, int tileX, int tileY) {
+            lookups.incrementAndGet();
+            return super.getTile(owner, tileX, tileY);
+        }
+
+        public boolean containsTile(RenderedImage owner, int tileX, int tileY) {
+            return tiles.contains(new Point(tileX, tileY));
+        }
+    }
 }
@@ -154,6 +154,9 @@ public class MosaicOpImage extends OpImage {
     /** The format tag for the destination image */
     private RasterFormatTag rasterFormatTag;
 
+    /** Spatial index of the source bounds */
+    private final MosaicSourceIndex sourceIndex;
+
     /** Enumerator for the type of mosaic weigher */
     public enum WeightType {
         WEIGHT_TYPE_ALPHA, WEIGHT_TYPE_ROI, WEIGHT_TYPE_NODATA;
@@ -786,6 +789,14 @@ public class MosaicOpImage extends OpImage {
                 }
             }
         }
+
+        // Index of the source bounds, used for selecting the sources of each tile
+        Rectangle[] sourceBounds = new Rectangle[numSources];
+        for (int i = 0; i < numSources; i++) {
+            sourceBounds[i] = getSourceImage(i).getBounds();
+        }
+        sourceIndex = new MosaicSourceIndex(sourceBounds, getBounds(), getTileGridXOffset(),
+                getTileGridYOffset(), getTileWidth(), getTileHeight());
     }
 
     private LookupTable buildNoDataLookupTable(int dataType, Range noDataRange) {
@@ -865,8 +876,9 @@ public class MosaicOpImage extends OpImage {
 
         // This method calculates the tile active area.
         Rectangle destRectangle = getTileRect(tileX, tileY);
-        // Stores the source image number
-        int numSources = getNumSources();
+        // Only the sources intersecting the tile are visited, in priority order
+        int[] intersectingSources = sourceIndex.query(destRectangle);
+        int numSources = intersectingSources.length;
         // Initialization of a new RasterBean for passing all the raster information
         // to the compute rect method
         Raster[] sourceRasters = new Raster[numSources];
@@ -875,21 +887,30 @@ public class MosaicOpImage extends OpImage {
         Raster[] alphaRasters = new Raster[numSources];
         Raster[] roiRasters = new Raster[numSources];
         Range[] noDataRanges = new Range[numSources];
+        // No Data flags and lookup tables of the sources, stored like the other arrays
+        boolean[] noDataUsed = new boolean[numSources];
+        byte[][][] lookupTables = new byte[numSources][][];
         ColorModel[] alphaChannelColorModels = new ColorModel[numSources];
         // The previous array is filled with the source raster data
+        boolean[] sharedRasters = new boolean[numSources];
         int intersectingSourceCount = 0;
-        for (int i = 0; i < numSources; i++) {
+        // In OVERLAY mode a pixel takes the value of the first valid source, so the sources
+        // after the ones covering the whole tile are never used and are not fetched at all
+        boolean overlay = mosaicTypeSelected == MosaicDescriptor.MOSAIC_TYPE_OVERLAY;
+        boolean[] coverage = null;
+        int uncovered = destRectangle.width * destRectangle.height;
+        for (int k = 0; k < numSources && uncovered > 0; k++) {
+            int i = intersectingSources[k];
             PlanarImage source = getSourceImage(i);
-            Rectangle srcRect = mapDestRect(destRectangle, i);
-            Raster data = null;
-            // First, check if the source mapped rectangle is not empty
-            if (!(srcRect != null && srcRect.isEmpty())) {
-                // Get the source data from the source or the padded image.
-                if (source.getBounds().contains(destRectangle)) {
-                    data = source.getData(destRectangle);
-                } else {
-                    data = imageBeans[i].getImage().getData(destRectangle);
-                }
+            // Get the source data from the source or the padded image, without copies when the
+            // tile contains it
+            RenderedImage sourceImage = source.getBounds().contains(destRectangle) ? source
+                    : imageBeans[i].getImage();
+            Raster data = getTileData(sourceImage, destRectangle);
+            if (data != null) {
+                sharedRasters[intersectingSourceCount] = true;
+            } else {
+                data = sourceImage.getData(destRectangle);
             }
             // Raster bean initialization
             // If the data are present then we can check if Alpha and ROI are present
@@ -898,20 +919,36 @@ public class MosaicOpImage extends OpImage {
                 sourceTags[intersectingSourceCount] = imageBeans[i].getRasterFormatTag();
                 sourceColorModels[intersectingSourceCount] = imageBeans[i].getColorModel();
                 noDataRanges[intersectingSourceCount] = imageBeans[i].getSourceNoData();
+                noDataUsed[intersectingSourceCount] = hasNoData[i];
+                lookupTables[intersectingSourceCount] = byteLookupTable[i];
 
                 // Get the Alpha data from the padded alpha image if present
                 PlanarImage alpha = imageBeans[i].getAlphaChannel();
                 if (alphaPresent && alpha != null) {
-                    alphaRasters[intersectingSourceCount] = alpha.getData(destRectangle);
+                    alphaRasters[intersectingSourceCount] = readSourceData(alpha, destRectangle);
                     alphaChannelColorModels[intersectingSourceCount] = imageBeans[i].getAlphaChannel().getColorModel();
                 }
 
                 // Get the ROI data from the padded ROI image if present
                 RenderedImage roi = imageBeans[i].getRoiImage();
                 if (roiPresent && roi != null) {
-                    roiRasters[intersectingSourceCount] = roi.getData(destRectangle);
+                    roiRasters[intersectingSourceCount] = readSourceData(roi, destRectangle);
+                }
+
+                // Update the pixels covered with valid data
+                if (overlay) {
+                    if (coversRect(i, destRectangle)) {
+                        uncovered = 0;
+                    } else if (!hasNoData[i]) {
+                        if (coverage == null) {
+                            coverage = new boolean[destRectangle.width * destRectangle.height];
+                        }
+                        uncovered -= updateCoverage(coverage, destRectangle, source.getBounds(),
+                                alphaRasters[intersectingSourceCount],
+                                roiRasters[intersectingSourceCount]);
+                    }
                 }
-                
+
                 intersectingSourceCount++;
             }
 
@@ -919,13 +956,15 @@ public class MosaicOpImage extends OpImage {
         
         // For the given source destination rasters, the mosaic is calculated
         computeRect(sourceRasters, sourceTags, sourceColorModels, destRaster, destRectangle,
-                alphaRasters, roiRasters, noDataRanges, alphaChannelColorModels, intersectingSourceCount);
+                alphaRasters, roiRasters, noDataRanges, noDataUsed, lookupTables,
+                alphaChannelColorModels, intersectingSourceCount);
 
-        // Tile recycling if the Recycle is present
+        // Tile recycling if the Recycle is present. Only the copies can be recycled, the source
+        // tiles read directly may be still referenced by the tile cache
         for (int i = 0; i < intersectingSourceCount; i++) {
             Raster sourceData = sourceRasters[i];
-            if (sourceData != null) {
-                PlanarImage source = getSourceImage(i);
+            if (sourceData != null && !sharedRasters[i]) {
+                PlanarImage source = getSourceImage(intersectingSources[i]);
 
                 if (source.overlapsMultipleTiles(sourceData.getBounds())) {
                     recycleTile(sourceData);
@@ -937,9 +976,103 @@ public class MosaicOpImage extends OpImage {
 
     }
 
+    /**
+     * Tile level check telling if the source has valid data on the whole rectangle: the source
+     * must contain it, have no No Data and no alpha, and its ROI, if any, must contain it.
+     */
+    private boolean coversRect(int sourceIndex, Rectangle rect) {
+        ImageMosaicBean bean = imageBeans[sourceIndex];
+        if (hasNoData[sourceIndex] || (alphaPresent && bean.getAlphaChannel() != null)
+                || !getSourceImage(sourceIndex).getBounds().contains(rect)) {
+            return false;
+        }
+        ROI roi = roiPresent ? bean.getRoi() : null;
+        return roi == null || roi.contains(rect);
+    }
+
+    /**
+     * Marks the pixels of the rectangle where a source without No Data is valid, i.e. inside its
+     * bounds, with a non zero alpha and inside its ROI.
+     * 
+     * @param coverage the covered pixels of the rectangle
+     * @param rect the destination rectangle
+     * @param sourceBounds the source bounds
+     * @param alphaRaster the source alpha, may be <code>null</code>
+     * @param roiRaster the source ROI, may be <code>null</code>
+     * @return the number of pixels covered by this source and not by the previous ones
+     */
+    private static int updateCoverage(boolean[] coverage, Rectangle rect, Rectangle sourceBounds,
+            Raster alphaRaster, Raster roiRaster) {
+        Rectangle area = rect.intersection(sourceBounds);
+        if (area.isEmpty()) {
+            return 0;
+        }
+        double[] alphaRow = alphaRaster != null ? new double[area.width] : null;
+        int[] roiRow = roiRaster != null ? new int[area.width] : null;
+        int covered = 0;
+        for (int y = area.y; y < area.y + area.height; y++) {
+            if (alphaRow != null) {
+                alphaRaster.getSamples(area.x, y, area.width, 1, 0, alphaRow);
+            }
+            if (roiRow != null) {
+                roiRaster.getSamples(area.x, y, area.width, 1, 0, roiRow);
+            }
+            int index = (y - rect.y) * rect.width + (area.x - rect.x);
+            for (int x = 0; x < area.width; x++, index++) {
+                if (!coverage[index] && (alphaRow == null || alphaRow[x] != 0)
+                        && (roiRow == null || roiRow[x] > 0)) {
+                    coverage[index] = true;
+                    covered++;
+                }
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Returns the data of the image inside the rectangle, reading the image tile directly if it
+     * contains the whole rectangle.
+     */
+    private static Raster readSourceData(RenderedImage image, Rectangle rect) {
+        Raster data = getTileData(image, rect);
+        return data != null ? data : image.getData(rect);
+    }
+
+    /**
+     * Returns the image tile, or a child of it, if the rectangle lies inside a single tile with a
+     * sample model compatible with the image one, <code>null</code> otherwise. The returned raster
+     * shares the tile data, so it must be neither modified nor recycled.
+     */
+    private static Raster getTileData(RenderedImage image, Rectangle rect) {
+        int tileX = XToTileX(rect.x, image.getTileGridXOffset(), image.getTileWidth());
+        int tileY = YToTileY(rect.y, image.getTileGridYOffset(), image.getTileHeight());
+        if (tileX != XToTileX(rect.x + rect.width - 1, image.getTileGridXOffset(),
+                image.getTileWidth())
+                || tileY != YToTileY(rect.y + rect.height - 1, image.getTileGridYOffset(),
+                        image.getTileHeight())) {
+            return null;
+        }
+        Raster tile = image.getTile(tileX, tileY);
+        if (tile == null || !tile.getBounds().contains(rect)) {
+            return null;
+        }
+        SampleModel sm = image.getSampleModel();
+        SampleModel tileSM = tile.getSampleModel();
+        if (tileSM.getClass() != sm.getClass() || tileSM.getDataType() != sm.getDataType()
+                || tileSM.getNumBands() != sm.getNumBands()) {
+            return null;
+        }
+        if (tile.getBounds().equals(rect)) {
+            return tile;
+        }
+        return tile.createChild(rect.x, rect.y, rect.width, rect.height, rect.x, rect.y, null);
+    }
+
     private void computeRect(Raster[] sourceRasters, RasterFormatTag[] rasterFormatTags,
             ColorModel[] sourceColorModels, WritableRaster destRaster, Rectangle destRectangle,
-            Raster[] alphaRasters, Raster[] roiRasters, Range[] noDataRanges, ColorModel[] alphaChannelColorModels, int sourcesNumber) {
+            Raster[] alphaRasters, Raster[] roiRasters, Range[] noDataRanges,
+            boolean[] noDataUsed, byte[][][] lookupTables, ColorModel[] alphaChannelColorModels,
+            int sourcesNumber) {
 
         // if all null, just return a constant image
         if (sourcesNumber == 0) {
@@ -986,22 +1119,22 @@ public class MosaicOpImage extends OpImage {
 
         switch (dataType) {
         case DataBuffer.TYPE_BYTE:
-            byteLoop(sourceAccessorsArrayBean, destinationAccessor);
+            byteLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed, lookupTables);
             break;
         case DataBuffer.TYPE_USHORT:
-            ushortLoop(sourceAccessorsArrayBean, destinationAccessor);
+            ushortLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed);
             break;
         case DataBuffer.TYPE_SHORT:
-            shortLoop(sourceAccessorsArrayBean, destinationAccessor);
+            shortLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed);
             break;
         case DataBuffer.TYPE_INT:
-            intLoop(sourceAccessorsArrayBean, destinationAccessor);
+            intLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed);
             break;
         case DataBuffer.TYPE_FLOAT:
-            floatLoop(sourceAccessorsArrayBean, destinationAccessor);
+            floatLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed);
             break;
         case DataBuffer.TYPE_DOUBLE:
-            doubleLoop(sourceAccessorsArrayBean, destinationAccessor);
+            doubleLoop(sourceAccessorsArrayBean, destinationAccessor, noDataUsed);
             break;
         }
         // the data are copied back to the destination raster
@@ -1009,7 +1142,8 @@ public class MosaicOpImage extends OpImage {
 
     }
 
-    private void byteLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void byteLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed, byte[][][] lookupTables) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -1185,8 +1319,8 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
-                                isData = !(byteLookupTable[s][b][sourceValueByte
+                            if (noDataUsed[s]) {
+                                isData = !(lookupTables[s][b][sourceValueByte
                                         & 0xFF] == destinationNoDataByte[b]);
                             }
 
@@ -1287,8 +1421,8 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
-                                isData = !(byteLookupTable[s][b][sourceValueByte
+                            if (noDataUsed[s]) {
+                                isData = !(lookupTables[s][b][sourceValueByte
                                         & 0xFF] == destinationNoDataByte[b]);
                             }
                             if (!isData) {
@@ -1342,7 +1476,8 @@ public class MosaicOpImage extends OpImage {
         }
     }
 
-    private void ushortLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void ushortLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -1520,7 +1655,7 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeUShort = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 ;
@@ -1625,7 +1760,7 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeUShort = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 isData = !noDataRangeUShort.contains(sourceValueUshort);
@@ -1681,7 +1816,8 @@ public class MosaicOpImage extends OpImage {
         }
     }
 
-    private void shortLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void shortLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -1857,7 +1993,7 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeShort = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 isData = !noDataRangeShort.contains(sourceValueShort);
@@ -1960,7 +2096,7 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeShort = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 isData = !noDataRangeShort.contains(sourceValueShort);
@@ -2016,7 +2152,8 @@ public class MosaicOpImage extends OpImage {
         }
     }
 
-    private void intLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void intLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -2192,7 +2329,7 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeInt = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 isData = !noDataRangeInt.contains(sourceValueInt);
@@ -2295,7 +2432,7 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeInt = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 isData = !noDataRangeInt.contains(sourceValueInt);
@@ -2351,7 +2488,8 @@ public class MosaicOpImage extends OpImage {
         }
     }
 
-    private void floatLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void floatLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -2528,7 +2666,7 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeFloat = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 if (noDataRangeFloat != null) {
@@ -2633,7 +2771,7 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeFloat = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 if (noDataRangeFloat != null) {
@@ -2693,7 +2831,8 @@ public class MosaicOpImage extends OpImage {
         }
     }
 
-    private void doubleLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst) {
+    private void doubleLoop(RasterBeanAccessor[] srcBean, RasterAccessor dst,
+            boolean[] noDataUsed) {
 
         // Stores the source number
         final int sourcesNumber = srcBean.length;
@@ -2869,7 +3008,7 @@ public class MosaicOpImage extends OpImage {
 
                             // the flag checks if the pixel is a noData
                             boolean isData = true;
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeDouble = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 if (noDataRangeDouble != null) {
@@ -2974,7 +3113,7 @@ public class MosaicOpImage extends OpImage {
                             // If no alpha channel or Roi is present, the weight
                             // is set to 1 or 0 if the pixel has
                             // or not a No Data value
-                            if (hasNoData[s]) {
+                            if (noDataUsed[s]) {
                                 Range noDataRangeDouble = (srcBean[s]
                                         .getSourceNoDataRangeRasterAccessor());
                                 if (noDataRangeDouble != null) {
@@ -0,0 +1,194 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.mosaic;
+
+import java.awt.Rectangle;
+import java.util.BitSet;
+
+/**
+ * Uniform grid index of the mosaic source bounds. The grid cells are aligned with the destination tile grid and contain the indexes of the
+ * sources intersecting them in ascending order, so that a query returns the sources in the same priority order used by the mosaic.
+ */
+final class MosaicSourceIndex {
+
+    /** Maximum number of grid cells, bigger images use cells made of multiple tiles */
+    static final int MAX_CELLS = 64 * 1024;
+
+    private static final int[] EMPTY = new int[0];
+
+    /** Bounds of each source */
+    private final Rectangle[] sourceBounds;
+
+    /** Grid origin and cell size */
+    private final int originX;
+
+    private final int originY;
+
+    private final int cellWidth;
+
+    private final int cellHeight;
+
+    /** Grid size */
+    private final int numCellsX;
+
+    private final int numCellsY;
+
+    /** Indexes of the sources intersecting each cell, in ascending order */
+    private final int[][] cells;
+
+    /**
+     * Creates the index.
+     *
+     * @param sourceBounds the bounds of each source, in priority order
+     * @param bounds the destination image bounds
+     * @param originX the X origin of the destination tile grid
+     * @param originY the Y origin of the destination tile grid
+     * @param tileWidth the destination tile width
+     * @param tileHeight the destination tile height
+     */
+    MosaicSourceIndex(Rectangle[] sourceBounds, Rectangle bounds, int originX, int originY,
+            int tileWidth, int tileHeight) {
+        this.sourceBounds = sourceBounds;
+        // Grid covering the image bounds, aligned with the tile grid
+        int minTileX = floorDiv(bounds.x - originX, tileWidth);
+        int minTileY = floorDiv(bounds.y - originY, tileHeight);
+        long tilesX = Math.max(1, floorDiv(bounds.x + bounds.width - 1 - originX, tileWidth)
+                - minTileX + 1L);
+        long tilesY = Math.max(1, floorDiv(bounds.y + bounds.height - 1 - originY, tileHeight)
+                - minTileY + 1L);
+        // Each cell is made of factor x factor tiles
+        int factor = 1;
+        while (((tilesX + factor - 1) / factor) * ((tilesY + factor - 1) / factor) > MAX_CELLS) {
+            factor *= 2;
+        }
+        this.originX = originX + minTileX * tileWidth;
+        this.originY = originY + minTileY * tileHeight;
+        this.cellWidth = tileWidth * factor;
+        this.cellHeight = tileHeight * factor;
+        this.numCellsX = (int) ((tilesX + factor - 1) / factor);
+        this.numCellsY = (int) ((tilesY + factor - 1) / factor);
+
+        // Count the sources of each cell, then fill them in source order
+        int[] counts = new int[numCellsX * numCellsY];
+        int[] range = new int[4];
+        for (int i = 0; i < sourceBounds.length; i++) {
+            if (cellRange(sourceBounds[i], range)) {
+                for (int cy = range[1]; cy <= range[3]; cy++) {
+                    for (int cx = range[0]; cx <= range[2]; cx++) {
+                        counts[cy * numCellsX + cx]++;
+                    }
+                }
+            }
+        }
+        cells = new int[counts.length][];
+        for (int c = 0; c < counts.length; c++) {
+            cells[c] = counts[c] == 0 ? EMPTY : new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < sourceBounds.length; i++) {
+            if (cellRange(sourceBounds[i], range)) {
+                for (int cy = range[1]; cy <= range[3]; cy++) {
+                    for (int cx = range[0]; cx <= range[2]; cx++) {
+                        int c = cy * numCellsX + cx;
+                        cells[c][counts[c]++] = i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the indexes of the sources whose bounds intersect the input rectangle, in ascending order.
+     */
+    int[] query(Rectangle rect) {
+        int[] range = new int[4];
+        if (!cellRange(rect, range)) {
+            return EMPTY;
+        }
+        if (range[0] == range[2] && range[1] == range[3]) {
+            // Single cell, the usual case for tile sized requests
+            return filter(cells[range[1] * numCellsX + range[0]], rect);
+        }
+        // Union of the cells, the BitSet keeps the ascending order
+        BitSet found = new BitSet(sourceBounds.length);
+        for (int cy = range[1]; cy <= range[3]; cy++) {
+            for (int cx = range[0]; cx <= range[2]; cx++) {
+                for (int i : cells[cy * numCellsX + cx]) {
+                    if (!found.get(i) && sourceBounds[i].intersects(rect)) {
+                        found.set(i);
+                    }
+                }
+            }
+        }
+        int[] result = new int[found.cardinality()];
+        int count = 0;
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result[count++] = i;
+        }
+        return result;
+    }
+
+    /** Returns the sources of the cell intersecting the rectangle */
+    private int[] filter(int[] candidates, Rectangle rect) {
+        int count = 0;
+        int[] result = new int[candidates.length];
+        for (int i : candidates) {
+            if (sourceBounds[i].intersects(rect)) {
+                result[count++] = i;
+            }
+        }
+        if (count == result.length) {
+            return result;
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(result, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * Computes the range of cells covered by the rectangle, clipped to the grid, as minX, minY, maxX, maxY (inclusive).
+     *
+     * @return <code>false</code> if the rectangle is empty or outside the grid
+     */
+    private boolean cellRange(Rectangle rect, int[] range) {
+        if (rect == null || rect.isEmpty()) {
+            return false;
+        }
+        long minX = floorDiv(rect.x - (long) originX, cellWidth);
+        long minY = floorDiv(rect.y - (long) originY, cellHeight);
+        long maxX = floorDiv(rect.x + (long) rect.width - 1 - originX, cellWidth);
+        long maxY = floorDiv(rect.y + (long) rect.height - 1 - originY, cellHeight);
+        if (maxX < 0 || maxY < 0 || minX >= numCellsX || minY >= numCellsY) {
+            return false;
+        }
+        range[0] = (int) Math.max(minX, 0);
+        range[1] = (int) Math.max(minY, 0);
+        range[2] = (int) Math.min(maxX, numCellsX - 1);
+        range[3] = (int) Math.min(maxY, numCellsY - 1);
+        return true;
+    }
+
+    private static int floorDiv(int a, int b) {
+        return (int) floorDiv((long) a, b);
+    }
+
+    private static long floorDiv(long a, long b) {
+        long q = a / b;
+        return (a % b != 0 && (a < 0)) ? q - 1 : q;
+    }
+}
@@ -25,10 +25,14 @@ import java.awt.RenderingHints;
 import java.awt.image.DataBuffer;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
 import java.awt.image.renderable.ParameterBlock;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,7 +41,10 @@ import javax.media.jai.JAI;
 import javax.media.jai.PlanarImage;
 import javax.media.jai.ROI;
 import javax.media.jai.ROIShape;
+import javax.media.jai.RasterFactory;
 import javax.media.jai.RenderedOp;
+import javax.media.jai.TileRecycler;
+import javax.media.jai.TiledImage;
 import javax.media.jai.operator.MosaicType;
 import javax.media.jai.operator.TranslateDescriptor;
 import javax.media.jai.util.ImagingException;
@@ -880,6 +887,231 @@ public class MosaicTest extends TestBase {
 
 	}
 
+	@Test
+	public void testOverlayCoverage() {
+		// The first source covers the whole mosaic with valid data, so the second
+		// one must never be read
+		SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(
+				DataBuffer.TYPE_BYTE, 64, 64, 1);
+		TiledImage first = new TiledImage(0, 0, 256, 256, 0, 0, sm, null);
+		final AtomicInteger requests = new AtomicInteger();
+		TiledImage second = new TiledImage(0, 0, 256, 256, 0, 0, sm, null) {
+			public Raster getTile(int tileX, int tileY) {
+				requests.incrementAndGet();
+				return super.getTile(tileX, tileY);
+			}
+
+			public Raster getData(Rectangle rect) {
+				requests.incrementAndGet();
+				return super.getData(rect);
+			}
+		};
+		RenderedImage mosaic = MosaicDescriptor.create(new RenderedImage[] {
+				first, second }, DEFAULT_MOSAIC_TYPE, null, null, null,
+				new double[] { 0 }, null, null);
+		mosaic.getData();
+		assertEquals(0, requests.get());
+	}
+
+	@Test
+	public void testSkippedNoDataSource() {
+		// Two sources side by side, only one of them with No Data: each tile
+		// touches a single source, which must be checked with its own No Data
+		int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE,
+				DataBuffer.TYPE_USHORT, DataBuffer.TYPE_SHORT,
+				DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+				DataBuffer.TYPE_DOUBLE };
+		for (int dataType : dataTypes) {
+			for (int noDataSource = 0; noDataSource < 2; noDataSource++) {
+				RenderedImage[] sources = new RenderedImage[2];
+				for (int k = 0; k < sources.length; k++) {
+					SampleModel sm = RasterFactory
+							.createPixelInterleavedSampleModel(dataType, 64, 64, 1);
+					TiledImage source = new TiledImage(64 * k, 0, 64, 64, 0, 0,
+							sm, null);
+					for (int y = 0; y < 64; y++) {
+						for (int x = 64 * k; x < 64 * (k + 1); x++) {
+							source.setSample(x, y, 0, (x + y) % 20);
+						}
+					}
+					sources[k] = source;
+				}
+				Range[] noData = new Range[2];
+				noData[noDataSource] = createNoDataRange(dataType, 10);
+				ImageLayout layout = new ImageLayout();
+				layout.setTileGridXOffset(0).setTileGridYOffset(0)
+						.setTileWidth(64).setTileHeight(64);
+				RenderedOp mosaic = MosaicDescriptor.create(sources,
+						DEFAULT_MOSAIC_TYPE, null, null, null,
+						new double[] { 50 }, noData, new RenderingHints(
+								JAI.KEY_IMAGE_LAYOUT, layout));
+				Raster data = mosaic.getData();
+				for (int y = 0; y < 64; y++) {
+					for (int x = 0; x < 128; x++) {
+						int value = (x + y) % 20;
+						int expected = x / 64 == noDataSource && value == 10 ? 50
+								: value;
+						assertEquals(expected, data.getSampleDouble(x, y, 0), 0d);
+					}
+				}
+				mosaic.dispose();
+			}
+		}
+	}
+
+	private static Range createNoDataRange(int dataType, int value) {
+		switch (dataType) {
+		case DataBuffer.TYPE_BYTE:
+			return RangeFactory.create((byte) value, true, (byte) value, true);
+		case DataBuffer.TYPE_USHORT:
+		case DataBuffer.TYPE_SHORT:
+			return RangeFactory.createU((short) value, true, (short) value,
+					true);
+		case DataBuffer.TYPE_INT:
+			return RangeFactory.create(value, true, value, true);
+		case DataBuffer.TYPE_FLOAT:
+			return RangeFactory.create((float) value, true, (float) value,
+					true, true);
+		case DataBuffer.TYPE_DOUBLE:
+			return RangeFactory.create((double) value, true, (double) value,
+					true, true);
+		default:
+			throw new IllegalArgumentException("Wrong data type");
+		}
+	}
+
+	@Test
+	public void testSharedSourceTiles() {
+		// The mosaic tiles are 64x64: the 64x64 source tiles are read directly,
+		// the 128x128 ones through child rasters and the 48x48 ones are copied.
+		// The tiles on the right of the first source skip it, so its No Data
+		// must not be applied to the second one
+		for (int tileSize : new int[] { 48, 64, 128 }) {
+			AtomicInteger requests = new AtomicInteger();
+			TiledImage first = createCountingImage(0, 0, tileSize, 0, requests);
+			TiledImage second = createCountingImage(128, 128, tileSize, 100,
+					requests);
+			TiledImage alpha = new TiledImage(128, 128, 256, 256, 0, 0,
+					second.getSampleModel(), null);
+			for (int y = alpha.getMinY(); y < alpha.getMaxY(); y++) {
+				for (int x = alpha.getMinX(); x < alpha.getMaxX(); x++) {
+					alpha.setSample(x, y, 0, (x + y) % 3 == 0 ? 0 : 255);
+				}
+			}
+			final List<Raster> recycled = new ArrayList<Raster>();
+			TileRecycler recycler = new TileRecycler() {
+				public void recycleTile(Raster tile) {
+					synchronized (recycled) {
+						recycled.add(tile);
+					}
+				}
+			};
+			ImageLayout layout = new ImageLayout();
+			layout.setTileGridXOffset(0).setTileGridYOffset(0).setTileWidth(64)
+					.setTileHeight(64);
+			RenderingHints renderingHints = new RenderingHints(
+					JAI.KEY_IMAGE_LAYOUT, layout);
+			renderingHints.put(JAI.KEY_TILE_RECYCLER, recycler);
+			// The No Data of the first source let the second one be read too
+			RenderedOp mosaic = MosaicDescriptor.create(new RenderedImage[] {
+					first, second }, DEFAULT_MOSAIC_TYPE, new PlanarImage[] {
+					null, alpha }, null, null, new double[] { 255 },
+					new Range[] {
+							RangeFactory.create((byte) 0, true, (byte) 0, true),
+							null }, renderingHints);
+			Raster data = mosaic.getData();
+
+			// The source tiles read directly must never be recycled
+			for (Raster tile : recycled) {
+				for (TiledImage source : new TiledImage[] { first, second, alpha }) {
+					for (int ty = source.getMinTileY(); ty <= source.getMaxTileY(); ty++) {
+						for (int tx = source.getMinTileX(); tx <= source.getMaxTileX(); tx++) {
+							assertTrue(tile.getDataBuffer() != source.getTile(tx, ty)
+									.getDataBuffer());
+						}
+					}
+				}
+			}
+			if (tileSize == 48) {
+				assertTrue(requests.get() > 0);
+				assertTrue(!recycled.isEmpty());
+			} else {
+				assertEquals(0, requests.get());
+				assertTrue(recycled.isEmpty());
+			}
+
+			// The first source valid pixels, then the second source ones with a
+			// non zero alpha, then the background, outside the source values
+			assertEquals(new Rectangle(0, 0, 384, 384), data.getBounds());
+			Rectangle secondBounds = second.getBounds();
+			for (int y = 0; y < 384; y++) {
+				for (int x = 0; x < 384; x++) {
+					int expected = 255;
+					if (x < 256 && y < 256 && first.getSample(x, y, 0) != 0) {
+						expected = first.getSample(x, y, 0);
+					} else if (secondBounds.contains(x, y)
+							&& alpha.getSample(x, y, 0) != 0) {
+						expected = second.getSample(x, y, 0);
+					}
+					assertEquals(expected, data.getSample(x, y, 0));
+				}
+			}
+			mosaic.dispose();
+		}
+	}
+
+	/**
+	 * Creates a 256x256 byte image with the selected tile size, counting the
+	 * calls to getData().
+	 */
+	private static TiledImage createCountingImage(int minX, int minY,
+			int tileSize, int offset, final AtomicInteger requests) {
+		SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(
+				DataBuffer.TYPE_BYTE, tileSize, tileSize, 1);
+		TiledImage image = new TiledImage(minX, minY, 256, 256, 0, 0, sm, null) {
+			public Raster getData(Rectangle rect) {
+				requests.incrementAndGet();
+				return super.getData(rect);
+			}
+		};
+		for (int y = minY; y < minY + 256; y++) {
+			for (int x = minX; x < minX + 256; x++) {
+				image.setSample(x, y, 0, (x * 7 + y * 13 + offset) % 251);
+			}
+		}
+		return image;
+	}
+
+	@Test
+	public void testSourceIndex() {
+		// Many small sources, some of them outside the image bounds
+		Random random = new Random(42);
+		Rectangle bounds = new Rectangle(-50, 20, 3000, 2000);
+		Rectangle[] sources = new Rectangle[500];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = new Rectangle(bounds.x - 200 + random.nextInt(3400),
+					bounds.y - 200 + random.nextInt(2400),
+					random.nextInt(i % 10 == 0 ? 2000 : 200),
+					random.nextInt(200));
+		}
+		MosaicSourceIndex index = new MosaicSourceIndex(sources, bounds, 0, 0,
+				256, 256);
+		for (int q = 0; q < 1000; q++) {
+			Rectangle rect = new Rectangle(bounds.x + random.nextInt(2900),
+					bounds.y + random.nextInt(1900), 1 + random.nextInt(600),
+					1 + random.nextInt(600)).intersection(bounds);
+			int[] found = index.query(rect);
+			// The index must return the intersecting sources in priority order
+			int count = 0;
+			for (int i = 0; i < sources.length; i++) {
+				if (sources[i].intersects(rect)) {
+					assertEquals(i, found[count++]);
+				}
+			}
+			assertEquals(count, found.length);
+		}
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testExceptionImagesMapDestRectNullDest() {
 		int index = 1;
@@ -0,0 +1,930 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.scale;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.media.jai.BorderExtender;
+import javax.media.jai.ImageLayout;
+import javax.media.jai.Interpolation;
+import javax.media.jai.PlanarImage;
+import javax.media.jai.RasterAccessor;
+import javax.media.jai.RasterFormatTag;
+
+import com.sun.media.jai.util.ImageUtil;
+
+import it.geosolutions.jaiext.interpolators.InterpolationNearest;
+import it.geosolutions.jaiext.range.Range;
+
+/**
+ * Scale operation performing an area average (box filter) of the source pixels. The footprint of each destination pixel is backward mapped on
+ * the source and every source pixel it covers contributes to the destination value with a weight equal to the covered area. Source pixels outside
+ * the ROI or contained in the No Data range are excluded from the average; if no valid pixel is found the destination No Data value is set.
+ * <p>
+ * When neither ROI nor No Data are present and both the scale factors are the inverse of a power of two (e.g. 1/2, 1/4, 1/8), every footprint
+ * covers the same number of whole source pixels and the destination values are computed by accumulating running sums of the source rows.
+ * <p>
+ * This operation is selected by using an {@link it.geosolutions.jaiext.interpolators.InterpolationAverage} interpolator and is mainly intended
+ * for reducing images by large factors, e.g. for building overviews, where the other interpolations skip most of the source pixels.
+ */
+public class ScaleAverageOpImage extends ScaleOpImage {
+
+    /** Tolerance used for discarding the source pixels covered by a negligible part of a footprint */
+    private static final double EPSILON = 1E-6;
+
+    /** Lookup table indicating which byte values are No Data */
+    private boolean[] byteNoData;
+
+    public ScaleAverageOpImage(RenderedImage source, ImageLayout layout, Map configuration,
+            BorderExtender extender, Interpolation interp, float scaleX, float scaleY,
+            float transX, float transY, boolean useRoiAccessor, Range nodata,
+            double[] backgroundValues) {
+        super(source, layout, configuration, true, extender, interp, scaleX, scaleY, transX,
+                transY, useRoiAccessor, backgroundValues);
+        scaleOpInitialization(interp, nodata, backgroundValues);
+    }
+
+    private void scaleOpInitialization(Interpolation interp, Range nodata,
+            double[] backgroundValues) {
+        // NumBands
+        int numBands = getSampleModel().getNumBands();
+
+        // Interpolator settings
+        interpolator = interp;
+
+        Range nod = nodata;
+        double[] destNod = null;
+        if (backgroundValues != null && backgroundValues.length > 0) {
+            destNod = backgroundValues;
+        }
+        if (interp instanceof InterpolationNearest) {
+            InterpolationNearest interpN = (InterpolationNearest) interp;
+            if (nod == null) {
+                nod = interpN.getNoDataRange();
+            }
+            if (destNod == null) {
+                destNod = new double[] { interpN.getDestinationNoData() };
+            }
+        }
+        // Nodata definition
+        if (nod != null) {
+            hasNoData = true;
+            noData = nod;
+        }
+        if (destNod != null) {
+            destinationNoDataDouble = destNod;
+        } else if (this.backgroundValues != null && this.backgroundValues.length > 0) {
+            destinationNoDataDouble = this.backgroundValues;
+        } else {
+            destinationNoDataDouble = new double[] { 0 };
+        }
+        // Expand the destination nodata values if not defined
+        if (destinationNoDataDouble.length < numBands) {
+            double[] tmp = new double[numBands];
+            Arrays.fill(tmp, destinationNoDataDouble[0]);
+            destinationNoDataDouble = tmp;
+        }
+
+        // Create the destination No data arrays
+        destinationNoDataByte = new byte[numBands];
+        destinationNoDataShort = new short[numBands];
+        destinationNoDataUShort = new short[numBands];
+        destinationNoDataInt = new int[numBands];
+        destinationNoDataFloat = new float[numBands];
+        // Populate the arrays
+        for (int i = 0; i < numBands; i++) {
+            destinationNoDataByte[i] = (byte) ((int) destinationNoDataDouble[i] & 0xFF);
+            destinationNoDataUShort[i] = (short) (((short) destinationNoDataDouble[i]) & 0xffff);
+            destinationNoDataShort[i] = (short) destinationNoDataDouble[i];
+            destinationNoDataInt[i] = (int) destinationNoDataDouble[i];
+            destinationNoDataFloat[i] = (float) destinationNoDataDouble[i];
+        }
+        // Creation of a lookuptable indicating the No Data byte values
+        if (hasNoData) {
+            byteNoData = new boolean[256];
+            for (int i = 0; i < byteNoData.length; i++) {
+                byteNoData[i] = noData.contains((byte) i);
+            }
+        }
+
+        // Definition of the possible cases that can be found
+        // caseA = no ROI nor No Data
+        // caseB = ROI present but No Data not present
+        // caseC = No Data present but ROI not present
+        // Last case not defined = both ROI and No Data are present
+        caseA = !hasROI && !hasNoData;
+        caseB = hasROI && !hasNoData;
+        caseC = !hasROI && hasNoData;
+    }
+
+    /**
+     * Returns the source rectangle covered by the footprints of the destination pixels of the input rectangle. Note that the returned rectangle
+     * is not clipped to the source bounds.
+     */
+    protected Rectangle backwardMapRect(Rectangle destRect, int sourceIndex) {
+        if (destRect == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic0"));
+        }
+
+        if (sourceIndex != 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic1"));
+        }
+        double transX = getTransX();
+        double transY = getTransY();
+        double invScaleX = getInvScaleX();
+        double invScaleY = getInvScaleY();
+        int x0 = (int) Math.floor((destRect.x - transX) * invScaleX + EPSILON);
+        int y0 = (int) Math.floor((destRect.y - transY) * invScaleY + EPSILON);
+        int x1 = (int) Math.ceil((destRect.x + destRect.width - transX) * invScaleX - EPSILON);
+        int y1 = (int) Math.ceil((destRect.y + destRect.height - transY) * invScaleY - EPSILON);
+        return new Rectangle(x0, y0, Math.max(x1 - x0, 0), Math.max(y1 - y0, 0));
+    }
+
+    /**
+     * Computes a tile. The footprint of the whole tile is requested to the source as a single contiguous raster, so that no cobbling is needed
+     * between the source tiles.
+     */
+    public Raster computeTile(int tileX, int tileY) {
+        // X and Y coordinate of the pixel pixel of the tile.
+        int orgX = tileXToX(tileX);
+        int orgY = tileYToY(tileY);
+
+        // Create a new WritableRaster to represent this tile.
+        WritableRaster dest = createWritableRaster(sampleModel, new Point(orgX, orgY));
+
+        Rectangle destRect = new Rectangle(orgX, orgY, tileWidth, tileHeight)
+                .intersection(getBounds());
+        if (destRect.isEmpty()) {
+            return dest;
+        }
+
+        // Source area covered by the tile
+        PlanarImage source0 = getSourceImage(0);
+        Rectangle srcRect = backwardMapRect(destRect, 0).intersection(source0.getBounds());
+        if (srcRect.isEmpty() || (hasROI && !srcROI.intersects(srcRect))) {
+            // No valid source pixel
+            ImageUtil.fillBackground(dest, destRect, destinationNoDataDouble);
+            return dest;
+        }
+        computeRect(new Raster[] { source0.getData(srcRect) }, dest, destRect);
+        return dest;
+    }
+
+    @Override
+    protected void computeRect(Raster[] sources, WritableRaster dest, Rectangle destRect) {
+        // Retrieve format tags.
+        RasterFormatTag[] formatTags = getFormatTags();
+        // Only one source raster is used
+        Raster source = sources[0];
+        Rectangle srcRect = source.getBounds();
+
+        // SRC and destination accessors are used for simplifying calculations
+        RasterAccessor srcAccessor = new RasterAccessor(source, srcRect, formatTags[0],
+                getSourceImage(0).getColorModel());
+        RasterAccessor dstAccessor = new RasterAccessor(dest, destRect, formatTags[1],
+                getColorModel());
+
+        // Footprints of the destination columns and rows, clipped to the source raster
+        AxisTable xTable = new AxisTable(destRect.x, destRect.width, getTransX(), getInvScaleX(),
+                srcRect.x, srcRect.x + srcRect.width);
+        AxisTable yTable = new AxisTable(destRect.y, destRect.height, getTransY(),
+                getInvScaleY(), srcRect.y, srcRect.y + srcRect.height);
+
+        // ROI samples of the source raster
+        int[] roiData = null;
+        if (hasROI) {
+            Raster roi;
+            if (srcROIImage.getBounds().contains(srcRect)) {
+                roi = srcROIImage.getData(srcRect);
+            } else {
+                roi = srcROIImgExt.getData(srcRect);
+            }
+            roiData = roi.getSamples(srcRect.x, srcRect.y, srcRect.width, srcRect.height, 0,
+                    (int[]) null);
+        }
+
+        switch (dstAccessor.getDataType()) {
+        case DataBuffer.TYPE_BYTE:
+            byteLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        case DataBuffer.TYPE_USHORT:
+            ushortLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        case DataBuffer.TYPE_SHORT:
+            shortLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        case DataBuffer.TYPE_INT:
+            intLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        case DataBuffer.TYPE_FLOAT:
+            floatLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        case DataBuffer.TYPE_DOUBLE:
+            doubleLoop(srcAccessor, srcRect, dstAccessor, xTable, yTable, roiData);
+            break;
+        }
+
+        // If the RasterAccessor object set up a temporary buffer for the
+        // op to write to, tell the RasterAccessor to write that data
+        // to the raster no that we're done with it.
+        if (dstAccessor.isDataCopy()) {
+            dstAccessor.clampDataArrays();
+            dstAccessor.copyDataToRaster();
+        }
+    }
+
+    private double getTransX() {
+        return (double) transXRationalNum / transXRationalDenom;
+    }
+
+    private double getTransY() {
+        return (double) transYRationalNum / transYRationalDenom;
+    }
+
+    private double getInvScaleX() {
+        return (double) invScaleXRationalNum / invScaleXRationalDenom;
+    }
+
+    private double getInvScaleY() {
+        return (double) invScaleYRationalNum / invScaleYRationalDenom;
+    }
+
+    private void byteLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final byte[][] srcDataArrays = src.getByteDataArrays();
+        final byte[][] dstDataArrays = dst.getByteDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final int shift = xTable.shift + yTable.shift;
+            final long half = (1L << shift) >> 1;
+            final long[] sums = new long[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final byte[] srcData = srcDataArrays[k];
+                final byte[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            long sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos] & 0xFF;
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (byte) ((sums[i] + half) >> shift);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final byte[] srcData = srcDataArrays[k];
+                final byte[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                final int value = srcData[pos] & 0xFF;
+                                if (hasNoData && byteNoData[value]) {
+                                    continue;
+                                }
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? (byte) Math.round(sum / weight) : destinationNoDataByte[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    private void ushortLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final int shift = xTable.shift + yTable.shift;
+            final long half = (1L << shift) >> 1;
+            final long[] sums = new long[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            long sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos] & 0xFFFF;
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (short) ((sums[i] + half) >> shift);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                if (hasNoData && noData.contains(srcData[pos])) {
+                                    continue;
+                                }
+                                final int value = srcData[pos] & 0xFFFF;
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? (short) Math.round(sum / weight) : destinationNoDataUShort[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    private void shortLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final int shift = xTable.shift + yTable.shift;
+            final long half = (1L << shift) >> 1;
+            final long[] sums = new long[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            long sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos];
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (short) ((sums[i] + half) >> shift);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                final short value = srcData[pos];
+                                if (hasNoData && noData.contains(value)) {
+                                    continue;
+                                }
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? (short) Math.round(sum / weight) : destinationNoDataShort[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    private void intLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final int[][] srcDataArrays = src.getIntDataArrays();
+        final int[][] dstDataArrays = dst.getIntDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final int shift = xTable.shift + yTable.shift;
+            final long half = (1L << shift) >> 1;
+            final long[] sums = new long[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final int[] srcData = srcDataArrays[k];
+                final int[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            long sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos];
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (int) ((sums[i] + half) >> shift);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final int[] srcData = srcDataArrays[k];
+                final int[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                final int value = srcData[pos];
+                                if (hasNoData && noData.contains(value)) {
+                                    continue;
+                                }
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? (int) Math.round(sum / weight) : destinationNoDataInt[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    private void floatLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final float[][] srcDataArrays = src.getFloatDataArrays();
+        final float[][] dstDataArrays = dst.getFloatDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final double area = xTable.factor * yTable.factor;
+            final double[] sums = new double[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final float[] srcData = srcDataArrays[k];
+                final float[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            double sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos];
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (float) (sums[i] / area);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final float[] srcData = srcDataArrays[k];
+                final float[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                final float value = srcData[pos];
+                                if (hasNoData && noData.contains(value)) {
+                                    continue;
+                                }
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? (float) (sum / weight) : destinationNoDataFloat[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    private void doubleLoop(RasterAccessor src, Rectangle srcRect, RasterAccessor dst,
+            AxisTable xTable, AxisTable yTable, int[] roiData) {
+        // Source and destination layout
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int[] bandOffsets = src.getBandOffsets();
+        final int dwidth = dst.getWidth();
+        final int dheight = dst.getHeight();
+        final int dnumBands = dst.getNumBands();
+        final int[] dstBandOffsets = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final double[][] srcDataArrays = src.getDoubleDataArrays();
+        final double[][] dstDataArrays = dst.getDoubleDataArrays();
+
+        if (caseA && xTable.factor > 0 && yTable.factor > 0) {
+            // Power of two factors: the sums of each destination column are accumulated
+            // row by row and then divided by the footprint area
+            final double area = xTable.factor * yTable.factor;
+            final double[] sums = new double[dwidth];
+            final int xFactor = xTable.factor;
+            final int yFactor = yTable.factor;
+            final int srcX = xTable.starts[0] - srcRect.x;
+            for (int k = 0; k < dnumBands; k++) {
+                final double[] srcData = srcDataArrays[k];
+                final double[] dstData = dstDataArrays[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    Arrays.fill(sums, 0);
+                    int srcLineOffset = (yTable.starts[j] - srcRect.y) * srcScanlineStride
+                            + srcX * srcPixelStride + bandOffsets[k];
+                    for (int y = 0; y < yFactor; y++) {
+                        int pos = srcLineOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            double sum = sums[i];
+                            for (int x = 0; x < xFactor; x++) {
+                                sum += srcData[pos];
+                                pos += srcPixelStride;
+                            }
+                            sums[i] = sum;
+                        }
+                        srcLineOffset += srcScanlineStride;
+                    }
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = (sums[i] / area);
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        } else {
+            // Weighted average of the footprint, skipping the pixels outside the ROI or flagged as No Data
+            final int srcWidth = srcRect.width;
+            for (int k = 0; k < dnumBands; k++) {
+                final double[] srcData = srcDataArrays[k];
+                final double[] dstData = dstDataArrays[k];
+                final int bandOffset = bandOffsets[k];
+                int dstLineOffset = dstBandOffsets[k];
+                for (int j = 0; j < dheight; j++) {
+                    final int yStart = yTable.starts[j] - srcRect.y;
+                    final int yCount = yTable.counts[j];
+                    final int yOffset = yTable.offsets[j];
+                    int dstPixelOffset = dstLineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        final int xStart = xTable.starts[i] - srcRect.x;
+                        final int xCount = xTable.counts[i];
+                        final int xOffset = xTable.offsets[i];
+                        double sum = 0;
+                        double weight = 0;
+                        for (int y = 0; y < yCount; y++) {
+                            final double wy = yTable.weights[yOffset + y];
+                            final int row = yStart + y;
+                            int pos = row * srcScanlineStride + xStart * srcPixelStride + bandOffset;
+                            int roiPos = row * srcWidth + xStart;
+                            for (int x = 0; x < xCount; x++, pos += srcPixelStride, roiPos++) {
+                                if (roiData != null && roiData[roiPos] == 0) {
+                                    continue;
+                                }
+                                final double value = srcData[pos];
+                                if (hasNoData && noData.contains(value)) {
+                                    continue;
+                                }
+                                final double w = xTable.weights[xOffset + x] * wy;
+                                sum += value * w;
+                                weight += w;
+                            }
+                        }
+                        dstData[dstPixelOffset] = weight > 0 ? sum / weight : destinationNoDataDouble[k];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    dstLineOffset += dstScanlineStride;
+                }
+            }
+        }
+    }
+
+    /**
+     * Footprints of the destination pixels along one axis. For each destination pixel it contains the first covered source pixel, the number of
+     * covered source pixels and the offset of their weights.
+     */
+    static final class AxisTable {
+
+        /** First source pixel covered by each destination pixel */
+        final int[] starts;
+
+        /** Number of source pixels covered by each destination pixel */
+        final int[] counts;
+
+        /** Offset of the weights of each destination pixel */
+        final int[] offsets;
+
+        /** Covered area of each source pixel */
+        final double[] weights;
+
+        /** Number of source pixels of every footprint if they are all equal to the same power of two and fully covered, 0 otherwise */
+        final int factor;
+
+        /** Base 2 logarithm of the factor */
+        final int shift;
+
+        AxisTable(int dstStart, int dstLength, double trans, double invScale, int srcMin,
+                int srcMax) {
+            starts = new int[dstLength];
+            counts = new int[dstLength];
+            offsets = new int[dstLength];
+            double[] w = new double[dstLength * ((int) Math.ceil(invScale) + 1)];
+            int n = 0;
+            for (int i = 0; i < dstLength; i++) {
+                int d = dstStart + i;
+                double s0 = (d - trans) * invScale;
+                double s1 = (d + 1 - trans) * invScale;
+                int p0 = Math.max((int) Math.floor(s0 + EPSILON), srcMin);
+                int p1 = Math.min((int) Math.ceil(s1 - EPSILON), srcMax);
+                starts[i] = p0;
+                offsets[i] = n;
+                for (int p = p0; p < p1; p++) {
+                    if (n == w.length) {
+                        double[] tmp = new double[w.length * 2];
+                        System.arraycopy(w, 0, tmp, 0, n);
+                        w = tmp;
+                    }
+                    w[n++] = Math.min(p + 1, s1) - Math.max(p, s0);
+                }
+                counts[i] = n - offsets[i];
+            }
+            weights = w;
+
+            // Check if the running sums can be used
+            int k = dstLength > 0 ? counts[0] : 0;
+            boolean uniform = k > 0 && (k & (k - 1)) == 0;
+            for (int i = 0; i < dstLength && uniform; i++) {
+                uniform = counts[i] == k && starts[i] == starts[0] + i * k;
+            }
+            for (int i = 0; i < n && uniform; i++) {
+                uniform = w[i] == 1.0;
+            }
+            factor = uniform ? k : 0;
+            shift = uniform ? Integer.numberOfTrailingZeros(k) : 0;
+        }
+    }
+}
@@ -254,15 +254,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
         RasterAccessor dstAccessor = new RasterAccessor(dest, destRect, formatTags[1],
                 getColorModel());
 
-        // Destination rectangle dimensions
-        int dwidth = destRect.width;
-        int dheight = destRect.height;
         // From the rasterAccessor are calculated the pixelStride and the scanLineStride
         int srcPixelStride = srcAccessor.getPixelStride();
         int srcScanlineStride = srcAccessor.getScanlineStride();
-        // Initialization of the x and y position array
-        int[] xpos = new int[dwidth];
-        int[] ypos = new int[dheight];
 
         // ROI support
         int[] yposRoi = null;
@@ -288,22 +282,23 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
                         srcROIImage.getColorModel());
                 // ROI scanlinestride
                 roiScanlineStride = roiAccessor.getScanlineStride();
-                // Initialization of the roi y position array
-                yposRoi = new int[dheight];
             } else {
                 roiIter = RandomIterFactory.create(srcROIImgExt, roiRect, true, true);
             }
         }
 
-        // Initialization of the x and y fractional array
-        int[] xfracValues = new int[dwidth];
-        int[] yfracValues = new int[dheight];
-
         // destination data type
         dataType = dest.getSampleModel().getDataType();
 
-        preComputePositionsInt(destRect, srcRect.x, srcRect.y, srcPixelStride, srcScanlineStride,
-                xpos, ypos, xfracValues, yfracValues, roiScanlineStride, yposRoi);
+        // Positions and fractional values, shared with the other tiles of the same tile column/row
+        PositionTable xTable = getXPositions(destRect, srcRect.x, srcPixelStride, false);
+        PositionTable yTable = getYPositions(destRect, srcRect.y, srcScanlineStride,
+                roiScanlineStride, false);
+        int[] xpos = xTable.positions;
+        int[] ypos = yTable.positions;
+        yposRoi = yTable.roiPositions;
+        int[] xfracValues = xTable.fractions;
+        int[] yfracValues = yTable.fractions;
 
         // This methods differs only for the presence of the roi or if the image is a binary one
 
@@ -336,6 +331,542 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
 
     }
 
+    /**
+     * Separable version of the {@link #byteLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void byteLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final byte[][] srcDataArrays = src.getByteDataArrays();
+        final byte[][] dstDataArrays = dst.getByteDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final long[][] rows = new long[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final byte[] srcData = srcDataArrays[k];
+            final byte[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final long[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            long temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                int pixelValue = srcData[pos + (z - 1) * srcPixelStride] & 0xff;
+                                temp += (pixelValue * dataHi[offsetX + z]);
+                            }
+                            rowData[i] = (temp + round) >> precisionBits;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final long[] row0 = rows[(srcRow - 1) & 3];
+                final long[] row1 = rows[srcRow & 3];
+                final long[] row2 = rows[(srcRow + 1) & 3];
+                final long[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final int v0 = dataVi[offsetY];
+                final int v1 = dataVi[offsetY + 1];
+                final int v2 = dataVi[offsetY + 2];
+                final int v3 = dataVi[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    long sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+                    int s = (int) ((sum + round) >> precisionBits);
+
+                    // Clamp
+                    if (s > 255) {
+                        s = 255;
+                    } else if (s < 0) {
+                        s = 0;
+                    }
+
+                    dstData[dstPixelOffset] = (byte) (s & 0xff);
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #ushortLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void ushortLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final long[][] rows = new long[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final short[] srcData = srcDataArrays[k];
+            final short[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final long[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            long temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                int pixelValue = srcData[pos + (z - 1) * srcPixelStride] & 0xffff;
+                                temp += (pixelValue * dataHi[offsetX + z]);
+                            }
+                            rowData[i] = (temp + round) >> precisionBits;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final long[] row0 = rows[(srcRow - 1) & 3];
+                final long[] row1 = rows[srcRow & 3];
+                final long[] row2 = rows[(srcRow + 1) & 3];
+                final long[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final int v0 = dataVi[offsetY];
+                final int v1 = dataVi[offsetY + 1];
+                final int v2 = dataVi[offsetY + 2];
+                final int v3 = dataVi[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    long sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+                    int s = (int) ((sum + round) >> precisionBits);
+
+                    // Clamp
+                    if (s > 65536) {
+                        s = 65536;
+                    } else if (s < 0) {
+                        s = 0;
+                    }
+
+                    dstData[dstPixelOffset] = (short) (s & 0xffff);
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #shortLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void shortLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final long[][] rows = new long[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final short[] srcData = srcDataArrays[k];
+            final short[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final long[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            long temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                int pixelValue = srcData[pos + (z - 1) * srcPixelStride];
+                                temp += (pixelValue * dataHi[offsetX + z]);
+                            }
+                            rowData[i] = (temp + round) >> precisionBits;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final long[] row0 = rows[(srcRow - 1) & 3];
+                final long[] row1 = rows[srcRow & 3];
+                final long[] row2 = rows[(srcRow + 1) & 3];
+                final long[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final int v0 = dataVi[offsetY];
+                final int v1 = dataVi[offsetY + 1];
+                final int v2 = dataVi[offsetY + 2];
+                final int v3 = dataVi[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    long sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+                    int s = (int) ((sum + round) >> precisionBits);
+
+                    // Clamp
+                    if (s > Short.MAX_VALUE) {
+                        s = Short.MAX_VALUE;
+                    } else if (s < Short.MIN_VALUE) {
+                        s = Short.MIN_VALUE;
+                    }
+
+                    dstData[dstPixelOffset] = (short) s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #intLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void intLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final int[][] srcDataArrays = src.getIntDataArrays();
+        final int[][] dstDataArrays = dst.getIntDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final long[][] rows = new long[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final int[] srcData = srcDataArrays[k];
+            final int[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final long[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            long temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                int pixelValue = srcData[pos + (z - 1) * srcPixelStride];
+                                temp += (pixelValue * dataHi[offsetX + z]);
+                            }
+                            rowData[i] = (temp + round) >> precisionBits;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final long[] row0 = rows[(srcRow - 1) & 3];
+                final long[] row1 = rows[srcRow & 3];
+                final long[] row2 = rows[(srcRow + 1) & 3];
+                final long[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final int v0 = dataVi[offsetY];
+                final int v1 = dataVi[offsetY + 1];
+                final int v2 = dataVi[offsetY + 2];
+                final int v3 = dataVi[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    long sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+                    int s = (int) ((sum + round) >> precisionBits);
+
+                    dstData[dstPixelOffset] = s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #floatLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void floatLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final float[][] srcDataArrays = src.getFloatDataArrays();
+        final float[][] dstDataArrays = dst.getFloatDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final double[][] rows = new double[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final float[] srcData = srcDataArrays[k];
+            final float[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final double[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            double temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                float pixelValue = srcData[pos + (z - 1) * srcPixelStride];
+                                temp += (pixelValue * dataHf[offsetX + z]);
+                            }
+                            rowData[i] = temp;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final double[] row0 = rows[(srcRow - 1) & 3];
+                final double[] row1 = rows[srcRow & 3];
+                final double[] row2 = rows[(srcRow + 1) & 3];
+                final double[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final float v0 = dataVf[offsetY];
+                final float v1 = dataVf[offsetY + 1];
+                final float v2 = dataVf[offsetY + 2];
+                final float v3 = dataVf[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    double sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+
+                    // Clamp
+                    if (sum > Float.MAX_VALUE) {
+                        sum = Float.MAX_VALUE;
+                    } else if (sum < -Float.MAX_VALUE) {
+                        sum = -Float.MAX_VALUE;
+                    }
+
+                    dstData[dstPixelOffset] = (float) sum;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #doubleLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of four row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void doubleLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final double[][] srcDataArrays = src.getDoubleDataArrays();
+        final double[][] dstDataArrays = dst.getDoubleDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 3)
+        final double[][] rows = new double[4][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[4];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final double[] srcData = srcDataArrays[k];
+            final double[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = -1; h < 3; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 3] != rowIndex) {
+                        final double[] rowData = rows[rowIndex & 3];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int offsetX = 4 * xfrac[i];
+                            double temp = 0;
+                            for (int z = 0; z < 4; z++) {
+                                double pixelValue = srcData[pos + (z - 1) * srcPixelStride];
+                                temp += (pixelValue * dataHd[offsetX + z]);
+                            }
+                            rowData[i] = temp;
+                        }
+                        rowIndexes[rowIndex & 3] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final double[] row0 = rows[(srcRow - 1) & 3];
+                final double[] row1 = rows[srcRow & 3];
+                final double[] row2 = rows[(srcRow + 1) & 3];
+                final double[] row3 = rows[(srcRow + 2) & 3];
+                final int offsetY = 4 * yfrac[j];
+                final double v0 = dataVd[offsetY];
+                final double v1 = dataVd[offsetY + 1];
+                final double v2 = dataVd[offsetY + 2];
+                final double v3 = dataVd[offsetY + 3];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    double sum = 0;
+                    sum += row0[i] * v0;
+                    sum += row1[i] * v1;
+                    sum += row2[i] * v2;
+                    sum += row3[i] * v3;
+
+                    dstData[dstPixelOffset] = sum;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
     private void byteLoop(RasterAccessor src, Rectangle dstRect, RasterAccessor dst, int[] xpos,
             int[] ypos, int[] xfrac, int[] yfrac, RasterAccessor roi, int[] yposRoi,
             int roiScanlineStride, RandomIter roiIter) {
@@ -369,7 +900,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            byteLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1020,7 +1553,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            ushortLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1634,7 +2169,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            shortLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -2269,7 +2806,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            intLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -2865,7 +3404,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            floatLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -3484,7 +4025,9 @@ public class ScaleBicubicOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            doubleLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -226,15 +226,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
         RasterAccessor dstAccessor = new RasterAccessor(dest, destRect, formatTags[1],
                 getColorModel());
 
-        // Destination rectangle dimensions
-        int dwidth = destRect.width;
-        int dheight = destRect.height;
         // From the rasterAccessor are calculated the pixelStride and the scanLineStride
         int srcPixelStride = srcAccessor.getPixelStride();
         int srcScanlineStride = srcAccessor.getScanlineStride();
-        // Initialization of the x and y position array
-        int[] xpos = new int[dwidth];
-        int[] ypos = new int[dheight];
 
         // ROI support
         int[] yposRoi = null;
@@ -260,32 +254,26 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
                         srcROIImage.getColorModel());
                 // ROI scanlinestride
                 roiScanlineStride = roiAccessor.getScanlineStride();
-                // Initialization of the roi y position array
-                yposRoi = new int[dheight];
             } else {
                 roiIter = RandomIterFactory.create(srcROIImgExt, roiRect, true, true);
             }
         }
 
-        // Initialization of the x and y fractional array
-        int[] xfracValues = new int[dwidth];
-        int[] yfracValues = new int[dheight];
-
-        // Initialization of the x and y fractional array
-        float[] xfracValuesFloat = new float[dwidth];
-        float[] yfracValuesFloat = new float[dheight];
         // destination data type
         dataType = dest.getSampleModel().getDataType();
 
-        if (dataType < DataBuffer.TYPE_FLOAT) {
-            preComputePositionsInt(destRect, srcRect.x, srcRect.y, srcPixelStride,
-                    srcScanlineStride, xpos, ypos, xfracValues, yfracValues, roiScanlineStride,
-                    yposRoi);
-        } else {
-            preComputePositionsFloat(destRect, srcRect.x, srcRect.y, srcPixelStride,
-                    srcScanlineStride, xpos, ypos, xfracValuesFloat, yfracValuesFloat,
-                    roiScanlineStride, yposRoi);
-        }
+        // Positions and fractional values, shared with the other tiles of the same tile column/row
+        boolean floatFractions = dataType >= DataBuffer.TYPE_FLOAT;
+        PositionTable xTable = getXPositions(destRect, srcRect.x, srcPixelStride, floatFractions);
+        PositionTable yTable = getYPositions(destRect, srcRect.y, srcScanlineStride,
+                roiScanlineStride, floatFractions);
+        int[] xpos = xTable.positions;
+        int[] ypos = yTable.positions;
+        yposRoi = yTable.roiPositions;
+        int[] xfracValues = xTable.fractions;
+        int[] yfracValues = yTable.fractions;
+        float[] xfracValuesFloat = xTable.fractionsFloat;
+        float[] yfracValuesFloat = yTable.fractionsFloat;
 
         // This methods differs only for the presence of the roi or if the image is a binary one
 
@@ -318,6 +306,432 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
 
     }
 
+    /**
+     * Separable version of the {@link #byteLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void byteLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final byte[][] srcDataArrays = src.getByteDataArrays();
+        final byte[][] dstDataArrays = dst.getByteDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final int[][] rows = new int[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final byte[] srcData = srcDataArrays[k];
+            final byte[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final int[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int s00 = srcData[pos] & 0xff;
+                            final int s01 = srcData[pos + srcPixelStride] & 0xff;
+                            rowData[i] = (s01 - s00) * xfrac[i] + (s00 << subsampleBits);
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final int[] row0 = rows[srcRow & 1];
+                final int[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final int s0 = row0[i];
+                    final int s1 = row1[i];
+                    final int s = ((s1 - s0) * yfrac[j] + (s0 << subsampleBits) + round2) >> shift2;
+
+                    dstData[dstPixelOffset] = (byte) (s & 0xff);
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #ushortLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void ushortLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final int[][] rows = new int[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final short[] srcData = srcDataArrays[k];
+            final short[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final int[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int s00 = srcData[pos] & 0xffff;
+                            final int s01 = srcData[pos + srcPixelStride] & 0xffff;
+                            rowData[i] = (s01 - s00) * xfrac[i] + (s00 << subsampleBits);
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final int[] row0 = rows[srcRow & 1];
+                final int[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final int s0 = row0[i];
+                    final int s1 = row1[i];
+                    final int s = ((s1 - s0) * yfrac[j] + (s0 << subsampleBits) + round2) >> shift2;
+
+                    dstData[dstPixelOffset] = (short) (s & 0xffff);
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #shortLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void shortLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final int[][] rows = new int[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final short[] srcData = srcDataArrays[k];
+            final short[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final int[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int s00 = srcData[pos];
+                            final int s01 = srcData[pos + srcPixelStride];
+                            rowData[i] = (s01 - s00) * xfrac[i] + (s00 << subsampleBits);
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final int[] row0 = rows[srcRow & 1];
+                final int[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final int s0 = row0[i];
+                    final int s1 = row1[i];
+                    final int s = ((s1 - s0) * yfrac[j] + (s0 << subsampleBits) + round2) >> shift2;
+
+                    dstData[dstPixelOffset] = (short) s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #intLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void intLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, int[] xfrac, int[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final int[][] srcDataArrays = src.getIntDataArrays();
+        final int[][] dstDataArrays = dst.getIntDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final int[][] rows = new int[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final int[] srcData = srcDataArrays[k];
+            final int[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final int[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final int s00 = srcData[pos];
+                            final int s01 = srcData[pos + srcPixelStride];
+                            rowData[i] = (s01 - s00) * xfrac[i] + (s00 << subsampleBits);
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final int[] row0 = rows[srcRow & 1];
+                final int[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final int s0 = row0[i];
+                    final int s1 = row1[i];
+                    final int s = ((s1 - s0) * yfrac[j] + (s0 << subsampleBits) + round2) >> shift2;
+
+                    dstData[dstPixelOffset] = s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #floatLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void floatLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, float[] xfrac, float[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final float[][] srcDataArrays = src.getFloatDataArrays();
+        final float[][] dstDataArrays = dst.getFloatDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final float[][] rows = new float[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final float[] srcData = srcDataArrays[k];
+            final float[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final float[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final float s00 = srcData[pos];
+                            final float s01 = srcData[pos + srcPixelStride];
+                            rowData[i] = (s01 - s00) * xfrac[i] + s00;
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final float[] row0 = rows[srcRow & 1];
+                final float[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final float s0 = row0[i];
+                    final float s1 = row1[i];
+                    final float s = (s1 - s0) * yfrac[j] + s0;
+
+                    dstData[dstPixelOffset] = s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    /**
+     * Separable version of the {@link #doubleLoop} used when neither ROI nor No Data are present. Each source row needed by the kernel is
+     * interpolated horizontally only once and stored in a ring of two row buffers, then the buffered rows are interpolated vertically.
+     */
+    private void doubleLoopSeparable(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos, float[] xfrac, float[] yfrac) {
+
+        final int srcScanlineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        final int dnumBands = dst.getNumBands();
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        final double[][] srcDataArrays = src.getDoubleDataArrays();
+        final double[][] dstDataArrays = dst.getDoubleDataArrays();
+
+        // Horizontally interpolated source rows, stored at the index (row & 1)
+        final double[][] rows = new double[2][dwidth];
+        // Source row stored in each buffer
+        final int[] rowIndexes = new int[2];
+
+        // for all bands
+        for (int k = 0; k < dnumBands; k++) {
+
+            final double[] srcData = srcDataArrays[k];
+            final double[] dstData = dstDataArrays[k];
+            // Line and band Offset initialization
+            int dstlineOffset = dstBandOffsets[k];
+            final int bandOffset = bandOffsets[k];
+            Arrays.fill(rowIndexes, Integer.MIN_VALUE);
+            // cycle on the y values
+            for (int j = 0; j < dheight; j++) {
+                final int srcRow = ypos[j] / srcScanlineStride;
+                // Horizontal pass on the kernel rows not yet interpolated
+                for (int h = 0; h < 2; h++) {
+                    final int rowIndex = srcRow + h;
+                    if (rowIndexes[rowIndex & 1] != rowIndex) {
+                        final double[] rowData = rows[rowIndex & 1];
+                        final int posy = rowIndex * srcScanlineStride + bandOffset;
+                        for (int i = 0; i < dwidth; i++) {
+                            final int pos = xpos[i] + posy;
+                            final double s00 = srcData[pos];
+                            final double s01 = srcData[pos + srcPixelStride];
+                            rowData[i] = (s01 - s00) * xfrac[i] + s00;
+                        }
+                        rowIndexes[rowIndex & 1] = rowIndex;
+                    }
+                }
+                // Vertical pass
+                final double[] row0 = rows[srcRow & 1];
+                final double[] row1 = rows[(srcRow + 1) & 1];
+                int dstPixelOffset = dstlineOffset;
+                // cycle on the x values
+                for (int i = 0; i < dwidth; i++) {
+                    final double s0 = row0[i];
+                    final double s1 = row1[i];
+                    final double s = (s1 - s0) * yfrac[j] + s0;
+
+                    dstData[dstPixelOffset] = s;
+                    dstPixelOffset += dstPixelStride;
+                }
+                // destination line offset update
+                dstlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
     private void byteLoop(RasterAccessor src, Rectangle dstRect, RasterAccessor dst, int[] xpos,
             int[] ypos, int[] xfrac, int[] yfrac, RasterAccessor roi, int[] yposRoi,
             int roiScanlineStride, RandomIter roiIter) {
@@ -351,7 +765,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            byteLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -751,7 +1167,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            ushortLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1143,7 +1561,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            shortLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1529,7 +1949,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            intLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1903,7 +2325,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            floatLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -2290,7 +2714,9 @@ public class ScaleBilinearOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
 
-        if (caseA) {
+        if (caseA && separable) {
+            doubleLoopSeparable(src, dstRect, dst, xpos, ypos, xfrac, yfrac);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -41,6 +41,7 @@ import com.sun.media.jai.mlib.MlibScaleRIF;
 import com.sun.media.jai.opimage.CopyOpImage;
 import com.sun.media.jai.opimage.RIFUtil;
 
+import it.geosolutions.jaiext.interpolators.InterpolationAverage;
 import it.geosolutions.jaiext.interpolators.InterpolationBicubic;
 import it.geosolutions.jaiext.interpolators.InterpolationBilinear;
 import it.geosolutions.jaiext.interpolators.InterpolationNearest;
@@ -125,13 +126,16 @@ public class ScaleCRIF extends CRIFImpl {
             return new TranslateIntOpImage(source, renderHints, (int) xTrans, (int) yTrans);
         }
 
+        // Area averaging has no native counterpart
+        boolean averageInterp = interp instanceof InterpolationAverage;
+
         try {
             // check if we can use the native operation instead
             // Rectangle sourceBounds = new Rectangle(source.getMinX(),
             // source.getMinY(), source.getWidth(), source.getHeight());
             if ((roi == null 
                     || (ImageUtilities.isMediaLibAvailable() && (roi.getBounds().isEmpty() || roi
-                            .contains(sourceBounds)))) && (nodata == null)) {
+                            .contains(sourceBounds)))) && (nodata == null) && !averageInterp) {
                 RenderedImage accelerated = new MlibScaleRIF().create(paramBlock, renderHints);
                 if (accelerated != null) {
                     return accelerated;
@@ -177,7 +181,12 @@ public class ScaleCRIF extends CRIFImpl {
 					useRoiAccessor, destinationNoData, dataType,false, bic.getPrecisionBits());
 		}
         
-		if (nearestInterp && isBinary) {
+		// Binary images cannot hold the averages, the area average falls back to the nearest neighbour
+		if (averageInterp && !isBinary) {
+			return new ScaleAverageOpImage(source, layout, renderHints,
+					extender, interp, xScale, yScale, xTrans, yTrans,
+					useRoiAccessor, nodata, backgroundValues);
+		} else if (nearestInterp && isBinary) {
 			return new ScaleGeneralOpImage(source, layout, renderHints,
 					extender, interp, xScale, yScale,
 					xTrans, yTrans, useRoiAccessor, nodata, backgroundValues);
@@ -47,6 +47,15 @@ public class ScaleNearestOpImage extends ScaleOpImage {
     /** Byte lookuptable used if no data are present */
     protected byte[][] byteLookupTable;
 
+    /** Number of source pixels between two destination pixels when the X scale factor is the inverse of an integer, 0 otherwise */
+    private int xStep;
+
+    /** Number of destination pixels for each source pixel when the X scale factor is an integer, 0 otherwise */
+    private int xReplication;
+
+    /** Boolean indicating if the X scale factor is an integer or the inverse of an integer */
+    private boolean integerFactor;
+
     public ScaleNearestOpImage(RenderedImage source, ImageLayout layout, Map configuration,
             BorderExtender extender, Interpolation interp, float scaleX, float scaleY,
             float transX, float transY, boolean useRoiAccessor, Range nodata, double[] backgroundValues) {
@@ -90,6 +99,15 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             invScaleYFrac = invScaleYRational.num;
         }
 
+        // With integer factors the X positions are regular: either one every xStep source pixels
+        // or each source pixel repeated xReplication times
+        if (invScaleXInt > 0 && invScaleXFrac == 0) {
+            xStep = (int) invScaleXInt;
+        } else if (invScaleXInt == 0 && invScaleXRational.denom % invScaleXRational.num == 0) {
+            xReplication = (int) (invScaleXRational.denom / invScaleXRational.num);
+        }
+        integerFactor = xStep > 0 || xReplication > 0;
+
         // Interpolator settings
         interpolator = interp;
 
@@ -208,15 +226,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
         RasterAccessor dstAccessor = new RasterAccessor(dest, destRect, formatTags[1],
                 getColorModel());
 
-        // Destination rectangle dimensions
-        int dwidth = destRect.width;
-        int dheight = destRect.height;
         // From the rasterAccessor are calculated the pixelStride and the scanLineStride
         int srcPixelStride = srcAccessor.getPixelStride();
         int srcScanlineStride = srcAccessor.getScanlineStride();
-        // Initialization of the x and y position array
-        int[] xpos = new int[dwidth];
-        int[] ypos = new int[dheight];
 
         // ROI support
         int[] yposRoi = null;
@@ -242,19 +254,17 @@ public class ScaleNearestOpImage extends ScaleOpImage {
                         srcROIImage.getColorModel());
                 // ROI scanlinestride
                 roiScanlineStride = roiAccessor.getScanlineStride();
-                // Initialization of the roi y position array
-                yposRoi = new int[dheight];
             } else {
                 roiIter = RandomIterFactory.create(srcROIImgExt, roiRect, true, true);
             }
         }
 
-        // Initialization of the x and y fractional array
-        int[] xfracValues = new int[dwidth];
-        int[] yfracValues = new int[dheight];
-
-        preComputePositionsInt(destRect, srcRect.x, srcRect.y, srcPixelStride, srcScanlineStride,
-                xpos, ypos, xfracValues, yfracValues, roiScanlineStride, yposRoi);
+        // Positions shared with the other tiles of the same tile column/row
+        int[] xpos = getXPositions(destRect, srcRect.x, srcPixelStride, false).positions;
+        PositionTable yTable = getYPositions(destRect, srcRect.y, srcScanlineStride,
+                roiScanlineStride, false);
+        int[] ypos = yTable.positions;
+        yposRoi = yTable.roiPositions;
         // destination data type
         dataType = dest.getSampleModel().getDataType();
 
@@ -319,7 +329,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = 0;
         }
         
-        if (caseA) {
+        if (caseA && integerFactor) {
+            byteLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -617,7 +629,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = roiDataArray.length;
         }
 
-        if (caseA) {
+        if (caseA && integerFactor) {
+            ushortLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -922,7 +936,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = roiDataArray.length;
         }
 
-        if (caseA) {
+        if (caseA && integerFactor) {
+            shortLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1226,7 +1242,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = roiDataArray.length;
         }
 
-        if (caseA) {
+        if (caseA && integerFactor) {
+            intLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1531,7 +1549,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = roiDataArray.length;
         }
 
-        if (caseA) {
+        if (caseA && integerFactor) {
+            floatLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -1836,7 +1856,9 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             roiDataLength = roiDataArray.length;
         }
 
-        if (caseA) {
+        if (caseA && integerFactor) {
+            doubleLoopIntegerFactor(src, dstRect, dst, xpos, ypos);
+        } else if (caseA) {
             // for all bands
             for (int k = 0; k < dnumBands; k++) {
 
@@ -2104,4 +2126,547 @@ public class ScaleNearestOpImage extends ScaleOpImage {
             }
         }
     }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void byteLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final byte[][] srcDataArrays = src.getByteDataArrays();
+        final byte[][] dstDataArrays = dst.getByteDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final byte[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final byte[] srcData = srcDataArrays[k];
+                final byte[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final byte value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void ushortLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final short[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final short value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void shortLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final short[][] srcDataArrays = src.getShortDataArrays();
+        final short[][] dstDataArrays = dst.getShortDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final short[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final short[] srcData = srcDataArrays[k];
+                final short[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final short value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void intLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final int[][] srcDataArrays = src.getIntDataArrays();
+        final int[][] dstDataArrays = dst.getIntDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final int[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final int[] srcData = srcDataArrays[k];
+                final int[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final int value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void floatLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final float[][] srcDataArrays = src.getFloatDataArrays();
+        final float[][] dstDataArrays = dst.getFloatDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final float[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final float[] srcData = srcDataArrays[k];
+                final float[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final float value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Nearest-Neighbor loop used when the scale factors are integers or the inverse of integers and neither ROI nor No Data are present. Each
+     * source row is sampled with a fixed stride or replicated, while the destination rows mapping to the same source row are copied.
+     */
+    private void doubleLoopIntegerFactor(RasterAccessor src, Rectangle dstRect, RasterAccessor dst,
+            int[] xpos, int[] ypos) {
+        // BandOffsets
+        final int srcPixelStride = src.getPixelStride();
+        final int bandOffsets[] = src.getBandOffsets();
+        // Destination rectangle dimensions
+        final int dwidth = dstRect.width;
+        final int dheight = dstRect.height;
+        // Destination image band numbers
+        final int dnumBands = dst.getNumBands();
+        // Destination bandOffsets, PixelStride and ScanLineStride
+        final int dstBandOffsets[] = dst.getBandOffsets();
+        final int dstPixelStride = dst.getPixelStride();
+        final int dstScanlineStride = dst.getScanlineStride();
+
+        // Destination and source data arrays (for all bands)
+        final double[][] srcDataArrays = src.getDoubleDataArrays();
+        final double[][] dstDataArrays = dst.getDoubleDataArrays();
+
+        // Source step between two destination pixels
+        final int srcStep = xStep * srcPixelStride;
+        // Number of destination pixels taken from the first source pixel
+        final int firstRun = replicatedRun(xpos, xReplication);
+        // Offset of the first sample of the destination rows, if all the bands are packed together
+        final int packedOffset = packedBandOffset(dstDataArrays, dstBandOffsets, dstPixelStride);
+
+        // cycle on the y values
+        for (int j = 0; j < dheight; j++) {
+            final int dstlineOffset = j * dstScanlineStride;
+            if (j > 0 && ypos[j] == ypos[j - 1]) {
+                // Same source row of the previous line: the destination line is copied
+                if (packedOffset >= 0) {
+                    final int lineOffset = dstlineOffset + packedOffset;
+                    System.arraycopy(dstDataArrays[0], lineOffset - dstScanlineStride,
+                            dstDataArrays[0], lineOffset, dwidth * dnumBands);
+                } else {
+                    for (int k = 0; k < dnumBands; k++) {
+                        final double[] dstData = dstDataArrays[k];
+                        int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                        for (int i = 0; i < dwidth; i++) {
+                            dstData[dstPixelOffset] = dstData[dstPixelOffset - dstScanlineStride];
+                            dstPixelOffset += dstPixelStride;
+                        }
+                    }
+                }
+                continue;
+            }
+            // for all bands
+            for (int k = 0; k < dnumBands; k++) {
+                final double[] srcData = srcDataArrays[k];
+                final double[] dstData = dstDataArrays[k];
+                // pixel offset initialization
+                int dstPixelOffset = dstlineOffset + dstBandOffsets[k];
+                // first source position
+                int pos = xpos[0] + ypos[j] + bandOffsets[k];
+                if (srcStep > 0) {
+                    // Strided sampling of the source row
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = srcData[pos];
+                        pos += srcStep;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                } else {
+                    // Replication of each source pixel
+                    int i = 0;
+                    int end = Math.min(firstRun, dwidth);
+                    while (i < dwidth) {
+                        final double value = srcData[pos];
+                        for (; i < end; i++) {
+                            dstData[dstPixelOffset] = value;
+                            dstPixelOffset += dstPixelStride;
+                        }
+                        pos += srcPixelStride;
+                        end = Math.min(end + xReplication, dwidth);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of destination pixels taken from the first source pixel of the row, when each source pixel is replicated
+     * <code>replication</code> times.
+     */
+    private static int replicatedRun(int[] xpos, int replication) {
+        int run = 1;
+        while (run < replication && run < xpos.length && xpos[run] == xpos[0]) {
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * Returns the offset of the first sample of a pixel if all the bands are stored in the same array with no gaps between the pixels, so that a
+     * whole line can be copied at once, or -1 otherwise.
+     */
+    private static int packedBandOffset(Object[] dataArrays, int[] bandOffsets, int pixelStride) {
+        final int numBands = bandOffsets.length;
+        if (pixelStride != numBands) {
+            return -1;
+        }
+        int minOffset = Integer.MAX_VALUE;
+        for (int k = 0; k < numBands; k++) {
+            if (dataArrays[k] != dataArrays[0]) {
+                return -1;
+            }
+            minOffset = Math.min(minOffset, bandOffsets[k]);
+        }
+        boolean[] used = new boolean[numBands];
+        for (int k = 0; k < numBands; k++) {
+            int band = bandOffsets[k] - minOffset;
+            if (band >= numBands || used[band]) {
+                return -1;
+            }
+            used[band] = true;
+        }
+        return minOffset;
+    }
 }
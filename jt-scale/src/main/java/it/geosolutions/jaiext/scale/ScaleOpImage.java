@@ -25,6 +25,8 @@ import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.awt.image.WritableRaster;
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.media.jai.BorderExtender;
@@ -272,6 +274,16 @@ public abstract class ScaleOpImage extends GeometricOpImage {
     /** Boolean indicating if only the No Data are used */
     protected boolean caseC;
 
+    /** System property for disabling the separable two pass bilinear and bicubic resampling (enabled by default) */
+    public static final String SEPARABLE_KEY = "jaiext.scale.separable";
+
+    /**
+     * Boolean indicating if the bilinear and bicubic kernels are applied in two passes, first on the source rows and then on the columns. It is
+     * used only when neither ROI nor No Data are present.
+     */
+    protected final boolean separable = Boolean.parseBoolean(System.getProperty(SEPARABLE_KEY,
+            "true"));
+
     /** Extended ROI image*/
     protected RenderedOp srcROIImgExt;
 
@@ -281,6 +293,24 @@ public abstract class ScaleOpImage extends GeometricOpImage {
     /** The extended bounds used by the roi iterator  */
     protected Rectangle roiRect;
 
+    /** System property setting the maximum number of position tables cached for each axis, 0 disables the cache */
+    public static final String POSITION_CACHE_KEY = "jaiext.scale.positionCacheSize";
+
+    /** Default maximum number of position tables cached for each axis */
+    public static final int DEFAULT_POSITION_CACHE_SIZE = 64;
+
+    /** Maximum number of position tables cached for each axis */
+    private final int positionCacheSize = Math.max(0,
+            Integer.getInteger(POSITION_CACHE_KEY, DEFAULT_POSITION_CACHE_SIZE));
+
+    /** Cached x position tables, shared by the tiles of the same tile column */
+    private final Map<PositionKey, PositionTable> xPositionCache = createPositionCache(
+            positionCacheSize);
+
+    /** Cached y position tables, shared by the tiles of the same tile row */
+    private final Map<PositionKey, PositionTable> yPositionCache = createPositionCache(
+            positionCacheSize);
+
     /** ROI Border Extender */
     final static BorderExtender roiExtender = BorderExtender
             .createInstance(BorderExtender.BORDER_ZERO);
@@ -474,49 +504,90 @@ public abstract class ScaleOpImage extends GeometricOpImage {
     protected final void preComputePositionsInt(Rectangle destRect, int srcRectX, int srcRectY,
             int srcPixelStride, int srcScanlineStride, int xpos[], int ypos[], int[] xfracvalues,
             int[] yfracvalues, int roiScanlineStride, int[] yposRoi) {
+        PositionTable xTable = getXPositions(destRect, srcRectX, srcPixelStride, false);
+        PositionTable yTable = getYPositions(destRect, srcRectY, srcScanlineStride,
+                roiScanlineStride, false);
+        copyPositions(xTable, destRect.width, xpos, xfracvalues, null, null);
+        copyPositions(yTable, destRect.height, ypos, yfracvalues, null, yposRoi);
+    }
 
-        // Destination Rectangle position
-        final int dwidth = destRect.width;
-        final int dheight = destRect.height;
-
-        // Loop variables based on the destination rectangle to be calculated.
-        final int dx = destRect.x;
-        final int dy = destRect.y;
-
-        // Initially the y source value is calculated by the destination value and then performing the inverse
-        // scale operation on it.
-        long syNum = dy, syDenom = 1;
-
-        // Subtract the X translation factor sy -= transY
-        syNum = syNum * transYRationalDenom - transYRationalNum * syDenom;
-        syDenom *= transYRationalDenom;
-
-        // Add 0.5
-        syNum = 2 * syNum + syDenom;
-        syDenom *= 2;
+    protected final void preComputePositionsFloat(Rectangle destRect, int srcRectX, int srcRectY,
+            int srcPixelStride, int srcScanlineStride, int xpos[], int ypos[], float[] xfracvalues,
+            float[] yfracvalues, int roiScanlineStride, int[] yposRoi) {
+        PositionTable xTable = getXPositions(destRect, srcRectX, srcPixelStride, true);
+        PositionTable yTable = getYPositions(destRect, srcRectY, srcScanlineStride,
+                roiScanlineStride, true);
+        copyPositions(xTable, destRect.width, xpos, null, xfracvalues, null);
+        copyPositions(yTable, destRect.height, ypos, null, yfracvalues, yposRoi);
+    }
 
-        // Multply by invScaleX
-        syNum *= invScaleYRationalNum;
-        syDenom *= invScaleYRationalDenom;
+    private static void copyPositions(PositionTable table, int length, int[] positions,
+            int[] fractions, float[] fractionsFloat, int[] roiPositions) {
+        System.arraycopy(table.positions, 0, positions, 0, length);
+        if (fractions != null) {
+            System.arraycopy(table.fractions, 0, fractions, 0, length);
+        }
+        if (fractionsFloat != null) {
+            System.arraycopy(table.fractionsFloat, 0, fractionsFloat, 0, length);
+        }
+        if (roiPositions != null && table.roiPositions != null) {
+            System.arraycopy(table.roiPositions, 0, roiPositions, 0, length);
+        }
+    }
 
-        if (isBilinearNew || isBicubicNew) {
-            // Subtract 0.5
-            syNum = 2 * syNum - syDenom;
-            syDenom *= 2;
+    /**
+     * Returns the source x positions and fractional values of the destination columns of the input rectangle. The tables are cached, so that all
+     * the tiles of the same tile column share them: the returned arrays must not be modified.
+     * 
+     * @param destRect the destination rectangle
+     * @param srcRectX the x origin of the source data
+     * @param srcPixelStride the source pixel stride
+     * @param floatFractions if the fractional values must be stored as floats instead of integers
+     */
+    protected final PositionTable getXPositions(Rectangle destRect, int srcRectX,
+            int srcPixelStride, boolean floatFractions) {
+        PositionKey key = new PositionKey(destRect.x, destRect.width, srcRectX, srcPixelStride, 0,
+                floatFractions);
+        PositionTable table = xPositionCache.get(key);
+        if (table == null) {
+            table = computeXPositions(key);
+            xPositionCache.put(key, table);
         }
+        return table;
+    }
 
-        // Separate the y source coordinate into integer and fractional part
-        int srcYInt = Rational.floor(syNum, syDenom);
-        long srcYFrac = syNum % syDenom;
-        if (srcYInt < 0) {
-            srcYFrac = syDenom + srcYFrac;
+    /**
+     * Returns the source y positions, the fractional values and the ROI y positions of the destination rows of the input rectangle. The tables are
+     * cached, so that all the tiles of the same tile row share them: the returned arrays must not be modified.
+     * 
+     * @param destRect the destination rectangle
+     * @param srcRectY the y origin of the source data
+     * @param srcScanlineStride the source scanline stride
+     * @param roiScanlineStride the ROI scanline stride, used only with the ROI RasterAccessor
+     * @param floatFractions if the fractional values must be stored as floats instead of integers
+     */
+    protected final PositionTable getYPositions(Rectangle destRect, int srcRectY,
+            int srcScanlineStride, int roiScanlineStride, boolean floatFractions) {
+        PositionKey key = new PositionKey(destRect.y, destRect.height, srcRectY,
+                srcScanlineStride, useRoiAccessor ? roiScanlineStride : 0, floatFractions);
+        PositionTable table = yPositionCache.get(key);
+        if (table == null) {
+            table = computeYPositions(key);
+            yPositionCache.put(key, table);
         }
+        return table;
+    }
 
-        // Normalize - Get a common denominator for the fracs of
-        // src and invScaleY
-        final long commonYDenom = syDenom * invScaleYRationalDenom;
-        srcYFrac *= invScaleYRationalDenom;
-        final long newInvScaleYFrac = invScaleYFrac * syDenom;
+    private PositionTable computeXPositions(PositionKey key) {
+        // Destination column range
+        final int dx = key.start;
+        final int dwidth = key.length;
+        final int srcRectX = key.srcOrigin;
+        final int srcPixelStride = key.stride;
+
+        final int[] xpos = new int[dwidth];
+        final int[] xfracvalues = key.floatFractions ? null : new int[dwidth];
+        final float[] xfracvaluesFloat = key.floatFractions ? new float[dwidth] : null;
 
         // Initially the x source value is calculated by the destination value and then performing the inverse
         // scale operation on it.
@@ -561,9 +632,13 @@ public abstract class ScaleOpImage extends GeometricOpImage {
                 xpos[i] = (srcXInt - srcRectX) * srcPixelStride;
             }
 
-            // Calculate the yfrac value
+            // Calculate the xfrac value
             if (isBilinearNew || isBicubicNew) {
-                xfracvalues[i] = (int) (((1.0f * srcXFrac) / commonXDenom) * one);
+                if (key.floatFractions) {
+                    xfracvaluesFloat[i] = (1.0f * srcXFrac) / commonXDenom;
+                } else {
+                    xfracvalues[i] = (int) (((1.0f * srcXFrac) / commonXDenom) * one);
+                }
             }
             // Move onto the next source pixel.
 
@@ -583,61 +658,21 @@ public abstract class ScaleOpImage extends GeometricOpImage {
                 srcXFrac -= commonXDenom;
             }
         }
-        // Store of the y positions
-        for (int i = 0; i < dheight; i++) {
-
-            // Calculate the source position in the source data array.
-            if (isBinary) {
-                ypos[i] = srcYInt;
-            } else {
-                ypos[i] = (srcYInt - srcRectY) * srcScanlineStride;
-            }
-
-            // If roi is present, the y position roi value is calculated
-            if (useRoiAccessor) {
-                if (isBinary) {
-                    yposRoi[i] = srcYInt;
-                } else {
-                    yposRoi[i] = (srcYInt - srcRectY) * roiScanlineStride;
-                }
-            }
-
-            // Calculate the yfrac value
-            if (isBilinearNew || isBicubicNew) {
-                yfracvalues[i] = (int) ((1.0f * srcYFrac / commonYDenom) * one);
-            }
-            // yfracvalues[i] = (int) ((1.0f *srcYFrac / commonYDenom) * one);
-            // Move onto the next source pixel.
-
-            // Add the integral part of invScaleY to the integral part
-            // of srcY
-            srcYInt += invScaleYInt;
-
-            // Add the fractional part of invScaleY to the fractional part
-            // of srcY
-            srcYFrac += newInvScaleYFrac;
-
-            // If the fractional part is now greater than equal to the
-            // denominator, divide so as to reduce the numerator to be less
-            // than the denominator and add the overflow to the integral part.
-            if (srcYFrac >= commonYDenom) {
-                srcYInt += 1;
-                srcYFrac -= commonYDenom;
-            }
-        }
+        return new PositionTable(xpos, xfracvalues, xfracvaluesFloat, null);
     }
 
-    protected final void preComputePositionsFloat(Rectangle destRect, int srcRectX, int srcRectY,
-            int srcPixelStride, int srcScanlineStride, int xpos[], int ypos[], float[] xfracvalues,
-            float[] yfracvalues, int roiScanlineStride, int[] yposRoi) {
-
-        // Destination Rectangle position
-        final int dwidth = destRect.width;
-        final int dheight = destRect.height;
+    private PositionTable computeYPositions(PositionKey key) {
+        // Destination row range
+        final int dy = key.start;
+        final int dheight = key.length;
+        final int srcRectY = key.srcOrigin;
+        final int srcScanlineStride = key.stride;
+        final int roiScanlineStride = key.roiStride;
 
-        // Loop variables based on the destination rectangle to be calculated.
-        final int dx = destRect.x;
-        final int dy = destRect.y;
+        final int[] ypos = new int[dheight];
+        final int[] yfracvalues = key.floatFractions ? null : new int[dheight];
+        final float[] yfracvaluesFloat = key.floatFractions ? new float[dheight] : null;
+        final int[] yposRoi = useRoiAccessor ? new int[dheight] : null;
 
         // Initially the y source value is calculated by the destination value and then performing the inverse
         // scale operation on it.
@@ -674,87 +709,33 @@ public abstract class ScaleOpImage extends GeometricOpImage {
         srcYFrac *= invScaleYRationalDenom;
         final long newInvScaleYFrac = invScaleYFrac * syDenom;
 
-        // Initially the x source value is calculated by the destination value and then performing the inverse
-        // scale operation on it.
-        long sxNum = dx, sxDenom = 1;
-
-        // Subtract the X translation factor sx -= transX
-        sxNum = sxNum * transXRationalDenom - transXRationalNum * sxDenom;
-        sxDenom *= transXRationalDenom;
-
-        // Add 0.5
-        sxNum = 2 * sxNum + sxDenom;
-        sxDenom *= 2;
-
-        // Multply by invScaleX
-        sxNum *= invScaleXRationalNum;
-        sxDenom *= invScaleXRationalDenom;
-
-        if (isBilinearNew || isBicubicNew) {
-            // Subtract 0.5
-            sxNum = 2 * sxNum - sxDenom;
-            sxDenom *= 2;
-        }
-
-        // Separate the x source coordinate into integer and fractional part
-        int srcXInt = Rational.floor(sxNum, sxDenom);
-        long srcXFrac = sxNum % sxDenom;
-        if (srcXInt < 0) {
-            srcXFrac = sxDenom + srcXFrac;
-        }
-
-        // Normalize - Get a common denominator for the fracs of
-        // src and invScaleX
-        final long commonXDenom = sxDenom * invScaleXRationalDenom;
-        srcXFrac *= invScaleXRationalDenom;
-        final long newInvScaleXFrac = invScaleXFrac * sxDenom;
-
-        // Store of the x positions
-        for (int i = 0; i < dwidth; i++) {
-
-            xpos[i] = (srcXInt - srcRectX) * srcPixelStride;
-
-            // Calculate the yfrac value
-            if (isBilinearNew || isBicubicNew) {
-                xfracvalues[i] = (1.0f * srcXFrac) / commonXDenom;
-            }
-            // xfracvalues[i] = (1.0f * srcXFrac) / commonXDenom;
-            // Move onto the next source pixel.
-
-            // Add the integral part of invScaleX to the integral part
-            // of srcX
-            srcXInt += invScaleXInt;
-
-            // Add the fractional part of invScaleX to the fractional part
-            // of srcX
-            srcXFrac += newInvScaleXFrac;
-
-            // If the fractional part is now greater than equal to the
-            // denominator, divide so as to reduce the numerator to be less
-            // than the denominator and add the overflow to the integral part.
-            if (srcXFrac >= commonXDenom) {
-                srcXInt += 1;
-                srcXFrac -= commonXDenom;
-            }
-        }
         // Store of the y positions
         for (int i = 0; i < dheight; i++) {
 
             // Calculate the source position in the source data array.
-            ypos[i] = (srcYInt - srcRectY) * srcScanlineStride;
+            if (isBinary) {
+                ypos[i] = srcYInt;
+            } else {
+                ypos[i] = (srcYInt - srcRectY) * srcScanlineStride;
+            }
 
             // If roi is present, the y position roi value is calculated
             if (useRoiAccessor) {
-                yposRoi[i] = (srcYInt - srcRectY) * roiScanlineStride;
-
+                if (isBinary) {
+                    yposRoi[i] = srcYInt;
+                } else {
+                    yposRoi[i] = (srcYInt - srcRectY) * roiScanlineStride;
+                }
             }
 
             // Calculate the yfrac value
             if (isBilinearNew || isBicubicNew) {
-                yfracvalues[i] = 1.0f * srcYFrac / commonYDenom;
+                if (key.floatFractions) {
+                    yfracvaluesFloat[i] = 1.0f * srcYFrac / commonYDenom;
+                } else {
+                    yfracvalues[i] = (int) ((1.0f * srcYFrac / commonYDenom) * one);
+                }
             }
-            // yfracvalues[i] = (float) srcYFrac / (float) commonYDenom;
-
             // Move onto the next source pixel.
 
             // Add the integral part of invScaleY to the integral part
@@ -773,6 +754,91 @@ public abstract class ScaleOpImage extends GeometricOpImage {
                 srcYFrac -= commonYDenom;
             }
         }
+        return new PositionTable(ypos, yfracvalues, yfracvaluesFloat, yposRoi);
+    }
+
+    /** Creates a thread safe LRU map keeping at most maxSize position tables */
+    @SuppressWarnings("serial")
+    private static Map<PositionKey, PositionTable> createPositionCache(final int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<PositionKey, PositionTable>(16,
+                0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<PositionKey, PositionTable> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Source positions and fractional values of a range of destination columns or rows. Only one of the fractional arrays is present, depending on
+     * the requested type. The arrays are shared between all the tiles of the same tile column (or row) and must not be modified.
+     */
+    protected static final class PositionTable {
+
+        /** Source positions, as offsets from the source data origin (or as absolute coordinates for binary images) */
+        protected final int[] positions;
+
+        /** Fractional values scaled by 2^subsampleBits */
+        protected final int[] fractions;
+
+        /** Fractional values as floats */
+        protected final float[] fractionsFloat;
+
+        /** ROI y positions, only for rows when the ROI RasterAccessor is used */
+        protected final int[] roiPositions;
+
+        PositionTable(int[] positions, int[] fractions, float[] fractionsFloat, int[] roiPositions) {
+            this.positions = positions;
+            this.fractions = fractions;
+            this.fractionsFloat = fractionsFloat;
+            this.roiPositions = roiPositions;
+        }
+    }
+
+    /** Key of the cached {@link PositionTable}s */
+    private static final class PositionKey {
+
+        final int start;
+
+        final int length;
+
+        final int srcOrigin;
+
+        final int stride;
+
+        final int roiStride;
+
+        final boolean floatFractions;
+
+        PositionKey(int start, int length, int srcOrigin, int stride, int roiStride,
+                boolean floatFractions) {
+            this.start = start;
+            this.length = length;
+            this.srcOrigin = srcOrigin;
+            this.stride = stride;
+            this.roiStride = roiStride;
+            this.floatFractions = floatFractions;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PositionKey)) {
+                return false;
+            }
+            PositionKey other = (PositionKey) obj;
+            return start == other.start && length == other.length
+                    && srcOrigin == other.srcOrigin && stride == other.stride
+                    && roiStride == other.roiStride && floatFractions == other.floatFractions;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = start;
+            hash = 31 * hash + length;
+            hash = 31 * hash + srcOrigin;
+            hash = 31 * hash + stride;
+            hash = 31 * hash + roiStride;
+            return floatFractions ? ~hash : hash;
+        }
     }
 
     private static Map<Object, Object> configHelper(RenderedImage source,
@@ -187,4 +187,14 @@ public class BilinearScaleTest extends TestScale{
         assertInterpolateInHole(Interpolation.getInstance(Interpolation.INTERP_BILINEAR));
     }
 
+    @Test
+    public void testSeparableResampling() {
+        assertSeparableResampling(Interpolation.getInstance(Interpolation.INTERP_BILINEAR));
+    }
+
+    @Test
+    public void testPositionCache() {
+        assertPositionCache(Interpolation.getInstance(Interpolation.INTERP_BILINEAR));
+    }
+
 }
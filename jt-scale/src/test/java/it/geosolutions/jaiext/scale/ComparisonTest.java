@@ -34,6 +34,7 @@ import it.geosolutions.jaiext.testclasses.TestBase;
 import it.geosolutions.jaiext.testclasses.TestData;
 
 import javax.media.jai.BorderExtender;
+import javax.media.jai.ImageLayout;
 import javax.media.jai.Interpolation;
 import javax.media.jai.JAI;
 import javax.media.jai.ParameterBlockJAI;
@@ -57,7 +58,7 @@ import org.junit.Test;
  * <li>statistic calculation (if the cycle belongs to the benchmark cycles)</li>
  * </ul>
  * The interpolator can be chosen by passing the JAI.Ext.TestSelector Integer JVM parameter: 0 for nearest interpolation, 1 for bilinear, 2 for
- * bicubic. The selection of the old or new descriptor must be done by setting to true or false the JVM parameter JAI.Ext.OldDescriptor. If the user
+ * bicubic, 3 for comparing the new Scale with and without the position tables cache on 256x256 tiles. The selection of the old or new descriptor must be done by setting to true or false the JVM parameter JAI.Ext.OldDescriptor. If the user
  * wants to use the accelerated code, the JVM parameter JAI.Ext.Acceleration must be set to true.
  */
 public class ComparisonTest extends TestBase{
@@ -210,6 +211,53 @@ public class ComparisonTest extends TestBase{
         }
     }
 
+    @Test
+    public void testPositionCache() {
+        if (!OLD_DESCRIPTOR && TEST_SELECTOR == 3) {
+            System.setProperty(ScaleOpImage.POSITION_CACHE_KEY, "0");
+            try {
+                testPositionCache(interpNearNew, "Without position cache");
+                testPositionCache(interpBilNew, "Without position cache");
+            } finally {
+                System.clearProperty(ScaleOpImage.POSITION_CACHE_KEY);
+            }
+            testPositionCache(interpNearNew, "With position cache");
+            testPositionCache(interpBilNew, "With position cache");
+        }
+    }
+
+    /**
+     * Measures the time for computing all the 256x256 tiles of the magnified image, where the position tables are computed (or taken from the
+     * cache) for each tile.
+     */
+    private void testPositionCache(Interpolation interp, String description) {
+        ImageLayout layout = new ImageLayout();
+        layout.setTileWidth(256);
+        layout.setTileHeight(256);
+        RenderingHints tileHints = new RenderingHints(JAI.KEY_IMAGE_LAYOUT, layout);
+        tileHints.add(hints);
+
+        int totalCycles = BENCHMARK_ITERATION + NOT_BENCHMARK_ITERATION;
+        long mean = 0;
+        for (int i = 0; i < totalCycles; i++) {
+            RenderedOp imageScale = ScaleDescriptor.create(image, 4f, 4f, xTrans, yTrans, interp,
+                    null, false, null, null, tileHints);
+
+            long start = System.nanoTime();
+            imageScale.getTiles();
+            long end = System.nanoTime() - start;
+
+            if (i > NOT_BENCHMARK_ITERATION - 1) {
+                mean += end;
+            }
+            imageScale.dispose();
+            JAI.getDefaultInstance().getTileCache().flush();
+        }
+        String interpType = interp instanceof InterpolationNearest ? "Nearest" : "Bilinear";
+        System.out.println("\nMean value for " + interpType + " " + description + " : "
+                + (mean / BENCHMARK_ITERATION * 1E-6) + " msec.");
+    }
+
     public void testInterpolators(Interpolation interp, boolean reductionBoolean, boolean old) {
 
         float scaleX;
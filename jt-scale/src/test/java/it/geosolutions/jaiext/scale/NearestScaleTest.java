@@ -18,6 +18,14 @@
 package it.geosolutions.jaiext.scale;
 
 import static org.junit.Assert.assertFalse;
+
+import java.awt.image.DataBuffer;
+
+import javax.media.jai.Interpolation;
+
+import it.geosolutions.jaiext.interpolators.InterpolationAverage;
+import it.geosolutions.jaiext.interpolators.InterpolationNearest;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -117,4 +125,23 @@ public class NearestScaleTest extends TestScale {
         testGlobal(useROIAccessor,isBinary,bicubic2DIsabled,noDataRangeUsed
                 ,roiPresent,InterpolationType.NEAREST_INTERP,TestSelection.BINARY_ROI_ACCESSOR_NO_DATA,ScaleType.REDUCTION);
     }
+
+    @Test
+    public void testPositionCache() {
+        assertPositionCache(Interpolation.getInstance(Interpolation.INTERP_NEAREST));
+    }
+
+    @Test
+    public void testIntegerFactors() {
+        assertIntegerFactors(Interpolation.getInstance(Interpolation.INTERP_NEAREST));
+    }
+
+    @Test
+    public void testAreaAverage() {
+        assertAreaAverage(new InterpolationAverage(null, false, 0, DataBuffer.TYPE_BYTE));
+        assertAreaAverageNoData(new InterpolationAverage(null, false, 0, DataBuffer.TYPE_BYTE));
+        assertAreaAverageBinary(new InterpolationAverage(null, false, 0, DataBuffer.TYPE_BYTE),
+                new InterpolationNearest(null, false, 0, DataBuffer.TYPE_BYTE));
+    }
+
 }
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
@@ -452,4 +453,193 @@ public class TestScale extends TestBase {
             }
         }
     }
+
+    /**
+     * Checks that the separable two pass resampling, used when neither ROI nor No Data are present, returns the same values of the per pixel
+     * kernel for all the data types, on both magnification and reduction.
+     */
+    protected void assertSeparableResampling(Interpolation interpolation) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        float[] scales = new float[] { 0.3f, 0.5f, 1.5f, 4f };
+        RenderingHints hints = new RenderingHints(JAI.KEY_BORDER_EXTENDER,
+                BorderExtender.createInstance(BorderExtender.BORDER_COPY));
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            for (float scale : scales) {
+                Raster separable = ScaleDescriptor.create(source, scale, scale, 0f, 0f,
+                        interpolation, null, null, null, null, hints).getData();
+                Raster perPixel;
+                System.setProperty(ScaleOpImage.SEPARABLE_KEY, "false");
+                try {
+                    perPixel = ScaleDescriptor.create(source, scale, scale, 0f, 0f,
+                            interpolation, null, null, null, null, hints).getData();
+                } finally {
+                    System.clearProperty(ScaleOpImage.SEPARABLE_KEY);
+                }
+                assertSameData(perPixel, separable);
+            }
+        }
+    }
+
+    /**
+     * Checks that the cached position tables, shared between the tiles of the same tile column/row, give the same result of the tables computed
+     * for each tile. The ROI RasterAccessor is used, so that the ROI positions are checked too.
+     */
+    protected void assertPositionCache(Interpolation interpolation) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_FLOAT };
+        RenderingHints hints = new RenderingHints(JAI.KEY_BORDER_EXTENDER,
+                BorderExtender.createInstance(BorderExtender.BORDER_COPY));
+        ROIShape roi = roiCreation();
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            Raster cached = ScaleDescriptor.create(source, 1.5f, 1.5f, 0f, 0f, interpolation,
+                    roi, true, null, null, hints).getData();
+            Raster notCached;
+            System.setProperty(ScaleOpImage.POSITION_CACHE_KEY, "0");
+            try {
+                notCached = ScaleDescriptor.create(source, 1.5f, 1.5f, 0f, 0f, interpolation,
+                        roi, true, null, null, hints).getData();
+            } finally {
+                System.clearProperty(ScaleOpImage.POSITION_CACHE_KEY);
+            }
+            assertSameData(notCached, cached);
+        }
+    }
+
+    /**
+     * Checks that the area average returns the mean of the source blocks for the power of two reduction factors, for all the data types.
+     */
+    protected void assertAreaAverage(Interpolation interpolation) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        int[] factors = new int[] { 2, 4, 8 };
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            Raster src = source.getData();
+            for (int factor : factors) {
+                Raster scaled = ScaleDescriptor.create(source, 1f / factor, 1f / factor, 0f, 0f,
+                        interpolation, null, null, null, null, null).getData();
+                for (int y = scaled.getMinY(); y < scaled.getMinY() + scaled.getHeight(); y++) {
+                    for (int x = scaled.getMinX(); x < scaled.getMinX() + scaled.getWidth(); x++) {
+                        if ((x + 1) * factor > src.getWidth() || (y + 1) * factor > src.getHeight()) {
+                            continue;
+                        }
+                        double sum = 0;
+                        for (int j = y * factor; j < (y + 1) * factor; j++) {
+                            for (int i = x * factor; i < (x + 1) * factor; i++) {
+                                sum += src.getSampleDouble(i, j, 0);
+                            }
+                        }
+                        double mean = sum / (factor * factor);
+                        if (dataType == DataBuffer.TYPE_FLOAT || dataType == DataBuffer.TYPE_DOUBLE) {
+                            assertEquals(mean, scaled.getSampleDouble(x, y, 0),
+                                    Math.abs(mean) * 1E-5);
+                        } else {
+                            assertEquals(Math.round(mean), scaled.getSampleDouble(x, y, 0), 0d);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the area average excludes the pixels flagged as No Data or outside the ROI, and that the destination No Data is set when no
+     * valid pixel is found.
+     */
+    protected void assertAreaAverageNoData(Interpolation interpolation) {
+        SampleModel sm = new ComponentSampleModel(DataBuffer.TYPE_BYTE, 32, 32, 1, 32,
+                new int[] { 0 });
+        TiledImage source = new TiledImage(0, 0, 32, 32, 0, 0, sm, PlanarImage.createColorModel(sm));
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                // The first block is fully No Data, the other ones partially
+                boolean noData = (x < 4 && y < 4) || (x + y) % 3 == 0;
+                source.setSample(x, y, 0, noData ? 0 : 100);
+            }
+        }
+        Range noData = RangeFactory.create((byte) 0, (byte) 0);
+        double[] background = new double[] { 255 };
+        Raster scaled = ScaleDescriptor.create(source, 0.25f, 0.25f, 0f, 0f, interpolation, null,
+                null, noData, background, null).getData();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                assertEquals(x == 0 && y == 0 ? 255 : 100, scaled.getSample(x, y, 0));
+            }
+        }
+        // Only the left half is inside the ROI
+        ROIShape roi = new ROIShape(new Rectangle(0, 0, 16, 32));
+        scaled = ScaleDescriptor.create(source, 0.25f, 0.25f, 0f, 0f, interpolation, roi, true,
+                noData, background, null).getData();
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                assertEquals(x >= 4 || (x == 0 && y == 0) ? 255 : 100, scaled.getSample(x, y, 0));
+            }
+        }
+    }
+
+    /**
+     * Checks that the nearest neighbour scaling by integer factors, or by their inverse, takes each destination pixel from the source pixel
+     * containing its center, for all the data types and for integral and fractional translations.
+     */
+    protected void assertIntegerFactors(Interpolation interpolation) {
+        int[] dataTypes = new int[] { DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT,
+                DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_FLOAT,
+                DataBuffer.TYPE_DOUBLE };
+        float[] scales = new float[] { 0.25f, 0.5f, 2f, 3f };
+        float[] translations = new float[] { 0f, 3f, 0.5f };
+        for (int dataType : dataTypes) {
+            RenderedImage source = createTestImage(dataType, DEFAULT_WIDTH, DEFAULT_HEIGHT, 100,
+                    false);
+            Raster src = source.getData();
+            for (float scale : scales) {
+                for (float trans : translations) {
+                    Raster scaled = ScaleDescriptor.create(source, scale, scale, trans, trans,
+                            interpolation, null, null, null, null, null).getData();
+                    for (int y = scaled.getMinY(); y < scaled.getMinY() + scaled.getHeight(); y++) {
+                        int sy = (int) Math.floor((y + 0.5 - trans) / scale);
+                        for (int x = scaled.getMinX(); x < scaled.getMinX() + scaled.getWidth(); x++) {
+                            int sx = (int) Math.floor((x + 0.5 - trans) / scale);
+                            for (int b = 0; b < scaled.getNumBands(); b++) {
+                                assertEquals(src.getSampleDouble(sx, sy, b),
+                                        scaled.getSampleDouble(x, y, b), 0d);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the area average of a binary image is the same of the Nearest-Neighbor interpolation, since the averages cannot be stored.
+     */
+    protected void assertAreaAverageBinary(Interpolation average, Interpolation nearest) {
+        RenderedImage source = createTestImage(DataBuffer.TYPE_BYTE, DEFAULT_WIDTH,
+                DEFAULT_HEIGHT, 1, true, 1);
+        RenderedOp averaged = ScaleDescriptor.create(source, 0.25f, 0.25f, 0f, 0f, average,
+                null, null, null, null, null);
+        RenderedOp nearestScaled = ScaleDescriptor.create(source, 0.25f, 0.25f, 0f, 0f,
+                nearest, null, null, null, null, null);
+        assertEquals(source.getSampleModel().getClass(), averaged.getSampleModel().getClass());
+        assertSameData(nearestScaled.getData(), averaged.getData());
+    }
+
+    private void assertSameData(Raster expected, Raster actual) {
+        assertEquals(expected.getBounds(), actual.getBounds());
+        for (int y = expected.getMinY(); y < expected.getMinY() + expected.getHeight(); y++) {
+            for (int x = expected.getMinX(); x < expected.getMinX() + expected.getWidth(); x++) {
+                for (int b = 0; b < expected.getNumBands(); b++) {
+                    assertEquals(expected.getSampleDouble(x, y, b),
+                            actual.getSampleDouble(x, y, b), 0d);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.interpolators;
+
+import it.geosolutions.jaiext.range.Range;
+
+/**
+ * Interpolator selecting the area-averaging (box filter) resampling. When used with the "Scale" operation each destination pixel is the average
+ * of all the source pixels covered by its footprint, each weighted by the covered area; pixels outside the ROI or inside the No Data range are
+ * excluded from the average. This avoids the aliasing of the other interpolations when reducing an image by large factors, e.g. when building
+ * overviews.
+ * <p>
+ * Binary sources (1 bit {@link java.awt.image.MultiPixelPackedSampleModel}) cannot store the averaged values, so "Scale" resamples them with
+ * the Nearest-Neighbor interpolation. The other operations do not support area averaging and treat this interpolator as a Nearest-Neighbor one.
+ */
+public class InterpolationAverage extends InterpolationNearest {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 2412837403158469870L;
+
+    /**
+     * Area-averaging interpolator. On construction it is possible to set a range for no data values that will be excluded from the average.
+     */
+    public InterpolationAverage(Range noDataRange, boolean useROIAccessor,
+            double destinationNoData, int dataType) {
+        super(noDataRange, useROIAccessor, destinationNoData, dataType);
+    }
+}
@@ -0,0 +1,407 @@
+/* JAI-Ext - OpenSource Java Advanced Image Extensions Library
+*    http://www.geo-solutions.it/
+*    Copyright 2014 GeoSolutions
+
+
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+
+* http://www.apache.org/licenses/LICENSE-2.0
+
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package it.geosolutions.jaiext.warp;
+
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.media.jai.Warp;
+
+/**
+ * {@link Warp} approximating another, possibly expensive, {@link Warp} with a piecewise-linear mapping.
+ * <p>
+ * The destination plane is divided in square blocks. For each block the exact warp is evaluated at the block corners, at the middle of the
+ * edges and at the center: if the bilinear interpolation of the corners differs from the exact positions by no more than the maximum error, the
+ * whole block is interpolated, otherwise it is split in four and each quadrant is checked in the same way. Quadrants of 2x2 pixels which still do
+ * not satisfy the error use the exact positions. The source positions of each block are then kept in a small LRU cache, since the Warp operations
+ * request them one destination row at a time.
+ * <p>
+ * The error is only checked at the grid nodes, so the mapping is assumed to be smooth inside the cells. The maximum error found at the accepted
+ * nodes, the number of exact evaluations and the cache statistics are available for tuning.
+ */
+public class WarpAdaptive extends Warp {
+
+    /** System property setting the maximum error, in source pixels, used by the {@link WarpRIF} for wrapping the input warps */
+    public static final String MAX_ERROR_KEY = "jaiext.warp.maxError";
+
+    /** Default size of the blocks, must be a power of 2 */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /** Default number of blocks kept in the cache */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    /** The approximated warp */
+    private final Warp warp;
+
+    /** Maximum error accepted, in source pixels */
+    private final double maxError;
+
+    /** Size of the blocks */
+    private final int blockSize;
+
+    /** Number of blocks kept in the cache */
+    private final int cacheSize;
+
+    /** Cached blocks, in access order */
+    private transient Map<Long, float[]> cache;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    private final AtomicLong exactEvaluations = new AtomicLong();
+
+    private final AtomicLong interpolatedCells = new AtomicLong();
+
+    private final AtomicLong exactCells = new AtomicLong();
+
+    /** Maximum error found at the nodes of the interpolated cells */
+    private double achievedError;
+
+    public WarpAdaptive(Warp warp, double maxError) {
+        this(warp, maxError, DEFAULT_BLOCK_SIZE, DEFAULT_CACHE_SIZE);
+    }
+
+    public WarpAdaptive(Warp warp, double maxError, int blockSize, int cacheSize) {
+        if (warp == null) {
+            throw new IllegalArgumentException("The warp should not be null");
+        }
+        if (!(maxError >= 0)) {
+            throw new IllegalArgumentException("The maximum error should not be negative");
+        }
+        if (blockSize < 2 || (blockSize & (blockSize - 1)) != 0) {
+            throw new IllegalArgumentException("The block size should be a power of 2");
+        }
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("The cache size should be positive");
+        }
+        this.warp = warp;
+        this.maxError = maxError;
+        this.blockSize = blockSize;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Wraps the warp with a {@link WarpAdaptive} if the {@link #MAX_ERROR_KEY} system property is set to a positive value. Warps which are
+     * already cheap to evaluate ({@link javax.media.jai.WarpAffine}, {@link javax.media.jai.WarpGrid} and
+     * {@link javax.media.jai.WarpPolynomial}) are returned unchanged.
+     */
+    static Warp wrap(Warp warp) {
+        if (warp == null || warp instanceof WarpAdaptive
+                || warp instanceof javax.media.jai.WarpAffine
+                || warp instanceof javax.media.jai.WarpGrid
+                || warp instanceof javax.media.jai.WarpPolynomial) {
+            return warp;
+        }
+        String property = System.getProperty(MAX_ERROR_KEY);
+        if (property == null) {
+            return warp;
+        }
+        double maxError;
+        try {
+            maxError = Double.parseDouble(property);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong value for " + MAX_ERROR_KEY + ": "
+                    + property);
+        }
+        return maxError > 0 ? new WarpAdaptive(warp, maxError) : warp;
+    }
+
+    /** Returns the approximated warp */
+    public Warp getWarp() {
+        return warp;
+    }
+
+    /** Returns the maximum error accepted, in source pixels */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /** Returns the maximum error found at the nodes of the interpolated cells, in source pixels */
+    public synchronized double getAchievedError() {
+        return achievedError;
+    }
+
+    /** Returns the number of block requests served by the cache */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** Returns the number of block requests which required the computation of the block */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /** Returns the number of positions evaluated with the approximated warp */
+    public long getExactEvaluations() {
+        return exactEvaluations.get();
+    }
+
+    /** Returns the number of cells filled by interpolation */
+    public long getInterpolatedCells() {
+        return interpolatedCells.get();
+    }
+
+    /** Returns the number of 2x2 cells filled with the exact positions */
+    public long getExactCells() {
+        return exactCells.get();
+    }
+
+    /** Clears the cached blocks and the statistics */
+    public void reset() {
+        synchronized (this) {
+            cache = null;
+            achievedError = 0;
+        }
+        cacheHits.set(0);
+        cacheMisses.set(0);
+        exactEvaluations.set(0);
+        interpolatedCells.set(0);
+        exactCells.set(0);
+    }
+
+    public float[] warpSparseRect(int x, int y, int width, int height, int periodX, int periodY,
+            float[] destRect) {
+        if (periodX < 1 || periodY < 1) {
+            throw new IllegalArgumentException("The periods should be positive");
+        }
+        int numX = (width + periodX - 1) / periodX;
+        int numY = (height + periodY - 1) / periodY;
+        if (destRect == null) {
+            destRect = new float[2 * numX * numY];
+        } else if (destRect.length < 2 * numX * numY) {
+            throw new IllegalArgumentException("The destination array is too small");
+        }
+        int shift = Integer.numberOfTrailingZeros(blockSize);
+        int mask = blockSize - 1;
+        int index = 0;
+        for (int j = 0; j < numY; j++) {
+            int dy = y + j * periodY;
+            int by = dy >> shift;
+            int offsetY = (dy & mask) * blockSize;
+            float[] block = null;
+            int blockX = 0;
+            for (int i = 0; i < numX; i++) {
+                int dx = x + i * periodX;
+                int bx = dx >> shift;
+                // Consecutive points usually fall in the same block
+                if (block == null || bx != blockX) {
+                    block = getBlock(bx, by);
+                    blockX = bx;
+                }
+                int pos = 2 * (offsetY + (dx & mask));
+                destRect[index++] = block[pos];
+                destRect[index++] = block[pos + 1];
+            }
+        }
+        return destRect;
+    }
+
+    public Rectangle mapDestRect(Rectangle destRect) {
+        return warp.mapDestRect(destRect);
+    }
+
+    public Rectangle mapSourceRect(Rectangle sourceRect) {
+        return warp.mapSourceRect(sourceRect);
+    }
+
+    public Point2D mapDestPoint(Point2D destPt) {
+        return warp.mapDestPoint(destPt);
+    }
+
+    public Point2D mapSourcePoint(Point2D sourcePt) {
+        return warp.mapSourcePoint(sourcePt);
+    }
+
+    /** Returns the source positions of the block, computing them if they are not cached */
+    private float[] getBlock(int bx, int by) {
+        Long key = Long.valueOf(((long) bx << 32) | (by & 0xFFFFFFFFL));
+        synchronized (this) {
+            if (cache == null) {
+                cache = createCache(cacheSize);
+            }
+            float[] block = cache.get(key);
+            if (block != null) {
+                cacheHits.incrementAndGet();
+                return block;
+            }
+        }
+        cacheMisses.incrementAndGet();
+        // Computed outside the lock, concurrent requests of the same block just do the work twice
+        float[] block = computeBlock(bx << Integer.numberOfTrailingZeros(blockSize),
+                by << Integer.numberOfTrailingZeros(blockSize));
+        synchronized (this) {
+            if (cache == null) {
+                cache = createCache(cacheSize);
+            }
+            cache.put(key, block);
+        }
+        return block;
+    }
+
+    private static Map<Long, float[]> createCache(final int cacheSize) {
+        return new LinkedHashMap<Long, float[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<Long, float[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /** Computes the source positions of the block starting at the input destination position */
+    private float[] computeBlock(int x0, int y0) {
+        int nodeStride = blockSize + 1;
+        Nodes nodes = new Nodes(x0, y0, nodeStride);
+        // The block corners are evaluated together
+        float[] corners = warp.warpSparseRect(x0, y0, nodeStride, nodeStride, blockSize,
+                blockSize, null);
+        exactEvaluations.addAndGet(4);
+        nodes.set(0, 0, corners, 0);
+        nodes.set(blockSize, 0, corners, 2);
+        nodes.set(0, blockSize, corners, 4);
+        nodes.set(blockSize, blockSize, corners, 6);
+
+        float[] block = new float[2 * blockSize * blockSize];
+        double[] error = new double[1];
+        fillCell(nodes, 0, 0, blockSize, block, error);
+        if (error[0] > 0) {
+            synchronized (this) {
+                achievedError = Math.max(achievedError, error[0]);
+            }
+        }
+        return block;
+    }
+
+    /** Fills the cell, splitting it while the bilinear interpolation of the corners is not accurate enough */
+    private void fillCell(Nodes nodes, int cx, int cy, int size, float[] block, double[] error) {
+        int half = size / 2;
+        // Interpolation error at the middle of the edges and at the center
+        double cellError = 0;
+        cellError = Math.max(cellError, nodes.error(cx, cy, size, half, 0));
+        cellError = Math.max(cellError, nodes.error(cx, cy, size, 0, half));
+        cellError = Math.max(cellError, nodes.error(cx, cy, size, half, half));
+        cellError = Math.max(cellError, nodes.error(cx, cy, size, size, half));
+        cellError = Math.max(cellError, nodes.error(cx, cy, size, half, size));
+        // NaN positions never satisfy the check
+        if (cellError <= maxError) {
+            interpolatedCells.incrementAndGet();
+            error[0] = Math.max(error[0], cellError);
+            nodes.interpolate(cx, cy, size, block, blockSize);
+        } else if (size == 2) {
+            // All the pixels of the cell are nodes which have been already evaluated
+            exactCells.incrementAndGet();
+            nodes.copy(cx, cy, size, block, blockSize);
+        } else {
+            fillCell(nodes, cx, cy, half, block, error);
+            fillCell(nodes, cx + half, cy, half, block, error);
+            fillCell(nodes, cx, cy + half, half, block, error);
+            fillCell(nodes, cx + half, cy + half, half, block, error);
+        }
+    }
+
+    /** Exact source positions at the grid nodes of a block, evaluated on request */
+    private final class Nodes {
+
+        private final int x0;
+
+        private final int y0;
+
+        private final int stride;
+
+        private final float[] values;
+
+        private final boolean[] evaluated;
+
+        private final float[] point = new float[2];
+
+        Nodes(int x0, int y0, int stride) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.stride = stride;
+            this.values = new float[2 * stride * stride];
+            this.evaluated = new boolean[stride * stride];
+        }
+
+        void set(int x, int y, float[] src, int offset) {
+            int index = y * stride + x;
+            values[2 * index] = src[offset];
+            values[2 * index + 1] = src[offset + 1];
+            evaluated[index] = true;
+        }
+
+        /** Returns the index of the node in the values array, evaluating it if needed */
+        int get(int x, int y) {
+            int index = y * stride + x;
+            if (!evaluated[index]) {
+                warp.warpPoint(x0 + x, y0 + y, point);
+                exactEvaluations.incrementAndGet();
+                set(x, y, point, 0);
+            }
+            return 2 * index;
+        }
+
+        /** Returns the distance between the exact and the interpolated position of the node (cx + i, cy + j) */
+        double error(int cx, int cy, int size, int i, int j) {
+            int node = get(cx + i, cy + j);
+            double u = (double) i / size;
+            double v = (double) j / size;
+            double ex = values[node] - interpolate(cx, cy, size, u, v, 0);
+            double ey = values[node + 1] - interpolate(cx, cy, size, u, v, 1);
+            return Math.sqrt(ex * ex + ey * ey);
+        }
+
+        private double interpolate(int cx, int cy, int size, double u, double v, int band) {
+            int n00 = 2 * (cy * stride + cx) + band;
+            int n10 = n00 + 2 * size;
+            int n01 = n00 + 2 * size * stride;
+            int n11 = n01 + 2 * size;
+            double top = values[n00] + (values[n10] - values[n00]) * u;
+            double bottom = values[n01] + (values[n11] - values[n01]) * u;
+            return top + (bottom - top) * v;
+        }
+
+        /** Writes the bilinear interpolation of the cell corners in the block */
+        void interpolate(int cx, int cy, int size, float[] block, int blockSize) {
+            for (int j = 0; j < size; j++) {
+                double v = (double) j / size;
+                int pos = 2 * ((cy + j) * blockSize + cx);
+                for (int i = 0; i < size; i++) {
+                    double u = (double) i / size;
+                    block[pos++] = (float) interpolate(cx, cy, size, u, v, 0);
+                    block[pos++] = (float) interpolate(cx, cy, size, u, v, 1);
+                }
+            }
+        }
+
+        /** Copies the exact positions of the cell in the block */
+        void copy(int cx, int cy, int size, float[] block, int blockSize) {
+            for (int j = 0; j < size; j++) {
+                int pos = 2 * ((cy + j) * blockSize + cx);
+                for (int i = 0; i < size; i++) {
+                    int node = get(cx + i, cy + j);
+                    block[pos++] = values[node];
+                    block[pos++] = values[node + 1];
+                }
+            }
+        }
+    }
+}
@@ -230,7 +230,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -279,7 +279,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -366,7 +366,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -484,7 +484,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -611,7 +611,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -661,7 +661,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -749,7 +749,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -869,7 +869,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -1045,7 +1045,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1095,7 +1095,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1183,7 +1183,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1301,7 +1301,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1473,7 +1473,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1523,7 +1523,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1611,7 +1611,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1729,7 +1729,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1901,7 +1901,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1951,7 +1951,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2039,7 +2039,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2157,7 +2157,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2329,7 +2329,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2379,7 +2379,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2465,7 +2465,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2579,7 +2579,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2751,7 +2751,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2792,7 +2792,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2869,7 +2869,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -2975,7 +2975,7 @@ final class WarpBicubicOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
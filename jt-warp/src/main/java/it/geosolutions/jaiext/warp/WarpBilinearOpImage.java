@@ -140,7 +140,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -185,7 +185,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -243,7 +243,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -298,7 +298,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -367,7 +367,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -414,7 +414,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -474,7 +474,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -531,7 +531,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
                         final float sx = warpData[count++];
@@ -629,7 +629,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -674,7 +674,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -732,7 +732,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -787,7 +787,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -881,7 +881,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -926,7 +926,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -984,7 +984,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1039,7 +1039,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1133,7 +1133,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1178,7 +1178,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1236,7 +1236,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1291,7 +1291,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1385,7 +1385,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1430,7 +1430,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1488,7 +1488,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1543,7 +1543,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1636,7 +1636,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1681,7 +1681,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1739,7 +1739,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -1794,7 +1794,7 @@ final class WarpBilinearOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     final float sx = warpData[count++];
@@ -187,7 +187,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -232,7 +232,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -297,7 +297,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -356,7 +356,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -429,7 +429,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -474,7 +474,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -539,7 +539,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -589,7 +589,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                     int pixelOffset = lineOffset;
                     lineOffset += lineStride;
 
-                    warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                    warpRow(dst, h, warpData);
 
                     int count = 0;
                     for (int w = 0; w < dstWidth; w++) {
@@ -712,7 +712,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -756,7 +756,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -821,7 +821,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -875,7 +875,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1000,7 +1000,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1044,7 +1044,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1109,7 +1109,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1163,7 +1163,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1288,7 +1288,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1332,7 +1332,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1397,7 +1397,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1451,7 +1451,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1573,7 +1573,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1617,7 +1617,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1682,7 +1682,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1736,7 +1736,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1858,7 +1858,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1902,7 +1902,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -1967,7 +1967,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
@@ -2021,7 +2021,7 @@ final class WarpGeneralOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
 
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
 
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
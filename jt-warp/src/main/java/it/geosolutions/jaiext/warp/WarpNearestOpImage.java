@@ -139,7 +139,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -172,7 +172,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -215,7 +215,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -248,7 +248,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -319,7 +319,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -352,7 +352,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -396,7 +396,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -435,7 +435,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -511,7 +511,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -544,7 +544,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -588,7 +588,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -627,7 +627,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -703,7 +703,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -735,7 +735,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -778,7 +778,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -817,7 +817,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -893,7 +893,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -925,7 +925,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -969,7 +969,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -1008,7 +1008,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -1084,7 +1084,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -1116,7 +1116,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -1160,7 +1160,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
@@ -1199,7 +1199,7 @@ final class WarpNearestOpImage extends WarpOpImage {
                 int pixelOffset = lineOffset;
                 lineOffset += lineStride;
                 // Calculation of the warp for the selected row
-                warp.warpRect(dst.getX(), dst.getY() + h, dstWidth, 1, warpData);
+                warpRow(dst, h, warpData);
                 int count = 0;
                 for (int w = 0; w < dstWidth; w++) {
                     /*
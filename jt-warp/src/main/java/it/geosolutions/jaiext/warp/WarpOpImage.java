@@ -20,6 +20,7 @@ package it.geosolutions.jaiext.warp;
 import it.geosolutions.jaiext.border.BorderDescriptor;
 import it.geosolutions.jaiext.interpolators.InterpolationNoData;
 import it.geosolutions.jaiext.iterators.RandomIterFactory;
+import it.geosolutions.jaiext.iterators.TilePrefetcher;
 import it.geosolutions.jaiext.range.Range;
 import java.awt.Point;
 import java.awt.Rectangle;
@@ -112,6 +113,25 @@ public abstract class WarpOpImage extends javax.media.jai.WarpOpImage {
     /** Rectangle associated to the ROI bounds*/
     protected Rectangle roiBounds;
 
+    /** Maximum number of destination pixels whose warped positions are kept between the footprint computation and the tile computation */
+    private static final int MAX_STORED_POSITIONS = 512 * 512;
+
+    /** Maximum number of pixels of the source region copied in a local raster, larger regions are read from the source image */
+    private static final int MAX_LOCAL_PIXELS = 2048 * 2048;
+
+    /** System property for disabling the computation of the source footprint of each tile (enabled by default) */
+    public static final String FOOTPRINT_KEY = "jaiext.warp.footprint";
+
+    /**
+     * Boolean indicating if the source region touched by each tile is computed before the tile, for skipping the tiles outside the source and
+     * loading the source tiles in a single call.
+     */
+    protected final boolean useFootprint = Boolean.parseBoolean(System.getProperty(FOOTPRINT_KEY,
+            "true"));
+
+    /** Source footprint of the tile being computed by the current thread */
+    private final ThreadLocal<SourceFootprint> footprints = new ThreadLocal<SourceFootprint>();
+
     public WarpOpImage(final RenderedImage source, final ImageLayout layout,
             final Map<?, ?> configuration, final boolean cobbleSources,
             final BorderExtender extender, final Interpolation interp, final Warp warp,
@@ -227,9 +247,26 @@ public abstract class WarpOpImage extends javax.media.jai.WarpOpImage {
             // FIXME
             throw new UnsupportedOperationException();
 
-        } else {
+        } else if (!useFootprint) {
             final PlanarImage[] srcs = { source };
             computeRect(srcs, dest, destRect);
+        } else {
+            // Exact source region touched by the warped positions of the tile
+            final SourceFootprint footprint = computeFootprint(source, destRect);
+            if (footprint == null) {
+                if (setBackground) {
+                    ImageUtil.fillBackground(dest, destRect, backgroundValues);
+                }
+                return dest; // no warped position falls inside the source
+            }
+            loadFootprint(source, footprint);
+            final PlanarImage[] srcs = { source };
+            footprints.set(footprint);
+            try {
+                computeRect(srcs, dest, destRect);
+            } finally {
+                footprints.remove();
+            }
         }
 
         return dest;
@@ -466,7 +503,12 @@ public abstract class WarpOpImage extends javax.media.jai.WarpOpImage {
     protected RandomIter getRandomIterator(final PlanarImage src, int leftPad, int rightPad,
             int topPad, int bottomPad, BorderExtender extender) {
         RandomIter iterSource;
-        if (extended) {
+        SourceFootprint footprint = footprints.get();
+        if (!extended && footprint != null && footprint.local != null) {
+            // The source region needed by the tile has been already copied
+            iterSource = RandomIterFactory.create(footprint.local, footprint.local.getBounds(),
+                    TILE_CACHED, ARRAY_CALC);
+        } else if (extended) {
             RenderedOp op = BorderDescriptor.create(src, leftPad, rightPad, topPad, bottomPad,
                     extender, noDataRange, backgroundValues != null ? backgroundValues[0] : 0d, hints);
             iterSource = RandomIterFactory.create(op, op.getBounds(), TILE_CACHED, ARRAY_CALC);
@@ -475,4 +517,171 @@ public abstract class WarpOpImage extends javax.media.jai.WarpOpImage {
         }
         return iterSource;
     }
+
+    /**
+     * Returns the warped positions of a destination row. The positions computed for the source footprint of the current tile are reused if
+     * available, otherwise the warp is called.
+     * 
+     * @param dst the destination accessor
+     * @param row the row index, relative to the accessor origin
+     * @param warpData the array receiving the positions
+     */
+    protected final void warpRow(final RasterAccessor dst, final int row, final float[] warpData) {
+        final int width = dst.getWidth();
+        final SourceFootprint footprint = footprints.get();
+        if (footprint != null && footprint.positions != null && footprint.x == dst.getX()
+                && footprint.width == width) {
+            final int offset = dst.getY() + row - footprint.y;
+            if (offset >= 0 && offset < footprint.height) {
+                System.arraycopy(footprint.positions, 2 * offset * width, warpData, 0, 2 * width);
+                return;
+            }
+        }
+        warp.warpRect(dst.getX(), dst.getY() + row, width, 1, warpData);
+    }
+
+    /**
+     * Computes the source region touched by the warped positions of the destination rectangle, including the interpolation padding and clipped
+     * to the source bounds. The positions are kept for the tile computation if the rectangle is not too big.
+     * 
+     * @return the footprint, or <code>null</code> if no position falls inside the source grown by the interpolation padding
+     */
+    private SourceFootprint computeFootprint(final PlanarImage source, final Rectangle destRect) {
+        final int width = destRect.width;
+        final int height = destRect.height;
+        final boolean store = (long) width * height <= MAX_STORED_POSITIONS;
+        final float[] positions = store ? new float[2 * width * height] : null;
+        final float[] row = store ? null : new float[2 * width];
+        if (store) {
+            warp.warpRect(destRect.x, destRect.y, width, height, positions);
+        }
+
+        // The inner loops use floor() or round() of the positions, so floor() + 1 covers both; NaN positions map to -1 as in the loops
+        long minX = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxY = Long.MIN_VALUE;
+        for (int j = 0; j < height; j++) {
+            final float[] data;
+            int count;
+            if (store) {
+                data = positions;
+                count = 2 * j * width;
+            } else {
+                data = warp.warpRect(destRect.x, destRect.y + j, width, 1, row);
+                count = 0;
+            }
+            for (int i = 0; i < width; i++) {
+                final int sx = floor(data[count++]);
+                final int sy = floor(data[count++]);
+                if (sx < minX) {
+                    minX = sx;
+                }
+                if (sx > maxX) {
+                    maxX = sx;
+                }
+                if (sy < minY) {
+                    minY = sy;
+                }
+                if (sy > maxY) {
+                    maxY = sy;
+                }
+            }
+        }
+        maxX++;
+        maxY++;
+
+        // Interpolation padding, the positions whose kernel touches the source are computed by the loops
+        int lpad = leftPad;
+        int rpad = rightPad;
+        int tpad = topPad;
+        int bpad = bottomPad;
+        if (interp != null) {
+            lpad = Math.max(lpad, interp.getLeftPadding());
+            rpad = Math.max(rpad, interp.getRightPadding());
+            tpad = Math.max(tpad, interp.getTopPadding());
+            bpad = Math.max(bpad, interp.getBottomPadding());
+        }
+        minX -= lpad;
+        maxX += rpad;
+        minY -= tpad;
+        maxY += bpad;
+
+        // Check against the source bounds
+        final Rectangle srcBounds = source.getBounds();
+        if (maxX < srcBounds.x || minX >= srcBounds.x + srcBounds.width || maxY < srcBounds.y
+                || minY >= srcBounds.y + srcBounds.height) {
+            return null;
+        }
+        final long x0 = Math.max(minX, srcBounds.x);
+        final long x1 = Math.min(maxX, srcBounds.x + srcBounds.width - 1L);
+        final long y0 = Math.max(minY, srcBounds.y);
+        final long y1 = Math.min(maxY, srcBounds.y + srcBounds.height - 1L);
+
+        SourceFootprint footprint = new SourceFootprint();
+        footprint.x = destRect.x;
+        footprint.y = destRect.y;
+        footprint.width = width;
+        footprint.height = height;
+        footprint.positions = positions;
+        footprint.bounds = new Rectangle((int) x0, (int) y0, (int) (x1 - x0 + 1),
+                (int) (y1 - y0 + 1));
+        return footprint;
+    }
+
+    /**
+     * Requests the source tiles intersecting the footprint in a single call, so that they are computed in parallel by the TileScheduler, and
+     * copies them in a local raster read by the inner loops. When a border extender is used or the footprint is too big, the tiles are only
+     * prefetched and the loops read the source image.
+     */
+    private void loadFootprint(final PlanarImage source, final SourceFootprint footprint) {
+        final Rectangle bounds = footprint.bounds;
+        if (extended || (long) bounds.width * bounds.height > MAX_LOCAL_PIXELS) {
+            // Queue the source tiles touched by the warped tile before the iterator requests them one at a time
+            TilePrefetcher.prefetch(source, bounds);
+            return;
+        }
+        final Point[] indices = source.getTileIndices(bounds);
+        if (indices == null || indices.length == 0) {
+            return;
+        }
+        final Raster[] tiles = source.getTiles(indices);
+        if (tiles.length == 1) {
+            // No copy needed
+            footprint.local = tiles[0];
+            return;
+        }
+        final SampleModel sm = source.getSampleModel().createCompatibleSampleModel(bounds.width,
+                bounds.height);
+        final WritableRaster local = Raster.createWritableRaster(sm,
+                new Point(bounds.x, bounds.y));
+        for (Raster tile : tiles) {
+            local.setRect(tile);
+        }
+        footprint.local = local;
+    }
+
+    /**
+     * Source region needed by a destination tile.
+     */
+    private static final class SourceFootprint {
+
+        /** Destination rectangle */
+        int x;
+
+        int y;
+
+        int width;
+
+        int height;
+
+        /** Warped positions of the destination rectangle, may be <code>null</code> */
+        float[] positions;
+
+        /** Source region touched by the positions, clipped to the source bounds */
+        Rectangle bounds;
+
+        /** Copy of the source region, may be <code>null</code> */
+        Raster local;
+    }
 }
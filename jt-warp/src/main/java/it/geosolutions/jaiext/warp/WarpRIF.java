@@ -64,7 +64,8 @@ public class WarpRIF implements RenderedImageFactory {
         BorderExtender extender = RIFUtil.getBorderExtenderHint(renderHints);
 
         RenderedImage source = paramBlock.getRenderedSource(0);
-        Warp warp = (Warp) paramBlock.getObjectParameter(0);
+        // Expensive warps may be approximated, see WarpAdaptive.MAX_ERROR_KEY
+        Warp warp = WarpAdaptive.wrap((Warp) paramBlock.getObjectParameter(0));
         Interpolation interp = (Interpolation) paramBlock.getObjectParameter(1);
         double[] backgroundValues = (double[]) paramBlock.getObjectParameter(2);
 
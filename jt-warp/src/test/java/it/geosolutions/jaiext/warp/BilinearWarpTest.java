@@ -100,6 +100,16 @@ public class BilinearWarpTest extends TestWarp{
         super.testImageNoDataROI(interpType);
     }
 
+    @Test
+    public void testWarpOutsideSource() {
+        super.testWarpOutsideSource(interpType);
+    }
+
+    @Test
+    public void testFootprint() {
+        super.testFootprint(interpType);
+    }
+
     /**
      * Static method for disposing the test environment.
      */
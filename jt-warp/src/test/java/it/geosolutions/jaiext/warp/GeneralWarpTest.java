@@ -103,6 +103,16 @@ public class GeneralWarpTest extends TestWarp{
         super.testImageNoDataROI(interpType);
     }
 
+    @Test
+    public void testWarpOutsideSource() {
+        super.testWarpOutsideSource(interpType);
+    }
+
+    @Test
+    public void testFootprint() {
+        super.testFootprint(interpType);
+    }
+
     /**
      * Static method for disposing the test environment.
      */
@@ -103,6 +103,21 @@ public class NearestWarpTest extends TestWarp {
         super.testImageNoDataROI(interpType);
     }
 
+    @Test
+    public void testAdaptiveWarp() {
+        super.testAdaptiveWarp();
+    }
+
+    @Test
+    public void testWarpOutsideSource() {
+        super.testWarpOutsideSource(interpType);
+    }
+
+    @Test
+    public void testFootprint() {
+        super.testFootprint(interpType);
+    }
+
     /**
      * Static method for disposing the test environment.
      */
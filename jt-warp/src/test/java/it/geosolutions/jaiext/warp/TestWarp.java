@@ -24,17 +24,22 @@ import static org.junit.Assert.assertTrue;
 
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 
 import javax.media.jai.BorderExtender;
+import javax.media.jai.ImageLayout;
 import javax.media.jai.Interpolation;
 import javax.media.jai.JAI;
 import javax.media.jai.ROI;
 import javax.media.jai.RenderedOp;
 import javax.media.jai.TiledImage;
 import javax.media.jai.Warp;
+import javax.media.jai.WarpAffine;
+import javax.media.jai.WarpQuadratic;
 
 import it.geosolutions.jaiext.range.Range;
 import it.geosolutions.jaiext.range.RangeFactory;
@@ -113,33 +118,8 @@ public class TestWarp extends TestBase {
 
         RenderedOp destinationIMG = null;
 
-        // Interpolator variable
-        Interpolation interp;
-
-        // Interpolators
-        switch (interpType) {
-        case NEAREST_INTERP:
-            // Nearest-Neighbor
-            interp = new javax.media.jai.InterpolationNearest();
-            break;
-        case BILINEAR_INTERP:
-            // Bilinear
-            interp = new javax.media.jai.InterpolationBilinear(DEFAULT_SUBSAMPLE_BITS);
-
-            break;
-        case BICUBIC_INTERP:
-            // Bicubic
-            interp = new javax.media.jai.InterpolationBicubic(DEFAULT_SUBSAMPLE_BITS);
-
-            break;
-        case GENERAL_INTERP:
-            // Bicubic
-            interp = new javax.media.jai.InterpolationBicubic(DEFAULT_SUBSAMPLE_BITS);
-
-            break;
-        default:
-            throw new IllegalArgumentException("Wrong interpolation type");
-        }
+        // Interpolator
+        Interpolation interp = createInterpolation(interpType);
 
         // Warp operation
         double[] background = new double[] {destinationNoData};
@@ -319,6 +299,197 @@ public class TestWarp extends TestBase {
         testWarp(images[5], noDataUsed, roiUsed, warpObj, noDataValueD, interpType, testSelect);
     }
 
+    /**
+     * Checks that the positions of a {@link WarpAdaptive} are within the maximum error from the ones of the approximated warp, and that the
+     * adaptive warp can be used by the Warp operation.
+     */
+    public void testAdaptiveWarp() {
+        Warp exact = new WarpQuadratic(new float[] { 5f, 0.9f, 0.1f, 0.0004f, -0.0002f, 0.0003f },
+                new float[] { -3f, -0.05f, 1.1f, -0.0003f, 0.0005f, 0.0001f });
+        double maxError = 0.25;
+        WarpAdaptive adaptive = new WarpAdaptive(exact, maxError);
+        int width = DEFAULT_WIDTH;
+        for (int y = 0; y < DEFAULT_HEIGHT; y++) {
+            float[] expected = exact.warpRect(0, y, width, 1, null);
+            float[] actual = adaptive.warpRect(0, y, width, 1, null);
+            for (int i = 0; i < expected.length; i += 2) {
+                double dx = expected[i] - actual[i];
+                double dy = expected[i + 1] - actual[i + 1];
+                // The error of a quadratic mapping is maximum at the nodes checked
+                assertTrue(Math.sqrt(dx * dx + dy * dy) <= maxError + 1E-3);
+            }
+        }
+        assertTrue(adaptive.getAchievedError() <= maxError);
+        assertTrue(adaptive.getExactEvaluations() < width * DEFAULT_HEIGHT / 4);
+        assertTrue(adaptive.getCacheHits() > adaptive.getCacheMisses());
+
+        // The operation accepts the adaptive warp like any other warp
+        Interpolation interp = new javax.media.jai.InterpolationNearest();
+        RenderedOp exactOp = WarpDescriptor.create(images[0], exact, interp, null, null, null);
+        RenderedOp adaptiveOp = WarpDescriptor.create(images[0], adaptive, interp, null, null,
+                null);
+        assertEquals(exactOp.getBounds(), adaptiveOp.getBounds());
+        adaptiveOp.getTiles();
+        exactOp.dispose();
+        adaptiveOp.dispose();
+    }
+
+    /**
+     * Checks that the tiles whose warped positions all fall outside the source are filled with the background values, both when the source
+     * rectangle mapped by the tiles does not intersect the source and when it does.
+     */
+    public void testWarpOutsideSource(InterpolationType interpType) {
+        RenderedImage source = images[0];
+        Rectangle bounds = new Rectangle(source.getMinX(), source.getMinY(), source.getWidth(),
+                source.getHeight());
+        Warp[] warps = new Warp[] {
+                new WarpAffine(AffineTransform.getTranslateInstance(3 * source.getWidth(), 0)),
+                new TranslationWarp(3 * source.getWidth(), bounds) };
+        ImageLayout layout = new ImageLayout(bounds.x, bounds.y, bounds.width, bounds.height);
+        RenderingHints hints = new RenderingHints(JAI.KEY_IMAGE_LAYOUT, layout);
+        double[] background = new double[] { 7 };
+        for (Warp outside : warps) {
+            RenderedOp warped = WarpDescriptor.create(source, outside,
+                    createInterpolation(interpType), background, null, hints);
+            Raster data = warped.getData();
+            for (int y = data.getMinY(); y < data.getMinY() + data.getHeight(); y++) {
+                for (int x = data.getMinX(); x < data.getMinX() + data.getWidth(); x++) {
+                    assertEquals(7, data.getSample(x, y, 0));
+                }
+            }
+            warped.dispose();
+        }
+    }
+
+    /**
+     * Checks that computing the source footprint of each tile gives the same result of the tile computation without it, with and without
+     * border extender and ROI, on a rotation and on warps whose positions fall inside the interpolation padding at the source borders.
+     */
+    public void testFootprint(InterpolationType interpType) {
+        ROI[] rois = new ROI[] { null, roiCreation() };
+        for (RenderedImage source : images) {
+            Rectangle bounds = new Rectangle(source.getMinX(), source.getMinY(),
+                    source.getWidth(), source.getHeight());
+            ImageLayout layout = new ImageLayout(bounds.x, bounds.y, bounds.width, bounds.height);
+            Warp[] warps = new Warp[] {
+                    new WarpAffine(AffineTransform.getRotateInstance(0.3, bounds.getCenterX(),
+                            bounds.getCenterY())),
+                    new WarpAffine(new AffineTransform(0.005, 0, 0, 1, bounds.x - 0.9, 0)),
+                    new WarpAffine(new AffineTransform(0.005, 0, 0, 1, bounds.x + bounds.width
+                            - 0.6, 0)),
+                    new WarpAffine(new AffineTransform(1, 0, 0, 0.005, 0, bounds.y - 0.9)),
+                    new WarpAffine(new AffineTransform(1, 0, 0, 0.005, 0, bounds.y
+                            + bounds.height - 0.6)) };
+            for (boolean extended : new boolean[] { false, true }) {
+                RenderingHints hints = new RenderingHints(JAI.KEY_IMAGE_LAYOUT, layout);
+                if (extended) {
+                    hints.put(JAI.KEY_BORDER_EXTENDER,
+                            BorderExtender.createInstance(BorderExtender.BORDER_COPY));
+                }
+                for (Warp warp : warps) {
+                    for (ROI roi : rois) {
+                        double[] background = new double[] { 7 };
+                        Raster withFootprint = WarpDescriptor.create(source, warp,
+                                createInterpolation(interpType), background, roi, hints)
+                                .getData();
+                        Raster withoutFootprint;
+                        System.setProperty(WarpOpImage.FOOTPRINT_KEY, "false");
+                        try {
+                            withoutFootprint = WarpDescriptor.create(source, warp,
+                                    createInterpolation(interpType), background, roi, hints)
+                                    .getData();
+                        } finally {
+                            System.clearProperty(WarpOpImage.FOOTPRINT_KEY);
+                        }
+                        assertSameData(withoutFootprint, withFootprint);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSameData(Raster expected, Raster actual) {
+        assertEquals(expected.getBounds(), actual.getBounds());
+        for (int b = 0; b < expected.getNumBands(); b++) {
+            for (int y = expected.getMinY(); y < expected.getMinY() + expected.getHeight(); y++) {
+                for (int x = expected.getMinX(); x < expected.getMinX() + expected.getWidth(); x++) {
+                    assertEquals(expected.getSampleDouble(x, y, b), actual.getSampleDouble(x, y, b),
+                            0d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the interpolation object associated to the selected type.
+     */
+    protected static Interpolation createInterpolation(InterpolationType interpType) {
+        Interpolation interp;
+        switch (interpType) {
+        case NEAREST_INTERP:
+            // Nearest-Neighbor
+            interp = new javax.media.jai.InterpolationNearest();
+            break;
+        case BILINEAR_INTERP:
+            // Bilinear
+            interp = new javax.media.jai.InterpolationBilinear(DEFAULT_SUBSAMPLE_BITS);
+
+            break;
+        case BICUBIC_INTERP:
+            // Bicubic
+            interp = new javax.media.jai.InterpolationBicubic(DEFAULT_SUBSAMPLE_BITS);
+
+            break;
+        case GENERAL_INTERP:
+            // Bicubic
+            interp = new javax.media.jai.InterpolationBicubic(DEFAULT_SUBSAMPLE_BITS);
+
+            break;
+        default:
+            throw new IllegalArgumentException("Wrong interpolation type");
+        }
+        return interp;
+    }
+
+    /**
+     * Warp translating the destination pixels horizontally, which declares every destination rectangle as mapped on the same source
+     * rectangle.
+     */
+    private static class TranslationWarp extends Warp {
+
+        private final float dx;
+
+        private final Rectangle sourceRect;
+
+        TranslationWarp(float dx, Rectangle sourceRect) {
+            this.dx = dx;
+            this.sourceRect = sourceRect;
+        }
+
+        @Override
+        public float[] warpSparseRect(int x, int y, int width, int height, int periodX,
+                int periodY, float[] destRect) {
+            int columns = (width + periodX - 1) / periodX;
+            int rows = (height + periodY - 1) / periodY;
+            if (destRect == null) {
+                destRect = new float[2 * columns * rows];
+            }
+            int count = 0;
+            for (int j = 0; j < rows; j++) {
+                for (int i = 0; i < columns; i++) {
+                    destRect[count++] = x + i * periodX + dx;
+                    destRect[count++] = y + j * periodY;
+                }
+            }
+            return destRect;
+        }
+
+        @Override
+        public Rectangle mapDestRect(Rectangle destRect) {
+            return new Rectangle(sourceRect);
+        }
+    }
+
     /**
      * Final method for closing the input images
      */
@@ -18,6 +18,7 @@
 package it.geosolutions.jaiext.zonal;
 
 import it.geosolutions.jaiext.iterators.RandomIterFactory;
+import it.geosolutions.jaiext.iterators.TilePrefetcher;
 import it.geosolutions.jaiext.range.Range;
 import it.geosolutions.jaiext.range.Range.DataType;
 import it.geosolutions.jaiext.range.RangeFactory;
@@ -501,6 +502,12 @@ public class ZonalStatsOpImage extends OpImage {
             // Selection of the active calculation area
             Rectangle computableArea = union.intersection(tileRect);
 
+            // Queue the classifier tiles read by the random iterator
+            if (isNotIdentity) {
+                TilePrefetcher.prefetch(classifier, inverseTrans
+                        .createTransformedShape(computableArea).getBounds());
+            }
+
             // creation of the RasterAccessor
             RasterAccessor src = new RasterAccessor(tile, computableArea, formatTags[0],
                     getSourceImage(0).getColorModel());